@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio;
 
 import org.jaudiotagger.audio.exceptions.*;
+import org.jaudiotagger.audio.io.ChannelDigest;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
@@ -30,7 +31,16 @@ import org.jaudiotagger.tag.reference.ID3V2Version;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -189,6 +199,67 @@ public class AudioFile {
         return tag;
     }
 
+    /**
+     * Calculate hashes of the audio data alone, leaving out the tags and any other metadata, so that the same audio
+     * gives the same hash however it is tagged. The audio is read once whatever the number of algorithms.
+     *
+     * @param algorithms digest algorithms such as MD5, SHA-1 or SHA-256
+     * @return the hash for each algorithm, in the order asked for
+     * @throws CannotReadException      if the position of the audio data within the file is not known for this
+     *                                  format
+     * @throws IOException              if the file could not be read
+     * @throws NoSuchAlgorithmException if an algorithm is not available
+     */
+    public Map<String, byte[]> getAudioHash(String... algorithms) throws CannotReadException, IOException, NoSuchAlgorithmException {
+        return getAudioHash(null, algorithms);
+    }
+
+    /**
+     * Calculate hashes of the audio data alone, using any hashes in the cache that are still valid for the file and
+     * adding the ones calculated to it.
+     *
+     * @param cache      cache of hashes, may be null
+     * @param algorithms digest algorithms such as MD5, SHA-1 or SHA-256
+     * @return the hash for each algorithm, in the order asked for
+     * @throws CannotReadException      if the position of the audio data within the file is not known for this
+     *                                  format
+     * @throws IOException              if the file could not be read
+     * @throws NoSuchAlgorithmException if an algorithm is not available
+     */
+    public Map<String, byte[]> getAudioHash(AudioHashCache cache, String... algorithms) throws CannotReadException, IOException, NoSuchAlgorithmException {
+        final Long start = audioHeader.getAudioDataStartPosition();
+        final Long end = audioHeader.getAudioDataEndPosition();
+        if (file == null || start == null || end == null) {
+            throw new CannotReadException(ErrorMessage.AUDIO_DATA_POSITION_UNKNOWN.getMsg(file != null ? file.getPath() : extension));
+        }
+
+        Map<String, byte[]> hashes = new LinkedHashMap<String, byte[]>();
+        List<String> missing = new ArrayList<String>();
+        List<MessageDigest> digests = new ArrayList<MessageDigest>();
+        for (String algorithm : algorithms) {
+            byte[] hash = cache != null ? cache.get(file, start, end, algorithm) : null;
+            hashes.put(algorithm, hash);
+            if (hash == null) {
+                missing.add(algorithm);
+                digests.add(MessageDigest.getInstance(algorithm));
+            }
+        }
+
+        if (!digests.isEmpty()) {
+            try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ChannelDigest.update(fc, start, end, digests.toArray(new MessageDigest[digests.size()]));
+            }
+            for (int i = 0; i < digests.size(); i++) {
+                byte[] hash = digests.get(i).digest();
+                hashes.put(missing.get(i), hash);
+                if (cache != null) {
+                    cache.put(file, start, end, missing.get(i), hash);
+                }
+            }
+        }
+        return hashes;
+    }
+
     /**
      * <p>Returns a multi-line string with the file path, the encoding audioHeader, and the tag contents.
      *
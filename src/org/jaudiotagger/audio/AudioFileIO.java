@@ -37,18 +37,27 @@ import org.jaudiotagger.audio.ogg.OggFileWriter;
 import org.jaudiotagger.audio.opus.OpusFileReader;
 import org.jaudiotagger.audio.opus.OpusFileWriter;
 import org.jaudiotagger.audio.real.RealFileReader;
+import org.jaudiotagger.audio.scan.LibraryScan;
+import org.jaudiotagger.audio.scan.ScanOptions;
+import org.jaudiotagger.audio.scan.ScanResult;
 import org.jaudiotagger.audio.wav.WavFileReader;
 import org.jaudiotagger.audio.wav.WavFileWriter;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptions;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * The main entry point for the Tag Reading/Writing operations, this class will
@@ -118,7 +127,7 @@ public class AudioFileIO {
      *
      * @return The default instance.
      */
-    public static AudioFileIO getDefaultAudioFileIO() {
+    public static synchronized AudioFileIO getDefaultAudioFileIO() {
         if (defaultInstance == null) {
             defaultInstance = new AudioFileIO();
         }
@@ -177,6 +186,60 @@ public class AudioFileIO {
         return getDefaultAudioFileIO().readFile(f);
     }
 
+    /**
+     * Read the tag contained in the given file using the options given rather than the default options.
+     *
+     * @param f       The file to read.
+     * @param options The tag options to use whilst reading.
+     * @return The AudioFile with the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException        If the file could not be read, the extension wasn't
+     *                                                                      recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile read(File f, TagOptions options)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException {
+        return getDefaultAudioFileIO().readFile(f, options);
+    }
+
+    /**
+     * Read the tag contained in audio held by a channel rather than a file, such as a file within an archive, an
+     * object in a remote store or an upload held in memory.
+     * <p>
+     * MP3, FLAC, WAV, AIFF, DSF, MP4 and ASF can be read from a channel, Ogg, Opus and Real can only be read from a
+     * file.
+     *
+     * @param channel    The channel holding the audio, it is read from its start and is not closed.
+     * @param formatHint The extension of the format of the audio, such as mp3 or flac.
+     * @return The AudioFile with the tag and the encoding info, it has no file.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException        If the audio could not be read, the format
+     *                                                                      wasn't recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile read(SeekableByteChannel channel, String formatHint)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException {
+        return getDefaultAudioFileIO().readChannel(channel, formatHint);
+    }
+
+    /**
+     * Write the tag contained in the audioFile to audio held by a channel rather than a file.
+     * <p>
+     * MP3, FLAC, WAV, AIFF and DSF can be written to a channel, other formats can only be written to a file.
+     *
+     * @param f       The AudioFile holding the tag to write, its extension gives the format of the audio
+     * @param channel The channel holding the audio, open for reading and writing, it is not closed.
+     * @throws CannotWriteException If the audio could not be written, the format wasn't recognized, or an IO error
+     *                              occurred.
+     */
+    public static void write(AudioFile f, SeekableByteChannel channel) throws CannotWriteException {
+        getDefaultAudioFileIO().writeChannel(f, channel);
+    }
+
     /**
      * Write the tag contained in the audioFile in the actual file on the disk.
      *
@@ -189,6 +252,20 @@ public class AudioFileIO {
         getDefaultAudioFileIO().writeFile(f, null);
     }
 
+    /**
+     * Write the tag contained in the audioFile in the actual file on the disk using the options given rather than
+     * the default options.
+     *
+     * @param f       The AudioFile to be written
+     * @param options The tag options to use whilst writing.
+     * @throws NoWritePermissionsException if the file could not be written to due to file permissions
+     * @throws CannotWriteException        If the file could not be written/accessed, the extension
+     *                                     wasn't recognized, or other IO error occurred.
+     */
+    public static void write(AudioFile f, TagOptions options) throws CannotWriteException {
+        getDefaultAudioFileIO().writeFile(f, null, options);
+    }
+
     /**
      * Write the tag contained in the audioFile in the actual file on the disk.
      *
@@ -205,6 +282,36 @@ public class AudioFileIO {
         getDefaultAudioFileIO().writeFile(f, targetPath);
     }
 
+    /**
+     * Read every supported file in a directory tree, on a bounded pool of workers.
+     * <p>
+     * Results are returned in the order the files are read, which is not necessarily the order they were found.
+     * Files that cannot be read give a result holding the exception rather than ending the stream. The stream
+     * should be closed when no longer required, this cancels any reading still in progress.
+     *
+     * @param root    directory to scan, or a single file
+     * @param options controlling the scan
+     * @return stream of results
+     */
+    public static Stream<ScanResult> scan(Path root, ScanOptions options) {
+        return LibraryScan.stream(root, options);
+    }
+
+    /**
+     * Read every supported file in a directory tree, on a bounded pool of workers, passing each result to the
+     * listener as it becomes available.
+     * <p>
+     * The listener may be called concurrently from several workers.
+     *
+     * @param root     directory to scan, or a single file
+     * @param options  controlling the scan
+     * @param listener for the results
+     * @return the running scan, which can be waited for or cancelled
+     */
+    public static LibraryScan scan(Path root, ScanOptions options, Consumer<ScanResult> listener) {
+        return LibraryScan.start(root, options, listener);
+    }
+
     /**
      * This member is used to broadcast modification events to registered
      */
@@ -324,6 +431,26 @@ public class AudioFileIO {
         return tempFile;
     }
 
+    /**
+     * Read the tag contained in the given file using the options given rather than the default options.
+     *
+     * @param f       The file to read.
+     * @param options The tag options to use whilst reading.
+     * @return The AudioFile with the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException        If the file could not be read, the extension wasn't
+     *                                                                      recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readFile(File f, TagOptions options)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException {
+        try (TagOptions.Scope scope = options.use()) {
+            return readFile(f);
+        }
+    }
+
     /**
      * Read the tag contained in the given file.
      *
@@ -381,6 +508,49 @@ public class AudioFileIO {
 
     }
 
+    /**
+     * Read the tag contained in audio held by a channel.
+     *
+     * @param channel    The channel holding the audio, it is read from its start and is not closed.
+     * @param formatHint The extension of the format of the audio.
+     * @return The AudioFile with the tag and the encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException        If the audio could not be read, the format
+     *                                                                      wasn't recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readChannel(SeekableByteChannel channel, String formatHint)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException {
+        String ext = formatHint.toLowerCase(Locale.ROOT);
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null) {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+
+        AudioFile audioFile = afr.read(channel, ext);
+        audioFile.setExt(ext);
+        return audioFile;
+    }
+
+    /**
+     * Write the tag contained in the audioFile to audio held by a channel.
+     *
+     * @param f       The AudioFile holding the tag to write
+     * @param channel The channel holding the audio, open for reading and writing, it is not closed.
+     * @throws CannotWriteException If the audio could not be written, the format wasn't recognized, or an IO error
+     *                              occurred.
+     */
+    public void writeChannel(AudioFile f, SeekableByteChannel channel) throws CannotWriteException {
+        String ext = f.getExt();
+        AudioFileWriter afw = writers.get(ext);
+        if (afw == null) {
+            throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+        afw.write(f, channel);
+    }
+
     /**
      * Check does file exist
      *
@@ -435,4 +605,21 @@ public class AudioFileIO {
         afw.write(f);
     }
 
+    /**
+     * Write the tag contained in the audioFile in the actual file on the disk using the options given rather than
+     * the default options.
+     *
+     * @param f          The AudioFile to be written
+     * @param targetPath a file path, without an extension, which provides a "save as". If null, then normal "save" function
+     * @param options    The tag options to use whilst writing.
+     * @throws NoWritePermissionsException if the file could not be written to due to file permissions
+     * @throws CannotWriteException        If the file could not be written/accessed, the extension
+     *                                     wasn't recognized, or other IO error occurred.
+     */
+    public void writeFile(AudioFile f, String targetPath, TagOptions options) throws CannotWriteException {
+        try (TagOptions.Scope scope = options.use()) {
+            writeFile(f, targetPath);
+        }
+    }
+
 }
@@ -0,0 +1,166 @@
+package org.jaudiotagger.audio;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Cache of the audio hashes calculated by {@link AudioFile#getAudioHash(AudioHashCache, String...)}, so that
+ * a library can be checked for duplicates again without reading all of its audio.
+ * <p>
+ * Hashes are held by the path of the file and are only used whilst the size and modification time of the file and
+ * the position of its audio data are the same as when they were calculated, so a file that has been changed in any
+ * way is read again. Because the hash only covers the audio, retagging the file gives the same hash as before.
+ * <p>
+ * The cache can be shared between threads, and saved to and loaded from a file so it lasts between runs.
+ */
+public class AudioHashCache {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio");
+
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * Hashes of one file, only valid for the file size, modification time and audio position they were found for
+     */
+    private static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final long start;
+        private final long end;
+        private final Map<String, byte[]> hashes = new ConcurrentHashMap<String, byte[]>();
+
+        private Entry(long size, long lastModified, long start, long end) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.start = start;
+            this.end = end;
+        }
+
+        private boolean matches(long size, long lastModified, long start, long end) {
+            return this.size == size && this.lastModified == lastModified && this.start == start && this.end == end;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * @param file      the audio file
+     * @param start     position of the start of the audio data
+     * @param end       position of the end of the audio data
+     * @param algorithm the digest algorithm
+     * @return the cached hash, or null if there is none for the file as it is now
+     */
+    public byte[] get(File file, long start, long end, String algorithm) {
+        Entry entry = entries.get(file.getAbsolutePath());
+        if (entry == null || !entry.matches(file.length(), file.lastModified(), start, end)) {
+            return null;
+        }
+        byte[] hash = entry.hashes.get(algorithm);
+        return hash == null ? null : hash.clone();
+    }
+
+    /**
+     * Add a hash, replacing any hashes of a previous version of the file
+     *
+     * @param file      the audio file
+     * @param start     position of the start of the audio data
+     * @param end       position of the end of the audio data
+     * @param algorithm the digest algorithm
+     * @param hash      the hash of the audio data
+     */
+    public void put(File file, long start, long end, String algorithm, byte[] hash) {
+        put(file.getAbsolutePath(), file.length(), file.lastModified(), start, end, algorithm, hash.clone());
+    }
+
+    private void put(String path, long size, long lastModified, long start, long end, String algorithm, byte[] hash) {
+        Entry entry = entries.compute(path, (key, existing) ->
+                existing != null && existing.matches(size, lastModified, start, end) ? existing : new Entry(size, lastModified, start, end));
+        entry.hashes.put(algorithm, hash);
+    }
+
+    /**
+     * @return number of files with cached hashes
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Save the cache, one line for each hash, the file is replaced once it has been completely written
+     *
+     * @param file to save to
+     * @throws IOException
+     */
+    public void save(File file) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> next : entries.entrySet()) {
+                Entry entry = next.getValue();
+                for (Map.Entry<String, byte[]> hash : entry.hashes.entrySet()) {
+                    writer.write(String.valueOf(entry.size) + SEPARATOR + entry.lastModified + SEPARATOR
+                            + entry.start + SEPARATOR + entry.end + SEPARATOR + hash.getKey() + SEPARATOR
+                            + toHex(hash.getValue()) + SEPARATOR + next.getKey());
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load a cache saved by {@link #save(File)}, lines that cannot be read are skipped
+     *
+     * @param file to load from, an empty cache is returned if it does not exist
+     * @return the cache
+     * @throws IOException
+     */
+    public static AudioHashCache load(File file) throws IOException {
+        AudioHashCache cache = new AudioHashCache();
+        if (!file.exists()) {
+            return cache;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(String.valueOf(SEPARATOR), 7);
+                try {
+                    cache.put(fields[6], Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                            Long.parseLong(fields[3]), fields[4], fromHex(fields[5]));
+                } catch (RuntimeException e) {
+                    logger.warning("Skipping invalid audio hash cache entry:" + line);
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Odd length hex:" + hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -27,8 +27,8 @@ import org.jaudiotagger.audio.iff.Chunk;
 import org.jaudiotagger.audio.iff.ChunkHeader;
 import org.jaudiotagger.audio.iff.ChunkSummary;
 import org.jaudiotagger.audio.iff.IffHeaderChunk;
+import org.jaudiotagger.audio.io.ChannelShifter;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.aiff.AiffTag;
 
 import java.io.ByteArrayOutputStream;
@@ -162,10 +162,9 @@ public class AiffTagWriter {
         final long newLength = fc.size() - lengthTagChunk;
         logger.severe(fileName + " Size of id3 chunk to delete is:" + lengthTagChunk + ":Location:" + existingTag.getStartLocationInFileOfId3Chunk());
 
-        // position for reading after the id3 tag
-        fc.position(existingTag.getStartLocationInFileOfId3Chunk() + lengthTagChunk);
-
-        deleteTagChunkUsingSmallByteBufferSegments(existingTag, fc, newLength, lengthTagChunk);
+        // move everything after the id3 tag up over it
+        ChannelShifter.shift(fc, existingTag.getStartLocationInFileOfId3Chunk() + lengthTagChunk, fc.size(), -lengthTagChunk);
+        fc.position(fc.size());
         // truncate the file after the last chunk
         logger.severe(fileName + " Setting new length to:" + newLength);
         fc.truncate(newLength);
@@ -210,30 +209,6 @@ public class AiffTagWriter {
         //where write to ?
     }
 
-    /**
-     * Use ByteBuffers to copy a 4mb chunk, write the chunk and repeat until the rest of the file after the ID3 tag
-     * is rewritten
-     *
-     * @param existingTag    existing tag
-     * @param channel        channel
-     * @param newLength      new length
-     * @param lengthTagChunk length tag chunk
-     * @throws IOException if something goes wrong
-     */
-    // TODO: arguments are not used, position is implicit
-    private void deleteTagChunkUsingSmallByteBufferSegments(final AiffTag existingTag, final FileChannel channel, final long newLength, final long lengthTagChunk)
-            throws IOException {
-        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) TagOptionSingleton.getInstance().getWriteChunkSize());
-        while (channel.read(buffer) >= 0 || buffer.position() != 0) {
-            buffer.flip();
-            final long readPosition = channel.position();
-            channel.position(readPosition - lengthTagChunk - buffer.limit());
-            channel.write(buffer);
-            channel.position(readPosition);
-            buffer.compact();
-        }
-    }
-
     /**
      * @param tag
      * @param fc
@@ -31,11 +31,14 @@ import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.io.SeekableFileChannel;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.asf.AsfTag;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -197,32 +200,18 @@ public class AsfFileReader extends AudioFileReader {
         if (!f.canRead()) {
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.getAbsolutePath()));
         }
-        InputStream stream = null;
+        RandomAccessFile raf = null;
         try {
-            stream = new FullRequestInputStream(new BufferedInputStream(new FileInputStream(f)));
-            final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
-            if (header == null) {
-                throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-            if (header.getFileHeader() == null) {
-                throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-
-            // Just log a warning because file seems to play okay
-            if (header.getFileHeader().getFileSize().longValue() != f.length()) {
-                logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(f.getAbsolutePath(), header.getFileHeader().getFileSize().longValue(), f.length()));
-            }
-
-            return new AudioFile(f, getAudioHeader(header), getTag(header));
-
+            raf = new RandomAccessFile(f, "r");
+            return read(f, raf.getChannel(), f.getAbsolutePath());
         } catch (final CannotReadException e) {
             throw e;
         } catch (final Exception e) {
             throw new CannotReadException("\"" + f + "\" :" + e, e);
         } finally {
             try {
-                if (stream != null) {
-                    stream.close();
+                if (raf != null) {
+                    raf.close();
                 }
             } catch (final Exception ex) {
                 LOGGER.severe("\"" + f + "\" :" + ex);
@@ -230,4 +219,50 @@ public class AsfFileReader extends AudioFileReader {
         }
     }
 
+    /**
+     * Reads the audio held by the channel directly, without copying it to a file. The whole of the channel is read
+     * and it is not closed.
+     *
+     * @param channel holding the audio
+     * @param ext     file suffix of the format, such as wma
+     * @return the AudioFile, which has no file
+     * @throws CannotReadException
+     */
+    @Override
+    public AudioFile read(final SeekableByteChannel channel, final String ext) throws CannotReadException {
+        final String name = ext + " channel";
+        try {
+            return read(null, SeekableFileChannel.of(channel), name);
+        } catch (final CannotReadException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new CannotReadException("\"" + name + "\" :" + e, e);
+        }
+    }
+
+    /**
+     * Read the header object at the start of the channel and create the audio header and tag from it
+     *
+     * @param f       the file being read, or null if the audio is not held in a file
+     * @param channel holding the audio
+     * @param name    name of the file or channel for messages
+     */
+    private AudioFile read(final File f, final FileChannel channel, final String name) throws IOException, CannotReadException {
+        final InputStream stream = AsfHeaderReader.readHeaderObject(channel, 0);
+        final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
+        if (header == null) {
+            throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(name));
+        }
+        if (header.getFileHeader() == null) {
+            throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(name));
+        }
+
+        // Just log a warning because file seems to play okay
+        if (header.getFileHeader().getFileSize().longValue() != channel.size()) {
+            logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(name, header.getFileHeader().getFileSize().longValue(), channel.size()));
+        }
+
+        return new AudioFile(f, getAudioHeader(header), getTag(header));
+    }
+
 }
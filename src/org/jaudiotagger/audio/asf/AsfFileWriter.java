@@ -21,16 +21,22 @@ package org.jaudiotagger.audio.asf;
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.ChunkContainer;
+import org.jaudiotagger.audio.asf.data.GUID;
 import org.jaudiotagger.audio.asf.data.MetadataContainer;
 import org.jaudiotagger.audio.asf.io.*;
 import org.jaudiotagger.audio.asf.util.TagConverter;
+import org.jaudiotagger.audio.asf.util.Utils;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.asf.AsfTag;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,6 +48,12 @@ import java.util.List;
  */
 public class AsfFileWriter extends AudioFileWriter {
 
+    /**
+     * Padding size meaning the existing padding chunks should be copied as
+     * they are.
+     */
+    private final static long KEEP_PADDING = -1;
+
     /**
      * {@inheritDoc}
      */
@@ -62,9 +74,88 @@ public class AsfFileWriter extends AudioFileWriter {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If the modified header object fits in the space taken by the original
+     * header object and its padding, the header object is replaced in the
+     * original file. Otherwise the new header object and the rest of the
+     * original file are written to the temporary file.
      */
     @Override
     protected void writeTag(AudioFile audioFile, final Tag tag, final RandomAccessFile raf, final RandomAccessFile rafTemp) throws IOException {
+        final AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(raf);
+        raf.seek(0); // Reset for the streamer
+        final byte[] sourceHeaderObject = readHeaderObject(raf);
+        /*
+         * Now createField modifiers for metadata descriptor and extended content
+         * descriptor as implied by the given Tag.
+         */
+        // The tag need not be an AsfTag, copying converts its fields to ASF fields which can be distributed
+        final AsfTag copy = new AsfTag(tag, true);
+        final MetadataContainer[] distribution = TagConverter.distributeMetadata(copy);
+
+        /*
+         * Try to replace the header object in place: any padding is removed, if
+         * the new header is then no larger than the original the rest is filled
+         * with a single padding chunk so the audio data does not move.
+         */
+        ByteArrayOutputStream newHeader = new ByteArrayOutputStream();
+        long difference = new AsfStreamer().createModifiedHeader(new ByteArrayInputStream(sourceHeaderObject), newHeader, createModifiers(sourceHeader, distribution, 0));
+        if (difference < 0 && -difference >= PaddingChunkModifier.MINIMUM_SIZE) {
+            newHeader = new ByteArrayOutputStream();
+            difference = new AsfStreamer().createModifiedHeader(new ByteArrayInputStream(sourceHeaderObject), newHeader, createModifiers(sourceHeader, distribution, -difference));
+        }
+        if (difference == 0) {
+            raf.seek(0);
+            raf.write(newHeader.toByteArray());
+            return;
+        }
+
+        // Header object has grown, so write the new header followed by the rest of the original file
+        final OutputStream dest = new RandomAccessFileOutputStream(rafTemp);
+        new AsfStreamer().createModifiedHeader(new ByteArrayInputStream(sourceHeaderObject), dest, createModifiers(sourceHeader, distribution, KEEP_PADDING));
+        final FileChannel source = raf.getChannel();
+        long position = sourceHeaderObject.length;
+        while (position < source.size()) {
+            final long transferred = source.transferTo(position, source.size() - position, rafTemp.getChannel());
+            if (transferred <= 0) {
+                throw new IOException("Unable to copy ASF data from position " + position);
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * Reads the complete ASF header object, which holds all the metadata.<br>
+     *
+     * @param raf file located at the start of the header object.
+     * @return the header object including its GUID and size.
+     * @throws IOException on I/O errors.
+     */
+    private byte[] readHeaderObject(final RandomAccessFile raf) throws IOException {
+        final long start = raf.getFilePointer();
+        final byte[] guidAndSize = new byte[GUID.GUID_LENGTH + 8];
+        raf.readFully(guidAndSize);
+        final long headerSize = Utils.readUINT64(new ByteArrayInputStream(guidAndSize, GUID.GUID_LENGTH, 8));
+        if (headerSize < guidAndSize.length || headerSize > raf.length() - start || headerSize > Integer.MAX_VALUE) {
+            throw new IOException("Invalid ASF header object size: " + headerSize);
+        }
+        final byte[] headerObject = new byte[(int) headerSize];
+        raf.seek(start);
+        raf.readFully(headerObject);
+        return headerObject;
+    }
+
+    /**
+     * Creates the modifiers for writing the given metadata into the header.<br>
+     *
+     * @param sourceHeader the header as read from the file.
+     * @param distribution the metadata containers to write.
+     * @param paddingSize  size of the padding chunk to write, zero to remove
+     *                     all padding or {@link #KEEP_PADDING} to leave it
+     *                     unchanged.
+     * @return modifiers for the asf header object.
+     */
+    private List<ChunkModifier> createModifiers(final AsfHeader sourceHeader, final MetadataContainer[] distribution, final long paddingSize) {
         /*
          * Since this implementation should not change the structure of the ASF
          * file (locations of content description chunks), we need to read the
@@ -82,15 +173,6 @@ public class AsfFileWriter extends AudioFileWriter {
          * for each descriptor type, if an object is found, an updater will be
          * configured.
          */
-        final AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(raf);
-        raf.seek(0); // Reset for the streamer
-        /*
-         * Now createField modifiers for metadata descriptor and extended content
-         * descriptor as implied by the given Tag.
-         */
-        // TODO not convinced that we need to copy fields here
-        final AsfTag copy = new AsfTag(tag, true);
-        final MetadataContainer[] distribution = TagConverter.distributeMetadata(copy);
         final boolean[] existHeader = searchExistence(sourceHeader, distribution);
         final boolean[] existExtHeader = searchExistence(sourceHeader.getExtendedHeader(), distribution);
         // Modifiers for the asf header object
@@ -118,12 +200,19 @@ public class AsfFileWriter extends AudioFileWriter {
                 }
             }
         }
+        if (paddingSize != KEEP_PADDING) {
+            // All padding is collected into a single chunk in the asf header
+            headerModifier.add(new PaddingChunkModifier(paddingSize));
+            if (sourceHeader.getExtendedHeader() != null) {
+                extHeaderModifier.add(new PaddingChunkModifier(0));
+            }
+        }
         // only addField an AsfExtHeaderModifier, if there is actually something to
         // change (performance)
         if (!extHeaderModifier.isEmpty()) {
             headerModifier.add(new AsfExtHeaderModifier(extHeaderModifier));
         }
-        new AsfStreamer().createModifiedCopy(new RandomAccessFileInputstream(raf), new RandomAccessFileOutputStream(rafTemp), headerModifier);
+        return headerModifier;
     }
 
-}
\ No newline at end of file
+}
@@ -20,9 +20,6 @@ package org.jaudiotagger.audio.asf.data;
 
 import org.jaudiotagger.audio.asf.util.Utils;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -114,6 +111,13 @@ public final class GUID {
      */
     public final static GUID GUID_METADATA_LIBRARY = new GUID(new int[]{0x94, 0x1c, 0x23, 0x44, 0x98, 0x94, 0xd1, 0x49, 0xa1, 0x41, 0x1d, 0x13, 0x4e, 0x45, 0x70, 0x54}, "Metadata Library");
 
+    /**
+     * This constant stores the GUID indicating the asf padding object, which holds no data but reserves room for the
+     * header to grow.<br>
+     * 1806D474-CADF-4509-A4BA-9AABCB96AAE8
+     */
+    public final static GUID GUID_PADDING = new GUID(new int[]{0x74, 0xd4, 0x06, 0x18, 0xdf, 0xca, 0x09, 0x45, 0xa4, 0xba, 0x9a, 0xab, 0xcb, 0x96, 0xaa, 0xe8}, "Padding");
+
     /**
      * The GUID String values format.<br>
      */
@@ -131,12 +135,13 @@ public final class GUID {
     public final static GUID GUID_STREAM_BITRATE_PROPERTIES = new GUID(new int[]{0xCE, 0x75, 0xF8, 0x7B, 0x8D, 0x46, 0xD1, 0x11, 0x8D, 0x82, 0x00, 0x60, 0x97, 0xC9, 0xA2, 0xB2}, "Stream bitrate properties");
 
     /**
-     * This map is used, to get the description of a GUID instance, which has
-     * been created by reading.<br>
-     * The map comparison is done against the {@link GUID#guidData} field. But
-     * only the {@link #KNOWN_GUIDS} have a description set.
+     * This table is used, to get the configured instance of a GUID which has
+     * been created by reading, so reading a known GUID needs no new object.<br>
+     * It is an open addressing table of the {@link #KNOWN_GUIDS}, indexed by
+     * {@link #hashCode()} with linear probing. Only the {@link #KNOWN_GUIDS}
+     * have a description set.
      */
-    private final static Map<GUID, GUID> GUID_TO_CONFIGURED;
+    private final static GUID[] CONFIGURED_TABLE;
 
     /**
      * This constant represents a GUID implementation which can be used for
@@ -161,11 +166,16 @@ public final class GUID {
     public final static GUID SCRIPT_COMMAND_OBJECT = new GUID(new int[]{0x30, 0x1a, 0xfb, 0x1e, 0x62, 0x0b, 0xd0, 0x11, 0xa3, 0x9b, 0x00, 0xa0, 0xc9, 0x03, 0x48, 0xf6}, "Script Command Object");
 
     static {
-        KNOWN_GUIDS = new GUID[]{GUID_AUDIO_ERROR_CONCEALEMENT_ABSENT, GUID_CONTENTDESCRIPTION, GUID_AUDIOSTREAM, GUID_ENCODING, GUID_FILE, GUID_HEADER, GUID_STREAM, GUID_EXTENDED_CONTENT_DESCRIPTION, GUID_VIDEOSTREAM, GUID_HEADER_EXTENSION, GUID_STREAM_BITRATE_PROPERTIES, SCRIPT_COMMAND_OBJECT, GUID_CONTENT_ENCRYPTION, GUID_CONTENT_BRANDING, GUID_UNSPECIFIED, GUID_METADATA_LIBRARY, GUID_METADATA, GUID_LANGUAGE_LIST};
-        GUID_TO_CONFIGURED = new HashMap<GUID, GUID>(KNOWN_GUIDS.length);
+        KNOWN_GUIDS = new GUID[]{GUID_AUDIO_ERROR_CONCEALEMENT_ABSENT, GUID_CONTENTDESCRIPTION, GUID_AUDIOSTREAM, GUID_ENCODING, GUID_FILE, GUID_HEADER, GUID_STREAM, GUID_EXTENDED_CONTENT_DESCRIPTION, GUID_VIDEOSTREAM, GUID_HEADER_EXTENSION, GUID_STREAM_BITRATE_PROPERTIES, SCRIPT_COMMAND_OBJECT, GUID_CONTENT_ENCRYPTION, GUID_CONTENT_BRANDING, GUID_UNSPECIFIED, GUID_METADATA_LIBRARY, GUID_METADATA, GUID_LANGUAGE_LIST, GUID_PADDING};
+        // At most a quarter full keeps the probe sequences short
+        CONFIGURED_TABLE = new GUID[Integer.highestOneBit(KNOWN_GUIDS.length) * 8];
         for (final GUID curr : KNOWN_GUIDS) {
-            assert !GUID_TO_CONFIGURED.containsKey(curr) : "Double definition: \"" + GUID_TO_CONFIGURED.get(curr).getDescription() + "\" <-> \"" + curr.getDescription() + "\"";
-            GUID_TO_CONFIGURED.put(curr, curr);
+            assert getConfigured(curr.high, curr.low) == null : "Double definition: \"" + getConfigured(curr.high, curr.low).getDescription() + "\" <-> \"" + curr.getDescription() + "\"";
+            int index = curr.hash & (CONFIGURED_TABLE.length - 1);
+            while (CONFIGURED_TABLE[index] != null) {
+                index = (index + 1) & (CONFIGURED_TABLE.length - 1);
+            }
+            CONFIGURED_TABLE[index] = curr;
         }
     }
 
@@ -191,7 +201,31 @@ public final class GUID {
      */
     public static GUID getConfigured(final GUID orig) {
         // safe against null
-        return GUID_TO_CONFIGURED.get(orig);
+        if (orig == null) {
+            return null;
+        }
+        return getConfigured(orig.high, orig.low);
+    }
+
+    /**
+     * This method looks up a GUID instance from {@link #KNOWN_GUIDS} with the
+     * given value.
+     *
+     * @param high first eight bytes of the GUID, in the order they are stored.
+     * @param low  last eight bytes of the GUID, in the order they are stored.
+     * @return a GUID instance from {@link #KNOWN_GUIDS} if available.
+     * <code>null</code> else.
+     */
+    private static GUID getConfigured(final long high, final long low) {
+        int index = hash(high, low) & (CONFIGURED_TABLE.length - 1);
+        GUID curr;
+        while ((curr = CONFIGURED_TABLE[index]) != null) {
+            if (curr.high == high && curr.low == low) {
+                return curr;
+            }
+            index = (index + 1) & (CONFIGURED_TABLE.length - 1);
+        }
+        return null;
     }
 
     /**
@@ -214,6 +248,20 @@ public final class GUID {
         return result;
     }
 
+    /**
+     * Calculates the hash code of a GUID value.<br>
+     *
+     * @param high first eight bytes of the GUID.
+     * @param low  last eight bytes of the GUID.
+     * @return hash code.
+     */
+    private static int hash(final long high, final long low) {
+        long tmp = high * 31 + low;
+        tmp ^= tmp >>> 29;
+        tmp *= 0x9E3779B97F4A7C15L;
+        return (int) (tmp ^ (tmp >>> 32));
+    }
+
     /**
      * This method parses a String as GUID.<br>
      * The format is like the one in the ASF specification.<br>
@@ -246,20 +294,42 @@ public final class GUID {
         return new GUID(bytes);
     }
 
+    /**
+     * Returns the GUID with the given value, which is the instance from
+     * {@link #KNOWN_GUIDS} if there is one, so GUIDs identifying chunks can be
+     * read without creating objects.<br>
+     *
+     * @param high first eight bytes of the GUID as big endian, in the order
+     *             they are stored.
+     * @param low  last eight bytes of the GUID as big endian, in the order
+     *             they are stored.
+     * @return the GUID.
+     */
+    public static GUID valueOf(final long high, final long low) {
+        final GUID configured = getConfigured(high, low);
+        if (configured != null) {
+            return configured;
+        }
+        return new GUID(high, low);
+    }
+
     /**
      * Stores an optionally description of the GUID.
      */
     private String description = "";
 
     /**
-     * An instance of this class stores the value of the wrapped GUID in this
-     * field. <br>
+     * First eight bytes of the GUID, as a big endian long. <br>
      */
-    private int[] guidData = null;
+    private long high;
+
+    /**
+     * Last eight bytes of the GUID, as a big endian long. <br>
+     */
+    private long low;
 
     /**
      * Stores the hash code of the object.<br>
-     * <code>&quot;-1&quot;</code> if not determined yet.
      */
     private int hash;
 
@@ -286,6 +356,18 @@ public final class GUID {
         setGUID(value);
     }
 
+    /**
+     * Creates an instance with the given value.<br>
+     *
+     * @param high first eight bytes of the GUID as big endian.
+     * @param low  last eight bytes of the GUID as big endian.
+     */
+    private GUID(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+        this.hash = hash(high, low);
+    }
+
     /**
      * Creates an instance like {@link #GUID(int[])}and sets the optional
      * description. <br>
@@ -327,7 +409,7 @@ public final class GUID {
         boolean result = false;
         if (obj instanceof GUID) {
             final GUID other = (GUID) obj;
-            result = Arrays.equals(this.getGUID(), other.getGUID());
+            result = this.high == other.high && this.low == other.low;
         }
         return result;
     }
@@ -339,9 +421,10 @@ public final class GUID {
      * @see #getGUID()
      */
     public byte[] getBytes() {
-        final byte[] result = new byte[this.guidData.length];
-        for (int i = 0; i < result.length; i++) {
-            result[i] = (byte) (this.guidData[i] & 0xFF);
+        final byte[] result = new byte[GUID_LENGTH];
+        for (int i = 0; i < 8; i++) {
+            result[i] = (byte) (this.high >>> (56 - i * 8));
+            result[i + 8] = (byte) (this.low >>> (56 - i * 8));
         }
         return result;
     }
@@ -359,9 +442,12 @@ public final class GUID {
      * @return stored GUID.
      */
     public int[] getGUID() {
-        final int[] copy = new int[this.guidData.length];
-        System.arraycopy(this.guidData, 0, copy, 0, this.guidData.length);
-        return copy;
+        final byte[] bytes = getBytes();
+        final int[] result = new int[GUID_LENGTH];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bytes[i] & 0xFF;
+        }
+        return result;
     }
 
     /**
@@ -389,18 +475,11 @@ public final class GUID {
      */
     @Override
     public int hashCode() {
-        if (this.hash == -1) {
-            int tmp = 0;
-            for (final int curr : getGUID()) {
-                tmp = tmp * 31 + curr;
-            }
-            this.hash = tmp;
-        }
         return this.hash;
     }
 
     /**
-     * This method checks if the currently stored GUID ({@link #guidData}) is
+     * This method checks if the currently stored GUID ({@link #getGUID()}) is
      * correctly filled. <br>
      *
      * @return <code>true</code> if it is.
@@ -436,8 +515,11 @@ public final class GUID {
      */
     private void setGUID(final int[] value) {
         if (assertGUID(value)) {
-            this.guidData = new int[GUID_LENGTH];
-            System.arraycopy(value, 0, this.guidData, 0, GUID_LENGTH);
+            for (int i = 0; i < 8; i++) {
+                this.high = (this.high << 8) | (value[i] & 0xFF);
+                this.low = (this.low << 8) | (value[i + 8] & 0xFF);
+            }
+            this.hash = hash(this.high, this.low);
         } else {
             throw new IllegalArgumentException("The given guidData doesn't match the GUID specification.");
         }
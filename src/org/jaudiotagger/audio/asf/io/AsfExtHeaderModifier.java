@@ -101,7 +101,9 @@ public class AsfExtHeaderModifier implements ChunkModifier {
                     final ModificationResult modRes = modders.get(i).modify(curr, cis, bos);
                     difference += modRes.getByteDifference();
                     occuredGuids.addAll(modRes.getOccuredGUIDs());
-                    modders.remove(i);
+                    if (!(modders.get(i) instanceof PaddingChunkModifier)) {
+                        modders.remove(i);
+                    }
                     handled = true;
                 }
             }
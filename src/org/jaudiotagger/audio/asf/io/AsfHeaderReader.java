@@ -24,6 +24,8 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -88,13 +90,63 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader> {
 
     /**
      * Creates a Stream that will read from the specified
-     * {@link RandomAccessFile};<br>
+     * {@link RandomAccessFile}, starting at its file pointer;<br>
      *
      * @param raf data source to read from.
      * @return a stream which accesses the source.
+     * @throws IOException on I/O Errors.
+     */
+    private static InputStream createStream(final RandomAccessFile raf) throws IOException {
+        return readHeaderObject(raf.getChannel(), raf.getFilePointer());
+    }
+
+    /**
+     * Reads the ASF header object starting at <code>position</code> into memory
+     * with as few reads as possible, so the chunk readers work on a buffer
+     * instead of the file.<br>
+     * If there is no header object at <code>position</code> just its GUID and
+     * size are read, so the header readers still find the GUID is not
+     * supported. If the header object is truncated the end of the buffer is
+     * the end of the file.<br>
+     * The position of the channel is not changed.
+     *
+     * @param channel  channel to read from.
+     * @param position position of the header object.
+     * @return stream over the header object, starting with its GUID.
+     * @throws IOException on I/O Errors.
+     */
+    public static ByteBufferInputStream readHeaderObject(final FileChannel channel, final long position) throws IOException {
+        final long available = Math.max(0, channel.size() - position);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(GUID.GUID_LENGTH + 8, available));
+        readFully(channel, buffer, position);
+        final ByteBufferInputStream guidAndSize = new ByteBufferInputStream(buffer);
+        if (buffer.remaining() == buffer.capacity() && buffer.capacity() == GUID.GUID_LENGTH + 8 && GUID.GUID_HEADER.equals(Utils.readGUID(guidAndSize))) {
+            final long headerSize = Math.min(Utils.readUINT64(guidAndSize), available);
+            if (headerSize > buffer.capacity() && headerSize <= Integer.MAX_VALUE) {
+                buffer = ByteBuffer.allocate((int) headerSize);
+                readFully(channel, buffer, position);
+            }
+        }
+        buffer.rewind();
+        return new ByteBufferInputStream(buffer);
+    }
+
+    /**
+     * Fills the buffer from the channel, stopping early at the end of the file.<br>
+     * The buffer is flipped so its contents can be read.
+     *
+     * @param channel  channel to read from.
+     * @param buffer   buffer to fill.
+     * @param position position in the channel of the start of the buffer.
+     * @throws IOException on I/O Errors.
      */
-    private static InputStream createStream(final RandomAccessFile raf) {
-        return new FullRequestInputStream(new BufferedInputStream(new RandomAccessFileInputstream(raf)));
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
     }
 
     /**
@@ -107,10 +159,9 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader> {
      * @throws IOException on I/O Errors.
      */
     public static AsfHeader readHeader(final File file) throws IOException {
-        final InputStream stream = new FileInputStream(file);
-        final AsfHeader result = FULL_READER.read(Utils.readGUID(stream), stream, 0);
-        stream.close();
-        return result;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return readHeader(raf);
+        }
     }
 
     /**
@@ -40,7 +40,8 @@ public class AsfStreamer {
      * the given <code>modifiers</code>, and puts it to <code>dest</code>.<br>
      * Each {@linkplain ChunkModifier modifier} is used only once, so if one
      * should be used multiple times, it should be added multiple times into the
-     * list.<br>
+     * list. The exception is {@link PaddingChunkModifier} which is given every
+     * padding chunk so they are merged into one.<br>
      *
      * @param source    the source ASF file
      * @param dest      the destination to write the modified version to.
@@ -48,6 +49,27 @@ public class AsfStreamer {
      * @throws IOException on I/O errors.
      */
     public void createModifiedCopy(final InputStream source, final OutputStream dest, final List<ChunkModifier> modifiers) throws IOException {
+        createModifiedHeader(source, dest, modifiers);
+        // copy the rest of the file (data and index)
+        Utils.flush(source, dest);
+    }
+
+    /**
+     * Reads the ASF header object from <code>source</code> and applies the
+     * modifications provided by the given <code>modifiers</code>, and puts the
+     * modified header object to <code>dest</code>.<br>
+     * Afterwards <code>source</code> is located at the first byte after the
+     * header object, so the rest of the file can be copied unchanged, or if the
+     * size is unchanged the modified header can replace the original one.<br>
+     *
+     * @param source    the source ASF file
+     * @param dest      the destination to write the modified header object to.
+     * @param modifiers list of chunk modifiers to apply.
+     * @return the difference in size between the modified and the original
+     * header object.
+     * @throws IOException on I/O errors.
+     */
+    public long createModifiedHeader(final InputStream source, final OutputStream dest, final List<ChunkModifier> modifiers) throws IOException {
         final List<ChunkModifier> modders = new ArrayList<ChunkModifier>();
         if (modifiers != null) {
             modders.addAll(modifiers);
@@ -100,8 +122,10 @@ public class AsfStreamer {
                             // remember size differences.
                             chunkDiff += result.getChunkCountDifference();
                             totalDiff += result.getByteDifference();
-                            // remove current modifier from index.
-                            modders.remove(j);
+                            // remove current modifier from index, padding is kept to merge any further padding chunks
+                            if (!(modders.get(j) instanceof PaddingChunkModifier)) {
+                                modders.remove(j);
+                            }
                             handled = true;
                         }
                     }
@@ -135,8 +159,7 @@ public class AsfStreamer {
             modifyFileHeader(new ByteArrayInputStream(fileHeader), dest, totalDiff);
             // write the header objects (chunks)
             dest.write(bos.toByteArray());
-            // copy the rest of the file (data and index)
-            Utils.flush(source, dest);
+            return totalDiff;
         } else {
             throw new IllegalArgumentException("No ASF header object.");
         }
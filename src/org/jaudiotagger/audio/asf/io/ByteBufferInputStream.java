@@ -0,0 +1,126 @@
+package org.jaudiotagger.audio.asf.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}.<br>
+ * Unlike the stream classes of <code>java.io</code> no method is synchronized,
+ * mark/reset is always supported and there is no limit on how far one may read
+ * after marking. The buffer is read in little endian order, so numbers can be
+ * read from {@link #getBuffer()} directly.<br>
+ * The position of the buffer is the position of the stream, so the number of
+ * bytes read is the difference of the positions.<br>
+ * Reading into an array follows the contract of {@link InputStream}, so it may
+ * read fewer bytes than requested at the end of the buffer. Readers that need
+ * an exact number of bytes use {@link org.jaudiotagger.audio.asf.util.Utils#readFully(InputStream, byte[], int, int)},
+ * so a truncated header is reported rather than read as zeroes.
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    /**
+     * Source of the data.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Position of the buffer at the last call of {@link #mark(int)}.
+     */
+    private int markPosition;
+
+    /**
+     * Creates an instance.<br>
+     *
+     * @param buffer buffer to read from, starting at its position. Its byte order
+     *               is set to little endian.
+     */
+    public ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.markPosition = buffer.position();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+    /**
+     * Returns the buffer which is read from, reading from the buffer advances
+     * the stream.<br>
+     *
+     * @return the buffer.
+     */
+    public ByteBuffer getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void mark(final int readLimit) {
+        this.markPosition = this.buffer.position();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() {
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] destination, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+        final int count = Math.min(len, this.buffer.remaining());
+        this.buffer.get(destination, off, count);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        this.buffer.position(this.markPosition);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long amount) {
+        if (amount <= 0) {
+            return 0;
+        }
+        final int count = (int) Math.min(amount, this.buffer.remaining());
+        this.buffer.position(this.buffer.position() + count);
+        return count;
+    }
+
+}
@@ -8,6 +8,7 @@ import org.jaudiotagger.audio.asf.util.Utils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -31,6 +32,12 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
      */
     public final static int READ_LIMIT = 8192;
 
+    /**
+     * One instance of each {@linkplain #register(Class) registered} reader
+     * class.
+     */
+    private final static Map<Class<? extends ChunkReader>, ChunkReader> SHARED_READERS = new HashMap<Class<? extends ChunkReader>, ChunkReader>();
+
     /**
      * If <code>true</code> each chunk type will only be read once.<br>
      */
@@ -130,26 +137,44 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
      */
     public ChunkType read(final GUID guid, final InputStream stream, final long chunkStart) throws IOException, IllegalArgumentException {
         checkStream(stream);
-        final CountingInputStream cis = new CountingInputStream(stream);
+        /*
+         * A buffer already knows how much has been read, so it is read
+         * directly instead of counting each byte.
+         */
+        final InputStream source;
+        final CountingInputStream cis;
+        final ByteBuffer buffer;
+        final int bufferStart;
+        if (stream instanceof ByteBufferInputStream) {
+            cis = null;
+            buffer = ((ByteBufferInputStream) stream).getBuffer();
+            bufferStart = buffer.position();
+            source = stream;
+        } else {
+            cis = new CountingInputStream(stream);
+            buffer = null;
+            bufferStart = 0;
+            source = cis;
+        }
         if (!Arrays.asList(getApplyingIds()).contains(guid)) {
             throw new IllegalArgumentException("provided GUID is not supported by this reader.");
         }
         // For Know the file pointer pointed to an ASF header chunk.
-        final BigInteger chunkLen = Utils.readBig64(cis);
+        final BigInteger chunkLen = Utils.readBig64(source);
         /*
          * now read implementation specific information until the chunk
          * collection starts and create the resulting object.
          */
-        final ChunkType result = createContainer(chunkStart, chunkLen, cis);
+        final ChunkType result = createContainer(chunkStart, chunkLen, source);
         // 16 bytes have already been for providing the GUID
-        long currentPosition = chunkStart + cis.getReadCount() + 16;
+        long currentPosition = chunkStart + getReadCount(cis, buffer, bufferStart) + 16;
 
         final HashSet<GUID> alreadyRead = new HashSet<GUID>();
         /*
          * Now reading header of chuncks.
          */
         while (currentPosition < result.getChunkEnd()) {
-            final GUID currentGUID = Utils.readGUID(cis);
+            final GUID currentGUID = Utils.readGUID(source);
             final boolean skip = this.eachChunkOnce && (!isReaderAvailable(currentGUID) || !alreadyRead.add(currentGUID));
             Chunk chunk;
             /*
@@ -159,17 +184,17 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
             if (!skip && isReaderAvailable(currentGUID)) {
                 final ChunkReader reader = getReader(currentGUID);
                 if (reader.canFail()) {
-                    cis.mark(READ_LIMIT);
+                    source.mark(READ_LIMIT);
                 }
-                chunk = getReader(currentGUID).read(currentGUID, cis, currentPosition);
+                chunk = reader.read(currentGUID, source, currentPosition);
             } else {
-                chunk = ChunkHeaderReader.getInstance().read(currentGUID, cis, currentPosition);
+                chunk = ChunkHeaderReader.getInstance().read(currentGUID, source, currentPosition);
             }
             if (chunk == null) {
                 /*
                  * Reader failed
                  */
-                cis.reset();
+                source.reset();
             } else {
                 if (!skip) {
                     result.addChunk(chunk);
@@ -177,29 +202,67 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
                 currentPosition = chunk.getChunkEnd();
                 // Always take into account, that 16 bytes have been read prior
                 // to calling this method
-                assert cis.getReadCount() + chunkStart + 16 == currentPosition;
+                assert getReadCount(cis, buffer, bufferStart) + chunkStart + 16 == currentPosition;
             }
         }
 
         return result;
     }
 
+    /**
+     * Returns the number of bytes read by {@link #read(GUID, InputStream, long)}
+     * from either the counting stream or the buffer.
+     *
+     * @param cis         counting stream, <code>null</code> if reading from a buffer.
+     * @param buffer      buffer being read.
+     * @param bufferStart position of the buffer when reading started.
+     * @return number of bytes read.
+     */
+    private static long getReadCount(final CountingInputStream cis, final ByteBuffer buffer, final int bufferStart) {
+        if (cis != null) {
+            return cis.getReadCount();
+        }
+        return buffer.position() - bufferStart;
+    }
+
     /**
      * Registers the given reader.<br>
+     * Readers hold no state, so one instance of each class is shared by all
+     * containers.
      *
      * @param <T>        The actual reader implementation.
      * @param toRegister chunk reader which is to be registered.
      */
     private <T extends ChunkReader> void register(final Class<T> toRegister) {
-        try {
-            final T reader = toRegister.newInstance();
+        final ChunkReader reader = getSharedReader(toRegister);
+        if (reader != null) {
             for (final GUID curr : reader.getApplyingIds()) {
                 this.readerMap.put(curr, reader);
             }
-        } catch (InstantiationException e) {
-            LOGGER.severe(e.getMessage());
-        } catch (IllegalAccessException e) {
-            LOGGER.severe(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the shared instance of the given reader class, creating it on
+     * first use.<br>
+     *
+     * @param readerClass chunk reader class.
+     * @return reader instance, <code>null</code> if it could not be created.
+     */
+    private static ChunkReader getSharedReader(final Class<? extends ChunkReader> readerClass) {
+        synchronized (SHARED_READERS) {
+            ChunkReader reader = SHARED_READERS.get(readerClass);
+            if (reader == null) {
+                try {
+                    reader = readerClass.newInstance();
+                    SHARED_READERS.put(readerClass, reader);
+                } catch (InstantiationException e) {
+                    LOGGER.severe(e.getMessage());
+                } catch (IllegalAccessException e) {
+                    LOGGER.severe(e.getMessage());
+                }
+            }
+            return reader;
         }
     }
 
@@ -87,7 +87,7 @@ class EncryptionChunkReader implements ChunkReader {
         fieldLength = (int) Utils.readUINT32(stream);
         // Secret Data
         secretData = new byte[fieldLength + 1];
-        stream.read(secretData, 0, fieldLength);
+        Utils.readFully(stream, secretData, 0, fieldLength);
         secretData[fieldLength] = 0;
 
         // Protection type Length
@@ -95,7 +95,7 @@ class EncryptionChunkReader implements ChunkReader {
         fieldLength = (int) Utils.readUINT32(stream);
         // Protection Data Length
         protectionType = new byte[fieldLength + 1];
-        stream.read(protectionType, 0, fieldLength);
+        Utils.readFully(stream, protectionType, 0, fieldLength);
         protectionType[fieldLength] = 0;
 
         // Key ID length
@@ -103,7 +103,7 @@ class EncryptionChunkReader implements ChunkReader {
         fieldLength = (int) Utils.readUINT32(stream);
         // Key ID
         keyID = new byte[fieldLength + 1];
-        stream.read(keyID, 0, fieldLength);
+        Utils.readFully(stream, keyID, 0, fieldLength);
         keyID[fieldLength] = 0;
 
         // License URL length
@@ -111,7 +111,7 @@ class EncryptionChunkReader implements ChunkReader {
         fieldLength = (int) Utils.readUINT32(stream);
         // License URL
         licenseURL = new byte[fieldLength + 1];
-        stream.read(licenseURL, 0, fieldLength);
+        Utils.readFully(stream, licenseURL, 0, fieldLength);
         licenseURL[fieldLength] = 0;
 
         result.setSecretData(new String(secretData));
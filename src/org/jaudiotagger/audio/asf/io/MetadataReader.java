@@ -124,7 +124,7 @@ public class MetadataReader implements ChunkReader {
      */
     private boolean readBoolean(final InputStream stream, final int bytes) throws IOException {
         final byte[] tmp = new byte[bytes];
-        stream.read(tmp);
+        Utils.readFully(stream, tmp, 0, bytes);
         boolean result = false;
         for (int i = 0; i < bytes; i++) {
             if (i == bytes - 1) {
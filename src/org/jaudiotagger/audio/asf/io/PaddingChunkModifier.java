@@ -0,0 +1,74 @@
+package org.jaudiotagger.audio.asf.io;
+
+import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.util.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This {@link ChunkModifier} implementation replaces the padding chunk with one of the given size, or adds one if
+ * there isn't a padding chunk.<br>
+ * A size of zero removes the padding chunk. If there are several padding chunks the first is replaced and the others
+ * are removed, so unlike other modifiers it is applied to every chunk it is applicable to.
+ */
+public class PaddingChunkModifier implements ChunkModifier {
+
+    /**
+     * Smallest padding chunk, just the GUID and the chunk length.<br>
+     */
+    public final static int MINIMUM_SIZE = 24;
+
+    /**
+     * Size of the padding chunk to write, including GUID and chunk length.
+     */
+    private final long size;
+
+    /**
+     * Whether the padding chunk has been written, any padding chunks after it are removed.
+     */
+    private boolean written;
+
+    /**
+     * Creates an instance.<br>
+     *
+     * @param size size of the padding chunk including its GUID and length, zero or at least {@link #MINIMUM_SIZE}.
+     */
+    public PaddingChunkModifier(final long size) {
+        if (size != 0 && size < MINIMUM_SIZE) {
+            throw new IllegalArgumentException("Padding chunk must be at least " + MINIMUM_SIZE + " bytes: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isApplicable(final GUID guid) {
+        return GUID.GUID_PADDING.equals(guid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ModificationResult modify(final GUID guid, final InputStream source, final OutputStream destination) throws IOException {
+        int chunkDiff = 0;
+        long oldSize = 0;
+        if (guid != null) {
+            assert isApplicable(guid);
+            oldSize = Utils.readUINT64(source);
+            source.skip(oldSize - 24);
+            chunkDiff--;
+        }
+        final long newSize = this.written ? 0 : this.size;
+        if (newSize > 0) {
+            destination.write(GUID.GUID_PADDING.getBytes());
+            Utils.writeUINT64(newSize, destination);
+            destination.write(new byte[(int) (newSize - 24)]);
+            chunkDiff++;
+        }
+        this.written = true;
+        return new ModificationResult(chunkDiff, newSize - oldSize, GUID.GUID_PADDING);
+    }
+}
@@ -118,7 +118,7 @@ public class StreamChunkReader implements ChunkReader {
                 final int bitsPerSample = Utils.readUINT16(stream);
                 final int codecSpecificDataSize = Utils.readUINT16(stream);
                 final byte[] codecSpecificData = new byte[codecSpecificDataSize];
-                stream.read(codecSpecificData);
+                Utils.readFully(stream, codecSpecificData, 0, codecSpecificDataSize);
 
                 audioStreamChunk.setCompressionFormat(compressionFormat);
                 audioStreamChunk.setChannelCount(channelCount);
@@ -151,7 +151,7 @@ public class StreamChunkReader implements ChunkReader {
 
                 stream.skip(16);
                 final byte[] fourCC = new byte[4];
-                stream.read(fourCC);
+                Utils.readFully(stream, fourCC, 0, fourCC.length);
 
                 videoStreamChunk.setPictureWidth(pictureWidth);
                 videoStreamChunk.setPictureHeight(pictureHeight);
@@ -20,6 +20,7 @@ package org.jaudiotagger.audio.asf.util;
 
 import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.io.ByteBufferInputStream;
 import org.jaudiotagger.logging.ErrorMessage;
 
 import java.io.EOFException;
@@ -229,6 +230,26 @@ public class Utils {
         return toTest == null || toTest.length() == 0;
     }
 
+    /**
+     * If the stream reads from a {@link ByteBuffer} with at least
+     * <code>size</code> bytes remaining, the buffer is returned so numbers can
+     * be read from it directly rather than one byte at a time.<br>
+     *
+     * @param stream stream to read from.
+     * @param size   number of bytes which are to be read.
+     * @return the little endian buffer, or <code>null</code> if the stream has
+     * to be used.
+     */
+    private static ByteBuffer getBuffer(final InputStream stream, final int size) {
+        if (stream instanceof ByteBufferInputStream) {
+            final ByteBuffer buffer = ((ByteBufferInputStream) stream).getBuffer();
+            if (buffer.remaining() >= size) {
+                return buffer;
+            }
+        }
+        return null;
+    }
+
     /**
      * Reads 8 bytes from stream and interprets them as a UINT64 which is
      * returned as {@link BigInteger}.<br>
@@ -240,11 +261,7 @@ public class Utils {
     public static BigInteger readBig64(InputStream stream) throws IOException {
         byte[] bytes = new byte[8];
         byte[] oa = new byte[8];
-        int read = stream.read(bytes);
-        if (read != 8) {
-            // 8 bytes mandatory.
-            throw new EOFException();
-        }
+        readFully(stream, bytes, 0, bytes.length);
         for (int i = 0; i < bytes.length; i++) {
             oa[7 - i] = bytes[i];
         }
@@ -261,7 +278,7 @@ public class Utils {
      */
     public static byte[] readBinary(InputStream stream, long size) throws IOException {
         byte[] result = new byte[(int) size];
-        stream.read(result);
+        readFully(stream, result, 0, result.length);
         return result;
     }
 
@@ -278,13 +295,13 @@ public class Utils {
     public static String readCharacterSizedString(InputStream stream) throws IOException {
         StringBuilder result = new StringBuilder();
         int strLen = readUINT16(stream);
-        int character = stream.read();
-        character |= stream.read() << 8;
+        int character = readByte(stream);
+        character |= readByte(stream) << 8;
         do {
             if (character != 0) {
                 result.append((char) character);
-                character = stream.read();
-                character |= stream.read() << 8;
+                character = readByte(stream);
+                character |= readByte(stream) << 8;
             }
         }
         while (character != 0 || (result.length() + 1) > strLen);
@@ -308,22 +325,19 @@ public class Utils {
      */
     public static String readFixedSizeUTF16Str(InputStream stream, int strLen) throws IOException {
         byte[] strBytes = new byte[strLen];
-        int read = stream.read(strBytes);
-        if (read == strBytes.length) {
-            if (strBytes.length >= 2) {
-                /*
-                 * Zero termination is recommended but optional. So check and
-                 * if, remove.
-                 */
-                if (strBytes[strBytes.length - 1] == 0 && strBytes[strBytes.length - 2] == 0) {
-                    byte[] copy = new byte[strBytes.length - 2];
-                    System.arraycopy(strBytes, 0, copy, 0, strBytes.length - 2);
-                    strBytes = copy;
-                }
+        readFully(stream, strBytes, 0, strBytes.length);
+        if (strBytes.length >= 2) {
+            /*
+             * Zero termination is recommended but optional. So check and
+             * if, remove.
+             */
+            if (strBytes[strBytes.length - 1] == 0 && strBytes[strBytes.length - 2] == 0) {
+                byte[] copy = new byte[strBytes.length - 2];
+                System.arraycopy(strBytes, 0, copy, 0, strBytes.length - 2);
+                strBytes = copy;
             }
-            return new String(strBytes, StandardCharsets.UTF_16LE);
         }
-        throw new IllegalStateException("Couldn't read the necessary amount of bytes.");
+        return new String(strBytes, StandardCharsets.UTF_16LE);
     }
 
     /**
@@ -334,18 +348,30 @@ public class Utils {
      * 16 bytes will be interpreted as a guid, whether it is or not.
      *
      * @param stream Input source.
-     * @return A class wrapping the guid.
+     * @return A class wrapping the guid, the instance from
+     * {@link GUID#KNOWN_GUIDS} if the guid is known.
      * @throws IOException happens when the file ends before guid could be extracted.
      */
     public static GUID readGUID(InputStream stream) throws IOException {
         if (stream == null) {
             throw new IllegalArgumentException("Argument must not be null"); //$NON-NLS-1$
         }
-        int[] binaryGuid = new int[GUID.GUID_LENGTH];
-        for (int i = 0; i < binaryGuid.length; i++) {
-            binaryGuid[i] = stream.read();
+        long high = 0;
+        long low = 0;
+        final ByteBuffer buffer = getBuffer(stream, GUID.GUID_LENGTH);
+        if (buffer != null) {
+            // The buffer is little endian, GUIDs are kept in stored order
+            high = Long.reverseBytes(buffer.getLong());
+            low = Long.reverseBytes(buffer.getLong());
+        } else {
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | readByte(stream);
+            }
+            for (int i = 0; i < 8; i++) {
+                low = (low << 8) | readByte(stream);
+            }
         }
-        return new GUID(binaryGuid);
+        return GUID.valueOf(high, low);
     }
 
     /**
@@ -356,8 +382,12 @@ public class Utils {
      * @throws IOException on I/O Errors.
      */
     public static int readUINT16(InputStream stream) throws IOException {
-        int result = stream.read();
-        result |= stream.read() << 8;
+        final ByteBuffer buffer = getBuffer(stream, 2);
+        if (buffer != null) {
+            return buffer.getShort() & 0xFFFF;
+        }
+        int result = readByte(stream);
+        result |= readByte(stream) << 8;
         return result;
     }
 
@@ -369,13 +399,17 @@ public class Utils {
      * @throws IOException on I/O Errors.
      */
     public static long readUINT32(InputStream stream) throws IOException {
+        final ByteBuffer buffer = getBuffer(stream, 4);
+        if (buffer != null) {
+            return buffer.getInt() & 0xFFFFFFFFL;
+        }
         long result = 0;
         for (int i = 0; i <= 24; i += 8) {
             // Warning, always cast to long here. Otherwise it will be
             // shifted as int, which may produce a negative value, which will
             // then be extended to long and assign the long variable a negative
             // value.
-            result |= (long) stream.read() << i;
+            result |= (long) readByte(stream) << i;
         }
         return result;
     }
@@ -388,13 +422,56 @@ public class Utils {
      * @throws IOException read error, or eof is reached before long is completed
      */
     public static long readUINT64(InputStream stream) throws IOException {
+        final ByteBuffer buffer = getBuffer(stream, 8);
+        if (buffer != null) {
+            return buffer.getLong();
+        }
         long result = 0;
         for (int i = 0; i <= 56; i += 8) {
             // Warning, always cast to long here. Otherwise it will be
             // shifted as int, which may produce a negative value, which will
             // then be extended to long and assign the long variable a negative
             // value.
-            result |= (long) stream.read() << i;
+            result |= (long) readByte(stream) << i;
+        }
+        return result;
+    }
+
+    /**
+     * Reads exactly <code>len</code> bytes from the stream, which may return
+     * fewer bytes from each read.<br>
+     *
+     * @param stream      stream to read from.
+     * @param destination array to read into.
+     * @param off         offset in the array to start at.
+     * @param len         number of bytes to read.
+     * @throws IOException  on I/O Errors.
+     * @throws EOFException if the stream ends before <code>len</code> bytes
+     *                      are read.
+     */
+    public static void readFully(final InputStream stream, final byte[] destination, final int off, final int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            final int read = stream.read(destination, off + total, len - total);
+            if (read == -1) {
+                throw new EOFException((len - total) + " more bytes expected.");
+            }
+            total += read;
+        }
+    }
+
+    /**
+     * Reads one byte from the stream.<br>
+     *
+     * @param stream stream to read from.
+     * @return the byte, from 0 to 255.
+     * @throws IOException  on I/O Errors.
+     * @throws EOFException if the stream has ended.
+     */
+    private static int readByte(final InputStream stream) throws IOException {
+        final int result = stream.read();
+        if (result == -1) {
+            throw new EOFException();
         }
         return result;
     }
@@ -411,21 +488,18 @@ public class Utils {
     public static String readUTF16LEStr(InputStream stream) throws IOException {
         int strLen = readUINT16(stream);
         byte[] buf = new byte[strLen];
-        int read = stream.read(buf);
-        if (read == strLen || (strLen == 0 && read == -1)) {
-            /*
-             * Check on zero termination
-             */
-            if (buf.length >= 2) {
-                if (buf[buf.length - 1] == 0 && buf[buf.length - 2] == 0) {
-                    byte[] copy = new byte[buf.length - 2];
-                    System.arraycopy(buf, 0, copy, 0, buf.length - 2);
-                    buf = copy;
-                }
+        readFully(stream, buf, 0, strLen);
+        /*
+         * Check on zero termination
+         */
+        if (buf.length >= 2) {
+            if (buf[buf.length - 1] == 0 && buf[buf.length - 2] == 0) {
+                byte[] copy = new byte[buf.length - 2];
+                System.arraycopy(buf, 0, copy, 0, buf.length - 2);
+                buf = copy;
             }
-            return new String(buf, AsfHeader.ASF_CHARSET.name());
         }
-        throw new IllegalStateException("Invalid Data for current interpretation"); //$NON-NLS-1$
+        return new String(buf, AsfHeader.ASF_CHARSET.name());
     }
 
     /**
@@ -38,7 +38,9 @@ public class DsfFileReader extends AudioFileReader2 {
             ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
             FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
             if (fmt != null) {
-                return fmt.readChunkData(dsd, fc);
+                GenericAudioHeader audioHeader = fmt.readChunkData(dsd, fc);
+                readAudioDataPosition(fc, audioHeader);
+                return audioHeader;
             } else {
                 throw new CannotReadException(fileName + " Not a valid dsf file. Content does not include 'fmt ' chunk");
             }
@@ -47,6 +49,26 @@ public class DsfFileReader extends AudioFileReader2 {
         }
     }
 
+    /**
+     * The data chunk holding the samples follows the fmt chunk
+     *
+     * @param fc          positioned after the fmt chunk
+     * @param audioHeader to set the audio data position of
+     * @throws IOException
+     */
+    private void readAudioDataPosition(FileChannel fc, GenericAudioHeader audioHeader) throws IOException {
+        if (fc.size() - fc.position() < IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH) {
+            return;
+        }
+        ByteBuffer dataChunkHeader = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
+        if (DsfChunkType.DATA.getCode().equals(Utils.readFourBytesAsChars(dataChunkHeader))) {
+            long dataSize = dataChunkHeader.getLong() - (IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
+            audioHeader.setAudioDataStartPosition(fc.position());
+            audioHeader.setAudioDataEndPosition(Math.min(fc.size(), fc.position() + dataSize));
+            audioHeader.setAudioDataLength(Math.min(fc.size(), fc.position() + dataSize) - fc.position());
+        }
+    }
+
     @Override
     protected Tag getTag(FileChannel fc, final String fileName) throws CannotReadException, IOException {
         DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
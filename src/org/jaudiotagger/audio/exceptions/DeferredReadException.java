@@ -0,0 +1,13 @@
+package org.jaudiotagger.audio.exceptions;
+
+/**
+ * Thrown when data that was left in the file when it was read, such as the image data of artwork, cannot be read when
+ * it is asked for, for example because the file has been changed since. The cause holds the underlying exception.
+ * <p>
+ * A RuntimeException because it is thrown from accessors that cannot throw checked exceptions.
+ */
+public class DeferredReadException extends RuntimeException {
+    public DeferredReadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
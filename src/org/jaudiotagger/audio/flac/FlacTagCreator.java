@@ -29,6 +29,8 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisCommentCreator;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.logging.Logger;
 
@@ -39,7 +41,7 @@ public class FlacTagCreator extends AbstractTagCreator<ByteBuffer> {
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.flac");
 
-    //TODO make an option
+    //Padding left when the audio is moved, unless a different padding has been set in TagOptionSingleton
     public static final int DEFAULT_PADDING = 4000;
 
     private static final VorbisCommentCreator creator = new VorbisCommentCreator();
@@ -52,58 +54,107 @@ public class FlacTagCreator extends AbstractTagCreator<ByteBuffer> {
      */
     public ByteBuffer convert(Tag tag, int paddingSize) throws UnsupportedEncodingException {
         logger.config("Convert flac tag:padding:" + paddingSize);
-        FlacTag flacTag = (FlacTag) tag;
+        ByteBuffer[] blocks = encode(tag).getBuffers(paddingSize);
+        int length = 0;
+        for (ByteBuffer block : blocks) {
+            length += block.remaining();
+        }
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        for (ByteBuffer block : blocks) {
+            buf.put(block);
+        }
+        buf.rewind();
+        return buf;
+    }
 
-        int tagLength = 0;
+    /**
+     * Encode the vorbis comment and pictures once, so their size can be checked before they are written without
+     * encoding them again
+     *
+     * @param tag
+     * @return the encoded blocks
+     * @throws UnsupportedEncodingException
+     */
+    public EncodedTag encode(Tag tag) throws UnsupportedEncodingException {
+        FlacTag flacTag = (FlacTag) tag;
         ByteBuffer vorbiscomment = null;
         if (flacTag.getVorbisCommentTag() != null) {
             vorbiscomment = creator.convert(flacTag.getVorbisCommentTag());
-            tagLength = vorbiscomment.capacity() + MetadataBlockHeader.HEADER_LENGTH;
         }
+        List<ByteBuffer[]> images = new ArrayList<ByteBuffer[]>(flacTag.getImages().size());
         for (MetadataBlockDataPicture image : flacTag.getImages()) {
-            tagLength += image.getBytes().limit() + MetadataBlockHeader.HEADER_LENGTH;
+            images.add(image.getByteBuffers());
         }
+        return new EncodedTag(vorbiscomment, images);
+    }
 
-        logger.config("Convert flac tag:taglength:" + tagLength);
-        ByteBuffer buf = ByteBuffer.allocate(tagLength + paddingSize);
+    /**
+     * The metadata blocks holding a flac tag, encoded ready to be written
+     */
+    public static class EncodedTag {
+        private final ByteBuffer vorbiscomment;
+        private final List<ByteBuffer[]> images;
+        private final int length;
 
-        MetadataBlockHeader vorbisHeader;
-        //If there are other metadata blocks
-        if (flacTag.getVorbisCommentTag() != null) {
-            if ((paddingSize > 0) || (flacTag.getImages().size() > 0)) {
-                vorbisHeader = new MetadataBlockHeader(false, BlockType.VORBIS_COMMENT, vorbiscomment.capacity());
-            } else {
-                vorbisHeader = new MetadataBlockHeader(true, BlockType.VORBIS_COMMENT, vorbiscomment.capacity());
+        private EncodedTag(ByteBuffer vorbiscomment, List<ByteBuffer[]> images) {
+            this.vorbiscomment = vorbiscomment;
+            this.images = images;
+            int tagLength = 0;
+            if (vorbiscomment != null) {
+                tagLength = vorbiscomment.remaining() + MetadataBlockHeader.HEADER_LENGTH;
             }
-            buf.put(vorbisHeader.getBytes());
-            buf.put(vorbiscomment);
+            for (ByteBuffer[] image : images) {
+                tagLength += image[0].remaining() + image[1].remaining() + MetadataBlockHeader.HEADER_LENGTH;
+            }
+            this.length = tagLength;
+            logger.config("Convert flac tag:taglength:" + tagLength);
+        }
+
+        /**
+         * @return length of the blocks, including their headers but not any padding
+         */
+        public int getLength() {
+            return length;
         }
 
-        //Images
-        ListIterator<MetadataBlockDataPicture> li = flacTag.getImages().listIterator();
-        while (li.hasNext()) {
-            MetadataBlockDataPicture imageField = li.next();
-            MetadataBlockHeader imageHeader;
+        /**
+         * Headers are created here because which block is the last block depends on the padding, can be called
+         * more than once
+         *
+         * @param paddingSize extra padding to be added, including the padding block header
+         * @return the blocks and their headers in the order to be written
+         */
+        public ByteBuffer[] getBuffers(int paddingSize) {
+            List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(2 + images.size() * 3 + 2);
 
-            if (paddingSize > 0 || li.hasNext()) {
-                imageHeader = new MetadataBlockHeader(false, BlockType.PICTURE, imageField.getLength());
-            } else {
-                imageHeader = new MetadataBlockHeader(true, BlockType.PICTURE, imageField.getLength());
+            //If there are other metadata blocks
+            if (vorbiscomment != null) {
+                boolean isLastBlock = paddingSize <= 0 && images.isEmpty();
+                MetadataBlockHeader vorbisHeader = new MetadataBlockHeader(isLastBlock, BlockType.VORBIS_COMMENT, vorbiscomment.remaining());
+                buffers.add(ByteBuffer.wrap(vorbisHeader.getBytes()));
+                buffers.add(vorbiscomment.duplicate());
+            }
+
+            //Images
+            ListIterator<ByteBuffer[]> li = images.listIterator();
+            while (li.hasNext()) {
+                ByteBuffer[] image = li.next();
+                boolean isLastBlock = paddingSize <= 0 && !li.hasNext();
+                MetadataBlockHeader imageHeader = new MetadataBlockHeader(isLastBlock, BlockType.PICTURE, image[0].remaining() + image[1].remaining());
+                buffers.add(ByteBuffer.wrap(imageHeader.getBytes()));
+                buffers.add(image[0].duplicate());
+                buffers.add(image[1].duplicate());
             }
-            buf.put(imageHeader.getBytes());
-            buf.put(imageField.getBytes());
-        }
 
-        //Padding
-        logger.config("Convert flac tag at" + buf.position());
-        if (paddingSize > 0) {
-            int paddingDataSize = paddingSize - MetadataBlockHeader.HEADER_LENGTH;
-            MetadataBlockHeader paddingHeader = new MetadataBlockHeader(true, BlockType.PADDING, paddingDataSize);
-            MetadataBlockDataPadding padding = new MetadataBlockDataPadding(paddingDataSize);
-            buf.put(paddingHeader.getBytes());
-            buf.put(padding.getBytes());
+            //Padding
+            if (paddingSize > 0) {
+                int paddingDataSize = paddingSize - MetadataBlockHeader.HEADER_LENGTH;
+                MetadataBlockHeader paddingHeader = new MetadataBlockHeader(true, BlockType.PADDING, paddingDataSize);
+                MetadataBlockDataPadding padding = new MetadataBlockDataPadding(paddingDataSize);
+                buffers.add(ByteBuffer.wrap(paddingHeader.getBytes()));
+                buffers.add(padding.getBytes());
+            }
+            return buffers.toArray(new ByteBuffer[buffers.size()]);
         }
-        buf.rewind();
-        return buf;
     }
 }
@@ -23,10 +23,12 @@ import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockHeader;
 import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentReader;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -84,7 +86,12 @@ public class FlacTagReader {
 
                     case PICTURE:
                         try {
-                            MetadataBlockDataPicture mbdp = new MetadataBlockDataPicture(mbh, fc);
+                            MetadataBlockDataPicture mbdp;
+                            if (TagOptionSingleton.getInstance().isLazyArtwork()) {
+                                mbdp = new MetadataBlockDataPicture(mbh, fc, new File(path));
+                            } else {
+                                mbdp = new MetadataBlockDataPicture(mbh, fc);
+                            }
                             images.add(mbdp);
                         } catch (IOException ioe) {
                             logger.warning(path + "Unable to read picture metablock, ignoring:" + ioe.getMessage());
@@ -21,6 +21,8 @@ package org.jaudiotagger.audio.flac;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.flac.metadatablock.*;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
+import org.jaudiotagger.audio.io.ChannelShifter;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.flac.FlacTag;
@@ -34,8 +36,6 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,6 +48,10 @@ import static org.jaudiotagger.utils.PrimitiveUtils.safeLongToInt;
 public class FlacTagWriter {
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.flac");
+
+    //Largest data length that fits in the 24 bit length of a metadata block header
+    private static final int MAXIMUM_BLOCK_DATA_LENGTH = 0xFFFFFF;
+
     private FlacTagCreator tc = new FlacTagCreator();
 
     /**
@@ -79,6 +83,13 @@ public class FlacTagWriter {
     public void write(Tag tag, FileChannel fc, final String fileName) throws CannotWriteException {
         logger.config(fileName + " Writing tag");
         try {
+            //Images read lazily from this file must be loaded before the file is modified
+            if (tag instanceof FlacTag) {
+                for (MetadataBlockDataPicture image : ((FlacTag) tag).getImages()) {
+                    image.getImageData();
+                }
+            }
+
             MetadataBlockInfo blockInfo = new MetadataBlockInfo();
 
             //Read existing data
@@ -141,8 +152,11 @@ public class FlacTagWriter {
             //Number of bytes in the existing file available before audio data
             int availableRoom = computeAvailableRoom(blockInfo);
 
+            //Encode the tag once, used both to find its size and to write it
+            FlacTagCreator.EncodedTag newTag = tc.encode(tag);
+
             //Minimum Size of the New tag data without padding
-            int newTagSize = tc.convert(tag).limit();
+            int newTagSize = newTag.getLength();
 
             //Other blocks required size
             int otherBlocksRequiredSize = computeNeededRoom(blockInfo);
@@ -162,17 +176,17 @@ public class FlacTagWriter {
                 //Jump over Id3 (if exists) and flac header
                 fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
 
-                //Write stream info and other non metadata blocks
-                writeOtherMetadataBlocks(fc, blockInfo);
-
-                //Write tag (and padding)
-                fc.write(tc.convert(tag, availableRoom - neededRoom));
+                //Write stream info and other non metadata blocks, then tag (and padding)
+                writeMetadataBlocks(fc, blockInfo, newTag.getBuffers(availableRoom - neededRoom));
+                PaddingPolicy.recordInPlaceSave();
             }
             //Need to move audio
             else {
                 logger.config(fileName + ":Audio must be shifted " + "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:" + (neededRoom - availableRoom));
-                //As we are having to both anyway may as well put in the default padding
-                insertUsingChunks(fileName, tag, fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom);
+                //As we are having to both anyway may as well put in some padding
+                int padding = getPadding(neededRoom);
+                insertUsingChunks(fileName, newTag, fc, blockInfo, flacStream, neededRoom + padding, availableRoom, padding);
+                PaddingPolicy.recordRewrite();
             }
         } catch (IOException ioe) {
             logger.log(Level.SEVERE, ioe.getMessage(), ioe);
@@ -211,10 +225,9 @@ public class FlacTagWriter {
 
         //Jump over Id3 (if exists) Flac Header
         fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
-        writeOtherMetadataBlocks(fc, blockInfo);
 
         //Write tag (and add some default padding)
-        fc.write(tc.convert(tag, FlacTagCreator.DEFAULT_PADDING));
+        writeMetadataBlocks(fc, blockInfo, tc.encode(tag).getBuffers(FlacTagCreator.DEFAULT_PADDING));
 
         //Write Audio
         fc.write(audioData);
@@ -224,22 +237,22 @@ public class FlacTagWriter {
     /**
      * Insert metadata into space that is not large enough
      * <p>
-     * We do this by reading/writing chunks of data allowing it to work on low memory systems
+     * We do this by shifting the audio towards the end of the file a chunk at a time, allowing it to work on low
+     * memory systems, and then writing the metadata into the space made
      * <p>
      * Chunk size defined by TagOptionSingleton.getInstance().getWriteChunkSize()
      *
-     * @param tag
+     * @param newTag
      * @param fc
      * @param blockInfo
      * @param flacStream
      * @param neededRoom
      * @param availableRoom
+     * @param padding       size of the padding block written after the metadata, included in neededRoom
      * @throws IOException
      * @throws UnsupportedEncodingException
      */
-    private void insertUsingChunks(String file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom) throws IOException, UnsupportedEncodingException {
-        long originalFileSize = fc.size();
-
+    private void insertUsingChunks(String file, FlacTagCreator.EncodedTag newTag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom, int padding) throws IOException, UnsupportedEncodingException {
         //Find end of metadata blocks (start of Audio), i.e start of Flac + 4 bytes for 'fLaC', 4 bytes for streaminfo header and
         //34 bytes for streaminfo and then size of all the other existing blocks
         long audioStart = flacStream.getStartOfFlacInFile()
@@ -251,50 +264,26 @@ public class FlacTagWriter {
         //Extra Space Required for larger metadata block
         int extraSpaceRequired = neededRoom - availableRoom;
         logger.config(file + " Audio needs shifting:" + extraSpaceRequired);
-
-        //ChunkSize must be at least as large as the extra space required to write the metadata
-        int chunkSize = (int) TagOptionSingleton.getInstance().getWriteChunkSize();
-        if (chunkSize < extraSpaceRequired) {
-            chunkSize = extraSpaceRequired;
-        }
-
-        Queue<ByteBuffer> queue = new LinkedBlockingQueue<>();
-
-        //Read first chunk of audio
-        fc.position(audioStart);
-        {
-            ByteBuffer audioBuffer = ByteBuffer.allocateDirect(chunkSize);
-            fc.read(audioBuffer);
-            audioBuffer.flip();
-            queue.add(audioBuffer);
-        }
-        long readPosition = fc.position();
+        ChannelShifter.shift(fc, audioStart, fc.size(), extraSpaceRequired);
 
         //Jump over Id3 (if exists) and Flac Header
         fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
-        writeOtherMetadataBlocks(fc, blockInfo);
-        fc.write(tc.convert(tag, FlacTagCreator.DEFAULT_PADDING));
-        long writePosition = fc.position();
-
-
-        fc.position(readPosition);
-        while (fc.position() < originalFileSize) {
-            //Read next chunk
-            ByteBuffer audioBuffer = ByteBuffer.allocateDirect(chunkSize);
-            fc.read(audioBuffer);
-            readPosition = fc.position();
-            audioBuffer.flip();
-            queue.add(audioBuffer);
-
-            //Write previous chunk
-            fc.position(writePosition);
-            fc.write(queue.remove());
-            writePosition = fc.position();
-
-            fc.position(readPosition);
+        writeMetadataBlocks(fc, blockInfo, newTag.getBuffers(padding));
+    }
+
+    /**
+     * Padding to leave after the metadata when the audio has to be moved, a padding block has to be large enough for
+     * its header and no larger than the largest block
+     *
+     * @param neededRoom size of the metadata blocks
+     * @return size of the padding block including its header, or zero for none
+     */
+    private int getPadding(int neededRoom) {
+        int padding = PaddingPolicy.getPadding(neededRoom, FlacTagCreator.DEFAULT_PADDING);
+        if (padding == 0) {
+            return 0;
         }
-        fc.position(writePosition);
-        fc.write(queue.remove());
+        return Math.min(Math.max(padding, MetadataBlockHeader.HEADER_LENGTH), MetadataBlockHeader.HEADER_LENGTH + MAXIMUM_BLOCK_DATA_LENGTH);
     }
 
     /**
@@ -327,7 +316,7 @@ public class FlacTagWriter {
         } catch (IOException ioe) {
             //#175: Flac Map error on write
             if (mappedFile == null) {
-                insertUsingChunks(fileName, tag, fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom);
+                insertUsingChunks(fileName, tc.encode(tag), fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom, FlacTagCreator.DEFAULT_PADDING);
             } else {
                 logger.log(Level.SEVERE, ioe.getMessage(), ioe);
                 throw ioe;
@@ -391,43 +380,59 @@ public class FlacTagWriter {
     private void writeTags(Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream) throws IOException {
         //Jump over Id3 (if exists) Flac Header
         fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
-        writeOtherMetadataBlocks(fc, blockInfo);
 
         //Write tag (and add some default padding)
-        fc.write(tc.convert(tag, FlacTagCreator.DEFAULT_PADDING));
+        writeMetadataBlocks(fc, blockInfo, tc.encode(tag).getBuffers(FlacTagCreator.DEFAULT_PADDING));
     }
 
     /**
-     * Write all metadata blocks except for the the actual tag metadata
+     * Write all metadata blocks except for the the actual tag metadata, followed by the tag metadata, in a single
+     * gathering write
      * <p/>
      * We always write blocks in this order
      *
      * @param fc
      * @param blockInfo
+     * @param tagBlocks
      * @throws IOException
      */
-    private void writeOtherMetadataBlocks(FileChannel fc, MetadataBlockInfo blockInfo) throws IOException {
+    private void writeMetadataBlocks(FileChannel fc, MetadataBlockInfo blockInfo, ByteBuffer[] tagBlocks) throws IOException {
+        List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+
         //Write StreamInfo, we always write this first even if wasn't first in original spec
-        fc.write(ByteBuffer.wrap(blockInfo.streamInfoBlock.getHeader().getBytesWithoutIsLastBlockFlag()));
-        fc.write(blockInfo.streamInfoBlock.getData().getBytes());
+        addMetadataBlock(buffers, blockInfo.streamInfoBlock);
 
         //Write Application Blocks
         for (MetadataBlock aMetadataBlockApplication : blockInfo.metadataBlockApplication) {
-            fc.write(ByteBuffer.wrap(aMetadataBlockApplication.getHeader().getBytesWithoutIsLastBlockFlag()));
-            fc.write(aMetadataBlockApplication.getData().getBytes());
+            addMetadataBlock(buffers, aMetadataBlockApplication);
         }
 
         //Write Seek Table Blocks
         for (MetadataBlock aMetadataBlockSeekTable : blockInfo.metadataBlockSeekTable) {
-            fc.write(ByteBuffer.wrap(aMetadataBlockSeekTable.getHeader().getBytesWithoutIsLastBlockFlag()));
-            fc.write(aMetadataBlockSeekTable.getData().getBytes());
+            addMetadataBlock(buffers, aMetadataBlockSeekTable);
         }
 
         //Write Cue sheet Blocks
         for (MetadataBlock aMetadataBlockCueSheet : blockInfo.metadataBlockCueSheet) {
-            fc.write(ByteBuffer.wrap(aMetadataBlockCueSheet.getHeader().getBytesWithoutIsLastBlockFlag()));
-            fc.write(aMetadataBlockCueSheet.getData().getBytes());
+            addMetadataBlock(buffers, aMetadataBlockCueSheet);
         }
+
+        long remaining = 0;
+        for (ByteBuffer tagBlock : tagBlocks) {
+            buffers.add(tagBlock);
+        }
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        ByteBuffer[] blocks = buffers.toArray(new ByteBuffer[buffers.size()]);
+        while (remaining > 0) {
+            remaining -= fc.write(blocks);
+        }
+    }
+
+    private void addMetadataBlock(List<ByteBuffer> buffers, MetadataBlock block) {
+        buffers.add(ByteBuffer.wrap(block.getHeader().getBytesWithoutIsLastBlockFlag()));
+        buffers.add(block.getData().getBytes());
     }
 
     /**
@@ -1,12 +1,14 @@
 package org.jaudiotagger.audio.flac.metadatablock;
 
 import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.InvalidFrameException;
 import org.jaudiotagger.tag.TagField;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
@@ -43,6 +45,9 @@ import java.util.logging.Logger;
 public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
     public static final String IMAGE_IS_URL = "-->";
 
+    //Picture type, width, height, colour depth, indexed colour count and the three length fields
+    private static final int FIXED_FIELDS_LENGTH = 32;
+
     private int pictureType;
     private String mimeType = "";
     private String description;
@@ -52,6 +57,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
     private int indexedColouredCount;
     private int lengthOfPictureInBytes;
     private byte[] imageData;
+    private FileRegion imageRegion;
 
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.flac.MetadataBlockDataPicture");
@@ -123,6 +129,71 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
 
     }
 
+    /**
+     * Construct picture block by reading from file, but leave the image data in the file until it is needed.
+     * <p>
+     * On return the channel is positioned at the end of the block.
+     *
+     * @param header
+     * @param fc
+     * @param file   the channel is reading from, so the image data can be read later
+     * @throws IOException
+     * @throws InvalidFrameException
+     */
+    public MetadataBlockDataPicture(MetadataBlockHeader header, FileChannel fc, File file) throws IOException, InvalidFrameException {
+        long blockStart = fc.position();
+        long blockEnd = blockStart + header.getDataLength();
+        try {
+            //Picture Type, MimeType length
+            ByteBuffer rawdata = readFully(fc, 8, blockEnd);
+            pictureType = rawdata.getInt();
+            if (pictureType >= PictureTypes.getInstanceOf().getSize()) {
+                throw new InvalidFrameException("PictureType was:" + pictureType + "but the maximum allowed is " + (PictureTypes.getInstanceOf().getSize() - 1));
+            }
+            int mimeTypeSize = rawdata.getInt();
+
+            //MimeType, Description length
+            rawdata = readFully(fc, mimeTypeSize + 4, blockEnd);
+            mimeType = getString(rawdata, mimeTypeSize, Charset.forName("ISO-8859-1").name());
+            int descriptionSize = rawdata.getInt();
+
+            //Description, Image width, height, colour depth, indexed colour count and length of image data
+            rawdata = readFully(fc, descriptionSize + 20, blockEnd);
+            description = getString(rawdata, descriptionSize, Charset.forName("UTF-8").name());
+            width = rawdata.getInt();
+            height = rawdata.getInt();
+            colourDepth = rawdata.getInt();
+            indexedColouredCount = rawdata.getInt();
+            lengthOfPictureInBytes = rawdata.getInt();
+
+            if (lengthOfPictureInBytes < 0 || fc.position() + lengthOfPictureInBytes > blockEnd) {
+                throw new IOException("Image data length:" + lengthOfPictureInBytes + " is larger than the picture block");
+            }
+            if (isImageUrl()) {
+                imageData = new byte[lengthOfPictureInBytes];
+                fc.read(ByteBuffer.wrap(imageData));
+            } else {
+                imageRegion = new FileRegion(file, fc.position(), lengthOfPictureInBytes);
+            }
+            logger.config("Read image header:" + this.toString());
+        } finally {
+            fc.position(blockEnd);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel fc, int length, long blockEnd) throws IOException {
+        if (length < 0 || fc.position() + length > blockEnd) {
+            throw new IOException("Unable to read " + length + " bytes, the picture block ends at:" + blockEnd);
+        }
+        ByteBuffer rawdata = ByteBuffer.allocate(length);
+        int bytesRead = fc.read(rawdata);
+        if (bytesRead < length) {
+            throw new IOException("Unable to read required number of databytes read:" + bytesRead + ":required:" + length);
+        }
+        rawdata.rewind();
+        return rawdata;
+    }
+
     /**
      * Construct new MetadataPicture block
      *
@@ -165,6 +236,20 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
     }
 
     public ByteBuffer getBytes() {
+        ByteBuffer[] buffers = getByteBuffers();
+        ByteBuffer bytes = ByteBuffer.allocate(buffers[0].remaining() + buffers[1].remaining());
+        bytes.put(buffers[0]);
+        bytes.put(buffers[1]);
+        bytes.flip();
+        return bytes;
+    }
+
+    /**
+     * The data as two buffers so it can be written without copying the image
+     *
+     * @return the fields preceding the image data, and the image data itself
+     */
+    public ByteBuffer[] getByteBuffers() {
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             baos.write(Utils.getSizeBEInt32(pictureType));
@@ -176,17 +261,23 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
             baos.write(Utils.getSizeBEInt32(height));
             baos.write(Utils.getSizeBEInt32(colourDepth));
             baos.write(Utils.getSizeBEInt32(indexedColouredCount));
+            byte[] imageData = getImageData();
             baos.write(Utils.getSizeBEInt32(imageData.length));
-            baos.write(imageData);
-            return ByteBuffer.wrap(baos.toByteArray());
-
+            return new ByteBuffer[]{ByteBuffer.wrap(baos.toByteArray()), ByteBuffer.wrap(imageData)};
         } catch (IOException ioe) {
             throw new RuntimeException(ioe.getMessage());
         }
     }
 
+    /**
+     * @return length of the data, calculated without encoding it or reading image data left in the file
+     */
     public int getLength() {
-        return getBytes().limit();
+        int imageLength = imageRegion != null ? imageRegion.getLength() : imageData.length;
+        return FIXED_FIELDS_LENGTH
+                + mimeType.getBytes(Charset.forName("ISO-8859-1")).length
+                + description.getBytes(Charset.forName("UTF-8")).length
+                + imageLength;
     }
 
     public int getPictureType() {
@@ -218,9 +309,20 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
     }
 
     public byte[] getImageData() {
+        if (imageRegion != null) {
+            imageData = imageRegion.readDeferred();
+            imageRegion = null;
+        }
         return imageData;
     }
 
+    /**
+     * @return the region of the file holding the image data if it has not been read yet, otherwise null
+     */
+    public FileRegion getImageRegion() {
+        return imageRegion;
+    }
+
     /**
      * @return true if imagedata  is held as a url rather than actually being imagedata
      */
@@ -241,7 +343,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField {
 
     public String toString() {
         return PictureTypes.getInstanceOf().getValueForId(pictureType) + ":" + mimeType + ":" + description + ":" + "width:" + width + ":height:" + height + ":colourdepth:" + colourDepth + ":indexedColourCount:" + indexedColouredCount
-                + ":image size in bytes:" + lengthOfPictureInBytes + "/" + imageData.length;
+                + ":image size in bytes:" + lengthOfPictureInBytes + "/" + (imageRegion != null ? imageRegion.getLength() : imageData.length);
     }
 
     /**
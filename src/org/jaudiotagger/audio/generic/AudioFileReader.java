@@ -30,6 +30,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -71,6 +72,24 @@ public abstract class AudioFileReader {
      */
     protected abstract Tag getTag(RandomAccessFile raf) throws CannotReadException, IOException;
 
+    /**
+     * Read the encoding info and tag from an open file
+     * <p>
+     * Subclasses can override this if the encoding info and tag are better read together
+     *
+     * @param f   the file being read
+     * @param raf open at the start of the file
+     * @return the AudioFile
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected AudioFile read(File f, RandomAccessFile raf) throws CannotReadException, IOException {
+        GenericAudioHeader info = getEncodingInfo(raf);
+        raf.seek(0);
+        Tag tag = getTag(raf);
+        return new AudioFile(f, info, tag);
+    }
+
     /*
      * Reads the given file, and return an AudioFile object containing the Tag
      * and the encoding infos present in the file. If the file has no tag, an
@@ -97,11 +116,7 @@ public abstract class AudioFileReader {
         try {
             raf = new RandomAccessFile(f, "r");
             raf.seek(0);
-
-            GenericAudioHeader info = getEncodingInfo(raf);
-            raf.seek(0);
-            Tag tag = getTag(raf);
-            return new AudioFile(f, info, tag);
+            return read(f, raf);
 
         } catch (CannotReadException cre) {
             throw cre;
@@ -118,4 +133,24 @@ public abstract class AudioFileReader {
             }
         }
     }
+
+    /**
+     * Reads the audio held by the channel, which does not have to be a file. The whole of the channel is read and
+     * it is not closed.
+     * <p>
+     * Only readers able to read from a channel directly override this, for other formats it fails rather than
+     * copying the audio to a file.
+     *
+     * @param channel holding the audio
+     * @param ext     file suffix of the format, such as flac
+     * @return the AudioFile, which has no file
+     * @throws CannotReadException if the format cannot be read from a channel
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile read(SeekableByteChannel channel, String ext) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException {
+        throw new CannotReadException(ErrorMessage.NO_CHANNEL_READER_FOR_THIS_FORMAT.getMsg(ext));
+    }
 }
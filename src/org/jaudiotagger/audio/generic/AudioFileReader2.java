@@ -5,15 +5,20 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.NoReadPermissionsException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
+import org.jaudiotagger.audio.io.MappedReadChannel;
+import org.jaudiotagger.audio.io.SeekableFileChannel;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Level;
 
 /**
@@ -44,12 +49,8 @@ public abstract class AudioFileReader2 extends AudioFileReader {
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f));
         }
 
-        try (FileChannel channel = new RandomAccessFile(f, "r").getChannel()) {
-            final String absolutePath = f.getAbsolutePath();
-            GenericAudioHeader info = getEncodingInfo(channel, absolutePath);
-            channel.position(0);
-            Tag tag = getTag(channel, absolutePath);
-            return new AudioFile(f, info, tag);
+        try (FileChannel channel = openChannel(f)) {
+            return read(f, channel, f.getAbsolutePath());
         } catch (IllegalArgumentException e) {
             logger.warning(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f));
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f));
@@ -59,6 +60,63 @@ public abstract class AudioFileReader2 extends AudioFileReader {
         }
     }
 
+    /**
+     * Reads the audio held by the channel directly, without copying it to a file. The whole of the channel is read
+     * and it is not closed. Artwork is always read with the rest of the tag.
+     *
+     * @param channel holding the audio
+     * @param ext     file suffix of the format, such as flac
+     * @return the AudioFile, which has no file
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    @Override
+    public AudioFile read(SeekableByteChannel channel, String ext) throws CannotReadException, IOException {
+        final String name = ext + " channel";
+        if (logger.isLoggable(Level.CONFIG)) {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(name));
+        }
+        if (channel.size() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE) {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(name));
+        }
+        FileChannel fc = SeekableFileChannel.of(channel);
+        fc.position(0);
+        //Artwork cannot be left in a file that does not exist
+        try (TagOptions.Scope scope = TagOptions.snapshot().with(o -> o.setLazyArtwork(false)).use()) {
+            return read(null, fc, name);
+        }
+    }
+
+    /**
+     * Read the encoding info and tag from a channel positioned at the start of the file
+     */
+    private AudioFile read(File f, FileChannel channel, String name) throws CannotReadException, IOException {
+        GenericAudioHeader info = getEncodingInfo(channel, name);
+        channel.position(0);
+        Tag tag = getTag(channel, name);
+        return new AudioFile(f, info, tag);
+    }
+
+    /**
+     * Open the file for reading, through a memory mapping if {@link TagOptionSingleton#isMappedRead()} is set
+     *
+     * @param f
+     * @return channel to the file, closing it releases any mapping
+     * @throws IOException
+     */
+    protected FileChannel openChannel(File f) throws IOException {
+        FileChannel channel = new RandomAccessFile(f, "r").getChannel();
+        if (!TagOptionSingleton.getInstance().isMappedRead()) {
+            return channel;
+        }
+        try {
+            return new MappedReadChannel(channel, TagOptionSingleton.getInstance().getMappedReadSize());
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, "Unable to map file, reading normally: " + f, ioe);
+            return channel;
+        }
+    }
+
     /**
      * Read Encoding Information
      *
@@ -30,6 +30,7 @@ import org.jaudiotagger.tag.TagOptionSingleton;
 import java.io.*;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -244,6 +245,22 @@ public abstract class AudioFileWriter {
         }
     }
 
+    /**
+     * Write the tag present in the AudioFile to the audio held by the channel, which does not have to be a file,
+     * such as an AudioFile read with {@link org.jaudiotagger.audio.AudioFileIO#read(SeekableByteChannel, String)}.
+     * The channel is not closed.
+     * <p>
+     * Only writers able to write to a channel directly override this, for other formats it fails without changing
+     * the channel rather than copying the audio to a file.
+     *
+     * @param af      the AudioFile holding the tag to write
+     * @param channel holding the audio, open for reading and writing
+     * @throws CannotWriteException if the format cannot be written to a channel
+     */
+    public void write(AudioFile af, SeekableByteChannel channel) throws CannotWriteException {
+        throw new CannotWriteException(ErrorMessage.NO_CHANNEL_WRITER_FOR_THIS_FORMAT.getMsg(af.getExt()));
+    }
+
     /**
      * Write the tag (if not empty) present in the AudioFile in the associated
      * File
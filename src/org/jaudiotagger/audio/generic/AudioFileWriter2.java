@@ -4,6 +4,7 @@ import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
+import org.jaudiotagger.audio.io.SeekableFileChannel;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
@@ -13,6 +14,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Created by Paul on 28/01/2016.
@@ -80,6 +82,29 @@ public abstract class AudioFileWriter2 extends AudioFileWriter {
         }
     }
 
+    /**
+     * Replace with new tag in the audio held by the channel, directly rather than through a temporary file
+     *
+     * @param af      The AudioFile holding the tag to write
+     * @param channel holding the audio, open for reading and writing, it is not closed
+     * @throws CannotWriteException
+     */
+    @Override
+    public void write(AudioFile af, SeekableByteChannel channel) throws CannotWriteException {
+        final String name = af.getExt() + " channel";
+        try {
+            if (channel.size() <= MINIMUM_FILESIZE) {
+                throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE_FILE_IS_TOO_SMALL.getMsg(name));
+            }
+            FileChannel fc = SeekableFileChannel.of(channel);
+            fc.position(0);
+            writeTag(af.getTag(), fc, name);
+        } catch (IOException e) {
+            logger.warning(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(name, e.getMessage()));
+            throw new CannotWriteException(e);
+        }
+    }
+
     /**
      * Must be implemented by each audio format
      *
@@ -0,0 +1,63 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.options.PaddingStrategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Works out the padding to leave after the metadata when the audio has to be moved to make room for it, using the
+ * {@link PaddingStrategy} set in {@link TagOptionSingleton}, and counts how many saves could write the metadata in
+ * the space already available and how many had to move the audio.
+ */
+public final class PaddingPolicy {
+    private static final AtomicLong inPlaceSaves = new AtomicLong();
+    private static final AtomicLong rewrites = new AtomicLong();
+
+    private PaddingPolicy() {
+    }
+
+    /**
+     * @param metadataSize   size of the metadata that has to be written, without any padding
+     * @param defaultPadding padding used by {@link PaddingStrategy#FIXED} if no padding size has been set
+     * @return number of bytes of padding to leave after the metadata
+     */
+    public static int getPadding(int metadataSize, int defaultPadding) {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        long padding;
+        switch (options.getPaddingStrategy()) {
+            case PERCENTAGE:
+                padding = (long) metadataSize * options.getPaddingPercentage() / 100;
+                break;
+            case POWER_OF_TWO:
+                long powerOfTwo = Long.highestOneBit(metadataSize);
+                padding = metadataSize == powerOfTwo ? 0 : powerOfTwo * 2 - metadataSize;
+                break;
+            default:
+                padding = options.getPaddingSize() < 0 ? defaultPadding : options.getPaddingSize();
+                break;
+        }
+        return (int) Math.max(0, Math.min(padding, Integer.MAX_VALUE - (long) metadataSize));
+    }
+
+    /**
+     * Record a save that wrote the metadata into the space already available before the audio
+     */
+    public static void recordInPlaceSave() {
+        inPlaceSaves.incrementAndGet();
+    }
+
+    /**
+     * Record a save that had to move the audio to make room for the metadata
+     */
+    public static void recordRewrite() {
+        rewrites.incrementAndGet();
+    }
+
+    /**
+     * @return the totals for every save made so far
+     */
+    public static SaveStatistics getStatistics() {
+        return new SaveStatistics(inPlaceSaves.get(), rewrites.get());
+    }
+}
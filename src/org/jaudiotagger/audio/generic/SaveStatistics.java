@@ -0,0 +1,49 @@
+package org.jaudiotagger.audio.generic;
+
+/**
+ * Counts of the saves that fitted the metadata into the space already available and the saves that had to move the
+ * audio, as recorded by {@link PaddingPolicy}.
+ */
+public class SaveStatistics {
+    private final long inPlaceSaves;
+    private final long rewrites;
+
+    public SaveStatistics(long inPlaceSaves, long rewrites) {
+        this.inPlaceSaves = inPlaceSaves;
+        this.rewrites = rewrites;
+    }
+
+    /**
+     * @return number of saves that only had to write the metadata
+     */
+    public long getInPlaceSaves() {
+        return inPlaceSaves;
+    }
+
+    /**
+     * @return number of saves that had to move the audio
+     */
+    public long getRewrites() {
+        return rewrites;
+    }
+
+    /**
+     * @return fraction of saves that did not have to move the audio, zero if nothing has been saved
+     */
+    public double getInPlaceRatio() {
+        long saves = inPlaceSaves + rewrites;
+        return saves == 0 ? 0 : (double) inPlaceSaves / saves;
+    }
+
+    /**
+     * @param earlier statistics taken before these
+     * @return the saves made between the two
+     */
+    public SaveStatistics since(SaveStatistics earlier) {
+        return new SaveStatistics(inPlaceSaves - earlier.inPlaceSaves, rewrites - earlier.rewrites);
+    }
+
+    public String toString() {
+        return "inPlaceSaves:" + inPlaceSaves + ",rewrites:" + rewrites;
+    }
+}
@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.io.MappedReadChannel;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.FileTypeUtil;
 
@@ -546,6 +547,20 @@ public class Utils {
         } while (read != -1 && amount > 0);
     }
 
+    /**
+     * Reading from a {@link MappedReadChannel} is a copy from memory, so a heap buffer is cheaper than a direct one
+     *
+     * @param fc
+     * @param size
+     * @return buffer to read into
+     */
+    private static ByteBuffer allocateForRead(FileChannel fc, final int size) {
+        if (fc instanceof MappedReadChannel) {
+            return ByteBuffer.allocate(size);
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
     /**
      * @param fc
      * @param size
@@ -553,7 +568,7 @@ public class Utils {
      * @throws IOException
      */
     public static ByteBuffer readFileDataIntoBufferLE(FileChannel fc, final int size) throws IOException {
-        final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
+        final ByteBuffer tagBuffer = allocateForRead(fc, size);
         fc.read(tagBuffer);
         tagBuffer.position(0);
         tagBuffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -567,7 +582,7 @@ public class Utils {
      * @throws IOException
      */
     public static ByteBuffer readFileDataIntoBufferBE(FileChannel fc, final int size) throws IOException {
-        final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
+        final ByteBuffer tagBuffer = allocateForRead(fc, size);
         fc.read(tagBuffer);
         tagBuffer.position(0);
         tagBuffer.order(ByteOrder.BIG_ENDIAN);
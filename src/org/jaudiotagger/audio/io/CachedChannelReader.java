@@ -0,0 +1,189 @@
+package org.jaudiotagger.audio.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.logging.Logger;
+
+/**
+ * Read only access to a file through a single channel, keeping a small number of recently read windows
+ * of the file in memory.
+ * <p>
+ * Tag and audio header readers tend to look at the same few regions of a file, the head (ID3v2 and the first
+ * audio frames) and the tail (ID3v1, Lyrics3), often several times. Opening the file once and serving those
+ * regions from a cache means the file is opened once and each region is usually only read once, which matters
+ * when the file is on a network filesystem where every open and read is a round trip.
+ * <p>
+ * Any {@link SeekableByteChannel} can be used as the source, the reader takes ownership of it and closes it
+ * when {@link #close()} is called.
+ */
+public class CachedChannelReader implements Closeable {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.io");
+
+    /**
+     * Size of each cached window, large enough to hold the first audio frames after a typical tag
+     */
+    public static final int WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of windows kept in memory
+     */
+    private static final int MAX_WINDOWS = 4;
+
+    private final SeekableByteChannel channel;
+    private final long size;
+    private final ReadStatistics statistics;
+
+    private final long[] windowStarts = new long[MAX_WINDOWS];
+    private final ByteBuffer[] windows = new ByteBuffer[MAX_WINDOWS];
+    private int nextWindow;
+
+    /**
+     * Open file for reading
+     *
+     * @param file
+     * @return reader
+     * @throws IOException
+     */
+    public static CachedChannelReader open(File file) throws IOException {
+        ReadStatistics statistics = new ReadStatistics();
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        statistics.recordOpen();
+        return new CachedChannelReader(raf.getChannel(), statistics);
+    }
+
+    /**
+     * Create reader over an already open channel
+     *
+     * @param channel
+     * @throws IOException
+     */
+    public CachedChannelReader(SeekableByteChannel channel) throws IOException {
+        this(channel, new ReadStatistics());
+    }
+
+    /**
+     * Create reader over an already open channel, recording I/O in the given statistics
+     *
+     * @param channel
+     * @param statistics
+     * @throws IOException
+     */
+    public CachedChannelReader(SeekableByteChannel channel, ReadStatistics statistics) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.statistics = statistics;
+    }
+
+    /**
+     * @return the size of the source in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return statistics of the I/O done by this reader
+     */
+    public ReadStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Read bytes starting at position into dst, follows the contract of {@link FileChannel#read(ByteBuffer, long)}
+     *
+     * @param dst
+     * @param position
+     * @return the number of bytes read, or -1 if position is at or beyond the end of the source
+     * @throws IOException
+     */
+    public int read(ByteBuffer dst, long position) throws IOException {
+        if (position >= size) {
+            return -1;
+        }
+        int length = (int) Math.min(dst.remaining(), size - position);
+        ByteBuffer data = fetch(position, length);
+        dst.put(data);
+        return length;
+    }
+
+    /**
+     * Get length bytes starting at position
+     * <p>
+     * The returned buffer is positioned at zero and may be shared with the cache so must not be modified, if
+     * fewer than length bytes are available because the end of the source has been reached the buffer
+     * limit is set to the number of bytes available, so the buffer is empty if position is at or beyond the end.
+     *
+     * @param position
+     * @param length
+     * @return buffer containing the requested bytes
+     * @throws IOException
+     */
+    public ByteBuffer fetch(long position, int length) throws IOException {
+        if (position >= size) {
+            return ByteBuffer.allocate(0);
+        }
+        length = (int) Math.max(0, Math.min(length, size - position));
+        for (int i = 0; i < MAX_WINDOWS; i++) {
+            ByteBuffer window = windows[i];
+            if (window != null && position >= windowStarts[i] && position + length <= windowStarts[i] + window.limit()) {
+                statistics.recordCacheHit();
+                ByteBuffer slice = window.duplicate();
+                slice.position((int) (position - windowStarts[i]));
+                slice.limit(slice.position() + length);
+                return slice.slice();
+            }
+        }
+
+        //Too large to be worth caching, just read what was asked for
+        if (length > WINDOW_SIZE) {
+            return readFromChannel(position, length);
+        }
+
+        //Reads near the end of the file are aligned to the end so a single window holds all the trailing tags
+        long windowStart = position;
+        if (position + WINDOW_SIZE > size) {
+            windowStart = Math.max(0, size - WINDOW_SIZE);
+        }
+        ByteBuffer window = readFromChannel(windowStart, (int) Math.min(WINDOW_SIZE, size - windowStart));
+        windows[nextWindow] = window;
+        windowStarts[nextWindow] = windowStart;
+        nextWindow = (nextWindow + 1) % MAX_WINDOWS;
+
+        ByteBuffer slice = window.duplicate();
+        slice.position((int) (position - windowStart));
+        slice.limit(slice.position() + length);
+        return slice.slice();
+    }
+
+    private ByteBuffer readFromChannel(long position, int length) throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(length);
+        channel.position(position);
+        while (bb.hasRemaining()) {
+            if (channel.read(bb) < 0) {
+                break;
+            }
+        }
+        statistics.recordRead(bb.position());
+        bb.flip();
+        return bb;
+    }
+
+    /**
+     * Drop any cached windows
+     */
+    public void clearCache() {
+        for (int i = 0; i < MAX_WINDOWS; i++) {
+            windows[i] = null;
+        }
+    }
+
+    public void close() throws IOException {
+        clearCache();
+        channel.close();
+    }
+}
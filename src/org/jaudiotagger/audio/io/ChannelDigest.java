@@ -0,0 +1,91 @@
+package org.jaudiotagger.audio.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Feed a range of a file to one or more {@link MessageDigest}s in a single pass.
+ * <p>
+ * The range is read in blocks into two buffers in turn, so the next block is read whilst the digests are working on
+ * the current one. When there is more than one digest they each update from the block in parallel, so asking for
+ * several hashes of the audio takes little longer than asking for one.
+ */
+public class ChannelDigest {
+    /**
+     * Default size of the blocks read from the file
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Update the digests with the bytes from start up to end
+     *
+     * @param fc         channel to the file, its position is not changed
+     * @param start      position of the first byte
+     * @param end        position after the last byte
+     * @param bufferSize size of the blocks read from the file
+     * @param digests    digests to update
+     * @throws IOException  if the file could not be read
+     * @throws EOFException if the file ends before end
+     */
+    public static void update(FileChannel fc, long start, long end, int bufferSize, MessageDigest... digests) throws IOException {
+        int size = (int) Math.max(1, Math.min(bufferSize, end - start));
+        ByteBuffer[] buffers = {ByteBuffer.allocate(size), ByteBuffer.allocate(size)};
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[digests.length];
+
+        long position = read(fc, buffers[0], start, end);
+        int current = 0;
+        while (buffers[current].hasRemaining()) {
+            final ByteBuffer block = buffers[current];
+
+            //Digests other than the first work on their own thread
+            for (int i = 1; i < digests.length; i++) {
+                final MessageDigest digest = digests[i];
+                tasks[i] = ForkJoinPool.commonPool().submit(() -> digest.update(block.duplicate()));
+            }
+
+            //Read the next block whilst the current one is digested
+            current = 1 - current;
+            position = read(fc, buffers[current], position, end);
+
+            digests[0].update(block.duplicate());
+            for (int i = 1; i < digests.length; i++) {
+                tasks[i].join();
+            }
+        }
+    }
+
+    /**
+     * Update the digests with the bytes from start up to end, reading in blocks of {@link #DEFAULT_BUFFER_SIZE}
+     *
+     * @param fc      channel to the file, its position is not changed
+     * @param start   position of the first byte
+     * @param end     position after the last byte
+     * @param digests digests to update
+     * @throws IOException
+     */
+    public static void update(FileChannel fc, long start, long end, MessageDigest... digests) throws IOException {
+        update(fc, start, end, DEFAULT_BUFFER_SIZE, digests);
+    }
+
+    /**
+     * Fill the buffer from position, no further than end, leaving it ready to be read
+     *
+     * @return the position after the bytes read
+     */
+    private static long read(FileChannel fc, ByteBuffer buffer, long position, long end) throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), end - position));
+        while (buffer.hasRemaining()) {
+            if (fc.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File ended at:" + (position + buffer.position()) + ":before:" + end);
+            }
+        }
+        buffer.flip();
+        return position + buffer.limit();
+    }
+}
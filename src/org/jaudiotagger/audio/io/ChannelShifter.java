@@ -0,0 +1,173 @@
+package org.jaudiotagger.audio.io;
+
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.utils.DirectByteBufferUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves a region of a file towards the start or the end of the file, as required when a tag before the audio grows
+ * or a chunk before other chunks is removed.
+ * <p>
+ * The data is copied a chunk at a time, chunk size defined by {@link TagOptionSingleton#getWriteChunkSize()}. When
+ * moving towards the end of the file the last chunk is copied first so no data is overwritten before it has been read,
+ * this means a single buffer is always enough however far the data is moved. Buffers are direct and are kept in a
+ * small pool shared by all writers, so shifting a large file does not allocate any memory once the pool is filled.
+ * <p>
+ * The channel is read and written at absolute positions so its position is not changed.
+ */
+public final class ChannelShifter {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.io");
+
+    //Buffers kept for reuse, enough for a few files to be written at the same time
+    private static final BlockingQueue<ByteBuffer> pool = new ArrayBlockingQueue<ByteBuffer>(Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final AtomicLong totalShifts = new AtomicLong();
+    private static final AtomicLong totalBytesMoved = new AtomicLong();
+    private static final AtomicLong totalChunks = new AtomicLong();
+    private static final AtomicLong totalNanos = new AtomicLong();
+
+    private ChannelShifter() {
+    }
+
+    /**
+     * Move the data between start and end by distance bytes, the file is extended if required but never truncated
+     *
+     * @param fc       channel to the file, must be open for reading and writing
+     * @param start    first byte to move
+     * @param end      position after the last byte to move
+     * @param distance number of bytes to move the data by, positive to move towards the end of the file and negative
+     *                 to move towards the start
+     * @return how much data was moved and how long it took
+     * @throws IOException
+     */
+    public static ShiftStatistics shift(FileChannel fc, long start, long end, long distance) throws IOException {
+        return shift(fc, start, end, distance, null);
+    }
+
+    /**
+     * Move the data between start and end by distance bytes, recording the progress in a journal after each chunk so
+     * that the shift can be completed or undone if it is interrupted.
+     * <p>
+     * A chunk larger than the distance is written over part of its own data, so it is copied to the journal before
+     * it is written and can be written again from there if the shift was interrupted part way through it. Smaller
+     * chunks are left in place and copied again from the same place.
+     *
+     * @param fc       channel to the file, must be open for reading and writing
+     * @param start    first byte to move
+     * @param end      position after the last byte to move
+     * @param distance number of bytes to move the data by, positive to move towards the end of the file and negative
+     *                 to move towards the start
+     * @param journal  journal to record the progress in, or null if the shift does not need to be recoverable
+     * @return how much data was moved and how long it took
+     * @throws IOException
+     */
+    public static ShiftStatistics shift(FileChannel fc, long start, long end, long distance, ShiftJournal journal) throws IOException {
+        if (start < 0 || end < start || start + distance < 0) {
+            throw new IllegalArgumentException("Cannot shift " + start + "-" + end + " by " + distance);
+        }
+        long length = end - start;
+        if (distance == 0 || length == 0) {
+            return new ShiftStatistics(0, 0, 0, 0);
+        }
+
+        long startTime = System.nanoTime();
+        long chunks = 0;
+        ByteBuffer buffer = acquire(length);
+        try {
+            int chunkSize = buffer.capacity();
+            int size;
+            if (distance > 0) {
+                for (long chunkEnd = end; chunkEnd > start; chunkEnd -= size) {
+                    size = (int) Math.min(chunkSize, chunkEnd - start);
+                    copy(fc, buffer, chunkEnd - size, size, distance, journal);
+                    chunks++;
+                    if (journal != null) {
+                        journal.recordProgress(fc, chunkEnd - size);
+                    }
+                }
+            } else {
+                for (long chunkStart = start; chunkStart < end; chunkStart += size) {
+                    size = (int) Math.min(chunkSize, end - chunkStart);
+                    copy(fc, buffer, chunkStart, size, distance, journal);
+                    chunks++;
+                    if (journal != null) {
+                        journal.recordProgress(fc, chunkStart + size);
+                    }
+                }
+            }
+        } finally {
+            release(buffer);
+        }
+
+        ShiftStatistics statistics = new ShiftStatistics(1, length, chunks, System.nanoTime() - startTime);
+        totalShifts.incrementAndGet();
+        totalBytesMoved.addAndGet(length);
+        totalChunks.addAndGet(chunks);
+        totalNanos.addAndGet(statistics.getNanos());
+        if (logger.isLoggable(Level.CONFIG)) {
+            logger.config("Shifted " + start + "-" + end + " by " + distance + ":" + statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the totals for every shift made so far
+     */
+    public static ShiftStatistics getStatistics() {
+        return new ShiftStatistics(totalShifts.get(), totalBytesMoved.get(), totalChunks.get(), totalNanos.get());
+    }
+
+    private static void copy(FileChannel fc, ByteBuffer buffer, long from, int size, long distance, ShiftJournal journal) throws IOException {
+        buffer.clear();
+        buffer.limit(size);
+        while (buffer.hasRemaining()) {
+            if (fc.read(buffer, from + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at:" + (from + buffer.position()));
+            }
+        }
+        buffer.flip();
+        if (journal != null && size > Math.abs(distance)) {
+            journal.recordChunk(buffer, from);
+        }
+        long to = from + distance;
+        while (buffer.hasRemaining()) {
+            fc.write(buffer, to + buffer.position());
+        }
+    }
+
+    /**
+     * @param length of data to be moved, a smaller buffer is used if all the data fits within it
+     * @return a buffer from the pool, or a new buffer if none are available
+     */
+    private static ByteBuffer acquire(long length) {
+        int chunkSize = (int) TagOptionSingleton.getInstance().getWriteChunkSize();
+        ByteBuffer buffer;
+        while ((buffer = pool.poll()) != null) {
+            if (buffer.capacity() == chunkSize) {
+                return buffer;
+            }
+            //Chunk size has been changed
+            DirectByteBufferUtils.release(buffer);
+        }
+        return ByteBuffer.allocateDirect((int) Math.min(chunkSize, length));
+    }
+
+    /**
+     * Return a full size buffer to the pool, anything else is freed straight away rather than waiting for garbage
+     * collection
+     */
+    private static void release(ByteBuffer buffer) {
+        if (buffer.capacity() != TagOptionSingleton.getInstance().getWriteChunkSize() || !pool.offer(buffer)) {
+            DirectByteBufferUtils.release(buffer);
+        }
+    }
+}
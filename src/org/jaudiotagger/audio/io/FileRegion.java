@@ -0,0 +1,95 @@
+package org.jaudiotagger.audio.io;
+
+import org.jaudiotagger.audio.exceptions.DeferredReadException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A run of bytes within a file, identified by its offset and length, that is only read when required.
+ * <p>
+ * Used to refer to large data such as images within a file without holding it in memory, the file is opened
+ * and the region read each time {@link #read()} is called. The length and modification time of the file are
+ * recorded when the region is identified, if either has changed the region is no longer read because the data
+ * may have moved, such as after the file has been saved.
+ */
+public class FileRegion {
+    private final File file;
+    private final long offset;
+    private final int length;
+    private final long fileLength;
+    private final long lastModified;
+
+    /**
+     * @param file   containing the data
+     * @param offset of the start of the data within the file
+     * @param length of the data in bytes
+     */
+    public FileRegion(File file, long offset, int length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.fileLength = file.length();
+        this.lastModified = file.lastModified();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Read the region from the file
+     *
+     * @return the bytes of the region
+     * @throws IOException if the file cannot be read, is shorter than expected or has changed since the region was
+     *                     identified
+     */
+    public byte[] read() throws IOException {
+        if (file.length() != fileLength || file.lastModified() != lastModified) {
+            throw new IOException("Unable to read " + this + ", the file has changed since it was read");
+        }
+        byte[] data = new byte[length];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel fc = raf.getChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = fc.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unable to read " + length + " bytes at offset " + offset + " of " + file + ", file is only " + fc.size() + " bytes");
+                }
+                position += read;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Read the region from the file, for accessors that cannot throw an IOException
+     *
+     * @return the bytes of the region
+     * @throws DeferredReadException if the region cannot be read, see {@link #read()}
+     */
+    public byte[] readDeferred() {
+        try {
+            return read();
+        } catch (IOException ioe) {
+            throw new DeferredReadException(ioe.getMessage(), ioe);
+        }
+    }
+
+    public String toString() {
+        return file + ":offset:" + offset + ":length:" + length;
+    }
+}
@@ -0,0 +1,203 @@
+package org.jaudiotagger.audio.io;
+
+import org.jaudiotagger.utils.DirectByteBufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.logging.Logger;
+
+/**
+ * Read only {@link FileChannel} that serves reads from a memory mapping of the start of the file.
+ * <p>
+ * Readers that pull a file apart with many small reads, such as metadata block and chunk headers, make a system call
+ * for each read. When reading a large library from local storage mapping the region holding the tags once and
+ * copying from it is much cheaper. The whole file is mapped when it is no larger than the requested size, otherwise
+ * reads beyond the mapped region go to the underlying channel.
+ * <p>
+ * The mapping is released as soon as the channel is closed rather than when the buffer is garbage collected, so
+ * nothing read from this channel refers to the mapping, reads always copy into the caller's buffer.
+ */
+public class MappedReadChannel extends FileChannel {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.io");
+
+    private final FileChannel channel;
+    private final long size;
+    private final MappedByteBuffer mapped;
+    private long position;
+
+    /**
+     * Map the start of an already open channel, the channel is closed when this channel is closed
+     *
+     * @param channel    channel to the file, open for reading
+     * @param mappedSize maximum number of bytes to map from the start of the file
+     * @throws IOException
+     */
+    public MappedReadChannel(FileChannel channel, long mappedSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.mapped = channel.map(MapMode.READ_ONLY, 0, Math.min(Math.min(size, mappedSize), Integer.MAX_VALUE));
+        this.position = channel.position();
+        logger.finest("Mapped:" + mapped.capacity() + ":of:" + size);
+    }
+
+    /**
+     * @return number of bytes of the file held in the mapping
+     */
+    public int getMappedSize() {
+        return mapped.capacity();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int read = read(dst, position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int read = read(dsts[i]);
+            if (read < 0) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        ensureOpen();
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position:" + position);
+        }
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        if (position < mapped.capacity()) {
+            ByteBuffer src = mapped.duplicate();
+            src.position((int) position);
+            src.limit((int) Math.min(mapped.capacity(), position + dst.remaining()));
+            read = src.remaining();
+            dst.put(src);
+        }
+        if (dst.hasRemaining() && position + read < size) {
+            int fromChannel = channel.read(dst, position + read);
+            if (fromChannel > 0) {
+                read += fromChannel;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position:" + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ensureOpen();
+        return channel.transferTo(position, count, target);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        ensureOpen();
+        return channel.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        ensureOpen();
+        return channel.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        ensureOpen();
+        return channel.tryLock(position, size, shared);
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        ensureOpen();
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public FileChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * Release the mapping and close the underlying channel
+     *
+     * @throws IOException
+     */
+    @Override
+    protected void implCloseChannel() throws IOException {
+        try {
+            DirectByteBufferUtils.release(mapped);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.jaudiotagger.audio.io;
+
+/**
+ * Counts the I/O done on behalf of a single file while it is being read.
+ * <p>
+ * Useful to see how many times a file was opened, how many reads were issued against the underlying
+ * channel and how many bytes were actually transferred, as opposed to how many were served from a cache.
+ */
+public class ReadStatistics {
+    private int opens;
+    private int reads;
+    private long bytesRead;
+    private int cacheHits;
+
+    public ReadStatistics() {
+    }
+
+    public void recordOpen() {
+        opens++;
+    }
+
+    public void recordRead(long noOfBytes) {
+        reads++;
+        bytesRead += noOfBytes;
+    }
+
+    public void recordCacheHit() {
+        cacheHits++;
+    }
+
+    /**
+     * @return number of times the underlying file was opened
+     */
+    public int getOpens() {
+        return opens;
+    }
+
+    /**
+     * @return number of read calls made against the underlying channel
+     */
+    public int getReads() {
+        return reads;
+    }
+
+    /**
+     * @return number of bytes read from the underlying channel
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return number of requests that were satisfied from data already read
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public String toString() {
+        return "opens:" + opens + ",reads:" + reads + ",bytesRead:" + bytesRead + ",cacheHits:" + cacheHits;
+    }
+}
@@ -0,0 +1,194 @@
+package org.jaudiotagger.audio.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link FileChannel} view of any {@link SeekableByteChannel}, so readers and writers written against a file channel
+ * can work on audio held in memory or in some other store without it first being copied to a file.
+ * <p>
+ * Reads and writes at an absolute position move the position of the underlying channel and then put it back, so this
+ * channel must not be used by more than one thread at a time. Mapping and locking are not supported, they throw an
+ * {@link IOException} so callers that can fall back to ordinary reads and writes do so.
+ * <p>
+ * Closing this channel closes the underlying channel.
+ */
+public class SeekableFileChannel extends FileChannel {
+    //Size of buffer used for transfers
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    private final SeekableByteChannel channel;
+
+    /**
+     * @param channel channel to wrap
+     * @return the channel itself if it is already a {@link FileChannel}, otherwise a file channel view of it
+     */
+    public static FileChannel of(SeekableByteChannel channel) {
+        if (channel instanceof FileChannel) {
+            return (FileChannel) channel;
+        }
+        return new SeekableFileChannel(channel);
+    }
+
+    public SeekableFileChannel(SeekableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return channel.read(dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int read = channel.read(dsts[i]);
+            if (read < 0) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position:" + position);
+        }
+        long originalPosition = channel.position();
+        try {
+            channel.position(position);
+            return channel.read(dst);
+        } finally {
+            channel.position(originalPosition);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        return channel.write(src);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += channel.write(srcs[i]);
+            if (srcs[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position:" + position);
+        }
+        long originalPosition = channel.position();
+        try {
+            channel.position(position);
+            return channel.write(src);
+        } finally {
+            channel.position(originalPosition);
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        return channel.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+        channel.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+        channel.truncate(size);
+        return this;
+    }
+
+    @Override
+    public void force(boolean metaData) {
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0, Math.min(TRANSFER_BUFFER_SIZE, count)));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            int read = read(buffer, position + transferred);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0, Math.min(TRANSFER_BUFFER_SIZE, count)));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            int read = src.read(buffer);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                write(buffer, position + transferred + buffer.position());
+            }
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        throw new IOException("Mapping not supported by:" + channel.getClass().getName());
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        throw new IOException("Locking not supported by:" + channel.getClass().getName());
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        throw new IOException("Locking not supported by:" + channel.getClass().getName());
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        channel.close();
+    }
+}
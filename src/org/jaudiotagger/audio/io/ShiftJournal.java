@@ -0,0 +1,456 @@
+package org.jaudiotagger.audio.io;
+
+import org.jaudiotagger.logging.ErrorMessage;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * A small file kept beside an audio file whilst its data is moved within the file by
+ * {@link ChannelShifter#shift(FileChannel, long, long, long, ShiftJournal)}, recording how far the move has got so
+ * that if it is interrupted, by a crash or loss of power, the file can be repaired by completing the move with
+ * {@link #resume(File)} or by undoing it with {@link #rollBack(File)}.
+ * <p>
+ * The journal is created before any data is moved and is only deleted by {@link #finish()}, once the caller has
+ * also written whatever the space was made for. It holds a copy of the head of the file, everything before the data,
+ * since that is what the caller writes over, so the file can be put back as it was even if the crash happened after
+ * the move was complete. Each chunk of data is forced to the device before the progress is recorded. A chunk larger
+ * than the distance moved is written over part of itself, so it is first copied to the journal and, if the move is
+ * interrupted whilst it is being written, it is put back where it came from before the move is completed or undone.
+ * Smaller chunks are never written over their own data, so the data a recorded position refers to is never
+ * overwritten until after the next position has been recorded.
+ * <p>
+ * The journal holds the name {@code "JTSHIFT2"} followed by the start, end and distance of the move, the length of
+ * the file before and after it, whether it is undoing an earlier move, the length of the head, the position the
+ * move has reached and the position and length of the chunk being written, as big endian longs, then the head and
+ * then the chunk.
+ */
+public final class ShiftJournal {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.io");
+
+    /**
+     * Added to the name of the audio file to give the name of its journal
+     */
+    public static final String SUFFIX = ".jtshift";
+
+    private static final byte[] IDENTIFIER = {'J', 'T', 'S', 'H', 'I', 'F', 'T', '2'};
+    private static final int PROGRESS_POS = IDENTIFIER.length + 7 * 8;
+    private static final int HEADER_LENGTH = PROGRESS_POS + 3 * 8;
+
+    private final File journalFile;
+    private final long start;
+    private final long end;
+    private final long distance;
+    private final long originalLength;
+    private final long finalLength;
+    private final boolean rollingBack;
+    private final byte[] head;
+    private long progress;
+    private long chunkFrom;
+    private long chunkLength;
+    private FileChannel journalChannel;
+    private final ByteBuffer progressBuffer = ByteBuffer.allocate(3 * 8);
+
+    private ShiftJournal(File journalFile, long start, long end, long distance, long originalLength, long finalLength, boolean rollingBack, byte[] head, long progress) {
+        this.journalFile = journalFile;
+        this.start = start;
+        this.end = end;
+        this.distance = distance;
+        this.originalLength = originalLength;
+        this.finalLength = finalLength;
+        this.rollingBack = rollingBack;
+        this.head = head;
+        this.progress = progress;
+    }
+
+    /**
+     * @param file the audio file
+     * @return the journal file of the audio file, which only exists whilst data is being moved
+     */
+    public static File getJournalFile(File file) {
+        return new File(file.getPath() + SUFFIX);
+    }
+
+    /**
+     * @param file the audio file
+     * @return true if a move of the data in the file was interrupted, so the file has to be repaired with
+     * {@link #resume(File)} or {@link #rollBack(File)} before it can be used
+     */
+    public static boolean isPending(File file) {
+        return getJournalFile(file).exists();
+    }
+
+    /**
+     * Create the journal for moving the data between start and end of the file by distance bytes, saving everything
+     * before start in it
+     *
+     * @param file        the audio file
+     * @param fc          channel to the audio file
+     * @param start       first byte to move
+     * @param end         position after the last byte to move
+     * @param distance    number of bytes to move the data by
+     * @param finalLength length of the file once the data has been moved
+     * @return the journal, written to the device
+     * @throws IOException if the journal could not be written, or a journal already exists for the file
+     */
+    public static ShiftJournal create(File file, FileChannel fc, long start, long end, long distance, long finalLength) throws IOException {
+        if (isPending(file)) {
+            throw new IOException(ErrorMessage.SHIFT_JOURNAL_EXISTS.getMsg(file.getPath(), getJournalFile(file).getPath()));
+        }
+        if (start > Integer.MAX_VALUE - HEADER_LENGTH) {
+            throw new IllegalArgumentException("Cannot journal a move from " + start);
+        }
+        ByteBuffer head = ByteBuffer.allocate((int) start);
+        while (head.hasRemaining()) {
+            if (fc.read(head, head.position()) < 0) {
+                throw new EOFException("Unexpected end of file at:" + head.position());
+            }
+        }
+        ShiftJournal journal = new ShiftJournal(getJournalFile(file), start, end, distance, fc.size(), finalLength, false, head.array(), distance > 0 ? end : start);
+        journal.write();
+        return journal;
+    }
+
+    /**
+     * Move the data from start to the end of the file by distance bytes, journalling the move and rolling it back if
+     * it fails, so that the file is left as it was.
+     *
+     * @param file     the audio file
+     * @param fc       channel to the audio file, open for reading and writing
+     * @param start    first byte to move
+     * @param distance number of bytes to move the data by
+     * @return the journal, to be finished once whatever the space was made for has been written, or rolled back with
+     * {@link #rollBack(FileChannel, IOException)} if that fails
+     * @throws IOException if the move failed, after it has been rolled back
+     */
+    public static ShiftJournal shift(File file, FileChannel fc, long start, long distance) throws IOException {
+        long end = fc.size();
+        ShiftJournal journal = create(file, fc, start, end, distance, end + distance);
+        try {
+            journal.shift(fc);
+        } catch (IOException ioe) {
+            journal.rollBack(fc, ioe);
+            throw ioe;
+        }
+        return journal;
+    }
+
+    /**
+     * Read the journal left by an interrupted move
+     */
+    private static ShiftJournal read(File file) throws IOException {
+        File journalFile = getJournalFile(file);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile.toPath()));
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new IOException(ErrorMessage.SHIFT_JOURNAL_INVALID.getMsg(journalFile.getPath()));
+        }
+        byte[] identifier = new byte[IDENTIFIER.length];
+        buffer.get(identifier);
+        if (!Arrays.equals(IDENTIFIER, identifier)) {
+            throw new IOException(ErrorMessage.SHIFT_JOURNAL_INVALID.getMsg(journalFile.getPath()));
+        }
+        long start = buffer.getLong();
+        long end = buffer.getLong();
+        long distance = buffer.getLong();
+        long originalLength = buffer.getLong();
+        long finalLength = buffer.getLong();
+        boolean rollingBack = buffer.getLong() != 0;
+        long headLength = buffer.getLong();
+        long progress = buffer.getLong();
+        long chunkFrom = buffer.getLong();
+        long chunkLength = buffer.getLong();
+        if (start < 0 || end < start || distance == 0 || progress < start || progress > end || headLength < 0 || headLength > buffer.remaining()) {
+            throw new IOException(ErrorMessage.SHIFT_JOURNAL_INVALID.getMsg(journalFile.getPath()));
+        }
+        if (chunkLength < 0 || chunkLength > buffer.remaining() - headLength || (chunkLength > 0 && (chunkFrom < start || chunkFrom + chunkLength > end))) {
+            throw new IOException(ErrorMessage.SHIFT_JOURNAL_INVALID.getMsg(journalFile.getPath()));
+        }
+        byte[] head = new byte[(int) headLength];
+        buffer.get(head);
+        ShiftJournal journal = new ShiftJournal(journalFile, start, end, distance, originalLength, finalLength, rollingBack, head, progress);
+        journal.chunkFrom = chunkFrom;
+        journal.chunkLength = chunkLength;
+        return journal;
+    }
+
+    private ByteBuffer getHeader() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        buffer.put(IDENTIFIER);
+        buffer.putLong(start).putLong(end).putLong(distance).putLong(originalLength).putLong(finalLength).putLong(rollingBack ? 1 : 0).putLong(head.length).putLong(progress)
+                .putLong(chunkFrom).putLong(chunkLength);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Write the whole journal to a temporary file and then replace the journal with it, so there is always a
+     * complete journal
+     */
+    private void write() throws IOException {
+        close();
+        File tempFile = new File(journalFile.getPath() + ".tmp");
+        try (FileChannel fc = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = {getHeader(), ByteBuffer.wrap(head)};
+            while (buffers[1].hasRemaining() || buffers[0].hasRemaining()) {
+                fc.write(buffers);
+            }
+            fc.force(true);
+        }
+        Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write over the header of the existing journal, which holds the same head. The header is small enough to be
+     * written to the device in one piece, and writing it in place needs no more space, so a move can still be rolled
+     * back when the device is full.
+     */
+    private void writeHeader() throws IOException {
+        close();
+        try (FileChannel fc = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = getHeader();
+            while (buffer.hasRemaining()) {
+                fc.write(buffer, buffer.position());
+            }
+            fc.force(false);
+        }
+    }
+
+    /**
+     * Record that the data has been moved up to position, the data already written is forced to the device first so
+     * the journal never gets ahead of the file
+     *
+     * @param fc       channel to the audio file
+     * @param position for a move towards the end of the file the first byte moved so far, otherwise the position
+     *                 after the last byte moved so far
+     * @throws IOException
+     */
+    void recordProgress(FileChannel fc, long position) throws IOException {
+        fc.force(false);
+        writeProgress(position, 0, 0);
+    }
+
+    /**
+     * Copy a chunk to the journal before it is written over part of itself, so that if the write is interrupted the
+     * chunk can be put back where it came from
+     *
+     * @param chunk the data read from the file, its position is not changed
+     * @param from  position the chunk was read from
+     * @throws IOException
+     */
+    void recordChunk(ByteBuffer chunk, long from) throws IOException {
+        ByteBuffer buffer = chunk.duplicate();
+        long chunkPos = HEADER_LENGTH + head.length - chunk.position();
+        while (buffer.hasRemaining()) {
+            getJournalChannel().write(buffer, chunkPos + buffer.position());
+        }
+        getJournalChannel().force(false);
+        writeProgress(progress, from, chunk.remaining());
+    }
+
+    private void writeProgress(long position, long from, long length) throws IOException {
+        progressBuffer.clear();
+        progressBuffer.putLong(position).putLong(from).putLong(length);
+        progressBuffer.flip();
+        while (progressBuffer.hasRemaining()) {
+            getJournalChannel().write(progressBuffer, PROGRESS_POS + progressBuffer.position());
+        }
+        getJournalChannel().force(false);
+        progress = position;
+        chunkFrom = from;
+        chunkLength = length;
+    }
+
+    private FileChannel getJournalChannel() throws IOException {
+        if (journalChannel == null) {
+            journalChannel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return journalChannel;
+    }
+
+    /**
+     * If the move was interrupted whilst a chunk copied to the journal was being written, put the chunk back where it
+     * came from, so the file is as it was when the progress was last recorded
+     */
+    private void restoreChunk(FileChannel fc) throws IOException {
+        if (chunkLength == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) chunkLength);
+        long chunkPos = HEADER_LENGTH + head.length;
+        while (buffer.hasRemaining()) {
+            if (getJournalChannel().read(buffer, chunkPos + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of journal at:" + (chunkPos + buffer.position()));
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fc.write(buffer, chunkFrom + buffer.position());
+        }
+        recordProgress(fc, progress);
+    }
+
+    /**
+     * Move the data, recording the progress in this journal
+     *
+     * @param fc channel to the audio file, open for reading and writing
+     * @return how much data was moved and how long it took
+     * @throws IOException
+     */
+    public ShiftStatistics shift(FileChannel fc) throws IOException {
+        restoreChunk(fc);
+        ShiftStatistics statistics = distance > 0
+                ? ChannelShifter.shift(fc, start, progress, distance, this)
+                : ChannelShifter.shift(fc, progress, end, distance, this);
+        if (fc.size() > finalLength) {
+            fc.truncate(finalLength);
+        }
+        fc.force(false);
+        return statistics;
+    }
+
+    /**
+     * The move and anything written into the space it made are complete, so the journal is no longer needed
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        close();
+        Files.deleteIfExists(journalFile.toPath());
+    }
+
+    void close() throws IOException {
+        if (journalChannel != null) {
+            journalChannel.close();
+            journalChannel = null;
+        }
+    }
+
+    /**
+     * Complete an interrupted move. When the data was being moved towards the end of the file to make room before it,
+     * the head of the file is put back and the room made is filled with zeroes, as whatever was to be written there is
+     * not known. If the move was being undone by {@link #rollBack(File)} the undo is completed instead.
+     *
+     * @param file the audio file
+     * @return false if there was no interrupted move
+     * @throws IOException
+     */
+    public static boolean resume(File file) throws IOException {
+        if (!isPending(file)) {
+            return false;
+        }
+        ShiftJournal journal = read(file);
+        logger.warning(ErrorMessage.SHIFT_JOURNAL_RECOVERING.getMsg(file.getPath(), "Resuming", journal));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            journal.resume(raf.getChannel());
+        } finally {
+            journal.close();
+        }
+        return true;
+    }
+
+    /**
+     * Complete the move, or the undo, and put back the part of the head that the move did not write over
+     */
+    private void resume(FileChannel fc) throws IOException {
+        shift(fc);
+        if (rollingBack) {
+            restoreHead(fc, head.length);
+        } else {
+            restoreHead(fc, Math.min(head.length, start + Math.min(0, distance)));
+            if (distance > 0) {
+                ByteBuffer zeroes = ByteBuffer.allocate((int) Math.min(distance, 65536));
+                for (long position = start; position < start + distance; position += zeroes.capacity()) {
+                    zeroes.clear();
+                    zeroes.limit((int) Math.min(zeroes.capacity(), start + distance - position));
+                    while (zeroes.hasRemaining()) {
+                        fc.write(zeroes, position + zeroes.position());
+                    }
+                }
+            }
+        }
+        fc.force(false);
+        finish();
+    }
+
+    private void restoreHead(FileChannel fc, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(head, 0, (int) length);
+        while (buffer.hasRemaining()) {
+            fc.write(buffer, buffer.position());
+        }
+    }
+
+    /**
+     * Undo an interrupted move, leaving the file exactly as it was before the move started, whether or not anything
+     * had been written into the space made. If an earlier undo was interrupted it is completed.
+     *
+     * @param file the audio file
+     * @return false if there was no interrupted move
+     * @throws IOException
+     */
+    public static boolean rollBack(File file) throws IOException {
+        if (!isPending(file)) {
+            return false;
+        }
+        ShiftJournal journal = read(file);
+        logger.warning(ErrorMessage.SHIFT_JOURNAL_RECOVERING.getMsg(file.getPath(), "Rolling back", journal));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            journal.rollBack(raf.getChannel());
+        } finally {
+            journal.close();
+        }
+        return true;
+    }
+
+    /**
+     * Undo this move through the channel the move was made with, after it or the write into the space it made failed.
+     * If the undo also fails the journal is left for {@link #rollBack(File)} and the failure is added to the original
+     * failure.
+     *
+     * @param fc      channel to the audio file, open for reading and writing
+     * @param failure why the move is being undone
+     */
+    public void rollBack(FileChannel fc, IOException failure) {
+        logger.warning(ErrorMessage.SHIFT_JOURNAL_RECOVERING.getMsg(journalFile.getPath(), "Rolling back", this));
+        try {
+            rollBack(fc);
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void rollBack(FileChannel fc) throws IOException {
+        if (rollingBack) {
+            resume(fc);
+            return;
+        }
+        //Everything moved so far has a complete copy at its new position, so it is moved back from there, and the head
+        //written over by the move or by the caller is put back afterwards. The undo is journalled in place of the move.
+        restoreChunk(fc);
+        ShiftJournal reverse;
+        if (distance > 0) {
+            reverse = new ShiftJournal(journalFile, progress + distance, end + distance, -distance,
+                    finalLength, originalLength, true, head, progress + distance);
+        } else {
+            reverse = new ShiftJournal(journalFile, start + distance, progress + distance, -distance,
+                    finalLength, originalLength, true, head, progress + distance);
+        }
+        close();
+        reverse.writeHeader();
+        reverse.resume(fc);
+    }
+
+    public String toString() {
+        return "start:" + start + ",end:" + end + ",distance:" + distance + ",originalLength:" + originalLength
+                + ",finalLength:" + finalLength + ",rollingBack:" + rollingBack + ",headLength:" + head.length
+                + ",progress:" + progress + ",chunkFrom:" + chunkFrom + ",chunkLength:" + chunkLength;
+    }
+}
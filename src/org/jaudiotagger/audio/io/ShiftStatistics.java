@@ -0,0 +1,57 @@
+package org.jaudiotagger.audio.io;
+
+/**
+ * Measures the data moved by {@link ChannelShifter}, either for a single shift or for every shift made so far.
+ */
+public class ShiftStatistics {
+    private final long shifts;
+    private final long bytesMoved;
+    private final long chunks;
+    private final long nanos;
+
+    public ShiftStatistics(long shifts, long bytesMoved, long chunks, long nanos) {
+        this.shifts = shifts;
+        this.bytesMoved = bytesMoved;
+        this.chunks = chunks;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return number of times data was shifted
+     */
+    public long getShifts() {
+        return shifts;
+    }
+
+    /**
+     * @return number of bytes moved
+     */
+    public long getBytesMoved() {
+        return bytesMoved;
+    }
+
+    /**
+     * @return number of read and write pairs used to move the data
+     */
+    public long getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return time spent moving the data in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return average rate data was moved at in bytes per second, zero if nothing has been moved
+     */
+    public long getBytesPerSecond() {
+        return nanos == 0 ? 0 : (long) (bytesMoved * 1000000000.0 / nanos);
+    }
+
+    public String toString() {
+        return "shifts:" + shifts + ",bytesMoved:" + bytesMoved + ",chunks:" + chunks + ",millis:" + (nanos / 1000000) + ",bytesPerSecond:" + getBytesPerSecond();
+    }
+}
@@ -18,10 +18,11 @@ public class ByteArrayMP3AudioHeader extends MP3AudioHeader {
 
         boolean syncFound = false;
         do {
-            if (MPEGFrameHeader.isMPEGFrame(bb)) {
+            int headerWord = MPEGFrameHeader.getHeaderWord(bb);
+            if (MPEGFrameHeader.isValidHeader(headerWord)) {
                 try {
 
-                    mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
+                    mp3FrameHeader = MPEGFrameHeader.valueOf(headerWord);
                     syncFound = true;
                     if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader)) != null) {
                         try {
@@ -72,15 +73,11 @@ public class ByteArrayMP3AudioHeader extends MP3AudioHeader {
         int currentPosition = bb.position();
 
         bb.position(bb.position() + mp3FrameHeader.getFrameLength());
-        if (MPEGFrameHeader.isMPEGFrame(bb)) {
-            try {
-                MPEGFrameHeader.parseMPEGHeader(bb);
-                MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
-                result = true;
-            } catch (InvalidAudioFrameException ex) {
-                MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
-                result = false;
-            }
+        if (MPEGFrameHeader.isValidHeader(MPEGFrameHeader.getHeaderWord(bb))) {
+            MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
+            result = true;
+        } else {
+            MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
         }
         // Set back to the start of the previous frame
         bb.position(currentPosition);
@@ -21,12 +21,12 @@ package org.jaudiotagger.audio.mp3;
 
 import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.io.CachedChannelReader;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.Hex;
 
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -62,6 +62,7 @@ public class MP3AudioHeader implements AudioHeader {
     protected MPEGFrameHeader mp3FrameHeader;
     protected XingFrame mp3XingFrame;
     protected VbriFrame mp3VbriFrame;
+    private MP3FrameIndex frameIndex;
 
     private Long audioDataStartPosition;
     private Long audioDataEndPosition;
@@ -136,6 +137,21 @@ public class MP3AudioHeader implements AudioHeader {
         }
     }
 
+    /**
+     * Search for the first MP3Header, reading through a reader that may be shared with other readers of the file
+     *
+     * @param reader
+     * @param startByte
+     * @param fileName
+     * @throws IOException
+     * @throws InvalidAudioFrameException
+     */
+    public MP3AudioHeader(final CachedChannelReader reader, long startByte, String fileName) throws IOException, InvalidAudioFrameException {
+        if (!seek(reader, startByte, fileName)) {
+            throw new InvalidAudioFrameException(ErrorMessage.NO_AUDIO_HEADER_FOUND.getMsg(fileName));
+        }
+    }
+
     /**
      * Returns true if the first MP3 frame can be found for the MP3 file
      *
@@ -147,26 +163,39 @@ public class MP3AudioHeader implements AudioHeader {
      * @throws IOException on any I/O error
      */
     public boolean seek(final File seekFile, long startByte) throws IOException {
+        final CachedChannelReader reader = CachedChannelReader.open(seekFile);
+        try {
+            return seek(reader, startByte, seekFile.getName());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Returns true if the first MP3 frame can be found, reading through a reader that may be shared with other
+     * readers of the same file
+     *
+     * @param reader    reader of the MP3 file, not closed by this method
+     * @param startByte if there is an ID3v2tag we dont want to start reading from the start of the tag
+     * @param fileName  used for logging
+     * @return true if the first MP3 frame can be found
+     * @throws IOException on any I/O error
+     */
+    public boolean seek(final CachedChannelReader reader, long startByte, String fileName) throws IOException {
         //References to Xing/VRbi Header
         ByteBuffer header;
 
         //This is substantially faster than updating the filechannels position
         long filePointerCount;
 
-        final FileInputStream fis = new FileInputStream(seekFile);
-        final FileChannel fc = fis.getChannel();
-
         //Read into Byte Buffer in Chunks
-        ByteBuffer bb = ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
-
-        //Move FileChannel to the starting position (skipping over tag if any)
-        fc.position(startByte);
+        ByteBuffer bb = ByteBuffer.allocate(FILE_BUFFER_SIZE);
 
         //Update filePointerCount
         filePointerCount = startByte;
 
-        //Read from here into the byte buffer , doesn't move location of filepointer
-        fc.read(bb, startByte);
+        //Read from here into the byte buffer
+        reader.read(bb, startByte);
         bb.flip();
 
         boolean syncFound = false;
@@ -177,8 +206,7 @@ public class MP3AudioHeader implements AudioHeader {
                 //by increasing FILE_BUFFER_SIZE
                 if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED) {
                     bb.clear();
-                    fc.position(filePointerCount);
-                    fc.read(bb, fc.position());
+                    reader.read(bb, filePointerCount);
                     bb.flip();
                     if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED) {
                         //No mp3 exists
@@ -186,13 +214,14 @@ public class MP3AudioHeader implements AudioHeader {
                     }
                 }
                 //MP3File.logger.finest("fc:"+fc.position() + "bb"+bb.position());
-                if (MPEGFrameHeader.isMPEGFrame(bb)) {
+                int headerWord = MPEGFrameHeader.getHeaderWord(bb);
+                if (MPEGFrameHeader.isValidHeader(headerWord)) {
                     try {
                         if (MP3AudioHeader.logger.isLoggable(Level.FINEST)) {
                             MP3AudioHeader.logger.finest("Found Possible header at:" + filePointerCount);
                         }
 
-                        mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
+                        mp3FrameHeader = MPEGFrameHeader.valueOf(headerWord);
                         syncFound = true;
                         //if(2==1) use this line when you want to test getting the next frame without using xing
 
@@ -230,7 +259,7 @@ public class MP3AudioHeader implements AudioHeader {
                         // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
                         // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
                         else {
-                            syncFound = isNextFrameValid(seekFile, filePointerCount, bb, fc);
+                            syncFound = isNextFrameValid(fileName, filePointerCount, bb, reader);
                             if (syncFound) {
                                 break;
                             }
@@ -257,21 +286,13 @@ public class MP3AudioHeader implements AudioHeader {
             MP3AudioHeader.logger.log(Level.SEVERE, "IOException occurred whilst trying to find sync", iox);
             syncFound = false;
             throw iox;
-        } finally {
-            if (fc != null) {
-                fc.close();
-            }
-
-            if (fis != null) {
-                fis.close();
-            }
         }
 
         //Return to start of audio header
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST)) {
             MP3AudioHeader.logger.finer("Return found matching mp3 header starting at" + filePointerCount);
         }
-        setFileSize(seekFile.length());
+        setFileSize(reader.size());
         setMp3StartByte(filePointerCount);
         setTimePerFrame();
         setNumberOfFrames();
@@ -280,7 +301,7 @@ public class MP3AudioHeader implements AudioHeader {
         setEncoder();
         /*if((filePointerCount - startByte )>0)
         {
-            logger.severe(seekFile.getName()+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
+            logger.severe(fileName+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
         }
         */
         return syncFound;
@@ -289,16 +310,16 @@ public class MP3AudioHeader implements AudioHeader {
     /**
      * Called in some circumstances to check the next frame to ensure we have the correct audio header
      *
-     * @param seekFile
+     * @param fileName
      * @param filePointerCount
      * @param bb
-     * @param fc
+     * @param reader
      * @return true if frame is valid
      * @throws java.io.IOException
      */
-    private boolean isNextFrameValid(File seekFile, long filePointerCount, ByteBuffer bb, FileChannel fc) throws IOException {
+    private boolean isNextFrameValid(String fileName, long filePointerCount, ByteBuffer bb, CachedChannelReader reader) throws IOException {
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST)) {
-            MP3AudioHeader.logger.finer("Checking next frame" + seekFile.getName() + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
+            MP3AudioHeader.logger.finer("Checking next frame" + fileName + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
         }
         boolean result = false;
 
@@ -316,8 +337,7 @@ public class MP3AudioHeader implements AudioHeader {
         if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength()) {
             MP3AudioHeader.logger.finer("Buffer too small, need to reload, buffer size:" + bb.remaining());
             bb.clear();
-            fc.position(filePointerCount);
-            fc.read(bb, fc.position());
+            reader.read(bb, filePointerCount);
             bb.flip();
             //So now original buffer has been replaced, so set current position to start of buffer
             currentPosition = 0;
@@ -338,17 +358,11 @@ public class MP3AudioHeader implements AudioHeader {
 
         //Position bb to the start of the alleged next frame
         bb.position(bb.position() + mp3FrameHeader.getFrameLength());
-        if (MPEGFrameHeader.isMPEGFrame(bb)) {
-            try {
-                MPEGFrameHeader.parseMPEGHeader(bb);
-                MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
-                result = true;
-            } catch (InvalidAudioFrameException ex) {
-                MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
-                result = false;
-            }
+        if (MPEGFrameHeader.isValidHeader(MPEGFrameHeader.getHeaderWord(bb))) {
+            MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
+            result = true;
         } else {
-            MP3AudioHeader.logger.finer("isMPEGFrame has identified this is not an audio header");
+            MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
         }
         //Set back to the start of the previous frame
         bb.position(currentPosition);
@@ -393,6 +407,34 @@ public class MP3AudioHeader implements AudioHeader {
 
     }
 
+    /**
+     * Walk every frame of the audio and use the exact frame count, track length and bitrate found instead of the
+     * estimates
+     *
+     * @param fc      channel to the file, its position is not changed
+     * @param endByte end of the audio, such as the start of an ID3v1 tag or the end of the file
+     * @throws IOException
+     */
+    public void readFrameIndex(FileChannel fc, long endByte) throws IOException {
+        MP3FrameIndex index = MP3FrameIndex.read(fc, startByte, endByte, mp3XingFrame != null || mp3VbriFrame != null);
+        if (index.getFrameCount() == 0) {
+            logger.warning("Unable to index frames, keeping estimated track length:" + this);
+            return;
+        }
+        frameIndex = index;
+        numberOfFrames = index.getFrameCount();
+        trackLength = index.getPreciseTrackLength();
+        bitrate = index.getAverageBitRate();
+    }
+
+    /**
+     * @return index of the frames, including the exact number of samples, only available if read with
+     *         {@link org.jaudiotagger.tag.TagOptionSingleton#setAccurateMp3Length(boolean)} set, otherwise null
+     */
+    public MP3FrameIndex getFrameIndex() {
+        return frameIndex;
+    }
+
     /**
      * @return The number of frames within the Audio File, calculated as accurately as possible
      */
@@ -540,7 +582,9 @@ public class MP3AudioHeader implements AudioHeader {
      *         for vbr.
      */
     public String getBitRate() {
-        if (mp3XingFrame != null && mp3XingFrame.isVbr()) {
+        if (frameIndex != null) {
+            return frameIndex.isVariableBitRate() ? isVbrIdentifier + String.valueOf(bitrate) : String.valueOf(bitrate);
+        } else if (mp3XingFrame != null && mp3XingFrame.isVbr()) {
             return isVbrIdentifier + String.valueOf(bitrate);
         } else if (mp3VbriFrame != null) {
             return isVbrIdentifier + String.valueOf(bitrate);
@@ -611,7 +655,9 @@ public class MP3AudioHeader implements AudioHeader {
      * @return if the bitrate is variable, Xing header takes precedence if we have one
      */
     public boolean isVariableBitRate() {
-        if (mp3XingFrame != null) {
+        if (frameIndex != null) {
+            return frameIndex.isVariableBitRate();
+        } else if (mp3XingFrame != null) {
             return mp3XingFrame.isVbr();
         } else if (mp3VbriFrame != null) {
             return mp3VbriFrame.isVbr();
@@ -691,6 +737,10 @@ public class MP3AudioHeader implements AudioHeader {
         } else {
             s += " mp3VbriFrame:false";
         }
+
+        if (this.frameIndex != null) {
+            s += " frameIndex:" + frameIndex;
+        }
         return s;
     }
 
@@ -23,6 +23,13 @@ package org.jaudiotagger.audio.mp3;
 
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.*;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
+import org.jaudiotagger.audio.io.CachedChannelReader;
+import org.jaudiotagger.audio.io.ChannelDigest;
+import org.jaudiotagger.audio.io.ChannelShifter;
+import org.jaudiotagger.audio.io.ReadStatistics;
+import org.jaudiotagger.audio.io.SeekableFileChannel;
+import org.jaudiotagger.audio.io.ShiftJournal;
 import org.jaudiotagger.logging.*;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
@@ -32,10 +39,9 @@ import org.jaudiotagger.tag.id3.*;
 import org.jaudiotagger.tag.lyrics3.AbstractLyrics3;
 
 import java.io.*;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.logging.Level;
@@ -69,6 +75,11 @@ public class MP3File extends AudioFile {
      */
     private ID3v1Tag id3v1tag = null;
 
+    /**
+     * The I/O done whilst reading the file
+     */
+    private ReadStatistics readStatistics = null;
+
     /**
      * Creates a new empty MP3File datatype that is not associated with a
      * specific file.
@@ -121,23 +132,28 @@ public class MP3File extends AudioFile {
     /**
      * Read v1 tag
      *
-     * @param file
-     * @param newFile
+     * @param name of the file or channel for messages
+     * @param reader
      * @param loadOptions
      * @throws IOException
      */
-    private void readV1Tag(File file, RandomAccessFile newFile, int loadOptions) throws IOException {
+    private void readV1Tag(String name, CachedChannelReader reader, int loadOptions) throws IOException {
         if ((loadOptions & LOAD_IDV1TAG) != 0) {
             logger.finer("Attempting to read id3v1tags");
+            if (reader.size() < ID3v1Tag.TAG_LENGTH) {
+                logger.config("No id3v1 tag found");
+                return;
+            }
+            long tagStart = reader.size() - ID3v1Tag.TAG_LENGTH;
             try {
-                id3v1tag = new ID3v11Tag(newFile, file.getName());
+                id3v1tag = new ID3v11Tag(reader.fetch(tagStart, ID3v1Tag.TAG_LENGTH), name);
             } catch (TagNotFoundException ex) {
                 logger.config("No ids3v11 tag found");
             }
 
             try {
                 if (id3v1tag == null) {
-                    id3v1tag = new ID3v1Tag(newFile, file.getName());
+                    id3v1tag = new ID3v1Tag(reader.fetch(tagStart, ID3v1Tag.TAG_LENGTH), name);
                 }
             } catch (TagNotFoundException ex) {
                 logger.config("No id3v1 tag found");
@@ -145,92 +161,70 @@ public class MP3File extends AudioFile {
         }
     }
 
+    /**
+     * @param reader
+     * @return true if the file ends with an id3v1 tag
+     * @throws IOException
+     */
+    private boolean hasV1TagIdentifier(CachedChannelReader reader) throws IOException {
+        if (reader.size() < ID3v1Tag.TAG_LENGTH) {
+            return false;
+        }
+        ByteBuffer identifier = reader.fetch(reader.size() - ID3v1Tag.TAG_LENGTH, 3);
+        return identifier.get(0) == 'T' && identifier.get(1) == 'A' && identifier.get(2) == 'G';
+    }
+
     /**
      * Read V2tag if exists
      *
      * TODO:shouldn't we be handing TagExceptions:when will they be thrown
      *
-     * @param file
+     * @param file        the file being read, or null if the audio is not held in a file
+     * @param name        of the file or channel for messages
      * @param loadOptions
      * @throws IOException
      * @throws TagException
      */
-    private void readV2Tag(File file, int loadOptions, int startByte) throws IOException, TagException {
+    private void readV2Tag(File file, String name, CachedChannelReader reader, int loadOptions, int startByte) throws IOException, TagException {
         //We know where the actual Audio starts so load all the file from start to that point into
         //a buffer then we can read the IDv2 information without needing any more File I/O
         if (startByte >= AbstractID3v2Tag.TAG_HEADER_LENGTH) {
             logger.finer("Attempting to read id3v2tags");
-            FileInputStream fis = null;
-            FileChannel fc = null;
-            ByteBuffer bb;
-            try {
-                fis = new FileInputStream(file);
-                fc = fis.getChannel();
-                bb = ByteBuffer.allocate(startByte);
-                // XXX: don't change it to map
-                // https://stackoverflow.com/questions/28378713/bytebuffer-getbyte-int-int-failed-on-android-ics-and-jb
-                fc.read(bb, 0);
-            } finally {
-                if (fc != null) {
-                    fc.close();
-                }
-
-                if (fis != null) {
-                    fis.close();
+            //Leave the artwork in the file if we can, avoids reading large pictures into memory
+            if (file != null && (loadOptions & LOAD_IDV2TAG) != 0 && TagOptionSingleton.getInstance().isLazyArtwork()) {
+                AbstractID3v2Tag tag = ID3v2LazyArtworkReader.read(file, reader, startByte);
+                if (tag != null) {
+                    this.setID3v2Tag(tag);
+                    return;
                 }
             }
 
-            try {
-                bb.rewind();
-
-                if ((loadOptions & LOAD_IDV2TAG) != 0) {
-                    logger.config("Attempting to read id3v2tags");
-                    try {
-                        this.setID3v2Tag(new ID3v24Tag(bb, file.getName()));
-                    } catch (TagNotFoundException ex) {
-                        logger.config("No id3v24 tag found");
-                    }
+            // XXX: don't change it to map
+            // https://stackoverflow.com/questions/28378713/bytebuffer-getbyte-int-int-failed-on-android-ics-and-jb
+            ByteBuffer bb = reader.fetch(0, startByte);
 
-                    try {
-                        if (id3v2tag == null) {
-                            this.setID3v2Tag(new ID3v23Tag(bb, file.getName()));
-                        }
-                    } catch (TagNotFoundException ex) {
-                        logger.config("No id3v23 tag found");
-                    }
+            if ((loadOptions & LOAD_IDV2TAG) != 0) {
+                logger.config("Attempting to read id3v2tags");
+                try {
+                    this.setID3v2Tag(new ID3v24Tag(bb, name));
+                } catch (TagNotFoundException ex) {
+                    logger.config("No id3v24 tag found");
+                }
 
-                    try {
-                        if (id3v2tag == null) {
-                            this.setID3v2Tag(new ID3v22Tag(bb, file.getName()));
-                        }
-                    } catch (TagNotFoundException ex) {
-                        logger.config("No id3v22 tag found");
+                try {
+                    if (id3v2tag == null) {
+                        this.setID3v2Tag(new ID3v23Tag(bb, name));
                     }
+                } catch (TagNotFoundException ex) {
+                    logger.config("No id3v23 tag found");
                 }
-            } finally {
-                //Workaround for 4724038 on Windows
-                bb.clear();
-                if (bb.isDirect() && !TagOptionSingleton.getInstance().isAndroid()) {
-                    // Reflection substitute for following code:
-                    //    ((sun.nio.ch.DirectBuffer) bb).cleaner().clean();
-                    // which causes exception on Android - Sun NIO classes are not available
-                    try {
-                        Class<?> clazz = Class.forName("sun.nio.ch.DirectBuffer");
-                        Method cleanerMethod = clazz.getMethod("cleaner");
-                        Object cleaner = cleanerMethod.invoke(bb);  // cleaner = bb.cleaner()
-                        if (cleaner != null) {
-                            Method cleanMethod = cleaner.getClass().getMethod("clean");
-                            cleanMethod.invoke(cleaner);   // cleaner.clean()
-                        }
-                    } catch (ClassNotFoundException e) {
-                        logger.severe("Could not load sun.nio.ch.DirectBuffer.");
-                    } catch (NoSuchMethodException e) {
-                        logger.severe("Could not invoke DirectBuffer method - " + e.getMessage());
-                    } catch (InvocationTargetException e) {
-                        logger.severe("Could not invoke DirectBuffer method - target exception");
-                    } catch (IllegalAccessException e) {
-                        logger.severe("Could not invoke DirectBuffer method - illegal access");
+
+                try {
+                    if (id3v2tag == null) {
+                        this.setID3v2Tag(new ID3v22Tag(bb, name));
                     }
+                } catch (TagNotFoundException ex) {
+                    logger.config("No id3v22 tag found");
                 }
             }
         } else {
@@ -282,28 +276,12 @@ public class MP3File extends AudioFile {
      * @return true if all the bytes between in the file between startByte and endByte are null, false
      * otherwise
      */
-    private boolean isFilePortionNull(int startByte, int endByte) throws IOException {
+    private boolean isFilePortionNull(CachedChannelReader reader, int startByte, int endByte) throws IOException {
         logger.config("Checking file portion:" + Hex.asHex(startByte) + ":" + Hex.asHex(endByte));
-        FileInputStream fis = null;
-        FileChannel fc = null;
-        try {
-            fis = new FileInputStream(file);
-            fc = fis.getChannel();
-            fc.position(startByte);
-            ByteBuffer bb = ByteBuffer.allocateDirect(endByte - startByte);
-            fc.read(bb);
-            while (bb.hasRemaining()) {
-                if (bb.get() != 0) {
-                    return false;
-                }
-            }
-        } finally {
-            if (fc != null) {
-                fc.close();
-            }
-
-            if (fis != null) {
-                fis.close();
+        ByteBuffer bb = reader.fetch(startByte, endByte - startByte);
+        while (bb.hasRemaining()) {
+            if (bb.get() != 0) {
+                return false;
             }
         }
         return true;
@@ -313,40 +291,42 @@ public class MP3File extends AudioFile {
      * Regets the audio header starting from start of file, and write appropriate logging to indicate
      * potential problem to user.
      *
+     * @param reader
+     * @param name of the file or channel for messages
      * @param startByte
      * @param firstHeaderAfterTag
      * @return
      * @throws IOException
      * @throws InvalidAudioFrameException
      */
-    private MP3AudioHeader checkAudioStart(long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException {
+    private MP3AudioHeader checkAudioStart(CachedChannelReader reader, String name, long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException {
         MP3AudioHeader headerOne;
         MP3AudioHeader headerTwo;
 
-        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(file.getPath(), Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
+        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(name, Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
 
         //because we cant agree on start location we reread the audioheader from the start of the file, at least
         //this way we cant overwrite the audio although we might overwrite part of the tag if we write this file
         //back later
-        headerOne = new MP3AudioHeader(file, 0);
+        headerOne = new MP3AudioHeader(reader, 0, name);
         logger.config("Checking from start:" + headerOne);
 
         //Although the id3 tag size appears to be incorrect at least we have found the same location for the start
         //of audio whether we start searching from start of file or at the end of the alleged of file so no real
         //problem
         if (firstHeaderAfterTag.getMp3StartByte() == headerOne.getMp3StartByte()) {
-            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(name,
                     Hex.asHex(headerOne.getMp3StartByte())));
             return firstHeaderAfterTag;
         } else {
 
             //We get a different value if read from start, can't guarantee 100% correct lets do some more checks
-            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(name,
                     Hex.asHex(headerOne.getMp3StartByte()))));
 
             //Same frame count so probably both audio headers with newAudioHeader being the first one
             if (firstHeaderAfterTag.getNumberOfFrames() == headerOne.getNumberOfFrames()) {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(name,
                         Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
@@ -354,18 +334,18 @@ public class MP3File extends AudioFile {
             //If the size reported by the tag header is a little short and there is only nulls between the recorded value
             //and the start of the first audio found then we stick with the original header as more likely that currentHeader
             //DataInputStream not really a header
-            if (isFilePortionNull((int) startByte, (int) firstHeaderAfterTag.getMp3StartByte())) {
+            if (isFilePortionNull(reader, (int) startByte, (int) firstHeaderAfterTag.getMp3StartByte())) {
                 return firstHeaderAfterTag;
             }
 
             //Skip to the next header (header 2, counting from start of file)
-            headerTwo = new MP3AudioHeader(file, headerOne.getMp3StartByte()
-                    + headerOne.mp3FrameHeader.getFrameLength());
+            headerTwo = new MP3AudioHeader(reader, headerOne.getMp3StartByte()
+                    + headerOne.mp3FrameHeader.getFrameLength(), name);
 
             //It matches the header we found when doing the original search from after the ID3Tag therefore it
             //seems that newAudioHeader was a false match and the original header was correct
             if (headerTwo.getMp3StartByte() == firstHeaderAfterTag.getMp3StartByte()) {
-                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(name,
                         Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -373,13 +353,13 @@ public class MP3File extends AudioFile {
             //It matches the frameCount the header we just found so lends weight to the fact that the audio does indeed start at new header
             //however it maybe that neither are really headers and just contain the same data being misrepresented as headers.
             if (headerTwo.getNumberOfFrames() == headerOne.getNumberOfFrames()) {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(name,
                         Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
             ///Doesnt match the frameCount lets go back to the original header
             else {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(name,
                         Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -399,43 +379,95 @@ public class MP3File extends AudioFile {
      * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
      */
     public MP3File(File file, int loadOptions, boolean readOnly) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException {
-        RandomAccessFile newFile = null;
+        CachedChannelReader reader = null;
         try {
             this.file = file;
 
-            //Check File accessibility
-            newFile = checkFilePermissions(file, readOnly);
-
-            //Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
-            long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-            logger.config("TagHeaderSize:" + Hex.asHex(tagSizeReportedByHeader));
-            audioHeader = new MP3AudioHeader(file, tagSizeReportedByHeader);
+            //The audio is only partly moved so cannot be read until the move is recovered
+            if (ShiftJournal.isPending(file)) {
+                throw new CannotReadException(ErrorMessage.SHIFT_JOURNAL_PENDING.getMsg(file.getPath(), ShiftJournal.getJournalFile(file).getPath()));
+            }
 
-            //If the audio header is not straight after the end of the tag then search from start of file
-            if (tagSizeReportedByHeader != ((MP3AudioHeader) audioHeader).getMp3StartByte()) {
-                logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(tagSizeReportedByHeader, (MP3AudioHeader) audioHeader);
+            //Check File accessibility, the file is only opened once and all reads are done through this reader
+            readStatistics = new ReadStatistics();
+            RandomAccessFile newFile = checkFilePermissions(file, readOnly);
+            readStatistics.recordOpen();
+            reader = new CachedChannelReader(newFile.getChannel(), readStatistics);
+            read(file, file.getName(), reader, newFile.getChannel(), loadOptions);
+        } finally {
+            if (reader != null) {
+                reader.close();
             }
+        }
+    }
+
+    /**
+     * Creates a new MP3File dataType and parse the tag from audio held by a channel rather than a file. Artwork is
+     * always read with the rest of the tag, and the channel is not closed.
+     *
+     * @param channel     holding the audio
+     * @param name        of the channel for messages
+     * @param loadOptions decide what tags to load
+     * @throws IOException  on any I/O error
+     * @throws TagException on any exception generated by this library.
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public MP3File(SeekableByteChannel channel, String name, int loadOptions) throws IOException, TagException, InvalidAudioFrameException {
+        FileChannel fc = SeekableFileChannel.of(channel);
+        readStatistics = new ReadStatistics();
+        CachedChannelReader reader = new CachedChannelReader(fc, readStatistics);
+        try {
+            read(null, name, reader, fc, loadOptions);
+        } finally {
+            reader.clearCache();
+        }
+    }
+
+    /**
+     * Read the audio header and the tags through the reader
+     *
+     * @param file        the file being read, or null if the audio is not held in a file
+     * @param name        of the file or channel for messages
+     * @param reader      reading the audio
+     * @param fc          channel the reader reads, for walking the frames
+     * @param loadOptions decide what tags to load
+     */
+    private void read(File file, String name, CachedChannelReader reader, FileChannel fc, int loadOptions) throws IOException, TagException, InvalidAudioFrameException {
+        //Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
+        long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(reader.fetch(0, AbstractID3v2Tag.TAG_HEADER_LENGTH));
+        logger.config("TagHeaderSize:" + Hex.asHex(tagSizeReportedByHeader));
+        audioHeader = new MP3AudioHeader(reader, tagSizeReportedByHeader, name);
+
+        //If the audio header is not straight after the end of the tag then search from start of file
+        if (tagSizeReportedByHeader != ((MP3AudioHeader) audioHeader).getMp3StartByte()) {
+            logger.config("First header found after tag:" + audioHeader);
+            audioHeader = checkAudioStart(reader, name, tagSizeReportedByHeader, (MP3AudioHeader) audioHeader);
+        }
 
-            //Read v1 tags (if any)
-            readV1Tag(file, newFile, loadOptions);
+        //Read v1 tags (if any)
+        readV1Tag(name, reader, loadOptions);
 
-            //Read v2 tags (if any)
-            readV2Tag(file, loadOptions, (int) ((MP3AudioHeader) audioHeader).getMp3StartByte());
+        //The audio ends at the v1 tag whether or not it was loaded
+        MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) audioHeader;
+        mp3AudioHeader.setAudioDataStartPosition(mp3AudioHeader.getMp3StartByte());
+        mp3AudioHeader.setAudioDataEndPosition(reader.size() - (hasV1TagIdentifier(reader) ? ID3v1Tag.TAG_LENGTH : 0));
 
-            //If we have a v2 tag use that, if we do not but have v1 tag use that
-            //otherwise use nothing
-            //TODO:if have both should we merge
-            //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
-            if (this.getID3v2Tag() != null) {
-                tag = this.getID3v2Tag();
-            } else if (id3v1tag != null) {
-                tag = id3v1tag;
-            }
-        } finally {
-            if (newFile != null) {
-                newFile.close();
-            }
+        //Walk the frames for the exact length
+        if (TagOptionSingleton.getInstance().isAccurateMp3Length()) {
+            mp3AudioHeader.readFrameIndex(fc, mp3AudioHeader.getAudioDataEndPosition());
+        }
+
+        //Read v2 tags (if any)
+        readV2Tag(file, name, reader, loadOptions, (int) ((MP3AudioHeader) audioHeader).getMp3StartByte());
+
+        //If we have a v2 tag use that, if we do not but have v1 tag use that
+        //otherwise use nothing
+        //TODO:if have both should we merge
+        //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
+        if (this.getID3v2Tag() != null) {
+            tag = this.getID3v2Tag();
+        } else if (id3v1tag != null) {
+            tag = id3v1tag;
         }
     }
 
@@ -448,23 +480,31 @@ public class MP3File extends AudioFile {
      * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
      */
     public long getMP3StartByte(File file) throws InvalidAudioFrameException, IOException {
+        final CachedChannelReader reader = CachedChannelReader.open(file);
         try {
             //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
-            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(file);
+            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(reader.fetch(0, AbstractID3v2Tag.TAG_HEADER_LENGTH));
 
-            MP3AudioHeader audioHeader = new MP3AudioHeader(file, startByte);
+            MP3AudioHeader audioHeader = new MP3AudioHeader(reader, startByte, file.getName());
             if (startByte != audioHeader.getMp3StartByte()) {
                 logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(startByte, audioHeader);
+                audioHeader = checkAudioStart(reader, file.getName(), startByte, audioHeader);
             }
             return audioHeader.getMp3StartByte();
-        } catch (InvalidAudioFrameException iafe) {
-            throw iafe;
-        } catch (IOException ioe) {
-            throw ioe;
+        } finally {
+            reader.close();
         }
     }
 
+    /**
+     * Statistics of the I/O done whilst reading this file, only available if the file was read by this class
+     *
+     * @return statistics or null
+     */
+    public ReadStatistics getReadStatistics() {
+        return readStatistics;
+    }
+
     /**
      * Extracts the raw ID3v2 tag data into a file.
      *
@@ -658,31 +698,12 @@ public class MP3File extends AudioFile {
             id3v1TagSize = id1tag.getSize();
         }
 
-        InputStream inStream = new FileInputStream(mp3File);
-
-        byte[] buffer = new byte[bufferSize];
-
         MessageDigest digest = MessageDigest.getInstance(algorithm);
-
-        inStream.skip(startByte);
-
-        int read;
-        long totalSize = mp3File.length() - startByte - id3v1TagSize;
-        int pointer = buffer.length;
-
-        while (pointer <= totalSize) {
-
-            read = inStream.read(buffer);
-
-            digest.update(buffer, 0, read);
-            pointer += buffer.length;
+        try (FileChannel fc = new FileInputStream(mp3File).getChannel()) {
+            ChannelDigest.update(fc, startByte, mp3File.length() - id3v1TagSize, bufferSize, digest);
         }
-        read = inStream.read(buffer, 0, (int) totalSize - pointer + buffer.length);
-        digest.update(buffer, 0, read);
-
         byte[] hash = digest.digest();
 
-
         return hash;
     }
 
@@ -928,6 +949,64 @@ public class MP3File extends AudioFile {
         }
     }
 
+    /**
+     * Saves the tags in this dataType to audio held by a channel rather than a file, such as audio read with
+     * {@link #MP3File(SeekableByteChannel, String, int)}. If the ID3v2 tag no longer fits before the audio the audio is
+     * moved towards the end of the channel to make room. The channel is not closed.
+     *
+     * @param channel holding the audio, open for reading and writing
+     * @throws IOException on any I/O error
+     */
+    public void save(SeekableByteChannel channel) throws IOException {
+        FileChannel fc = SeekableFileChannel.of(channel);
+        if (fc.size() <= MINIMUM_FILESIZE) {
+            throw new IOException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE_FILE_IS_TOO_SMALL.getMsg("channel"));
+        }
+
+        //ID3v2 Tag
+        if (TagOptionSingleton.getInstance().isId3v2Save()) {
+            if (id3v2tag == null) {
+                (new ID3v24Tag()).delete(fc);
+                (new ID3v23Tag()).delete(fc);
+                (new ID3v22Tag()).delete(fc);
+                logger.config("Deleting ID3v2 tag from channel");
+            } else {
+                logger.config("Writing ID3v2 tag to channel");
+                final MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) this.getAudioHeader();
+                final long mp3StartByte = mp3AudioHeader.getMp3StartByte();
+                ByteArrayOutputStream tagBuffer = new ByteArrayOutputStream();
+                id3v2tag.write(tagBuffer, (int) mp3StartByte);
+                final long newMp3StartByte = tagBuffer.size();
+                if (newMp3StartByte > mp3StartByte) {
+                    ChannelShifter.shift(fc, mp3StartByte, fc.size(), newMp3StartByte - mp3StartByte);
+                    PaddingPolicy.recordRewrite();
+                } else {
+                    PaddingPolicy.recordInPlaceSave();
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(tagBuffer.toByteArray());
+                while (buffer.hasRemaining()) {
+                    fc.write(buffer, buffer.position());
+                }
+                if (mp3StartByte != newMp3StartByte) {
+                    logger.config("New mp3 start byte: " + newMp3StartByte);
+                    mp3AudioHeader.setMp3StartByte(newMp3StartByte);
+                }
+            }
+        }
+
+        //ID3v1 tag
+        if (TagOptionSingleton.getInstance().isId3v1Save()) {
+            logger.config("Processing ID3v1");
+            if (id3v1tag == null) {
+                logger.config("Deleting ID3v1");
+                (new ID3v1Tag()).delete(fc);
+            } else {
+                logger.config("Saving ID3v1");
+                id3v1tag.write(fc);
+            }
+        }
+    }
+
     /**
      * Displays MP3File Structure
      */
@@ -12,6 +12,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Read Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -36,6 +37,19 @@ public class MP3FileReader extends AudioFileReader {
         return mp3File;
     }
 
+    /**
+     * Reads the audio held by the channel directly, without copying it to a file. Artwork is always read with the
+     * rest of the tag.
+     *
+     * @param channel holding the audio
+     * @param ext     file suffix of the format, such as mp3
+     * @return the MP3File, which has no file
+     */
+    @Override
+    public AudioFile read(SeekableByteChannel channel, String ext) throws IOException, TagException, InvalidAudioFrameException {
+        return new MP3File(channel, ext + " channel", MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG);
+    }
+
     /**
      * Read
      *
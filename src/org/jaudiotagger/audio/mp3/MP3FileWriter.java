@@ -4,10 +4,13 @@ import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
+import java.util.logging.Level;
 
 /**
  * Write Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -38,6 +41,24 @@ public class MP3FileWriter extends AudioFileWriter {
         af.commit();
     }
 
+    /**
+     * Write the tags of the MP3File to the audio held by the channel directly, without copying it to a file. The
+     * channel is not closed.
+     *
+     * @param af      the MP3File holding the tags to write
+     * @param channel holding the audio, open for reading and writing
+     * @throws CannotWriteException if anything went wrong
+     */
+    @Override
+    public void write(AudioFile af, SeekableByteChannel channel) throws CannotWriteException {
+        try {
+            ((MP3File) af).save(channel);
+        } catch (IOException ioe) {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(af.getExt() + " channel", ioe.getMessage()), ioe);
+            throw new CannotWriteException(ioe);
+        }
+    }
+
     protected void writeTag(AudioFile audioFile, Tag tag, RandomAccessFile raf, RandomAccessFile rafTemp) {
         throw new RuntimeException("MP3FileReaderwriteTag should not be called");
     }
@@ -0,0 +1,373 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.logging.Hex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Exact frame count, sample count and bitrate of an MP3 found by walking every frame of the audio, together with an
+ * index of the frame positions that can be used for seeking.
+ * <p>
+ * The audio header normally estimates these from the first frame and the file size, or takes them from a Xing or
+ * VBRI header if there is one, a variable bitrate file without either gets a track length that can be well out. Walking
+ * the frames reads the whole of the audio so is only done when asked for, see
+ * {@link org.jaudiotagger.tag.TagOptionSingleton#setAccurateMp3Length(boolean)}.
+ * <p>
+ * The walk reads the file in large blocks and only looks at the four header bytes of each frame, the frame length
+ * comes from a table indexed by the header bits it depends on. Every frame must have the same version, layer and
+ * sampling rate as the first one, if a frame does not the walk searches forward for the next frame that does and is
+ * followed by another, so that a few bytes of junk between frames are skipped but a trailing tag is not mistaken for
+ * audio.
+ * <p>
+ * The index holds the distance of each frame from the one before, so takes two bytes a frame, with the absolute
+ * position of every {@link #BLOCK_SIZE}th frame so that the position of any frame is found without adding up all the
+ * frames before it.
+ */
+public class MP3FrameIndex {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp3");
+
+    /**
+     * Size of the blocks the audio is read in
+     */
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Furthest searched beyond a frame that does not match for the next one, keeps the distance between indexed
+     * frames within two bytes
+     */
+    private static final int MAX_RESYNC = 32 * 1024;
+
+    /**
+     * Absolute position is held for every this many frames
+     */
+    public static final int BLOCK_SIZE = 1024;
+    private static final int BLOCK_SHIFT = 10;
+
+    /**
+     * Header bits that must be the same in every frame, sync, version, layer and sampling rate
+     */
+    private static final int FIXED_HEADER_MASK = 0xFFFE0C00;
+
+    /**
+     * The version, layer, protection, bitrate, sampling rate and padding bits shifted down to index the frame
+     * length table
+     */
+    private static final int LENGTH_INDEX_SHIFT = 9;
+    private static final int LENGTH_INDEX_MASK = 0xFFF;
+
+    /**
+     * Frame length in bytes for each combination of the bits it depends on, 0 where the header is not valid.
+     * <p>
+     * Unlike {@link MPEGFrameHeader#getFrameLength()}, which is only used to estimate the number of frames, this
+     * follows the standard exactly so that it always lands on the next frame, in particular MPEG-2 and MPEG-2.5
+     * Layer III frames hold 576 samples whether they are mono or not.
+     */
+    private static final int[] FRAME_LENGTHS = new int[LENGTH_INDEX_MASK + 1];
+
+    static {
+        for (int index = 0; index <= LENGTH_INDEX_MASK; index++) {
+            int headerWord = 0xFFE00000 | index << LENGTH_INDEX_SHIFT;
+            if (MPEGFrameHeader.isValidHeader(headerWord)) {
+                int bitRate = MPEGFrameHeader.getBitRate(headerWord) * 1000;
+                int samplingRate = MPEGFrameHeader.getSamplingRate(headerWord);
+                int padding = (headerWord >>> LENGTH_INDEX_SHIFT) & 1;
+                if (((headerWord >>> 17) & 0x3) == MPEGFrameHeader.LAYER_I) {
+                    FRAME_LENGTHS[index] = (12 * bitRate / samplingRate + padding) * MPEGFrameHeader.LAYER_I_SLOT_SIZE;
+                } else {
+                    FRAME_LENGTHS[index] = getSamplesPerFrame(headerWord) / 8 * bitRate / samplingRate + padding;
+                }
+            }
+        }
+    }
+
+    private final long startByte;
+    private final int samplesPerFrame;
+    private final int samplingRate;
+    private final int frameCount;
+    private final long audioSize;
+    private final boolean variableBitRate;
+    private final char[] frameDistances;
+    private final long[] blockPositions;
+
+    private MP3FrameIndex(long startByte, int samplesPerFrame, int samplingRate, int frameCount, long audioSize,
+                          boolean variableBitRate, char[] frameDistances, long[] blockPositions) {
+        this.startByte = startByte;
+        this.samplesPerFrame = samplesPerFrame;
+        this.samplingRate = samplingRate;
+        this.frameCount = frameCount;
+        this.audioSize = audioSize;
+        this.variableBitRate = variableBitRate;
+        this.frameDistances = frameDistances;
+        this.blockPositions = blockPositions;
+    }
+
+    /**
+     * Samples in a frame as defined by the standard, MPEG-2 and MPEG-2.5 Layer III frames hold half as many as
+     * MPEG-1 Layer III
+     *
+     * @param headerWord a valid header word
+     * @return number of samples in the frame
+     */
+    public static int getSamplesPerFrame(int headerWord) {
+        int version = (headerWord >>> 19) & 0x3;
+        int layer = (headerWord >>> 17) & 0x3;
+        if (layer == MPEGFrameHeader.LAYER_I) {
+            return 384;
+        } else if (layer == MPEGFrameHeader.LAYER_III && version != MPEGFrameHeader.VERSION_1) {
+            return 576;
+        }
+        return 1152;
+    }
+
+    /**
+     * @param headerWord a header word
+     * @return the exact length of the frame it starts, or 0 if it is not a valid header
+     */
+    public static int getFrameLength(int headerWord) {
+        if ((headerWord & 0xFFE00000) != 0xFFE00000) {
+            return 0;
+        }
+        return FRAME_LENGTHS[(headerWord >>> LENGTH_INDEX_SHIFT) & LENGTH_INDEX_MASK];
+    }
+
+    /**
+     * Walk the frames of the audio
+     *
+     * @param fc             channel to the file, its position is not changed
+     * @param startByte      position of the first frame
+     * @param endByte        end of the audio, such as the start of an ID3v1 tag or the end of the file
+     * @param skipFirstFrame true if the first frame holds a Xing or VBRI header rather than audio
+     * @return the index, with no frames if there is no valid frame at startByte
+     * @throws IOException
+     */
+    public static MP3FrameIndex read(FileChannel fc, long startByte, long endByte, boolean skipFirstFrame) throws IOException {
+        FrameWalker walker = new FrameWalker(fc, endByte);
+        int firstHeaderWord = walker.getHeaderWord(startByte);
+        int firstFrameLength = getFrameLength(firstHeaderWord);
+        if (firstFrameLength == 0) {
+            return new MP3FrameIndex(startByte, 0, 0, 0, 0, false, new char[0], new long[0]);
+        }
+
+        int fixedBits = firstHeaderWord & FIXED_HEADER_MASK;
+        int firstBitRate = (firstHeaderWord >>> 12) & 0xF;
+        boolean variableBitRate = false;
+        long position = skipFirstFrame ? startByte + firstFrameLength : startByte;
+
+        char[] frameDistances = new char[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(BLOCK_SIZE, (endByte - startByte) / firstFrameLength + 1))];
+        long[] blockPositions = new long[frameDistances.length / BLOCK_SIZE + 1];
+        int frameCount = 0;
+        long audioSize = 0;
+        long previousPosition = position;
+
+        while (true) {
+            int headerWord = walker.getHeaderWord(position);
+            int frameLength = (headerWord & FIXED_HEADER_MASK) == fixedBits ? getFrameLength(headerWord) : 0;
+            if (frameLength == 0) {
+                position = walker.resync(position, fixedBits);
+                if (position < 0) {
+                    break;
+                }
+                headerWord = walker.getHeaderWord(position);
+                frameLength = getFrameLength(headerWord);
+            }
+            if (position + frameLength > endByte) {
+                break;
+            }
+
+            if (frameCount == frameDistances.length) {
+                frameDistances = Arrays.copyOf(frameDistances, frameCount + (frameCount >> 1));
+            }
+            if ((frameCount & (BLOCK_SIZE - 1)) == 0) {
+                int block = frameCount >> BLOCK_SHIFT;
+                if (block == blockPositions.length) {
+                    blockPositions = Arrays.copyOf(blockPositions, block + (block >> 1) + 1);
+                }
+                blockPositions[block] = position;
+            }
+            frameDistances[frameCount++] = (char) (position - previousPosition);
+            previousPosition = position;
+            audioSize += frameLength;
+            if (((headerWord >>> 12) & 0xF) != firstBitRate) {
+                variableBitRate = true;
+            }
+            position += frameLength;
+        }
+
+        MP3FrameIndex index = new MP3FrameIndex(startByte, getSamplesPerFrame(firstHeaderWord),
+                MPEGFrameHeader.getSamplingRate(firstHeaderWord), frameCount, audioSize, variableBitRate,
+                frameDistances, blockPositions);
+        logger.finer("Indexed:" + index);
+        return index;
+    }
+
+    /**
+     * @return number of audio frames
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return number of samples (per channel) in the audio frames
+     */
+    public long getSampleCount() {
+        return (long) frameCount * samplesPerFrame;
+    }
+
+    /**
+     * @return samples in each frame
+     */
+    public int getSamplesPerFrame() {
+        return samplesPerFrame;
+    }
+
+    /**
+     * @return sampling rate in Hz
+     */
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * @return number of bytes in the audio frames, not including anything skipped between them
+     */
+    public long getAudioSize() {
+        return audioSize;
+    }
+
+    /**
+     * @return track length in seconds
+     */
+    public double getPreciseTrackLength() {
+        if (samplingRate == 0) {
+            return 0;
+        }
+        return getSampleCount() / (double) samplingRate;
+    }
+
+    /**
+     * @return average bitrate in kbps
+     */
+    public long getAverageBitRate() {
+        double trackLength = getPreciseTrackLength();
+        if (trackLength == 0) {
+            return 0;
+        }
+        return (long) (audioSize * 8 / (trackLength * 1000));
+    }
+
+    /**
+     * @return true if not all frames have the same bitrate
+     */
+    public boolean isVariableBitRate() {
+        return variableBitRate;
+    }
+
+    /**
+     * @param frame number of the frame, starting from zero
+     * @return the position of the frame in the file
+     */
+    public long getFramePosition(int frame) {
+        if (frame < 0 || frame >= frameCount) {
+            throw new IndexOutOfBoundsException("Frame:" + frame + ":of:" + frameCount);
+        }
+        long position = blockPositions[frame >> BLOCK_SHIFT];
+        for (int i = (frame & ~(BLOCK_SIZE - 1)) + 1; i <= frame; i++) {
+            position += frameDistances[i];
+        }
+        return position;
+    }
+
+    /**
+     * @param seconds time from the start of the audio
+     * @return the number of the frame holding the sample at that time, the last frame if it is beyond the end
+     */
+    public int getFrameAt(double seconds) {
+        if (frameCount == 0) {
+            throw new IndexOutOfBoundsException("No frames");
+        }
+        long frame = (long) (seconds * samplingRate / samplesPerFrame);
+        return (int) Math.max(0, Math.min(frameCount - 1, frame));
+    }
+
+    public String toString() {
+        return "startByte:" + Hex.asHex(startByte)
+                + " frames:" + frameCount
+                + " samples:" + getSampleCount()
+                + " audioSize:" + audioSize
+                + " trackLength:" + getPreciseTrackLength()
+                + " bitrate:" + getAverageBitRate()
+                + " vbr:" + variableBitRate;
+    }
+
+    /**
+     * Reads header words from the file a block at a time
+     */
+    private static class FrameWalker {
+        private final FileChannel fc;
+        private final long endByte;
+        private final byte[] buffer;
+        private long bufferStart;
+        private int bufferLength;
+
+        FrameWalker(FileChannel fc, long endByte) {
+            this.fc = fc;
+            this.endByte = endByte;
+            this.buffer = new byte[READ_BUFFER_SIZE];
+        }
+
+        /**
+         * @return the four bytes at position as a big endian int, 0 if there are not four bytes before the end
+         */
+        int getHeaderWord(long position) throws IOException {
+            if (position + MPEGFrameHeader.HEADER_SIZE > endByte) {
+                return 0;
+            }
+            if (position < bufferStart || position + MPEGFrameHeader.HEADER_SIZE > bufferStart + bufferLength) {
+                fill(position);
+            }
+            int i = (int) (position - bufferStart);
+            return (buffer[i] & 0xFF) << 24
+                    | (buffer[i + 1] & 0xFF) << 16
+                    | (buffer[i + 2] & 0xFF) << 8
+                    | (buffer[i + 3] & 0xFF);
+        }
+
+        /**
+         * Search forward from a position that does not hold a matching frame for one that does and is followed by
+         * another one
+         *
+         * @return position of the frame, or -1 if there is none close enough
+         */
+        long resync(long position, int fixedBits) throws IOException {
+            long limit = Math.min(endByte, position + MAX_RESYNC);
+            for (long candidate = position + 1; candidate < limit; candidate++) {
+                int headerWord = getHeaderWord(candidate);
+                if ((headerWord & FIXED_HEADER_MASK) == fixedBits) {
+                    int frameLength = getFrameLength(headerWord);
+                    if (frameLength > 0 && (getHeaderWord(candidate + frameLength) & FIXED_HEADER_MASK) == fixedBits
+                            && getFrameLength(getHeaderWord(candidate + frameLength)) > 0) {
+                        logger.finer("Skipped:" + (candidate - position) + ":bytes between frames at:" + Hex.asHex(position));
+                        return candidate;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private void fill(long position) throws IOException {
+            ByteBuffer bb = ByteBuffer.wrap(buffer, 0, (int) Math.min(buffer.length, endByte - position));
+            while (bb.hasRemaining()) {
+                if (fc.read(bb, position + bb.position()) <= 0) {
+                    break;
+                }
+            }
+            bufferStart = position;
+            bufferLength = bb.position();
+        }
+    }
+}
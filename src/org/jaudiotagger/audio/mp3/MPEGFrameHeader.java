@@ -8,7 +8,6 @@
  */
 package org.jaudiotagger.audio.mp3;
 
-import org.jaudiotagger.FileConstants;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.logging.AbstractTagDisplayFormatter;
 
@@ -27,10 +26,6 @@ public class MPEGFrameHeader {
      * Constants for MP3 Frame header, each frame has a basic header of
      * 4 bytes
      */
-    private static final int BYTE_1 = 0;
-    private static final int BYTE_2 = 1;
-    private static final int BYTE_3 = 2;
-    private static final int BYTE_4 = 3;
     public static final int HEADER_SIZE = 4;
 
     /**
@@ -42,9 +37,6 @@ public class MPEGFrameHeader {
     public static final int SYNC_BYTE2 = 0xE0;
     public static final int SYNC_BIT_ANDSAMPING_BYTE3 = 0xFC;
 
-    private static final byte[] header = new byte[HEADER_SIZE];
-
-
     /**
      * Constants for MPEG Version
      */
@@ -81,101 +73,27 @@ public class MPEGFrameHeader {
     public final static int LAYER_III_SLOT_SIZE = 1;
 
     /**
-     * Bit Rates, the setBitrate varies for different Version and Layer
+     * Bit Rates in kbps indexed by version, layer and bitrate index, the setBitrate varies for different Version and
+     * Layer. Index 0 (free format) and 15 are not valid and nor are the reserved version and layer so are left as 0.
      */
-    private static final Map<Integer, Integer> bitrateMap = new HashMap<Integer, Integer>();
+    private static final int[][][] BITRATES = new int[4][4][16];
 
     static {
-        // MPEG-1, Layer I (E)
-        bitrateMap.put(0x1E, 32);
-        bitrateMap.put(0x2E, 64);
-        bitrateMap.put(0x3E, 96);
-        bitrateMap.put(0x4E, 128);
-        bitrateMap.put(0x5E, 160);
-        bitrateMap.put(0x6E, 192);
-        bitrateMap.put(0x7E, 224);
-        bitrateMap.put(0x8E, 256);
-        bitrateMap.put(0x9E, 288);
-        bitrateMap.put(0xAE, 320);
-        bitrateMap.put(0xBE, 352);
-        bitrateMap.put(0xCE, 384);
-        bitrateMap.put(0xDE, 416);
-        bitrateMap.put(0xEE, 448);
-        // MPEG-1, Layer II (C)
-        bitrateMap.put(0x1C, 32);
-        bitrateMap.put(0x2C, 48);
-        bitrateMap.put(0x3C, 56);
-        bitrateMap.put(0x4C, 64);
-        bitrateMap.put(0x5C, 80);
-        bitrateMap.put(0x6C, 96);
-        bitrateMap.put(0x7C, 112);
-        bitrateMap.put(0x8C, 128);
-        bitrateMap.put(0x9C, 160);
-        bitrateMap.put(0xAC, 192);
-        bitrateMap.put(0xBC, 224);
-        bitrateMap.put(0xCC, 256);
-        bitrateMap.put(0xDC, 320);
-        bitrateMap.put(0xEC, 384);
-        // MPEG-1, Layer III (A)
-        bitrateMap.put(0x1A, 32);
-        bitrateMap.put(0x2A, 40);
-        bitrateMap.put(0x3A, 48);
-        bitrateMap.put(0x4A, 56);
-        bitrateMap.put(0x5A, 64);
-        bitrateMap.put(0x6A, 80);
-        bitrateMap.put(0x7A, 96);
-        bitrateMap.put(0x8A, 112);
-        bitrateMap.put(0x9A, 128);
-        bitrateMap.put(0xAA, 160);
-        bitrateMap.put(0xBA, 192);
-        bitrateMap.put(0xCA, 224);
-        bitrateMap.put(0xDA, 256);
-        bitrateMap.put(0xEA, 320);
-        // MPEG-2, Layer I (6)
-        bitrateMap.put(0x16, 32);
-        bitrateMap.put(0x26, 48);
-        bitrateMap.put(0x36, 56);
-        bitrateMap.put(0x46, 64);
-        bitrateMap.put(0x56, 80);
-        bitrateMap.put(0x66, 96);
-        bitrateMap.put(0x76, 112);
-        bitrateMap.put(0x86, 128);
-        bitrateMap.put(0x96, 144);
-        bitrateMap.put(0xA6, 160);
-        bitrateMap.put(0xB6, 176);
-        bitrateMap.put(0xC6, 192);
-        bitrateMap.put(0xD6, 224);
-        bitrateMap.put(0xE6, 256);
-        // MPEG-2, Layer II (4)
-        bitrateMap.put(0x14, 8);
-        bitrateMap.put(0x24, 16);
-        bitrateMap.put(0x34, 24);
-        bitrateMap.put(0x44, 32);
-        bitrateMap.put(0x54, 40);
-        bitrateMap.put(0x64, 48);
-        bitrateMap.put(0x74, 56);
-        bitrateMap.put(0x84, 64);
-        bitrateMap.put(0x94, 80);
-        bitrateMap.put(0xA4, 96);
-        bitrateMap.put(0xB4, 112);
-        bitrateMap.put(0xC4, 128);
-        bitrateMap.put(0xD4, 144);
-        bitrateMap.put(0xE4, 160);
-        // MPEG-2, Layer III (2)
-        bitrateMap.put(0x12, 8);
-        bitrateMap.put(0x22, 16);
-        bitrateMap.put(0x32, 24);
-        bitrateMap.put(0x42, 32);
-        bitrateMap.put(0x52, 40);
-        bitrateMap.put(0x62, 48);
-        bitrateMap.put(0x72, 56);
-        bitrateMap.put(0x82, 64);
-        bitrateMap.put(0x92, 80);
-        bitrateMap.put(0xA2, 96);
-        bitrateMap.put(0xB2, 112);
-        bitrateMap.put(0xC2, 128);
-        bitrateMap.put(0xD2, 144);
-        bitrateMap.put(0xE2, 160);
+        int[] v1LayerI = {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448, 0};
+        int[] v1LayerII = {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384, 0};
+        int[] v1LayerIII = {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 0};
+        int[] v2LayerI = {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256, 0};
+        int[] v2LayerIIAndIII = {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, 0};
+
+        BITRATES[VERSION_1][LAYER_I] = v1LayerI;
+        BITRATES[VERSION_1][LAYER_II] = v1LayerII;
+        BITRATES[VERSION_1][LAYER_III] = v1LayerIII;
+        BITRATES[VERSION_2][LAYER_I] = v2LayerI;
+        BITRATES[VERSION_2][LAYER_II] = v2LayerIIAndIII;
+        BITRATES[VERSION_2][LAYER_III] = v2LayerIIAndIII;
+        BITRATES[VERSION_2_5][LAYER_I] = v2LayerI;
+        BITRATES[VERSION_2_5][LAYER_II] = v2LayerIIAndIII;
+        BITRATES[VERSION_2_5][LAYER_III] = v2LayerIIAndIII;
     }
 
     /**
@@ -197,93 +115,53 @@ public class MPEGFrameHeader {
     /**
      * Constants for Emphasis
      */
-    private static final Map<Integer, String> emphasisMap = new HashMap<Integer, String>();
+    private static final String[] EMPHASIS = {"None", "5015MS", "Reserved", "CCITT"};
     public final static int EMPHASIS_NONE = 0;
     public final static int EMPHASIS_5015MS = 1;
     public final static int EMPHASIS_RESERVED = 2;
     public final static int EMPHASIS_CCITT = 3;
 
-    static {
-        emphasisMap.put(EMPHASIS_NONE, "None");
-        emphasisMap.put(EMPHASIS_5015MS, "5015MS");
-        emphasisMap.put(EMPHASIS_RESERVED, "Reserved");
-        emphasisMap.put(EMPHASIS_CCITT, "CCITT");
-    }
-
-
-    private static final Map<Integer, String> modeExtensionMap = new HashMap<Integer, String>();
-    private final static int MODE_EXTENSION_NONE = 0;
-    private final static int MODE_EXTENSION_ONE = 1;
-    private final static int MODE_EXTENSION_TWO = 2;
-    private final static int MODE_EXTENSION_THREE = 3;
+    /**
+     * Mode Extension, indexed by the two mode extension bits
+     */
+    private static final String[] MODE_EXTENSION = {"4-31", "8-31", "12-31", "16-31"};
+    private static final String[] MODE_EXTENSION_LAYER_III = {"off-off", "on-off", "off-on", "on-on"};
 
-    private static final Map<Integer, String> modeExtensionLayerIIIMap = new HashMap<Integer, String>();
-    private final static int MODE_EXTENSION_OFF_OFF = 0;
-    private final static int MODE_EXTENSION_ON_OFF = 1;
-    private final static int MODE_EXTENSION_OFF_ON = 2;
-    private final static int MODE_EXTENSION_ON_ON = 3;
+    /**
+     * Sampling Rate in Hz indexed by version and frequency index, 0 if not valid
+     */
+    private static final int[][] SAMPLING_RATES = new int[4][4];
 
     static {
-        modeExtensionMap.put(MODE_EXTENSION_NONE, "4-31");
-        modeExtensionMap.put(MODE_EXTENSION_ONE, "8-31");
-        modeExtensionMap.put(MODE_EXTENSION_TWO, "12-31");
-        modeExtensionMap.put(MODE_EXTENSION_THREE, "16-31");
-
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_OFF_OFF, "off-off");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_ON_OFF, "on-off");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_OFF_ON, "off-on");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_ON_ON, "on-on");
+        SAMPLING_RATES[VERSION_1] = new int[]{44100, 48000, 32000, 0};
+        SAMPLING_RATES[VERSION_2] = new int[]{22050, 24000, 16000, 0};
+        SAMPLING_RATES[VERSION_2_5] = new int[]{11025, 12000, 8000, 0};
     }
 
     /**
-     * Sampling Rate in Hz
+     * Samples Per Frame indexed by layer, the same for all versions
      */
-    private static final Map<Integer, Map<Integer, Integer>> samplingRateMap = new HashMap<Integer, Map<Integer, Integer>>();
-    private static final Map<Integer, Integer> samplingV1Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplingV2Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplingV25Map = new HashMap<Integer, Integer>();
+    private static final int[] SAMPLES_PER_FRAME = new int[4];
 
     static {
-        samplingV1Map.put(0, 44100);
-        samplingV1Map.put(1, 48000);
-        samplingV1Map.put(2, 32000);
-
-        samplingV2Map.put(0, 22050);
-        samplingV2Map.put(1, 24000);
-        samplingV2Map.put(2, 16000);
-
-        samplingV25Map.put(0, 11025);
-        samplingV25Map.put(1, 12000);
-        samplingV25Map.put(2, 8000);
-
-        samplingRateMap.put(VERSION_1, samplingV1Map);
-        samplingRateMap.put(VERSION_2, samplingV2Map);
-        samplingRateMap.put(VERSION_2_5, samplingV25Map);
+        SAMPLES_PER_FRAME[LAYER_I] = 384;
+        SAMPLES_PER_FRAME[LAYER_II] = 1152;
+        SAMPLES_PER_FRAME[LAYER_III] = 1152;
     }
 
-    /* Samples Per Frame */
-    private static final Map<Integer, Map<Integer, Integer>> samplesPerFrameMap = new HashMap<Integer, Map<Integer, Integer>>();
-    private static final Map<Integer, Integer> samplesPerFrameV1Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplesPerFrameV2Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplesPerFrameV25Map = new HashMap<Integer, Integer>();
+    /**
+     * Version, layer and mode names indexed by their value, null where not valid
+     */
+    private static final String[] VERSION_NAMES = new String[4];
+    private static final String[] LAYER_NAMES = new String[4];
+    private static final String[] MODE_NAMES = new String[4];
 
     static {
-        samplesPerFrameV1Map.put(LAYER_I, 384);
-        samplesPerFrameV1Map.put(LAYER_II, 1152);
-        samplesPerFrameV1Map.put(LAYER_III, 1152);
-
-        samplesPerFrameV2Map.put(LAYER_I, 384);
-        samplesPerFrameV2Map.put(LAYER_II, 1152);
-        samplesPerFrameV2Map.put(LAYER_III, 1152);
-
-        samplesPerFrameV25Map.put(LAYER_I, 384);
-        samplesPerFrameV25Map.put(LAYER_II, 1152);
-        samplesPerFrameV25Map.put(LAYER_III, 1152);
-
-        samplesPerFrameMap.put(VERSION_1, samplesPerFrameV1Map);
-        samplesPerFrameMap.put(VERSION_2, samplesPerFrameV2Map);
-        samplesPerFrameMap.put(VERSION_2_5, samplesPerFrameV25Map);
-
+        for (int i = 0; i < 4; i++) {
+            VERSION_NAMES[i] = mpegVersionMap.get(i);
+            LAYER_NAMES[i] = mpegLayerMap.get(i);
+            MODE_NAMES[i] = modeMap.get(i);
+        }
     }
 
 
@@ -293,143 +171,62 @@ public class MPEGFrameHeader {
     private static final int LAYER_III_FRAME_SIZE_COEFFICIENT = 144;
 
     /**
-     * MP3 Frame Header bit mask
-     */
-    private static final int MASK_MP3_ID = FileConstants.BIT3;
-
-    /**
-     * MP3 version, confusingly for MP3s the version is 1.
-     */
-    private static final int MASK_MP3_VERSION = FileConstants.BIT4 | FileConstants.BIT3;
-
-    /**
-     * MP3 Layer, for MP3s the Layer is 3
-     */
-    private static final int MASK_MP3_LAYER = FileConstants.BIT2 | FileConstants.BIT1;
-
-    /**
-     * Does it include a CRC Checksum at end of header, this can be used to check the header.
-     */
-    private static final int MASK_MP3_PROTECTION = FileConstants.BIT0;
-
-    /**
-     * The setBitrate of this MP3
-     */
-    private static final int MASK_MP3_BITRATE = FileConstants.BIT7 | FileConstants.BIT6 | FileConstants.BIT5 | FileConstants.BIT4;
-
-    /**
-     * The sampling/frequency rate
-     */
-    private static final int MASK_MP3_FREQUENCY = FileConstants.BIT3 + FileConstants.BIT2;
-
-    /**
-     * An extra padding bit is sometimes used to make sure frames are exactly the right length
+     * Sync bits, all eleven must be set at the start of the header word
      */
-    private static final int MASK_MP3_PADDING = FileConstants.BIT1;
+    private static final int SYNC_MASK = 0xFFE00000;
 
     /**
-     * Private bit set, for application specific
+     * Shift to each field of the header word, it is then masked with its width
      */
-    private static final int MASK_MP3_PRIVACY = FileConstants.BIT0;
+    private static final int VERSION_SHIFT = 19;
+    private static final int LAYER_SHIFT = 17;
+    private static final int PROTECTION_SHIFT = 16;
+    private static final int BITRATE_SHIFT = 12;
+    private static final int FREQUENCY_SHIFT = 10;
+    private static final int PADDING_SHIFT = 9;
+    private static final int PRIVATE_SHIFT = 8;
+    private static final int MODE_SHIFT = 6;
+    private static final int MODE_EXTENSION_SHIFT = 4;
+    private static final int COPY_SHIFT = 3;
+    private static final int HOME_SHIFT = 2;
 
-    /**
-     * Channel Mode, Stero/Mono/Dual Channel
-     */
-    private static final int MASK_MP3_MODE = FileConstants.BIT7 | FileConstants.BIT6;
+    private static final int MASK_TWO_BITS = 0x3;
+    private static final int MASK_BITRATE_INDEX = 0xF;
 
-    /**
-     * MP3 Frame Header bit mask
-     */
-    private static final int MASK_MP3_MODE_EXTENSION = FileConstants.BIT5 | FileConstants.BIT4;
 
     /**
-     * MP3 Frame Header bit mask
+     * The four bytes of the header
      */
-    private static final int MASK_MP3_COPY = FileConstants.BIT3;
-
-    /**
-     * MP3 Frame Header bit mask
-     */
-    private static final int MASK_MP3_HOME = FileConstants.BIT2;
-
-    /**
-     * MP3 Frame Header bit mask
-     */
-    private static final int MASK_MP3_EMPHASIS = FileConstants.BIT1 | FileConstants.BIT0;
-
-
-    private byte[] mpegBytes;
+    private final int headerWord;
 
     /**
      * The version of this MPEG frame (see the constants)
      */
-    private int version;
-
-    private String versionAsString;
+    private final int version;
 
     /**
      * Contains the mpeg layer of this frame (see constants)
      */
-    private int layer;
+    private final int layer;
 
-    private String layerAsString;
     /**
      * Bitrate of this frame
      */
-    private Integer bitRate;
+    private final int bitRate;
 
     /**
      * Channel Mode of this Frame (see constants)
      */
-    private int channelMode;
-
-    /**
-     * Channel Mode of this Frame As English String
-     */
-    private String channelModeAsString;
+    private final int channelMode;
 
     /**
      * Emphasis of this frame
      */
-    private int emphasis;
-
-    /**
-     * Emphasis mode string
-     */
-    private String emphasisAsString;
-
-    /**
-     * Mode Extension
-     */
-    private String modeExtension;
-
-    /**
-     * Flag indicating if this frame has padding byte
-     */
-    private boolean isPadding;
+    private final int emphasis;
 
-    /**
-     * Flag indicating if this frame contains copyrighted material
-     */
-    private boolean isCopyrighted;
+    private final int samplingRate;
 
-    /**
-     * Flag indicating if this frame contains original material
-     */
-    private boolean isOriginal;
-
-    /**
-     * Flag indicating if this frame is protected
-     */
-    private boolean isProtected;
-
-
-    /**
-     * Flag indicating if this frame is private
-     */
-    private boolean isPrivate;
-
-    private Integer samplingRate;
+    private final int frameLength;
 
 
     /**
@@ -442,146 +239,7 @@ public class MPEGFrameHeader {
     }
 
     public String getLayerAsString() {
-        return layerAsString;
-    }
-
-    /**
-     * Gets the copyrighted attribute of the MPEGFrame object
-     */
-    private void setCopyrighted() {
-        isCopyrighted = (mpegBytes[BYTE_4] & MASK_MP3_COPY) != 0;
-    }
-
-
-    /**
-     * Set the version of this frame as an int value (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setVersion() throws InvalidAudioFrameException {
-        //MPEG Version
-        version = (byte) ((mpegBytes[BYTE_2] & MASK_MP3_VERSION) >> 3);
-        versionAsString = mpegVersionMap.get(version);
-        if (versionAsString == null) {
-            throw new InvalidAudioFrameException("Invalid mpeg version");
-        }
-    }
-
-    /**
-     * Sets the original attribute of the MPEGFrame object
-     */
-    private void setOriginal() {
-        isOriginal = (mpegBytes[BYTE_4] & MASK_MP3_HOME) != 0;
-    }
-
-    /**
-     * Sets the protected attribute of the MPEGFrame object
-     */
-    private void setProtected() {
-        isProtected = (mpegBytes[BYTE_2] & MASK_MP3_PROTECTION) == 0x00;
-    }
-
-    /**
-     * Sets the private attribute of the MPEGFrame object
-     */
-    private void setPrivate() {
-        isPrivate = (mpegBytes[BYTE_3] & MASK_MP3_PRIVACY) != 0;
-    }
-
-    /**
-     * Get the setBitrate of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setBitrate() throws InvalidAudioFrameException {
-        /* BitRate, get by checking header setBitrate bits and MPEG Version and Layer */
-        int bitRateIndex = mpegBytes[BYTE_3] & MASK_MP3_BITRATE | mpegBytes[BYTE_2] & MASK_MP3_ID | mpegBytes[BYTE_2] & MASK_MP3_LAYER;
-
-        bitRate = bitrateMap.get(bitRateIndex);
-        if (bitRate == null) {
-            throw new InvalidAudioFrameException("Invalid bitrate");
-        }
-    }
-
-
-    /**
-     * Set the Mpeg channel mode of this frame as a constant (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setChannelMode() throws InvalidAudioFrameException {
-        channelMode = (mpegBytes[BYTE_4] & MASK_MP3_MODE) >>> 6;
-        channelModeAsString = modeMap.get(channelMode);
-        if (channelModeAsString == null) {
-            throw new InvalidAudioFrameException("Invalid channel mode");
-        }
-    }
-
-    /**
-     * Get the setEmphasis mode of this frame in a string representation
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setEmphasis() throws InvalidAudioFrameException {
-        emphasis = mpegBytes[BYTE_4] & MASK_MP3_EMPHASIS;
-        emphasisAsString = emphasisMap.get(emphasis);
-        if (getEmphasisAsString() == null) {
-            throw new InvalidAudioFrameException("Invalid emphasis");
-        }
-    }
-
-
-    /**
-     * Set whether this frame uses padding bytes
-     */
-    private void setPadding() {
-        isPadding = (mpegBytes[BYTE_3] & MASK_MP3_PADDING) != 0;
-    }
-
-
-    /**
-     * Get the layer version of this frame as a constant int value (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setLayer() throws InvalidAudioFrameException {
-        layer = (mpegBytes[BYTE_2] & MASK_MP3_LAYER) >>> 1;
-        layerAsString = mpegLayerMap.get(layer);
-        if (layerAsString == null) {
-            throw new InvalidAudioFrameException("Invalid Layer");
-        }
-    }
-
-
-    /**
-     * Sets the string representation of the mode extension of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setModeExtension() throws InvalidAudioFrameException {
-        int index = (mpegBytes[BYTE_4] & MASK_MP3_MODE_EXTENSION) >> 4;
-        if (layer == LAYER_III) {
-            modeExtension = modeExtensionLayerIIIMap.get(index);
-            if (getModeExtension() == null) {
-                throw new InvalidAudioFrameException("Invalid Mode Extension");
-            }
-        } else {
-            modeExtension = modeExtensionMap.get(index);
-            if (getModeExtension() == null) {
-                throw new InvalidAudioFrameException("Invalid Mode Extension");
-            }
-        }
-    }
-
-    /**
-     * set the sampling rate in Hz of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setSamplingRate() throws InvalidAudioFrameException {
-        //Frequency
-        int index = (mpegBytes[BYTE_3] & MASK_MP3_FREQUENCY) >>> 2;
-        Map<Integer, Integer> samplingRateMapForVersion = samplingRateMap.get(version);
-        if (samplingRateMapForVersion == null) {
-            throw new InvalidAudioFrameException("Invalid version");
-        }
-        samplingRate = samplingRateMapForVersion.get(index);
-        if (samplingRate == null) {
-            throw new InvalidAudioFrameException("Invalid sampling rate");
-        }
+        return LAYER_NAMES[layer];
     }
 
     /**
@@ -609,7 +267,7 @@ public class MPEGFrameHeader {
     }
 
     public String getChannelModeAsString() {
-        return channelModeAsString;
+        return MODE_NAMES[channelMode];
     }
 
     /**
@@ -622,7 +280,7 @@ public class MPEGFrameHeader {
     }
 
     public String getVersionAsString() {
-        return versionAsString;
+        return VERSION_NAMES[version];
     }
 
     /**
@@ -646,59 +304,13 @@ public class MPEGFrameHeader {
         return samplingRate;
     }
 
-    /*
-     * Gets this frame length in bytes, value should always be rounded down to the nearest byte (not rounded up)
+    /**
+     * Gets this frame length in bytes
      *
-     * Calculation is Bitrate (scaled to bps) divided by sampling frequency (in Hz), The larger the bitrate the larger
-     * the frame but the more samples per second the smaller the value, also have to take into account frame padding
-     * Have to multiple by a coefficient constant depending upon the layer it is encoded in,
-
+     * @return the frame length, including the header
      */
     public int getFrameLength() {
-        switch (version) {
-            case VERSION_2:
-            case VERSION_2_5:
-                switch (layer) {
-                    case LAYER_I:
-                        return (LAYER_I_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength()) * LAYER_I_SLOT_SIZE;
-
-                    case LAYER_II:
-                        return (LAYER_II_FRAME_SIZE_COEFFICIENT) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_II_SLOT_SIZE;
-
-                    case LAYER_III:
-                        if (this.getChannelMode() == MODE_MONO) {
-                            return (LAYER_III_FRAME_SIZE_COEFFICIENT / 2) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-                        } else {
-                            return (LAYER_III_FRAME_SIZE_COEFFICIENT) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-                        }
-
-
-                    default:
-                        throw new RuntimeException("Mp3 Unknown Layer:" + layer);
-
-                }
-
-
-            case VERSION_1:
-                switch (layer) {
-                    case LAYER_I:
-                        return (LAYER_I_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength()) * LAYER_I_SLOT_SIZE;
-
-                    case LAYER_II:
-                        return LAYER_II_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_II_SLOT_SIZE;
-
-                    case LAYER_III:
-                        return LAYER_III_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-
-                    default:
-                        throw new RuntimeException("Mp3 Unknown Layer:" + layer);
-
-                }
-
-            default:
-                throw new RuntimeException("Mp3 Unknown Version:" + version);
-
-        }
+        return frameLength;
     }
 
     /**
@@ -707,29 +319,28 @@ public class MPEGFrameHeader {
      * @return
      */
     public int getNoOfSamples() {
-        Integer noOfSamples = samplesPerFrameMap.get(version).get(layer);
-        return noOfSamples;
+        return SAMPLES_PER_FRAME[layer];
     }
 
 
     public boolean isPadding() {
-        return isPadding;
+        return ((headerWord >>> PADDING_SHIFT) & 1) != 0;
     }
 
     public boolean isCopyrighted() {
-        return isCopyrighted;
+        return ((headerWord >>> COPY_SHIFT) & 1) != 0;
     }
 
     public boolean isOriginal() {
-        return isOriginal;
+        return ((headerWord >>> HOME_SHIFT) & 1) != 0;
     }
 
     public boolean isProtected() {
-        return isProtected;
+        return ((headerWord >>> PROTECTION_SHIFT) & 1) == 0;
     }
 
     public boolean isPrivate() {
-        return isPrivate;
+        return ((headerWord >>> PRIVATE_SHIFT) & 1) != 0;
     }
 
     public boolean isVariableBitRate() {
@@ -741,58 +352,150 @@ public class MPEGFrameHeader {
     }
 
     public String getEmphasisAsString() {
-        return emphasisAsString;
+        return EMPHASIS[emphasis];
     }
 
     public String getModeExtension() {
-        return modeExtension;
+        int index = (headerWord >>> MODE_EXTENSION_SHIFT) & MASK_TWO_BITS;
+        if (layer == LAYER_III) {
+            return MODE_EXTENSION_LAYER_III[index];
+        } else {
+            return MODE_EXTENSION[index];
+        }
+    }
+
+    /**
+     * @return the four bytes of the header as a big endian int
+     */
+    public int getHeaderWord() {
+        return headerWord;
+    }
+
+    /**
+     * Read the four bytes at the current position of the buffer as a big endian header word, the position is not
+     * changed.
+     *
+     * @param bb the byte buffer containing the possible header
+     * @return the header word, or 0 (never a valid header) if there are not four bytes remaining
+     */
+    public static int getHeaderWord(ByteBuffer bb) {
+        int position = bb.position();
+        if (bb.limit() - position < HEADER_SIZE) {
+            return 0;
+        }
+        return (bb.get(position) & 0xFF) << 24
+                | (bb.get(position + 1) & 0xFF) << 16
+                | (bb.get(position + 2) & 0xFF) << 8
+                | (bb.get(position + 3) & 0xFF);
+    }
+
+    /**
+     * Check a header word is a valid MPEG frame header, without creating anything, so that searching for the first
+     * frame through data that only looks like it might contain a sync is cheap.
+     *
+     * @param headerWord the four bytes of the possible header as a big endian int
+     * @return true if it has the sync bits and a valid version, layer, bitrate and sampling rate
+     */
+    public static boolean isValidHeader(int headerWord) {
+        if ((headerWord & SYNC_MASK) != SYNC_MASK) {
+            return false;
+        }
+        int version = (headerWord >>> VERSION_SHIFT) & MASK_TWO_BITS;
+        int layer = (headerWord >>> LAYER_SHIFT) & MASK_TWO_BITS;
+        return BITRATES[version][layer][(headerWord >>> BITRATE_SHIFT) & MASK_BITRATE_INDEX] != 0
+                && SAMPLING_RATES[version][(headerWord >>> FREQUENCY_SHIFT) & MASK_TWO_BITS] != 0;
     }
 
+    /**
+     * @param headerWord a valid header word
+     * @return the bitrate in kbps
+     */
+    static int getBitRate(int headerWord) {
+        return BITRATES[(headerWord >>> VERSION_SHIFT) & MASK_TWO_BITS][(headerWord >>> LAYER_SHIFT) & MASK_TWO_BITS][(headerWord >>> BITRATE_SHIFT) & MASK_BITRATE_INDEX];
+    }
 
     /**
-     * Hide Constructor
+     * @param headerWord a valid header word
+     * @return the sampling rate in Hz
      */
-    private MPEGFrameHeader() {
+    static int getSamplingRate(int headerWord) {
+        return SAMPLING_RATES[(headerWord >>> VERSION_SHIFT) & MASK_TWO_BITS][(headerWord >>> FREQUENCY_SHIFT) & MASK_TWO_BITS];
+    }
+
+    /**
+     * Calculate the length of the frame starting with a header word that {@link #isValidHeader(int)} has accepted.
+     * <p>
+     * Calculation is Bitrate (scaled to bps) divided by sampling frequency (in Hz), The larger the bitrate the larger
+     * the frame but the more samples per second the smaller the value, also have to take into account frame padding
+     * Have to multiple by a coefficient constant depending upon the layer it is encoded in, value should always be
+     * rounded down to the nearest byte (not rounded up)
+     *
+     * @param headerWord a valid header word
+     * @return the frame length in bytes, including the header
+     */
+    public static int getFrameLength(int headerWord) {
+        int version = (headerWord >>> VERSION_SHIFT) & MASK_TWO_BITS;
+        int layer = (headerWord >>> LAYER_SHIFT) & MASK_TWO_BITS;
+        int bitRate = BITRATES[version][layer][(headerWord >>> BITRATE_SHIFT) & MASK_BITRATE_INDEX] * SCALE_BY_THOUSAND;
+        int samplingRate = SAMPLING_RATES[version][(headerWord >>> FREQUENCY_SHIFT) & MASK_TWO_BITS];
+        int paddingLength = (headerWord >>> PADDING_SHIFT) & 1;
+        switch (layer) {
+            case LAYER_I:
+                return (LAYER_I_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + paddingLength) * LAYER_I_SLOT_SIZE;
+
+            case LAYER_II:
+                return LAYER_II_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + paddingLength * LAYER_II_SLOT_SIZE;
+
+            case LAYER_III:
+                if (version != VERSION_1 && ((headerWord >>> MODE_SHIFT) & MASK_TWO_BITS) == MODE_MONO) {
+                    return (LAYER_III_FRAME_SIZE_COEFFICIENT / 2) * bitRate / samplingRate + paddingLength * LAYER_III_SLOT_SIZE;
+                }
+                return LAYER_III_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + paddingLength * LAYER_III_SLOT_SIZE;
+
+            default:
+                throw new RuntimeException("Mp3 Unknown Layer:" + layer);
+        }
+    }
 
+    /**
+     * Create the header for a header word that {@link #isValidHeader(int)} has accepted
+     *
+     * @param headerWord the four bytes of the header as a big endian int
+     */
+    private MPEGFrameHeader(int headerWord) {
+        this.headerWord = headerWord;
+        version = (headerWord >>> VERSION_SHIFT) & MASK_TWO_BITS;
+        layer = (headerWord >>> LAYER_SHIFT) & MASK_TWO_BITS;
+        bitRate = BITRATES[version][layer][(headerWord >>> BITRATE_SHIFT) & MASK_BITRATE_INDEX];
+        samplingRate = SAMPLING_RATES[version][(headerWord >>> FREQUENCY_SHIFT) & MASK_TWO_BITS];
+        channelMode = (headerWord >>> MODE_SHIFT) & MASK_TWO_BITS;
+        emphasis = headerWord & MASK_TWO_BITS;
+        frameLength = getFrameLength(headerWord);
     }
 
     /**
-     * Try and create a new MPEG frame with the given byte array and decodes its contents
-     * If decoding header causes a problem it is not a valid header
+     * Create the MPEGFrameHeader for a header word
      *
-     * @param b the array of bytes representing this mpeg frame
-     * @throws InvalidAudioFrameException if does not match expected format
-     */
-    private MPEGFrameHeader(byte[] b) throws InvalidAudioFrameException {
-        mpegBytes = b;
-        setBitrate();
-        setVersion();
-        setLayer();
-        setProtected();
-        setSamplingRate();
-        setPadding();
-        setPrivate();
-        setChannelMode();
-        setModeExtension();
-        setCopyrighted();
-        setOriginal();
-        setEmphasis();
-    }
-
-    /**
-     * Parse the MPEGFrameHeader of an MP3File, file pointer returns at end of the frame header
+     * @param headerWord the four bytes of the header as a big endian int
+     * @return the header
+     * @throws InvalidAudioFrameException if it is not a valid header
+     */
+    public static MPEGFrameHeader valueOf(int headerWord) throws InvalidAudioFrameException {
+        if (!isValidHeader(headerWord)) {
+            throw new InvalidAudioFrameException("Invalid mpeg frame header");
+        }
+        return new MPEGFrameHeader(headerWord);
+    }
+
+    /**
+     * Parse the MPEGFrameHeader of an MP3File, the position of the buffer is not changed
      *
      * @param bb the byte buffer containing the header
      * @return
      * @throws InvalidAudioFrameException if there is no header at this point
      */
     public static MPEGFrameHeader parseMPEGHeader(ByteBuffer bb) throws InvalidAudioFrameException {
-        int position = bb.position();
-        bb.get(header, 0, HEADER_SIZE);
-        bb.position(position);
-        MPEGFrameHeader frameHeader = new MPEGFrameHeader(header);
-
-        return frameHeader;
+        return valueOf(getHeaderWord(bb));
     }
 
     /**
@@ -812,7 +515,6 @@ public class MPEGFrameHeader {
      * @return a string represntation
      */
     public String toString() {
-        return " mpeg frameheader:" + " frame length:" + getFrameLength() + " version:" + versionAsString + " layer:" + layerAsString + " channelMode:" + channelModeAsString + " noOfSamples:" + getNoOfSamples() + " samplingRate:" + samplingRate + " isPadding:" + isPadding + " isProtected:" + isProtected + " isPrivate:" + isPrivate + " isCopyrighted:" + isCopyrighted + " isOriginal:" + isCopyrighted + " isVariableBitRate" + this.isVariableBitRate() + " header as binary:" + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_1]) + " " + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_2]) + " " + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_3]) + " " + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_4]);
+        return " mpeg frameheader:" + " frame length:" + getFrameLength() + " version:" + getVersionAsString() + " layer:" + getLayerAsString() + " channelMode:" + getChannelModeAsString() + " noOfSamples:" + getNoOfSamples() + " samplingRate:" + samplingRate + " isPadding:" + isPadding() + " isProtected:" + isProtected() + " isPrivate:" + isPrivate() + " isCopyrighted:" + isCopyrighted() + " isOriginal:" + isCopyrighted() + " isVariableBitRate" + this.isVariableBitRate() + " header as binary:" + AbstractTagDisplayFormatter.displayAsBinary((byte) (headerWord >>> 24)) + " " + AbstractTagDisplayFormatter.displayAsBinary((byte) (headerWord >>> 16)) + " " + AbstractTagDisplayFormatter.displayAsBinary((byte) (headerWord >>> 8)) + " " + AbstractTagDisplayFormatter.displayAsBinary((byte) headerWord);
     }
 }
-
@@ -10,6 +10,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.jaudiotagger.audio.generic.PaddingPolicy;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jcodec.containers.mp4.MP4Util;
 import org.jcodec.containers.mp4.MP4Util.Atom;
@@ -69,7 +70,8 @@ public class Flatten {
         out.position(0);
         MP4Util.writeFullMovie(out, movie);
 
-        int extraSpace = calcSpaceReq(moov);
+        //Room for the chunk offsets to grow, plus padding so the moov can grow later without moving the audio
+        int extraSpace = calcSpaceReq(moov) + getPadding((int) out.position());
         ByteBuffer buf = ByteBuffer.allocate(extraSpace);
         out.write(buf);
 
@@ -257,6 +259,15 @@ public class Flatten {
         return result;
     }
 
+    /**
+     * @param headerSize size of the atoms before the audio
+     * @return padding to leave in the free atom after the moov, large enough for the free atom header
+     */
+    private int getPadding(int headerSize) {
+        int padding = PaddingPolicy.getPadding(headerSize, 0);
+        return padding == 0 ? 0 : Math.max(padding, 8);
+    }
+
     private int calcSpaceReq(MovieBox movie) {
         int sum = 0;
         TrakBox[] tracks = movie.getTracks();
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.List;
 
 /**
  * This class is part of JCodec ( www.jcodec.org ) This software is distributed
@@ -44,7 +45,9 @@ public class InplaceMP4Editor {
      * @throws Exception
      */
     public boolean modify(FileChannel fi, MovieBox edit) throws IOException {
-        Atom moovAtom = getMoov(fi);
+        List<Atom> rootAtoms = MP4Util.getRootAtoms(fi);
+        int moovIndex = getMoovIndex(rootAtoms);
+        Atom moovAtom = rootAtoms.get(moovIndex);
 
         ByteBuffer moovBuffer = fetchBox(fi, moovAtom);
         MovieBox moovBox = (MovieBox) parseBox(moovBuffer);
@@ -54,10 +57,21 @@ public class InplaceMP4Editor {
             moovBox.add(box);
         }
 
-        if (!rewriteBox(moovBuffer, moovBox))
+        //A free atom straight after the moov, such as the padding left when the file was last rewritten, can also
+        //be used by the new moov
+        long room = moovAtom.getHeader().getSize();
+        if (moovIndex + 1 < rootAtoms.size()) {
+            Atom next = rootAtoms.get(moovIndex + 1);
+            if ("free".equals(next.getHeader().getFourcc()) && room + next.getHeader().getSize() <= Integer.MAX_VALUE) {
+                room += next.getHeader().getSize();
+            }
+        }
+        ByteBuffer newBuffer = room == moovBuffer.capacity() ? moovBuffer : ByteBuffer.allocate((int) room);
+
+        if (!rewriteBox(newBuffer, moovBox))
             return false;
 
-        replaceBox(fi, moovAtom, moovBuffer);
+        replaceBox(fi, moovAtom, newBuffer);
         return true;
     }
 
@@ -95,12 +109,12 @@ public class InplaceMP4Editor {
         fi.write(buffer);
     }
 
-    private Atom getMoov(FileChannel f) throws IOException {
-        for (Atom atom : MP4Util.getRootAtoms(f)) {
-            if ("moov".equals(atom.getHeader().getFourcc())) {
-                return atom;
+    private int getMoovIndex(List<Atom> rootAtoms) {
+        for (int i = 0; i < rootAtoms.size(); i++) {
+            if ("moov".equals(rootAtoms.get(i).getHeader().getFourcc())) {
+                return i;
             }
         }
-        return null;
+        throw new IllegalStateException("No moov atom");
     }
 }
@@ -18,13 +18,26 @@
  */
 package org.jaudiotagger.audio.mp4;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.io.SeekableFileChannel;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.mp4.Mp4Tag;
+import org.jaudiotagger.tag.mp4.field.Mp4TagCoverField;
+import org.jcodec.containers.mp4.BoxPathFilter;
+import org.jcodec.containers.mp4.MP4Util;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Mp4 File Reader
@@ -42,4 +55,51 @@ public class Mp4FileReader extends AudioFileReader {
     protected Tag getTag(RandomAccessFile raf) throws CannotReadException, IOException {
         return tr.read(raf);
     }
+
+    /**
+     * Parse the movie once and build both the audio header and the tag from it, rather than walking the root
+     * atoms and parsing the moov box separately for each
+     */
+    @Override
+    protected AudioFile read(File f, RandomAccessFile raf) throws CannotReadException, IOException {
+        return read(f, raf.getChannel());
+    }
+
+    /**
+     * Reads the audio held by the channel directly, without copying it to a file. Artwork is always read with the
+     * rest of the tag.
+     */
+    @Override
+    public AudioFile read(SeekableByteChannel channel, String ext) throws CannotReadException, IOException {
+        if (channel.size() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE) {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(ext + " channel"));
+        }
+        FileChannel fc = SeekableFileChannel.of(channel);
+        fc.position(0);
+        return read(null, fc);
+    }
+
+    /**
+     * Parse the movie once and build both the audio header and the tag from it, rather than walking the root
+     * atoms and parsing the moov box separately for each
+     *
+     * @param f       the file being read, or null if the audio is not held in a file
+     * @param channel positioned at the start of the audio
+     */
+    private AudioFile read(File f, FileChannel channel) throws CannotReadException, IOException {
+        List<Mp4TagCoverField> covers = new ArrayList<Mp4TagCoverField>();
+        MP4Util.Movie mp4 = null;
+        if (f != null && TagOptionSingleton.getInstance().isLazyArtwork()) {
+            mp4 = Mp4LazyArtworkReader.parseFullMovieChannel(f, channel, BoxPathFilter.AUDIO_HEADER_AND_TAG, covers);
+        }
+        if (mp4 == null) {
+            mp4 = MP4Util.parseFullMovieChannel(channel, BoxPathFilter.AUDIO_HEADER_AND_TAG);
+        }
+        GenericAudioHeader info = ir.read(mp4, channel.size());
+        Mp4Tag tag = tr.read(mp4);
+        for (Mp4TagCoverField cover : covers) {
+            tag.addField(cover);
+        }
+        return new AudioFile(f, info, tag);
+    }
 }
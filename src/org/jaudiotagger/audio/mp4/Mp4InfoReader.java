@@ -22,6 +22,7 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotReadVideoException;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jcodec.containers.mp4.BoxPathFilter;
 import org.jcodec.containers.mp4.MP4Util;
 import org.jcodec.containers.mp4.boxes.*;
 
@@ -57,7 +58,18 @@ public class Mp4InfoReader {
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp4.atom");
 
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException {
-        MP4Util.Movie mp4 = MP4Util.parseFullMovieChannel(raf.getChannel());
+        return read(MP4Util.parseFullMovieChannel(raf.getChannel(), BoxPathFilter.AUDIO_HEADER_AND_TAG), raf.length());
+    }
+
+    /**
+     * Read the audio header from a movie that has already been parsed
+     *
+     * @param mp4        the parsed movie, may be null if the file is not a valid container
+     * @param fileLength length of the file the movie was parsed from
+     * @return the audio header
+     * @throws CannotReadException
+     */
+    public GenericAudioHeader read(MP4Util.Movie mp4, long fileLength) throws CannotReadException {
         Mp4AudioHeader info = new Mp4AudioHeader();
 
         //File Identification
@@ -164,12 +176,14 @@ public class Mp4InfoReader {
 
         }
 
-        //Level 6-Searching for "stco within "stbl" to get size of audio data
-        if (trak.getStco() != null && trak.getStco().getChunkOffsets().length > 0) {
-            long[] offsets = trak.getStco().getChunkOffsets();
+        //Level 6-Searching for "stco" or "co64" within "stbl" to get size of audio data
+        long[] offsets = trak.getStco() != null ? trak.getStco().getChunkOffsets()
+                : trak.getCo64() != null ? trak.getCo64().getChunkOffsets() : null;
+        if (offsets != null && offsets.length > 0) {
+            long audioDataEnd = getAudioDataEnd(mp4, offsets[0], fileLength);
             info.setAudioDataStartPosition(offsets[0]);
-            info.setAudioDataEndPosition(raf.length());
-            info.setAudioDataLength(raf.length() - offsets[0]);
+            info.setAudioDataEndPosition(audioDataEnd);
+            info.setAudioDataLength(audioDataEnd - offsets[0]);
         }
 
         //Set default channels if couldn't calculate it
@@ -207,5 +221,25 @@ public class Mp4InfoReader {
         return info;
     }
 
+    /**
+     * The audio ends at the end of the mdat box holding the first chunk rather than the end of the file, so that the
+     * audio data does not include a moov box after it
+     *
+     * @param mp4         the parsed movie
+     * @param firstOffset position of the first chunk of audio
+     * @param fileLength  length of the file
+     * @return the position of the end of the audio data
+     */
+    private long getAudioDataEnd(MP4Util.Movie mp4, long firstOffset, long fileLength) {
+        for (MP4Util.Atom atom : mp4.getOthers()) {
+            if ("mdat".equals(atom.getHeader().getFourcc())
+                    && firstOffset >= atom.getOffset()
+                    && firstOffset < atom.getOffset() + atom.getHeader().getSize()) {
+                return Math.min(fileLength, atom.getOffset() + atom.getHeader().getSize());
+            }
+        }
+        return fileLength;
+    }
+
 
 }
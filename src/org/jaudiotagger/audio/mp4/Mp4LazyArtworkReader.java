@@ -0,0 +1,128 @@
+package org.jaudiotagger.audio.mp4;
+
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.io.FileRegion;
+import org.jaudiotagger.tag.mp4.Mp4FieldKey;
+import org.jaudiotagger.tag.mp4.field.Mp4TagCoverField;
+import org.jcodec.containers.mp4.BoxFactory;
+import org.jcodec.containers.mp4.BoxPathFilter;
+import org.jcodec.containers.mp4.MP4Util;
+import org.jcodec.containers.mp4.boxes.Box;
+import org.jcodec.containers.mp4.boxes.DataBox;
+import org.jcodec.containers.mp4.boxes.Header;
+import org.jcodec.containers.mp4.boxes.NodeBox;
+import org.jcodec.containers.mp4.boxes.UdtaBox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * Parses the movie leaving the cover art in the file.
+ * <p>
+ * The cover art is held in data atoms within moov.udta.meta.ilst.covr, these are located by walking the atoms within
+ * the file and the meta box is then parsed without the covr atom. A cover field is created for each data atom that
+ * refers to the region of the file holding the image, so the image is only read if asked for.
+ */
+public class Mp4LazyArtworkReader {
+    private static final String META_PATH = "moov.udta.meta";
+
+    //Enough of a data atom body to hold the fields before the data and enough of the image data to identify the
+    //image format
+    private static final int DATA_PREFIX_LENGTH = 16;
+
+    /**
+     * @param file   being read, used to read the images later
+     * @param fc     for the file
+     * @param filter selecting the boxes to read
+     * @param covers the cover fields found are added to this list
+     * @return the movie without the cover art, or null if there is no cover art that can be left in the file
+     * @throws IOException
+     */
+    public static MP4Util.Movie parseFullMovieChannel(File file, FileChannel fc, BoxPathFilter filter, List<Mp4TagCoverField> covers) throws IOException {
+        MP4Util.Atom moov = MP4Util.getMoov(MP4Util.getRootAtoms(fc));
+        MP4Util.Atom udta = findChild(fc, moov, UdtaBox.fourcc());
+        MP4Util.Atom meta = findChild(fc, udta, "meta");
+        MP4Util.Atom ilst = findChild(fc, meta, "ilst");
+        MP4Util.Atom covr = findChild(fc, ilst, Mp4FieldKey.ARTWORK.getFieldName());
+        if (covr == null || !filter.isWanted(META_PATH)) {
+            return null;
+        }
+
+        for (MP4Util.Atom data : MP4Util.getChildAtoms(fc, covr)) {
+            Header header = data.getHeader();
+            if (!"data".equals(header.getFourcc())) {
+                continue;
+            }
+
+            //Parse the start of the data atom, whatever it does not hold as data precedes the image
+            long bodyStart = data.getOffset() + header.headerSize();
+            byte[] prefix = read(fc, bodyStart, Math.min(DATA_PREFIX_LENGTH, header.getBodySize()));
+            DataBox dataBox = new DataBox(header);
+            try {
+                dataBox.parse(ByteBuffer.wrap(prefix));
+            } catch (BufferUnderflowException bue) {
+                continue;
+            }
+            int dataOffset = prefix.length - dataBox.getData().length;
+            long imageStart = bodyStart + dataOffset;
+            int imageLength = (int) (header.getBodySize() - dataOffset);
+            covers.add(new Mp4TagCoverField(new FileRegion(file, imageStart, imageLength), dataBox.getData()));
+        }
+
+        //Read the meta box without the covr atom
+        ByteArrayOutputStream metaBody = new ByteArrayOutputStream();
+        metaBody.write(new byte[4]);
+        for (MP4Util.Atom child : MP4Util.getChildAtoms(fc, meta)) {
+            if (child.getOffset() == ilst.getOffset()) {
+                ByteArrayOutputStream ilstBody = new ByteArrayOutputStream();
+                for (MP4Util.Atom item : MP4Util.getChildAtoms(fc, ilst)) {
+                    if (item.getOffset() != covr.getOffset()) {
+                        ilstBody.write(read(fc, item.getOffset(), item.getHeader().getSize()));
+                    }
+                }
+                ByteBuffer ilstHeader = ByteBuffer.allocate(8);
+                Header.createHeader(ilst.getHeader().getFourcc(), 8 + ilstBody.size()).write(ilstHeader);
+                metaBody.write(ilstHeader.array());
+                ilstBody.writeTo(metaBody);
+            } else {
+                metaBody.write(read(fc, child.getOffset(), child.getHeader().getSize()));
+            }
+        }
+        Header metaHeader = Header.createHeader(meta.getHeader().getFourcc(), 8 + metaBody.size());
+        Box metaBox = MP4Util.parseBox(ByteBuffer.wrap(metaBody.toByteArray()), metaHeader, BoxFactory.getLazy());
+
+        MP4Util.Movie mp4 = MP4Util.parseFullMovieChannel(fc, filter.exclude(META_PATH));
+        UdtaBox udtaBox = mp4 == null ? null : NodeBox.findFirst(mp4.getMoov(), UdtaBox.class, UdtaBox.fourcc());
+        if (udtaBox == null) {
+            covers.clear();
+            return null;
+        }
+        udtaBox.add(metaBox);
+        return mp4;
+    }
+
+    private static MP4Util.Atom findChild(FileChannel fc, MP4Util.Atom parent, String fourcc) throws IOException {
+        if (parent == null) {
+            return null;
+        }
+        for (MP4Util.Atom child : MP4Util.getChildAtoms(fc, parent)) {
+            if (fourcc.equals(child.getHeader().getFourcc())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] read(FileChannel fc, long offset, long size) throws IOException {
+        fc.position(offset);
+        ByteBuffer data = Utils.fetchFromChannel(fc, (int) size);
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return bytes;
+    }
+}
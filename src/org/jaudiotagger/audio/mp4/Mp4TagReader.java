@@ -24,6 +24,7 @@ import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.mp4.Mp4FieldKey;
 import org.jaudiotagger.tag.mp4.Mp4Tag;
 import org.jaudiotagger.tag.mp4.field.*;
+import org.jcodec.containers.mp4.BoxPathFilter;
 import org.jcodec.containers.mp4.MP4Util;
 import org.jcodec.containers.mp4.boxes.*;
 
@@ -81,7 +82,18 @@ public class Mp4TagReader {
 
      */
     public Mp4Tag read(RandomAccessFile raf) throws CannotReadException, IOException {
-        MP4Util.Movie mp4 = MP4Util.parseFullMovieChannel(raf.getChannel());
+        return read(MP4Util.parseFullMovieChannel(raf.getChannel(), BoxPathFilter.TAG_ONLY));
+    }
+
+    /**
+     * Read the tag from a movie that has already been parsed
+     *
+     * @param mp4 the parsed movie, may be null if the file is not a valid container
+     * @return the tag
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public Mp4Tag read(MP4Util.Movie mp4) throws CannotReadException, IOException {
         Mp4Tag tag = new Mp4Tag();
 
         //Get to the facts everything we are interested in is within the moov box, so just load data from file
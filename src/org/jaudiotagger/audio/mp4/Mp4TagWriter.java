@@ -20,7 +20,7 @@ package org.jaudiotagger.audio.mp4;
 
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
-import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.mp4.Mp4Tag;
 import org.jaudiotagger.tag.mp4.Mp4TagCreator;
@@ -103,7 +103,7 @@ public class Mp4TagWriter {
 
 
     /**
-     * Write tag to {@code rafTemp} file.
+     * Write tag to the original file if it fits in the space available, otherwise to {@code rafTemp} file.
      *
      * @param raf     current file
      * @param rafTemp temporary file for writing
@@ -127,6 +127,7 @@ public class Mp4TagWriter {
                 for (MP4Util.Atom atom : mp4.getOthers()) {
                     atom.copy(fi, fo);
                 }
+                PaddingPolicy.recordRewrite();
             } else {
                 String path = af.getFile().getCanonicalPath();
                 for (TrakBox tb: mp4.getMoov().getTracks()) {
@@ -134,13 +135,17 @@ public class Mp4TagWriter {
                     tb.setDataRef("file://" + path);
                 }
 
-                // non-segmented file, need to keep chunk offsets
+                // non-segmented file, need to keep chunk offsets, if the moov fits where it is only it is rewritten,
+                // in the original file, otherwise the whole file is written to the temporary file
                 fi.position(0);
-                Utils.copy(fi, fo, raf.length());
-
-                fi.position(0);
-                fo.position(0);
-                new ReplaceMP4Editor().modifyOrReplace(fi, fo, mp4.getMoov());
+                if (new InplaceMP4Editor().modify(fi, mp4.getMoov())) {
+                    PaddingPolicy.recordInPlaceSave();
+                } else {
+                    fi.position(0);
+                    fo.position(0);
+                    new ReplaceMP4Editor().copy(fi, fo, mp4.getMoov());
+                    PaddingPolicy.recordRewrite();
+                }
             }
         }
     }
@@ -20,10 +20,14 @@ import java.nio.channels.FileChannel;
  */
 public class ReplaceMP4Editor {
 
-    public void modifyOrReplace(FileChannel src, FileChannel dst, MovieBox edit) throws IOException {
+    /**
+     * @return true if the edit fitted in place, false if the file had to be rewritten
+     */
+    public boolean modifyOrReplace(FileChannel src, FileChannel dst, MovieBox edit) throws IOException {
         boolean modify = new InplaceMP4Editor().modify(dst, edit);
         if (!modify)
             copy(src, dst, edit);
+        return modify;
     }
 
     public void copy(FileChannel src, FileChannel dst, MovieBox edit) throws IOException {
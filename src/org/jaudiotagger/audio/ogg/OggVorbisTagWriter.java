@@ -21,9 +21,12 @@ package org.jaudiotagger.audio.ogg;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.audio.ogg.util.OggPageCopier;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.audio.ogg.util.OggPageTailScanner;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.id3.AbstractID3v1Tag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
@@ -69,12 +72,8 @@ public class OggVorbisTagWriter {
         //1st Page:Identification Header
         logger.fine("Read 1st Page:identificationHeader:");
         OggPageHeader pageHeader = OggPageHeader.read(raf);
-        raf.seek(pageHeader.getStartByte());
-
-        //Write 1st page (unchanged) and place writer pointer at end of data
-        rafTemp.getChannel().transferFrom(raf.getChannel(), 0, pageHeader.getPageLength() + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
-        rafTemp.skipBytes(pageHeader.getPageLength() + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
-        logger.fine("Written identificationHeader:");
+        int firstPageLength = pageHeader.getPageLength() + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length;
+        raf.seek(pageHeader.getStartByte() + firstPageLength);
 
         //2nd page:Comment and Setup if there is enough room, may also (although not normally) contain audio frames
         OggPageHeader secondPageHeader = OggPageHeader.read(raf);
@@ -87,8 +86,22 @@ public class OggVorbisTagWriter {
         raf.seek(0);
         OggVorbisTagReader.OggVorbisHeaderSizes vorbisHeaderSizes = reader.readOggVorbisHeaderSizes(raf);
 
-        //Convert the OggVorbisComment header to raw packet data
-        ByteBuffer newComment = tc.convert(tag);
+        //Convert the OggVorbisComment header to raw packet data, padded to use any space already available
+        ByteBuffer newComment = addPadding(tc.convert(tag), vorbisHeaderSizes.getCommentHeaderSize());
+        if (newComment.capacity() == vorbisHeaderSizes.getCommentHeaderSize()) {
+            //Same size so no page boundaries move, just overwrite the comment in the original file
+            logger.fine("Comment header written in place:");
+            writeCommentInPlace(newComment, secondPageHeader, raf);
+            PaddingPolicy.recordInPlaceSave();
+            return;
+        }
+        PaddingPolicy.recordRewrite();
+
+        //Write 1st page (unchanged) and place writer pointer at end of data
+        raf.seek(pageHeader.getStartByte());
+        rafTemp.getChannel().transferFrom(raf.getChannel(), 0, firstPageLength);
+        rafTemp.skipBytes(firstPageLength);
+        logger.fine("Written identificationHeader:");
 
         //Compute new comment length(this may need to be spread over multiple pages)
         int newCommentLength = newComment.capacity();
@@ -132,6 +145,64 @@ public class OggVorbisTagWriter {
         }
     }
 
+    /**
+     * Decoders stop reading the comment header at the framing bit so zeroes after it can be used as padding.
+     * <p>
+     * If the new comment fits in the existing comment header, without leaving more than the padding that would be
+     * added, it is padded to the same size so the header pages are the same size as before and the audio pages can be
+     * copied without being renumbered. Otherwise padding is added so that it can grow next time.
+     *
+     * @param comment      the comment header
+     * @param existingSize size of the existing comment header
+     * @return the comment header followed by any padding
+     */
+    private ByteBuffer addPadding(ByteBuffer comment, int existingSize) {
+        int size = comment.capacity();
+        int padding = PaddingPolicy.getPadding(size, 0);
+        int paddedSize = size <= existingSize && existingSize - size <= padding ? existingSize : size + padding;
+        if (paddedSize == size) {
+            return comment;
+        }
+        ByteBuffer padded = ByteBuffer.allocate(paddedSize);
+        padded.put(comment);
+        padded.rewind();
+        return padded;
+    }
+
+    /**
+     * Overwrite the existing comment header with one of the same size, the comment header starts the data of the
+     * second page and may continue onto the pages after it, the checksum of each page changed is recalculated.
+     *
+     * @param newComment       the comment header, the same size as the existing one
+     * @param secondPageHeader header of the page holding the start of the comment header
+     * @param raf
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    private void writeCommentInPlace(ByteBuffer newComment, OggPageHeader secondPageHeader, RandomAccessFile raf) throws IOException, CannotReadException {
+        newComment.rewind();
+        OggPageHeader pageHeader = secondPageHeader;
+        while (true) {
+            int pageHeaderLength = pageHeader.getRawHeaderData().length;
+            ByteBuffer pageBuffer = ByteBuffer.allocate(pageHeaderLength + pageHeader.getPageLength());
+            pageBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            raf.seek(pageHeader.getStartByte());
+            raf.readFully(pageBuffer.array());
+
+            //Replace the part of the comment header on this page
+            int length = Math.min(newComment.remaining(), pageHeader.getPageLength());
+            newComment.get(pageBuffer.array(), pageHeaderLength, length);
+            calculateChecksumOverPage(pageBuffer);
+
+            raf.seek(pageHeader.getStartByte());
+            raf.write(pageBuffer.array());
+            if (!newComment.hasRemaining()) {
+                return;
+            }
+            pageHeader = OggPageHeader.read(raf);
+        }
+    }
+
     /**
      * Calculate checkSum over the Page
      *
@@ -141,11 +212,8 @@ public class OggVorbisTagWriter {
         //CRC should be zero before calculating it
         page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
 
-        //Compute CRC over the  page  //TODO shouldnt really use array();
-        byte[] crc = OggCRCFactory.computeCRC(page.array());
-        for (int i = 0; i < crc.length; i++) {
-            page.put(OggPageHeader.FIELD_PAGE_CHECKSUM_POS + i, crc[i]);
-        }
+        //Compute CRC over the page
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggCRCFactory.computeChecksum(page, 0, page.capacity()));
 
         //Rewind to start of Page
         page.rewind();
@@ -407,8 +475,11 @@ public class OggVorbisTagWriter {
 
     /**
      * Write all the remaining pages as they are except that the page sequence needs to be modified.
+     * <p>
+     * The pages are streamed through a fixed size buffer, or copied directly if their sequence numbers are unchanged,
+     * so the memory used does not depend on the size of the file.
      *
-     * @param pageSequence
+     * @param pageSequence sequence number of the last header page written
      * @param raf
      * @param rafTemp
      * @throws IOException
@@ -419,47 +490,24 @@ public class OggVorbisTagWriter {
         long startAudio = raf.getFilePointer();
         long startAudioWritten = rafTemp.getFilePointer();
 
-        //TODO there is a risk we wont have enough memory to create these buffers
-        ByteBuffer bb = ByteBuffer.allocate((int) (raf.length() - raf.getFilePointer()));
-        ByteBuffer bbTemp = ByteBuffer.allocate((int) (raf.length() - raf.getFilePointer()));
-
-        //Read in the rest of the data into bytebuffer and rewind it to start
-        raf.getChannel().read(bb);
-        bb.rewind();
-        long bytesToDiscard = 0;
-        while (bb.hasRemaining()) {
-            OggPageHeader nextPage = null;
-            try {
-                nextPage = OggPageHeader.read(bb);
-            } catch (CannotReadException cre) {
-                //Go back to where were
-                bb.position(bb.position() - OggPageHeader.CAPTURE_PATTERN.length);
-                //#117:Ogg file with invalid ID3v1 tag at end remove and save
-                if (Utils.readThreeBytesAsChars(bb).equals(AbstractID3v1Tag.TAG)) {
-                    bytesToDiscard = bb.remaining() + AbstractID3v1Tag.TAG.length();
-                    break;
-                } else {
-                    throw cre;
+        //#117:Ogg file with invalid ID3v1 tag at end remove and save
+        long endAudio = raf.length();
+        OggPageHeader lastPageHeader = OggPageTailScanner.findLastPage(raf.getChannel(), startAudio, endAudio);
+        if (lastPageHeader != null) {
+            long lastPageEnd = lastPageHeader.getStartByte() + lastPageHeader.getRawHeaderData().length + lastPageHeader.getPageLength();
+            if (lastPageEnd + AbstractID3v1Tag.TAG.length() <= endAudio) {
+                ByteBuffer trailing = ByteBuffer.allocate(AbstractID3v1Tag.TAG.length());
+                raf.getChannel().read(trailing, lastPageEnd);
+                trailing.flip();
+                if (Utils.readThreeBytesAsChars(trailing).equals(AbstractID3v1Tag.TAG)) {
+                    endAudio = lastPageEnd;
                 }
             }
-            //Create buffer large enough for next page (header and data) and set byte order to LE so we can use
-            //putInt method
-            ByteBuffer nextPageHeaderBuffer = ByteBuffer.allocate(nextPage.getRawHeaderData().length + nextPage.getPageLength());
-            nextPageHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            nextPageHeaderBuffer.put(nextPage.getRawHeaderData());
-            ByteBuffer data = bb.slice();
-            data.limit(nextPage.getPageLength());
-            nextPageHeaderBuffer.put(data);
-            nextPageHeaderBuffer.putInt(OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, ++pageSequence);
-            calculateChecksumOverPage(nextPageHeaderBuffer);
-            bb.position(bb.position() + nextPage.getPageLength());
-
-            nextPageHeaderBuffer.rewind();
-            bbTemp.put(nextPageHeaderBuffer);
         }
-        //Now just write as a single IO operation
-        bbTemp.flip();
-        rafTemp.getChannel().write(bbTemp);
+        long bytesToDiscard = raf.length() - endAudio;
+
+        OggPageCopier.copyPages(raf.getChannel(), startAudio, endAudio, rafTemp.getChannel(), pageSequence + 1);
+
         //Check we have written all the data (minus any invalid Tag at end)
         if ((raf.length() - startAudio) != ((rafTemp.length() + bytesToDiscard) - startAudioWritten)) {
             throw new CannotWriteException("File written counts don't match, file not written:"
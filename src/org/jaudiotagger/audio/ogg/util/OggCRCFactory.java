@@ -18,12 +18,19 @@
  */
 package org.jaudiotagger.audio.ogg.util;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 
 /**
  * OffCRC Calculations
  * <p>
+ * The Ogg checksum is a CRC32 with polynomial 0x04c11db7, processed most significant bit first with an initial value
+ * of zero and no final xor. It is calculated eight bytes at a time using eight lookup tables (slicing-by-8), and can be
+ * calculated over part of a heap or direct {@link ByteBuffer} without copying the page into an array first.
+ * <p>
  * $Id$
  *
  * @author Raphael Slinckx (KiKiDonK)
@@ -33,55 +40,131 @@ public class OggCRCFactory {
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg");
 
-    private static long[] crc_lookup = new long[256];
-    private static boolean init = false;
+    private static final int POLYNOMIAL = 0x04c11db7;
 
+    //Number of bytes processed at a time
+    private static final int SLICES = 8;
 
-    public static void init() {
+    //Table k holds the checksum of each byte value followed by k zero bytes
+    private static final int[] crc_lookup = createLookupTables();
+
+    private static int[] createLookupTables() {
+        int[] table = new int[SLICES * 256];
         for (int i = 0; i < 256; i++) {
-            long r = i << 24;
+            int r = i << 24;
 
             for (int j = 0; j < 8; j++) {
-                if ((r & 0x80000000L) != 0) {
-                    r = (r << 1) ^ 0x04c11db7L;
+                if ((r & 0x80000000) != 0) {
+                    r = (r << 1) ^ POLYNOMIAL;
                 } else {
                     r <<= 1;
                 }
             }
 
-            crc_lookup[i] = (r);
+            table[i] = r;
         }
-        init = true;
+        for (int k = 1; k < SLICES; k++) {
+            for (int i = 0; i < 256; i++) {
+                int previous = table[(k - 1) * 256 + i];
+                table[k * 256 + i] = (previous << 8) ^ table[previous >>> 24];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * The lookup tables are now created when the class is loaded, so this does nothing
+     */
+    public static void init() {
     }
 
 
     public boolean checkCRC(byte[] data, byte[] crc) {
-        return new String(crc).equals(new String(computeCRC(data)));
+        return Arrays.equals(crc, computeCRC(data));
     }
 
     public static byte[] computeCRC(byte[] data) {
+        return computeCRC(data, 0, data.length);
+    }
 
-        if (!init) {
-            init();
-        }
+    /**
+     * @param data   array holding the page
+     * @param offset start of the page within data
+     * @param length length of the page
+     * @return checksum of the page as four little endian bytes
+     */
+    public static byte[] computeCRC(byte[] data, int offset, int length) {
+        int crc_reg = update(0, data, offset, length);
 
-        long crc_reg = 0;
+        byte[] sum = new byte[4];
 
-        for (byte aData : data) {
-            int tmp = (int) (((crc_reg >>> 24) & 0xff) ^ u(aData));
+        sum[0] = (byte) crc_reg;
+        sum[1] = (byte) (crc_reg >>> 8);
+        sum[2] = (byte) (crc_reg >>> 16);
+        sum[3] = (byte) (crc_reg >>> 24);
 
-            crc_reg = (crc_reg << 8) ^ crc_lookup[tmp];
-            crc_reg &= 0xffffffff;
-        }
+        return sum;
+    }
 
-        byte[] sum = new byte[4];
+    /**
+     * Calculate the checksum of part of a buffer, the checksum field of the page should already be zero
+     *
+     * @param buffer heap or direct buffer holding the page, its position and limit are not changed
+     * @param offset absolute position of the start of the page
+     * @param length length of the page
+     * @return the checksum, to be written little endian at {@link OggPageHeader#FIELD_PAGE_CHECKSUM_POS}
+     */
+    public static int computeChecksum(ByteBuffer buffer, int offset, int length) {
+        return updateChecksum(0, buffer, offset, length);
+    }
 
-        sum[0] = (byte) (crc_reg & 0xffL);
-        sum[1] = (byte) ((crc_reg >>> 8) & 0xffL);
-        sum[2] = (byte) ((crc_reg >>> 16) & 0xffL);
-        sum[3] = (byte) ((crc_reg >>> 24) & 0xffL);
+    /**
+     * Continue a checksum over more data, so a page held in more than one buffer can be checked without joining it
+     *
+     * @param crc    checksum of the preceding data, zero for the start of a page
+     * @param buffer heap or direct buffer, its position and limit are not changed
+     * @param offset absolute position of the data
+     * @param length length of the data
+     * @return the checksum including this data
+     */
+    public static int updateChecksum(int crc, ByteBuffer buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Cannot calculate checksum from " + offset + " length " + length + " with limit " + buffer.limit());
+        }
+        if (buffer.hasArray()) {
+            return update(crc, buffer.array(), buffer.arrayOffset() + offset, length);
+        }
 
-        return sum;
+        ByteBuffer bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN ? buffer : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int[] t = crc_lookup;
+        int i = offset;
+        int end = offset + length;
+        for (; i + SLICES <= end; i += SLICES) {
+            long v = bigEndian.getLong(i);
+            int hi = crc ^ (int) (v >>> 32);
+            int lo = (int) v;
+            crc = t[7 * 256 + (hi >>> 24)] ^ t[6 * 256 + ((hi >>> 16) & 0xff)] ^ t[5 * 256 + ((hi >>> 8) & 0xff)] ^ t[4 * 256 + (hi & 0xff)]
+                    ^ t[3 * 256 + (lo >>> 24)] ^ t[2 * 256 + ((lo >>> 16) & 0xff)] ^ t[256 + ((lo >>> 8) & 0xff)] ^ t[lo & 0xff];
+        }
+        for (; i < end; i++) {
+            crc = (crc << 8) ^ t[(crc >>> 24) ^ u(bigEndian.get(i))];
+        }
+        return crc;
+    }
+
+    private static int update(int crc, byte[] data, int offset, int length) {
+        int[] t = crc_lookup;
+        int i = offset;
+        int end = offset + length;
+        for (; i + SLICES <= end; i += SLICES) {
+            int hi = crc ^ (u(data[i]) << 24 | u(data[i + 1]) << 16 | u(data[i + 2]) << 8 | u(data[i + 3]));
+            crc = t[7 * 256 + (hi >>> 24)] ^ t[6 * 256 + ((hi >>> 16) & 0xff)] ^ t[5 * 256 + ((hi >>> 8) & 0xff)] ^ t[4 * 256 + (hi & 0xff)]
+                    ^ t[3 * 256 + u(data[i + 4])] ^ t[2 * 256 + u(data[i + 5])] ^ t[256 + u(data[i + 6])] ^ t[u(data[i + 7])];
+        }
+        for (; i < end; i++) {
+            crc = (crc << 8) ^ t[(crc >>> 24) ^ u(data[i])];
+        }
+        return crc;
     }
 
 
@@ -89,4 +172,3 @@ public class OggCRCFactory {
         return n & 0xff;
     }
 }
-
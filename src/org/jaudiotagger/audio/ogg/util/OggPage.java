@@ -8,6 +8,8 @@ import java.nio.ByteBuffer;
 
 public class OggPage {
 
+    private static final byte[] ZERO_CHECKSUM = new byte[OggPageHeader.FIELD_PAGE_CHECKSUM_LENGTH];
+
     private final OggPageHeader header;
     private final ByteBuffer content;
 
@@ -46,13 +48,13 @@ public class OggPage {
     }
 
     private void fixCksum() {
-        ByteBuffer temp = ByteBuffer.allocate(size());
-        write(temp);
-
-        //CRC should be zero before calculating it
-        temp.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
-        byte[] crc = OggCRCFactory.computeCRC(temp.array());
-        int cksum = Utils.getIntLE(crc);
+        //Calculate over the header with the checksum as zero followed by the content, without joining them
+        ByteBuffer rawHeader = ByteBuffer.wrap(header.getRawHeaderData());
+        int afterChecksum = OggPageHeader.FIELD_PAGE_CHECKSUM_POS + OggPageHeader.FIELD_PAGE_CHECKSUM_LENGTH;
+        int cksum = OggCRCFactory.computeChecksum(rawHeader, 0, OggPageHeader.FIELD_PAGE_CHECKSUM_POS);
+        cksum = OggCRCFactory.updateChecksum(cksum, ByteBuffer.wrap(ZERO_CHECKSUM), 0, ZERO_CHECKSUM.length);
+        cksum = OggCRCFactory.updateChecksum(cksum, rawHeader, afterChecksum, rawHeader.limit() - afterChecksum);
+        cksum = OggCRCFactory.updateChecksum(cksum, content, content.position(), content.remaining());
 
         header.setChecksum(cksum);
     }
@@ -0,0 +1,157 @@
+package org.jaudiotagger.audio.ogg.util;
+
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.logging.ErrorMessage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.logging.Logger;
+
+/**
+ * Copies the audio pages of an Ogg stream from the original file to the new file after the header pages have been
+ * rewritten.
+ * <p>
+ * If the number of header pages has changed every following page has to be given a new sequence number, and so a new
+ * checksum. This is done in a fixed size buffer holding a few pages at a time so the memory used does not depend on the
+ * size of the file. If the number of header pages is unchanged the pages are copied as they are with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ */
+public class OggPageCopier {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg");
+
+    //Size of buffer used when renumbering pages, must be able to hold at least one page
+    public static final int BUFFER_SIZE = OggPageHeader.MAXIMUM_PAGE_SIZE * 4;
+
+    private OggPageCopier() {
+    }
+
+    /**
+     * Copy the pages between start and end to the current position of out
+     *
+     * @param in           channel to the original file, its position is not changed
+     * @param start        start of the first page to copy
+     * @param end          end of the last page to copy
+     * @param out          channel to the new file
+     * @param pageSequence sequence number the first page should have in the new file
+     * @throws IOException
+     * @throws CannotReadException if the data does not consist of complete pages
+     */
+    public static void copyPages(FileChannel in, long start, long end, FileChannel out, int pageSequence) throws IOException, CannotReadException {
+        if (start >= end) {
+            return;
+        }
+
+        ByteBuffer firstHeader = ByteBuffer.allocate(OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(in, firstHeader, start, end);
+        checkCapturePattern(firstHeader, 0);
+        int originalPageSequence = firstHeader.getInt(OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS);
+        if (originalPageSequence == pageSequence) {
+            logger.config("Page sequence unchanged, copying pages from:" + start + ":to:" + end);
+            transferPages(in, start, end, out);
+            return;
+        }
+
+        logger.config("Renumbering pages from:" + start + ":to:" + end + ":first page:" + originalPageSequence + ":becomes:" + pageSequence);
+        renumberPages(in, start, end, out, pageSequence);
+    }
+
+    private static void transferPages(FileChannel in, long start, long end, FileChannel out) throws IOException {
+        long position = start;
+        while (position < end) {
+            long transferred = in.transferTo(position, end - position, out);
+            if (transferred <= 0) {
+                throw new EOFException("Unable to copy from:" + position);
+            }
+            position += transferred;
+        }
+    }
+
+    private static void renumberPages(FileChannel in, long start, long end, FileChannel out, int pageSequence) throws IOException, CannotReadException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, end - start)).order(ByteOrder.LITTLE_ENDIAN);
+        long position = start;
+        while (position < end) {
+            //Fill the buffer after any incomplete page left over from last time
+            int fill = (int) Math.min(buffer.remaining(), end - position);
+            buffer.limit(buffer.position() + fill);
+            readFully(in, buffer, position - buffer.position(), end);
+            position += fill;
+            buffer.flip();
+
+            //Renumber every complete page within the buffer
+            int pageStart = 0;
+            int pageLength;
+            while ((pageLength = getPageLength(buffer, pageStart)) > 0 && pageStart + pageLength <= buffer.limit()) {
+                buffer.putInt(pageStart + OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, pageSequence++);
+                buffer.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+                buffer.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggCRCFactory.computeChecksum(buffer, pageStart, pageLength));
+                pageStart += pageLength;
+            }
+            if (pageStart == 0) {
+                throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg("incomplete page at:" + (position - buffer.limit())));
+            }
+
+            //Write the complete pages and move the rest to the start of the buffer
+            ByteBuffer pages = buffer.duplicate();
+            pages.position(0);
+            pages.limit(pageStart);
+            while (pages.hasRemaining()) {
+                out.write(pages);
+            }
+            buffer.position(pageStart);
+            buffer.compact();
+        }
+        if (buffer.position() > 0) {
+            throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg("incomplete page at:" + (end - buffer.position())));
+        }
+    }
+
+    /**
+     * @return the length of the page including its header, or -1 if the whole of the header is not within the buffer
+     * @throws CannotReadException if there is no page at pageStart
+     */
+    private static int getPageLength(ByteBuffer buffer, int pageStart) throws CannotReadException {
+        if (pageStart + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH > buffer.limit()) {
+            return -1;
+        }
+        checkCapturePattern(buffer, pageStart);
+        int pageSegments = buffer.get(pageStart + OggPageHeader.FIELD_PAGE_SEGMENTS_POS) & 0xFF;
+        int headerLength = OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments;
+        if (pageStart + headerLength > buffer.limit()) {
+            return -1;
+        }
+        int pageLength = headerLength;
+        for (int i = OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH; i < headerLength; i++) {
+            pageLength += buffer.get(pageStart + i) & 0xFF;
+        }
+        return pageLength;
+    }
+
+    private static void checkCapturePattern(ByteBuffer buffer, int pageStart) throws CannotReadException {
+        for (int i = 0; i < OggPageHeader.CAPTURE_PATTERN.length; i++) {
+            if (buffer.get(pageStart + i) != OggPageHeader.CAPTURE_PATTERN[i]) {
+                byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
+                for (int j = 0; j < b.length; j++) {
+                    b[j] = buffer.get(pageStart + j);
+                }
+                throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg(new String(b)));
+            }
+        }
+    }
+
+    /**
+     * Read from the channel until the buffer is full, the buffer position is relative to position
+     */
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position, long end) throws IOException, CannotReadException {
+        if (position + buffer.limit() > end) {
+            throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg("incomplete page at:" + position));
+        }
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at:" + (position + buffer.position()));
+            }
+        }
+    }
+}
@@ -150,11 +150,8 @@ public class OggPageHeader {
         //CRC should be zero before calculating it
         page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
 
-        //Compute CRC over the  page  //TODO shouldnt really use array();
-        byte[] crc = OggCRCFactory.computeCRC(page.array());
-        for (int i = 0; i < crc.length; i++) {
-            page.put(OggPageHeader.FIELD_PAGE_CHECKSUM_POS + i, crc[i]);
-        }
+        //Compute CRC over the page
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggCRCFactory.computeChecksum(page, 0, page.capacity()));
 
         //Rewind to start of Page
         page.rewind();
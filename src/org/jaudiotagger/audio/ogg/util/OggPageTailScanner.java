@@ -0,0 +1,128 @@
+package org.jaudiotagger.audio.ogg.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.logging.Logger;
+
+/**
+ * Finds the last page of an Ogg stream by searching backwards from the end of the file.
+ * <p>
+ * The end of the file is read in large blocks which are searched for the capture pattern, each possible page is then
+ * checked by reading it in full and comparing its checksum, so trailing tags or junk that happen to contain the capture
+ * pattern are skipped over. The granule position of the last page gives the length of the stream.
+ */
+public class OggPageTailScanner {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg.atom");
+
+    //Amount of the file read at a time whilst searching
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    //Granule position of a page on which no packet finishes
+    private static final long NO_GRANULE_POSITION = -1;
+
+    /**
+     * @param fc    channel to the file, its position is not changed
+     * @param start position to stop searching at, usually the start of the stream
+     * @param end   end of the stream, usually the length of the file
+     * @return header of the last page with a correct checksum that has a granule position, or null if none is found
+     * @throws IOException
+     */
+    public static OggPageHeader findLastPage(FileChannel fc, long start, long end) throws IOException {
+        if (end - start < OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH) {
+            return null;
+        }
+
+        ByteBuffer block = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, end - start));
+        byte[] data = block.array();
+        long blockEnd = end;
+        int blocksRead = 0;
+        while (true) {
+            long blockStart = Math.max(start, blockEnd - block.capacity());
+            block.clear();
+            block.limit((int) (blockEnd - blockStart));
+            readFully(fc, block, blockStart);
+            blocksRead++;
+
+            for (int i = block.limit() - OggPageHeader.CAPTURE_PATTERN.length; i >= 0; i--) {
+                if (data[i] == OggPageHeader.CAPTURE_PATTERN[0]
+                        && data[i + 1] == OggPageHeader.CAPTURE_PATTERN[1]
+                        && data[i + 2] == OggPageHeader.CAPTURE_PATTERN[2]
+                        && data[i + 3] == OggPageHeader.CAPTURE_PATTERN[3]) {
+                    OggPageHeader pageHeader = readValidPage(fc, blockStart + i, end);
+                    if (pageHeader != null && pageHeader.getAbsoluteGranulePosition() != NO_GRANULE_POSITION) {
+                        logger.fine("Found last page at:" + pageHeader.getStartByte() + ":blocks read:" + blocksRead);
+                        return pageHeader;
+                    }
+                }
+            }
+
+            if (blockStart == start) {
+                return null;
+            }
+            //Overlap the blocks so a capture pattern split between them is found
+            blockEnd = blockStart + OggPageHeader.CAPTURE_PATTERN.length - 1;
+        }
+    }
+
+    /**
+     * @param fc       channel to the file
+     * @param position of a capture pattern
+     * @param end      end of the stream
+     * @return the header of the page starting at position, or null if it is not a complete page with a correct
+     * checksum
+     * @throws IOException
+     */
+    private static OggPageHeader readValidPage(FileChannel fc, long position, long end) throws IOException {
+        if (position + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH > end) {
+            return null;
+        }
+        ByteBuffer fixedHeader = ByteBuffer.allocate(OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH);
+        readFully(fc, fixedHeader, position);
+        if (fixedHeader.get(OggPageHeader.FIELD_STREAM_STRUCTURE_VERSION_POS) != 0) {
+            return null;
+        }
+        int headerLength = OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + (fixedHeader.get(OggPageHeader.FIELD_PAGE_SEGMENTS_POS) & 0xFF);
+        if (position + headerLength > end) {
+            return null;
+        }
+
+        //Work out the page length from the segment table before reading the whole page
+        ByteBuffer segmentTable = ByteBuffer.allocate(headerLength - OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH);
+        readFully(fc, segmentTable, position + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH);
+        int pageLength = 0;
+        for (byte segment : segmentTable.array()) {
+            pageLength += segment & 0xFF;
+        }
+        if (position + headerLength + pageLength > end) {
+            return null;
+        }
+
+        ByteBuffer page = ByteBuffer.allocate(headerLength + pageLength).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(fc, page, position);
+        int checksum = page.getInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS);
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+        if (checksum != OggCRCFactory.computeChecksum(page, 0, page.limit())) {
+            logger.fine("Skipping capture pattern with incorrect checksum at:" + position);
+            return null;
+        }
+
+        byte[] header = new byte[headerLength];
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, checksum);
+        page.rewind();
+        page.get(header);
+        OggPageHeader pageHeader = new OggPageHeader(header);
+        pageHeader.setStartByte(position);
+        return pageHeader;
+    }
+
+    private static void readFully(FileChannel fc, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (fc.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at:" + (position + buffer.position()));
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.jaudiotagger.audio.opus;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.audio.ogg.util.OggPageTailScanner;
 import org.jaudiotagger.audio.opus.util.OpusVorbisIdentificationHeader;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
@@ -52,8 +53,12 @@ public class OpusInfoReader {
         info.setSamplingRate(opusIdHeader.getAudioSampleRate());
         info.setEncodingType("Opus Vorbis 1.0");
 
-        // find last Opus Header
-        OggPageHeader last = lastValidHeader(raf);
+        //Search back from the end of the file for the last page, only walking every page if none can be found that way
+        OggPageHeader last = OggPageTailScanner.findLastPage(raf.getChannel(), raf.getFilePointer(), raf.length());
+        if (last == null) {
+            logger.fine("No valid page found at end of file, reading every page");
+            last = lastValidHeader(raf);
+        }
         if (last == null) {
             throw new CannotReadException("Opus file contains ID and Comment headers but no audio content");
         }
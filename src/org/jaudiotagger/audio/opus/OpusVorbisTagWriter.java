@@ -5,6 +5,7 @@ import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.ogg.OggVorbisCommentTagCreator;
 import org.jaudiotagger.audio.ogg.util.OggPage;
+import org.jaudiotagger.audio.ogg.util.OggPageCopier;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
@@ -13,8 +14,6 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -52,24 +51,18 @@ public class OpusVorbisTagWriter {
 
         //1st Page:Identification Header
         logger.fine("Read 1st Page: identificationHeader");
-        List<OggPage> originalHeaders = readPages(fi);
+        OggPageHeader identHeader = OggPageHeader.read(raf);
+        writePage(fo, new OggPage(identHeader, Utils.fetchFromChannel(fi, identHeader.getPageLength())));
 
         //Convert the OggVorbisComment header to raw packet data
         ByteBuffer newComment = tc.convert(tag);
 
-        // write identification header
-        OggPage identPage = originalHeaders.remove(0);
-        writePage(fo, identPage);
-
-        // second page is OpusTags, skip all OpusTags
-        originalHeaders.remove(0); // skip first tag page
-        while (originalHeaders.get(0).getHeader().isContinuedPage()) {
-            originalHeaders.remove(0); // skip continued tag pages
-        }
+        // second page is OpusTags, skip all OpusTags pages to find the start of the audio
+        long audioStart = skipTagPages(raf);
 
         final int fullPagesNeeded = newComment.capacity() / OggPageHeader.MAXIMUM_PAGE_DATA_SIZE;
         final int pagesRemainder = newComment.capacity() % OggPageHeader.MAXIMUM_PAGE_DATA_SIZE;
-        final int streamNo = identPage.getHeader().getSerialNumber();
+        final int streamNo = identHeader.getSerialNumber();
         int sequenceNo = 1;
         for (int page = 0; page < fullPagesNeeded; page++) {
             OggPageHeader header = OggPageHeader.createCommentHeader(OggPageHeader.MAXIMUM_PAGE_DATA_SIZE, page != 0, streamNo, sequenceNo++);
@@ -86,10 +79,26 @@ public class OpusVorbisTagWriter {
             writePage(fo, new OggPage(header, content));
         }
 
-        for (OggPage page : originalHeaders) {
-            page.setSequenceNo(sequenceNo++);
-            writePage(fo, page);
+        //Audio pages only need renumbering if the number of tag pages has changed
+        OggPageCopier.copyPages(fi, audioStart, raf.length(), fo, sequenceNo);
+    }
+
+    /**
+     * @param raf positioned at the first OpusTags page
+     * @return start of the first page after the OpusTags pages
+     */
+    private long skipTagPages(RandomAccessFile raf) throws IOException, CannotReadException {
+        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+        while (raf.getFilePointer() < raf.length()) {
+            long pageStart = raf.getFilePointer();
+            pageHeader = OggPageHeader.read(raf);
+            if (!pageHeader.isContinuedPage()) {
+                return pageStart;
+            }
+            raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
         }
+        return raf.getFilePointer();
     }
 
     private void writePage(FileChannel fo, OggPage oggPage) throws IOException {
@@ -99,13 +108,4 @@ public class OpusVorbisTagWriter {
         buf.rewind();
         fo.write(buf);
     }
-
-    private List<OggPage> readPages(FileChannel fi) throws IOException, CannotReadException {
-        List<OggPage> output = new ArrayList<>();
-        ByteBuffer buf = Utils.fetchFromChannel(fi, (int) fi.size());
-        while (buf.remaining() > 0) {
-            output.add(OggPage.parse(buf));
-        }
-        return output;
-    }
-}
\ No newline at end of file
+}
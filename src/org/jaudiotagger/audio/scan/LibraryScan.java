@@ -0,0 +1,428 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A running scan of a directory tree, reading every audio file found on a bounded pool of workers.
+ * <p>
+ * A single thread walks the tree and hands each file to a worker, no more than {@link ScanOptions#getParallelism()}
+ * files are in progress at once and a file only counts as finished once its result has been accepted, so a slow
+ * consumer pauses the walk rather than results building up in memory.
+ * <p>
+ * The readers used by {@link AudioFileIO} keep state whilst reading so each worker borrows its own
+ * {@link AudioFileIO} instance from a pool rather than sharing the default instance. Tag options are taken from
+ * {@link ScanOptions#getTagOptions()} if set, otherwise from {@link org.jaudiotagger.tag.TagOptionSingleton} and
+ * should not be changed whilst a scan is running.
+ */
+public class LibraryScan {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.scan");
+
+    private static final AtomicInteger SCAN_COUNT = new AtomicInteger();
+
+    /**
+     * How often a worker waiting for room in the queue of a stream checks whether the stream has been abandoned
+     */
+    private static final long ABANDONED_CHECK_MILLIS = 100;
+
+    private final Path root;
+    private final ScanOptions options;
+    private final Consumer<ScanResult> listener;
+    private final Runnable onComplete;
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timeouts;
+    private final Semaphore inProgress;
+    private final BlockingQueue<AudioFileIO> readers;
+    private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicLong filesRead = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Thread walker;
+    private volatile boolean cancelled;
+
+    private LibraryScan(Path root, ScanOptions options, Consumer<ScanResult> listener, Runnable onComplete) {
+        this.root = root;
+        this.options = options;
+        this.listener = listener;
+        this.onComplete = onComplete;
+
+        int scanNo = SCAN_COUNT.incrementAndGet();
+        this.workers = createWorkers(options, scanNo);
+        this.timeouts = options.getTimeoutMillis() > 0 ? Executors.newSingleThreadScheduledExecutor(daemonThreads("jaudiotagger-scan-" + scanNo + "-timeout")) : null;
+        this.inProgress = new Semaphore(options.getParallelism());
+        this.readers = new ArrayBlockingQueue<AudioFileIO>(options.getParallelism());
+        this.walker = daemonThreads("jaudiotagger-scan-" + scanNo + "-walker").newThread(new Runnable() {
+            public void run() {
+                walk();
+            }
+        });
+    }
+
+    /**
+     * Start scanning, each result is passed to the listener as soon as it is available
+     * <p>
+     * The listener is called from the worker threads so may be called concurrently, a file is not finished
+     * until the listener returns.
+     *
+     * @param root     directory to scan, or a single file
+     * @param options  controlling the scan
+     * @param listener for the results
+     * @return the running scan
+     */
+    public static LibraryScan start(Path root, ScanOptions options, Consumer<ScanResult> listener) {
+        return start(root, options, listener, null);
+    }
+
+    private static LibraryScan start(Path root, ScanOptions options, Consumer<ScanResult> listener, Runnable onComplete) {
+        LibraryScan scan = new LibraryScan(root, options, listener, onComplete);
+        scan.walker.start();
+        return scan;
+    }
+
+    /**
+     * Scan returning the results as a stream, results are read ahead of the consumer up to
+     * {@link ScanOptions#getQueueCapacity()}. Closing the stream cancels the scan.
+     * <p>
+     * If the stream is abandoned without being closed the scan is cancelled once the stream has been garbage
+     * collected, rather than the workers waiting for room in the queue forever.
+     *
+     * @param root    directory to scan, or a single file
+     * @param options controlling the scan
+     * @return stream of results in the order they are read
+     */
+    public static Stream<ScanResult> stream(Path root, ScanOptions options) {
+        final BlockingQueue<ScanResult> queue = new ArrayBlockingQueue<ScanResult>(options.getQueueCapacity());
+        final ScanResult end = new ScanResult(root, null, null);
+        final LibraryScan[] scan = new LibraryScan[1];
+
+        Iterator<ScanResult> iterator = new Iterator<ScanResult>() {
+            private ScanResult next;
+
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = queue.take();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        scan[0].cancel();
+                        next = end;
+                    }
+                }
+                return next != end;
+            }
+
+            public ScanResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ScanResult result = next;
+                next = null;
+                return result;
+            }
+        };
+
+        //The workers only hold the iterator weakly so they can tell when the stream has gone
+        final Reference<Iterator<ScanResult>> consumer = new WeakReference<Iterator<ScanResult>>(iterator);
+        scan[0] = start(root, options, new Consumer<ScanResult>() {
+            public void accept(ScanResult result) {
+                try {
+                    offer(queue, result, scan, consumer);
+                } catch (InterruptedException ie) {
+                    //Cancelled
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, new Runnable() {
+            public void run() {
+                //Only cancelled if the consumer has gone, so no need to wait for room
+                if (scan[0] == null || !scan[0].isCancelled()) {
+                    try {
+                        offer(queue, end, scan, consumer);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(new Runnable() {
+                    public void run() {
+                        scan[0].cancel();
+                    }
+                });
+    }
+
+    /**
+     * Wait for room in the queue of a stream, giving up if the scan is cancelled or if the stream has been abandoned
+     * without being closed, in which case the scan is cancelled
+     *
+     * @param queue    of the stream
+     * @param result   to add to the queue
+     * @param scan     holding the scan once it has been started
+     * @param consumer weak reference to the iterator of the stream
+     * @return true if the result was added to the queue
+     * @throws InterruptedException
+     */
+    private static boolean offer(BlockingQueue<ScanResult> queue, ScanResult result, LibraryScan[] scan, Reference<?> consumer) throws InterruptedException {
+        while (!queue.offer(result, ABANDONED_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            LibraryScan running = scan[0];
+            if (running != null && running.isCancelled()) {
+                return false;
+            }
+            if (consumer.get() == null) {
+                logger.warning("Stream of results abandoned without being closed, cancelling scan of " + result.getPath());
+                if (running != null) {
+                    running.cancel();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop the scan, files being read are interrupted and no further results are passed on
+     */
+    public void cancel() {
+        cancelled = true;
+        walker.interrupt();
+        for (Thread thread : running) {
+            thread.interrupt();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return finished.getCount() == 0;
+    }
+
+    /**
+     * Wait for every file to be read and its result accepted
+     *
+     * @throws InterruptedException
+     */
+    public void awaitCompletion() throws InterruptedException {
+        finished.await();
+    }
+
+    /**
+     * @param timeout
+     * @param unit
+     * @return true if the scan has finished, false if the timeout expired first
+     * @throws InterruptedException
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * @return number of files read successfully so far
+     */
+    public long getFilesRead() {
+        return filesRead.get();
+    }
+
+    /**
+     * @return number of files, or directories, that could not be read so far
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private void walk() {
+        try {
+            EnumSet<FileVisitOption> visitOptions = options.isFollowLinks() ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
+            Files.walkFileTree(root, visitOptions, options.getMaxDepth(), new SimpleFileVisitor<Path>() {
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (cancelled) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    if (attrs.isRegularFile() && options.getFileFilter().accept(file.toFile())) {
+                        try {
+                            inProgress.acquire();
+                        } catch (InterruptedException ie) {
+                            return FileVisitResult.TERMINATE;
+                        }
+                        submit(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    if (cancelled) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    deliver(new ScanResult(file, null, exc));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ioe) {
+            deliver(new ScanResult(root, null, ioe));
+        } catch (RuntimeException re) {
+            logger.log(Level.SEVERE, "Scan of " + root + " failed", re);
+        } finally {
+            //Wait for the files in progress, if cancelled they have been interrupted so will finish promptly
+            Thread.interrupted();
+            inProgress.acquireUninterruptibly(options.getParallelism());
+            workers.shutdown();
+            if (timeouts != null) {
+                timeouts.shutdownNow();
+            }
+            finished.countDown();
+            if (onComplete != null) {
+                onComplete.run();
+            }
+        }
+    }
+
+    private void submit(final Path file) {
+        try {
+            workers.execute(new Runnable() {
+                public void run() {
+                    try {
+                        if (!cancelled) {
+                            deliver(readFile(file));
+                        }
+                    } finally {
+                        inProgress.release();
+                    }
+                }
+            });
+        } catch (RuntimeException re) {
+            inProgress.release();
+            throw re;
+        }
+    }
+
+    /**
+     * Read one file, interrupting the read if it takes longer than the timeout
+     */
+    private ScanResult readFile(Path file) {
+        final Thread thread = Thread.currentThread();
+        final boolean[] state = new boolean[2];   //finished, timed out
+        ScheduledFuture<?> timeout = null;
+        if (timeouts != null) {
+            timeout = timeouts.schedule(new Runnable() {
+                public void run() {
+                    synchronized (state) {
+                        if (!state[0]) {
+                            state[1] = true;
+                            thread.interrupt();
+                        }
+                    }
+                }
+            }, options.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        AudioFileIO audioFileIO = readers.poll();
+        if (audioFileIO == null) {
+            audioFileIO = new AudioFileIO();
+        }
+        running.add(thread);
+        try {
+            AudioFile audioFile = options.getTagOptions() == null ? audioFileIO.readFile(file.toFile()) : audioFileIO.readFile(file.toFile(), options.getTagOptions());
+            return new ScanResult(file, audioFile, null);
+        } catch (Exception e) {
+            synchronized (state) {
+                if (state[1]) {
+                    return new ScanResult(file, null, new TimeoutException("Reading " + file + " took longer than " + options.getTimeoutMillis() + "ms"));
+                }
+            }
+            return new ScanResult(file, null, e);
+        } finally {
+            running.remove(thread);
+            synchronized (state) {
+                state[0] = true;
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            //Clear any interrupt so the thread can be reused
+            Thread.interrupted();
+            readers.offer(audioFileIO);
+        }
+    }
+
+    private void deliver(ScanResult result) {
+        if (result.isSuccess()) {
+            filesRead.incrementAndGet();
+        } else {
+            failures.incrementAndGet();
+        }
+        if (cancelled) {
+            return;
+        }
+        try {
+            listener.accept(result);
+        } catch (RuntimeException re) {
+            logger.log(Level.WARNING, "Scan listener failed on " + result.getPath(), re);
+        }
+    }
+
+    /**
+     * Use a virtual thread per file if available (Java 21 and later), otherwise a fixed pool
+     */
+    private static ExecutorService createWorkers(ScanOptions options, int scanNo) {
+        if (options.isVirtualThreads()) {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException roe) {
+                logger.config("Virtual threads not available, using a thread pool");
+            }
+        }
+        return Executors.newFixedThreadPool(options.getParallelism(), daemonThreads("jaudiotagger-scan-" + scanNo + "-worker"));
+    }
+
+    private static ThreadFactory daemonThreads(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFileFilter;
+import org.jaudiotagger.tag.TagOptions;
+
+import java.io.FileFilter;
+
+/**
+ * Options controlling a scan of a directory tree, see {@link org.jaudiotagger.audio.AudioFileIO#scan(java.nio.file.Path, ScanOptions)}
+ */
+public class ScanOptions {
+    /**
+     * Maximum number of files read at the same time
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Read files on virtual threads if the runtime supports them
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * Maximum number of directory levels below the root to visit
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * Follow symbolic links when walking the tree
+     */
+    private boolean followLinks = false;
+
+    /**
+     * Files to read, directories are always walked
+     */
+    private FileFilter fileFilter = new AudioFileFilter(false);
+
+    /**
+     * Maximum time allowed to read a single file in milliseconds, zero for no limit
+     */
+    private long timeoutMillis = 0;
+
+    /**
+     * Number of results held waiting for a stream consumer before reading is paused
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Tag options used to read the files, null for the default options
+     */
+    private TagOptions tagOptions = null;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism maximum number of files read at the same time, also limits the results waiting to be
+     *                    accepted by a callback
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least one:" + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @param virtualThreads if true and the runtime supports virtual threads each file is read on its own virtual
+     *                       thread, otherwise a fixed pool of parallelism threads is used
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public boolean isFollowLinks() {
+        return followLinks;
+    }
+
+    public void setFollowLinks(boolean followLinks) {
+        this.followLinks = followLinks;
+    }
+
+    public FileFilter getFileFilter() {
+        return fileFilter;
+    }
+
+    /**
+     * @param fileFilter selecting the files to read, by default all readable files with a supported extension
+     */
+    public void setFileFilter(FileFilter fileFilter) {
+        this.fileFilter = fileFilter;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param timeoutMillis maximum time allowed to read a single file, reads taking longer are interrupted and
+     *                      reported with a {@link java.util.concurrent.TimeoutException}. Zero for no limit
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @param queueCapacity number of results held waiting for a stream consumer, once full reading is paused
+     *                      until the consumer catches up
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least one:" + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    public TagOptions getTagOptions() {
+        return tagOptions;
+    }
+
+    /**
+     * @param tagOptions used to read every file in the scan, or null to use the default options
+     */
+    public void setTagOptions(TagOptions tagOptions) {
+        this.tagOptions = tagOptions;
+    }
+}
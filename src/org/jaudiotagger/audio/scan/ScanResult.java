@@ -0,0 +1,49 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFile;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of reading one file during a scan, either the file read or the reason it could not be read
+ */
+public class ScanResult {
+    private final Path path;
+    private final AudioFile audioFile;
+    private final Exception exception;
+
+    ScanResult(Path path, AudioFile audioFile, Exception exception) {
+        this.path = path;
+        this.audioFile = audioFile;
+        this.exception = exception;
+    }
+
+    /**
+     * @return the file, or directory if the directory could not be walked
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the file read, or null if it could not be read
+     */
+    public AudioFile getAudioFile() {
+        return audioFile;
+    }
+
+    /**
+     * @return why the file could not be read, or null if it was read
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    public String toString() {
+        return path + ":" + (isSuccess() ? "read" : exception.toString());
+    }
+}
@@ -24,6 +24,7 @@ import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.ChunkHeader;
 import org.jaudiotagger.audio.iff.ChunkSummary;
 import org.jaudiotagger.audio.iff.IffHeaderChunk;
+import org.jaudiotagger.audio.io.ChannelShifter;
 import org.jaudiotagger.audio.wav.chunk.WavChunkSummary;
 import org.jaudiotagger.audio.wav.chunk.WavInfoIdentifier;
 import org.jaudiotagger.tag.*;
@@ -242,8 +243,7 @@ public class WavTagWriter {
      * <p/>
      * Can be used when chunk is not the last chunk
      * <p/>
-     * Continually copy a 4mb chunk, write the chunk and repeat until the rest of the file after the tag
-     * is rewritten
+     * Moves the rest of the file after the tag up over the tag, a chunk at a time
      *
      * @param fc
      * @param endOfExistingChunk
@@ -251,18 +251,9 @@ public class WavTagWriter {
      * @throws IOException
      */
     private void deleteTagChunk(final FileChannel fc, int endOfExistingChunk, final int lengthTagChunk) throws IOException {
-        //Position for reading after the tag
-        fc.position(endOfExistingChunk);
-
-        final ByteBuffer buffer = ByteBuffer.allocate((int) TagOptionSingleton.getInstance().getWriteChunkSize());
-        while (fc.read(buffer) >= 0 || buffer.position() != 0) {
-            buffer.flip();
-            final long readPosition = fc.position();
-            fc.position(readPosition - lengthTagChunk - buffer.limit());
-            fc.write(buffer);
-            fc.position(readPosition);
-            buffer.compact();
-        }
+        ChannelShifter.shift(fc, endOfExistingChunk, fc.size(), -lengthTagChunk);
+        fc.position(fc.size());
+
         //Truncate the file after the last chunk
         final long newLength = fc.size() - lengthTagChunk;
         logger.config(loggingName + " Setting new length to:" + newLength);
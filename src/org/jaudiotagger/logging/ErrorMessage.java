@@ -108,6 +108,8 @@ public enum ErrorMessage {
     ID3_UNABLE_TO_DECOMPRESS_FRAME("Unable to decompress frame {0} in file {1} because {2}"),
     NO_WRITER_FOR_THIS_FORMAT("No Writer associated with this extension:{0}"),
     NO_READER_FOR_THIS_FORMAT("No Reader associated with this extension:{0}"),
+    NO_CHANNEL_WRITER_FOR_THIS_FORMAT("Unable to write {0} to a channel, it can only be written to a file"),
+    NO_CHANNEL_READER_FOR_THIS_FORMAT("Unable to read {0} from a channel, it can only be read from a file"),
     NO_DELETER_FOR_THIS_FORMAT("No Deleter associated with this extension:{0}"),
     UNABLE_TO_FIND_FILE("Unable to find:{0}"),
     NO_PERMISSIONS_TO_WRITE_TO_FILE("Unable to write to:{0}"),
@@ -120,6 +122,11 @@ public enum ErrorMessage {
     NO_AUDIO_HEADER_FOUND("No audio header found within {0}"),
     NOT_STANDARD_MP$_GENRE("This is not a standard genre value, use custom genre field instead"),
     FLAC_NO_BLOCKTYPE("Flac file has invalid block type {0}"),
+    AUDIO_DATA_POSITION_UNKNOWN("Unable to hash the audio of {0} because the position of the audio data is not known"),
+    SHIFT_JOURNAL_EXISTS("Unable to move the audio of {0} because an earlier move was interrupted, it must be resumed or rolled back using the journal {1}"),
+    SHIFT_JOURNAL_PENDING("Unable to read {0} because an earlier move of its audio was interrupted, it must be resumed or rolled back using the journal {1}"),
+    SHIFT_JOURNAL_INVALID("The journal {0} is not valid so the interrupted move of the audio cannot be recovered"),
+    SHIFT_JOURNAL_RECOVERING("{1} the interrupted move of the audio of {0}:{2}"),
     ;
 
 
@@ -37,6 +37,7 @@ import org.jaudiotagger.tag.id3.framebody.ID3v24FrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.lyrics3.Lyrics3v2Fields;
 import org.jaudiotagger.tag.options.PadNumberOption;
+import org.jaudiotagger.tag.options.PaddingStrategy;
 import org.jaudiotagger.tag.reference.GenreTypes;
 import org.jaudiotagger.tag.reference.ID3V2Version;
 import org.jaudiotagger.tag.reference.Languages;
@@ -46,8 +47,10 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistSaveOptions;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class TagOptionSingleton {
+public class TagOptionSingleton implements Cloneable {
     private boolean isWriteWavForTwonky = false;
 
     private WavOptions wavOptions = WavOptions.READ_ID3_ONLY;
@@ -70,6 +73,7 @@ public class TagOptionSingleton {
     }
 
     public void setWavOptions(WavOptions wavOptions) {
+        checkModifiable();
         this.wavOptions = wavOptions;
     }
 
@@ -80,6 +84,7 @@ public class TagOptionSingleton {
     private WavSaveOptions wavSaveOptions = WavSaveOptions.SAVE_BOTH;
 
     public void setWavSaveOptions(WavSaveOptions wavSaveOptions) {
+        checkModifiable();
         this.wavSaveOptions = wavSaveOptions;
     }
 
@@ -90,6 +95,7 @@ public class TagOptionSingleton {
     private WavSaveOrder wavSaveOrder = WavSaveOrder.INFO_THEN_ID3;
 
     public void setWavSaveOrder(WavSaveOrder wavSaveOrder) {
+        checkModifiable();
         this.wavSaveOrder = wavSaveOrder;
     }
 
@@ -100,6 +106,7 @@ public class TagOptionSingleton {
     private VorbisAlbumArtistSaveOptions vorbisAlbumArtistSaveOptions = VorbisAlbumArtistSaveOptions.WRITE_ALBUMARTIST;
 
     public void setVorbisAlbumArtistSaveOptions(VorbisAlbumArtistSaveOptions vorbisAlbumArtistSaveOptions) {
+        checkModifiable();
         this.vorbisAlbumArtistSaveOptions = vorbisAlbumArtistSaveOptions;
     }
 
@@ -110,6 +117,7 @@ public class TagOptionSingleton {
     private VorbisAlbumArtistReadOptions vorbisAlbumArtistReadOptions = VorbisAlbumArtistReadOptions.READ_ALBUMARTIST_THEN_JRIVER;
 
     public void setVorbisAlbumArtistReadOptions(VorbisAlbumArtistReadOptions vorbisAlbumArtistReadOptions) {
+        checkModifiable();
         this.vorbisAlbumArtistReadOptions = vorbisAlbumArtistReadOptions;
     }
 
@@ -120,7 +128,7 @@ public class TagOptionSingleton {
     /**
      *
      */
-    private static HashMap<String, TagOptionSingleton> tagOptionTable = new HashMap<String, TagOptionSingleton>();
+    private static final ConcurrentHashMap<String, TagOptionSingleton> tagOptionTable = new ConcurrentHashMap<String, TagOptionSingleton>();
 
     /**
      *
@@ -130,7 +138,18 @@ public class TagOptionSingleton {
     /**
      *
      */
-    private static String defaultOptions = DEFAULT;
+    private static volatile String defaultOptions = DEFAULT;
+
+    /**
+     * Options used by the current thread instead of the default instance, whilst reading or writing with a
+     * {@link TagOptions} snapshot
+     */
+    private static final ThreadLocal<TagOptionSingleton> scopedOptions = new ThreadLocal<TagOptionSingleton>();
+
+    /**
+     * Set on the copies held by a {@link TagOptions} snapshot, which cannot be changed
+     */
+    private boolean readOnly = false;
 
     /**
      *
@@ -372,6 +391,46 @@ public class TagOptionSingleton {
      */
     private boolean preserveFileIdentity = true;
 
+    /**
+     * Leave artwork image data in the file when reading, only loading it when asked for
+     */
+    private boolean lazyArtwork = false;
+
+    /**
+     * Read FLAC, WAV, AIFF and DSF files through a memory mapping of the start of the file
+     */
+    private boolean mappedRead = false;
+
+    /**
+     * Maximum number of bytes from the start of the file mapped when {@link #mappedRead} is set, default 16mb
+     */
+    private long mappedReadSize = (16 * 1024 * 1024);
+
+    /**
+     * Walk every frame of MP3 files when reading to find the exact track length
+     */
+    private boolean accurateMp3Length = false;
+
+    /**
+     * How much padding to leave after the metadata when the audio has to be moved to make room for it
+     */
+    private PaddingStrategy paddingStrategy = PaddingStrategy.FIXED;
+
+    /**
+     * Padding in bytes used by {@link PaddingStrategy#FIXED}, negative to use the default for each format
+     */
+    private int paddingSize = -1;
+
+    /**
+     * Padding used by {@link PaddingStrategy#PERCENTAGE} as a percentage of the size of the metadata
+     */
+    private int paddingPercentage = 10;
+
+    /**
+     * Move the audio of MP3 files within the file when the ID3v2 tag grows, rather than copying it to a new file
+     */
+    private boolean shiftMp3AudioInPlace = false;
+
     /**
      *
      */
@@ -389,6 +448,10 @@ public class TagOptionSingleton {
      * @return
      */
     public static TagOptionSingleton getInstance() {
+        TagOptionSingleton scoped = scopedOptions.get();
+        if (scoped != null) {
+            return scoped;
+        }
         return getInstance(defaultOptions);
     }
 
@@ -401,16 +464,80 @@ public class TagOptionSingleton {
 
         if (tagOptions == null) {
             tagOptions = new TagOptionSingleton();
-            tagOptionTable.put(instanceKey, tagOptions);
+            TagOptionSingleton existing = tagOptionTable.putIfAbsent(instanceKey, tagOptions);
+            if (existing != null) {
+                tagOptions = existing;
+            }
         }
 
         return tagOptions;
     }
 
+    /**
+     * @return new options with every option set to its default value, not registered under any key
+     */
+    static TagOptionSingleton createDefaults() {
+        return new TagOptionSingleton();
+    }
+
+    /**
+     * Make the options returned by {@link #getInstance()} on the current thread
+     *
+     * @param options to use, or null to go back to the default instance
+     * @return the options previously in use on this thread, or null if it was using the default instance
+     */
+    static TagOptionSingleton setScopedOptions(TagOptionSingleton options) {
+        TagOptionSingleton previous = scopedOptions.get();
+        if (options == null) {
+            scopedOptions.remove();
+        } else {
+            scopedOptions.set(options);
+        }
+        return previous;
+    }
+
+    /**
+     * Copy these options, the copy does not share any state with the original
+     *
+     * @param readOnly if true the copy cannot be changed
+     * @return the copy
+     */
+    TagOptionSingleton copy(boolean readOnly) {
+        TagOptionSingleton copy;
+        try {
+            copy = (TagOptionSingleton) super.clone();
+        } catch (CloneNotSupportedException cnse) {
+            throw new RuntimeException(cnse);
+        }
+        copy.keywordMap = new HashMap<Class<? extends ID3v24FrameBody>, LinkedList<String>>();
+        for (Map.Entry<Class<? extends ID3v24FrameBody>, LinkedList<String>> entry : keywordMap.entrySet()) {
+            copy.keywordMap.put(entry.getKey(), new LinkedList<String>(entry.getValue()));
+        }
+        copy.lyrics3SaveFieldMap = new HashMap<String, Boolean>(lyrics3SaveFieldMap);
+        copy.parenthesisMap = new HashMap<String, String>(parenthesisMap);
+        copy.replaceWordMap = new HashMap<String, String>(replaceWordMap);
+        copy.readOnly = readOnly;
+        return copy;
+    }
+
+    /**
+     * @return true if these options belong to a {@link TagOptions} snapshot and cannot be changed
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkModifiable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Options belonging to a TagOptions snapshot cannot be changed");
+        }
+    }
+
     /**
      * @param filenameTagSave
      */
     public void setFilenameTagSave(boolean filenameTagSave) {
+        checkModifiable();
         this.filenameTagSave = filenameTagSave;
     }
 
@@ -425,6 +552,7 @@ public class TagOptionSingleton {
      * @param id3v2Version
      */
     public void setID3V2Version(ID3V2Version id3v2Version) {
+        checkModifiable();
         this.id3v2Version = id3v2Version;
     }
 
@@ -455,6 +583,7 @@ public class TagOptionSingleton {
      * @param id3v1Save
      */
     public void setId3v1Save(boolean id3v1Save) {
+        checkModifiable();
         this.id3v1Save = id3v1Save;
     }
 
@@ -469,6 +598,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveAlbum
      */
     public void setId3v1SaveAlbum(boolean id3v1SaveAlbum) {
+        checkModifiable();
         this.id3v1SaveAlbum = id3v1SaveAlbum;
     }
 
@@ -483,6 +613,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveArtist
      */
     public void setId3v1SaveArtist(boolean id3v1SaveArtist) {
+        checkModifiable();
         this.id3v1SaveArtist = id3v1SaveArtist;
     }
 
@@ -497,6 +628,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveComment
      */
     public void setId3v1SaveComment(boolean id3v1SaveComment) {
+        checkModifiable();
         this.id3v1SaveComment = id3v1SaveComment;
     }
 
@@ -511,6 +643,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveGenre
      */
     public void setId3v1SaveGenre(boolean id3v1SaveGenre) {
+        checkModifiable();
         this.id3v1SaveGenre = id3v1SaveGenre;
     }
 
@@ -525,6 +658,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveTitle
      */
     public void setId3v1SaveTitle(boolean id3v1SaveTitle) {
+        checkModifiable();
         this.id3v1SaveTitle = id3v1SaveTitle;
     }
 
@@ -539,6 +673,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveTrack
      */
     public void setId3v1SaveTrack(boolean id3v1SaveTrack) {
+        checkModifiable();
         this.id3v1SaveTrack = id3v1SaveTrack;
     }
 
@@ -553,6 +688,7 @@ public class TagOptionSingleton {
      * @param id3v1SaveYear
      */
     public void setId3v1SaveYear(boolean id3v1SaveYear) {
+        checkModifiable();
         this.id3v1SaveYear = id3v1SaveYear;
     }
 
@@ -568,6 +704,7 @@ public class TagOptionSingleton {
      * @param id3v2PaddingCopyTag
      */
     public void setId3v2PaddingCopyTag(boolean id3v2PaddingCopyTag) {
+        checkModifiable();
         this.id3v2PaddingCopyTag = id3v2PaddingCopyTag;
     }
 
@@ -583,6 +720,7 @@ public class TagOptionSingleton {
      * @param id3v2PaddingWillShorten
      */
     public void setId3v2PaddingWillShorten(boolean id3v2PaddingWillShorten) {
+        checkModifiable();
         this.id3v2PaddingWillShorten = id3v2PaddingWillShorten;
     }
 
@@ -597,6 +735,7 @@ public class TagOptionSingleton {
      * @param id3v2Save
      */
     public void setId3v2Save(boolean id3v2Save) {
+        checkModifiable();
         this.id3v2Save = id3v2Save;
     }
 
@@ -631,6 +770,7 @@ public class TagOptionSingleton {
      * @param lang language ID, [ISO-639-2] ISO/FDIS 639-2 definition
      */
     public void setLanguage(String lang) {
+        checkModifiable();
         if (Languages.getInstanceOf().getIdToValueMap().containsKey(lang)) {
             language = lang;
         }
@@ -649,6 +789,7 @@ public class TagOptionSingleton {
      * @param lyrics3KeepEmptyFieldIfRead
      */
     public void setLyrics3KeepEmptyFieldIfRead(boolean lyrics3KeepEmptyFieldIfRead) {
+        checkModifiable();
         this.lyrics3KeepEmptyFieldIfRead = lyrics3KeepEmptyFieldIfRead;
     }
 
@@ -663,6 +804,7 @@ public class TagOptionSingleton {
      * @param lyrics3Save
      */
     public void setLyrics3Save(boolean lyrics3Save) {
+        checkModifiable();
         this.lyrics3Save = lyrics3Save;
     }
 
@@ -677,6 +819,7 @@ public class TagOptionSingleton {
      * @param lyrics3SaveEmptyField
      */
     public void setLyrics3SaveEmptyField(boolean lyrics3SaveEmptyField) {
+        checkModifiable();
         this.lyrics3SaveEmptyField = lyrics3SaveEmptyField;
     }
 
@@ -694,6 +837,7 @@ public class TagOptionSingleton {
      * @param save true if you want to save this specific Lyrics3 field.
      */
     public void setLyrics3SaveField(String id, boolean save) {
+        checkModifiable();
         this.lyrics3SaveFieldMap.put(id, save);
     }
 
@@ -732,6 +876,7 @@ public class TagOptionSingleton {
      * @param numberMP3SyncFrame number of MP3 frames to sync
      */
     public void setNumberMP3SyncFrame(int numberMP3SyncFrame) {
+        checkModifiable();
         this.numberMP3SyncFrame = numberMP3SyncFrame;
     }
 
@@ -774,6 +919,7 @@ public class TagOptionSingleton {
      *
      */
     public void setOriginalSavedAfterAdjustingID3v2Padding(boolean originalSavedAfterAdjustingID3v2Padding) {
+        checkModifiable();
         this.originalSavedAfterAdjustingID3v2Padding = originalSavedAfterAdjustingID3v2Padding;
     }
 
@@ -798,6 +944,7 @@ public class TagOptionSingleton {
      * @param tsf the new default time stamp format
      */
     public void setTimeStampFormat(byte tsf) {
+        checkModifiable();
         if ((tsf == 1) || (tsf == 2)) {
             timeStampFormat = tsf;
         }
@@ -821,6 +968,7 @@ public class TagOptionSingleton {
      *
      */
     public void setToDefault() {
+        checkModifiable();
         isWriteWavForTwonky = false;
         wavOptions = WavOptions.READ_ID3_UNLESS_ONLY_INFO;
         wavSaveOptions = WavSaveOptions.SAVE_BOTH;
@@ -863,6 +1011,14 @@ public class TagOptionSingleton {
         id3v2Version = ID3V2Version.ID3_V23;
         checkIsWritable = false;
         preserveFileIdentity = false;
+        lazyArtwork = false;
+        mappedRead = false;
+        mappedReadSize = (16 * 1024 * 1024);
+        accurateMp3Length = false;
+        paddingStrategy = PaddingStrategy.FIXED;
+        paddingSize = -1;
+        paddingPercentage = 10;
+        shiftMp3AudioInPlace = false;
         //default all lyrics3 fields to save. id3v1 fields are individual
         // settings. id3v2 fields are always looked at to save.
         Iterator<String> iterator = Lyrics3v2Fields.getInstanceOf().getIdToValueMap().keySet().iterator();
@@ -951,6 +1107,7 @@ public class TagOptionSingleton {
      * @throws TagException
      */
     public void addKeyword(Class<? extends ID3v24FrameBody> id3v2FrameBodyClass, String keyword) throws TagException {
+        checkModifiable();
         if (!AbstractID3v2FrameBody.class.isAssignableFrom(id3v2FrameBodyClass)) {
             throw new TagException("Invalid class type. Must be AbstractId3v2FrameBody " + id3v2FrameBodyClass);
         }
@@ -974,6 +1131,7 @@ public class TagOptionSingleton {
      * @param close
      */
     public void addParenthesis(String open, String close) {
+        checkModifiable();
         parenthesisMap.put(open, close);
     }
 
@@ -982,6 +1140,7 @@ public class TagOptionSingleton {
      * @param newWord
      */
     public void addReplaceWord(String oldWord, String newWord) {
+        checkModifiable();
         replaceWordMap.put(oldWord, newWord);
     }
 
@@ -999,6 +1158,7 @@ public class TagOptionSingleton {
      *                   be mistaken for audio marker
      */
     public void setUnsyncTags(boolean unsyncTags) {
+        checkModifiable();
         this.unsyncTags = unsyncTags;
     }
 
@@ -1018,6 +1178,7 @@ public class TagOptionSingleton {
      *
      */
     public void setRemoveTrailingTerminatorOnWrite(boolean removeTrailingTerminatorOnWrite) {
+        checkModifiable();
         this.removeTrailingTerminatorOnWrite = removeTrailingTerminatorOnWrite;
     }
 
@@ -1038,6 +1199,7 @@ public class TagOptionSingleton {
      * @param id3v23DefaultTextEncoding
      */
     public void setId3v23DefaultTextEncoding(byte id3v23DefaultTextEncoding) {
+        checkModifiable();
         if ((id3v23DefaultTextEncoding == TextEncoding.ISO_8859_1) || (id3v23DefaultTextEncoding == TextEncoding.UTF_16)) {
             this.id3v23DefaultTextEncoding = id3v23DefaultTextEncoding;
         }
@@ -1060,6 +1222,7 @@ public class TagOptionSingleton {
      * @param id3v24DefaultTextEncoding
      */
     public void setId3v24DefaultTextEncoding(byte id3v24DefaultTextEncoding) {
+        checkModifiable();
         if ((id3v24DefaultTextEncoding == TextEncoding.ISO_8859_1) || (id3v24DefaultTextEncoding == TextEncoding.UTF_16) || (id3v24DefaultTextEncoding == TextEncoding.UTF_16BE) || (id3v24DefaultTextEncoding == TextEncoding.UTF_8)) {
             this.id3v24DefaultTextEncoding = id3v24DefaultTextEncoding;
         }
@@ -1083,6 +1246,7 @@ public class TagOptionSingleton {
      * @param id3v24UnicodeTextEncoding
      */
     public void setId3v24UnicodeTextEncoding(byte id3v24UnicodeTextEncoding) {
+        checkModifiable();
         if ((id3v24UnicodeTextEncoding == TextEncoding.UTF_16) || (id3v24UnicodeTextEncoding == TextEncoding.UTF_16BE) || (id3v24UnicodeTextEncoding == TextEncoding.UTF_8)) {
             this.id3v24UnicodeTextEncoding = id3v24UnicodeTextEncoding;
         }
@@ -1108,6 +1272,7 @@ public class TagOptionSingleton {
      *
      */
     public void setResetTextEncodingForExistingFrames(boolean resetTextEncodingForExistingFrames) {
+        checkModifiable();
         this.resetTextEncodingForExistingFrames = resetTextEncodingForExistingFrames;
     }
 
@@ -1125,6 +1290,7 @@ public class TagOptionSingleton {
      * @param truncateTextWithoutErrors
      */
     public void setTruncateTextWithoutErrors(boolean truncateTextWithoutErrors) {
+        checkModifiable();
         this.truncateTextWithoutErrors = truncateTextWithoutErrors;
     }
 
@@ -1133,6 +1299,7 @@ public class TagOptionSingleton {
     }
 
     public void setPadNumbers(boolean padNumbers) {
+        checkModifiable();
         this.padNumbers = padNumbers;
     }
 
@@ -1141,6 +1308,7 @@ public class TagOptionSingleton {
     }
 
     public void setAndroid(boolean android) {
+        checkModifiable();
         isAndroid = android;
     }
 
@@ -1154,6 +1322,7 @@ public class TagOptionSingleton {
     }
 
     public void setPlayerCompatability(int playerCompatability) {
+        checkModifiable();
         this.playerCompatability = playerCompatability;
     }
 
@@ -1166,6 +1335,7 @@ public class TagOptionSingleton {
     }
 
     public void setEncodeUTF16BomAsLittleEndian(boolean encodeUTF16BomAsLittleEndian) {
+        checkModifiable();
         isEncodeUTF16BomAsLittleEndian = encodeUTF16BomAsLittleEndian;
     }
 
@@ -1179,6 +1349,7 @@ public class TagOptionSingleton {
     }
 
     public void setWriteChunkSize(long writeChunkSize) {
+        checkModifiable();
         this.writeChunkSize = writeChunkSize;
     }
 
@@ -1191,6 +1362,7 @@ public class TagOptionSingleton {
     }
 
     public void setWriteMp4GenresAsText(boolean writeMp4GenresAsText) {
+        checkModifiable();
         isWriteMp4GenresAsText = writeMp4GenresAsText;
     }
 
@@ -1203,6 +1375,7 @@ public class TagOptionSingleton {
     }
 
     public void setWriteMp3GenresAsText(boolean writeMp3GenresAsText) {
+        checkModifiable();
         isWriteMp3GenresAsText = writeMp3GenresAsText;
     }
 
@@ -1214,6 +1387,7 @@ public class TagOptionSingleton {
     }
 
     public void setPadNumberTotalLength(PadNumberOption padNumberTotalLength) {
+        checkModifiable();
         this.padNumberTotalLength = padNumberTotalLength;
     }
 
@@ -1225,6 +1399,7 @@ public class TagOptionSingleton {
     }
 
     public void setAPICDescriptionITunesCompatible(boolean APICDescriptionITunesCompatible) {
+        checkModifiable();
         isAPICDescriptionITunesCompatible = APICDescriptionITunesCompatible;
     }
 
@@ -1237,6 +1412,7 @@ public class TagOptionSingleton {
     }
 
     public void setCheckIsWritable(boolean checkIsWritable) {
+        checkModifiable();
         this.checkIsWritable = checkIsWritable;
     }
 
@@ -1264,14 +1440,190 @@ public class TagOptionSingleton {
      * @see #isPreserveFileIdentity()
      */
     public void setPreserveFileIdentity(final boolean preserveFileIdentity) {
+        checkModifiable();
         this.preserveFileIdentity = preserveFileIdentity;
     }
 
+    /**
+     * @return {@code true} if artwork image data is left in the file when reading. Default is {@code false}.
+     * @see #setLazyArtwork(boolean)
+     */
+    public boolean isLazyArtwork() {
+        return lazyArtwork;
+    }
+
+    /**
+     * If set to {@code true} the image data of artwork in FLAC picture blocks, ID3v2 picture frames in MP3 files
+     * and MP4 cover art is not read with the rest of the tag, instead {@link org.jaudiotagger.tag.images.LazyArtwork}
+     * reads it from the file when it is first asked for. Vorbis METADATA_BLOCK_PICTURE fields are only decoded
+     * when asked for.
+     * <p>
+     * Useful when only the presence, type or size of the artwork is required, the file must not be modified by
+     * anything else whilst the tag is in use.
+     *
+     * @param lazyArtwork {@code true} or {@code false}
+     */
+    public void setLazyArtwork(boolean lazyArtwork) {
+        checkModifiable();
+        this.lazyArtwork = lazyArtwork;
+    }
+
+    /**
+     * @return {@code true} if files are read through a memory mapping. Default is {@code false}.
+     * @see #setMappedRead(boolean)
+     */
+    public boolean isMappedRead() {
+        return mappedRead;
+    }
+
+    /**
+     * If set to {@code true} FLAC, WAV, AIFF and DSF files are read through a read only memory mapping of the start
+     * of the file, the whole file if it is no larger than {@link #getMappedReadSize()}. This saves a system call and
+     * a buffer allocation for each of the many small reads made when reading the metadata, useful when scanning a
+     * large library on local storage. The mapping is released as soon as the file has been read.
+     *
+     * @param mappedRead {@code true} or {@code false}
+     */
+    public void setMappedRead(boolean mappedRead) {
+        checkModifiable();
+        this.mappedRead = mappedRead;
+    }
+
+    /**
+     * @return maximum number of bytes from the start of the file that are mapped when reading
+     * @see #setMappedRead(boolean)
+     */
+    public long getMappedReadSize() {
+        return mappedReadSize;
+    }
+
+    /**
+     * @param mappedReadSize maximum number of bytes from the start of the file that are mapped when reading, data
+     *                       beyond this is read from the file as usual
+     * @see #setMappedRead(boolean)
+     */
+    public void setMappedReadSize(long mappedReadSize) {
+        checkModifiable();
+        this.mappedReadSize = mappedReadSize;
+    }
+
+    /**
+     * @return {@code true} if the track length of MP3 files is found by walking every frame. Default is {@code false}.
+     * @see #setAccurateMp3Length(boolean)
+     */
+    public boolean isAccurateMp3Length() {
+        return accurateMp3Length;
+    }
+
+    /**
+     * If set to {@code true} every frame of the audio of an MP3 file is read to give the exact number of frames,
+     * track length and average bitrate, and an index of the frame positions, see
+     * {@link org.jaudiotagger.audio.mp3.MP3AudioHeader#getFrameIndex()}. Otherwise these are estimated from the first
+     * frame or taken from the Xing or VBRI header, which is quick but can be well out for a variable bitrate file
+     * without either. Reading the whole of the audio makes reading a file much slower.
+     *
+     * @param accurateMp3Length {@code true} or {@code false}
+     */
+    public void setAccurateMp3Length(boolean accurateMp3Length) {
+        checkModifiable();
+        this.accurateMp3Length = accurateMp3Length;
+    }
+
+    /**
+     * @return how much padding is left after the metadata when the audio has to be moved. Default is
+     * {@link PaddingStrategy#FIXED}.
+     * @see #setPaddingStrategy(PaddingStrategy)
+     */
+    public PaddingStrategy getPaddingStrategy() {
+        return paddingStrategy;
+    }
+
+    /**
+     * Set how much padding is left after the metadata when it no longer fits in the space before the audio, and so
+     * the audio has to be moved, the same for ID3v2 tags in MP3 files, the padding block of FLAC files, the
+     * {@code free} atom after the {@code moov} atom of MP4 files and the comment header of Ogg Vorbis files.
+     * <p>
+     * Moving the audio means copying the whole file, so if the metadata is likely to grow each time it is saved a
+     * larger amount of padding means most saves only need to write the metadata. How often each happened is given by
+     * {@link org.jaudiotagger.audio.generic.PaddingPolicy#getStatistics()}.
+     *
+     * @param paddingStrategy the strategy to use
+     * @see #setPaddingSize(int)
+     * @see #setPaddingPercentage(int)
+     */
+    public void setPaddingStrategy(PaddingStrategy paddingStrategy) {
+        checkModifiable();
+        this.paddingStrategy = paddingStrategy;
+    }
+
+    /**
+     * @return padding in bytes used by {@link PaddingStrategy#FIXED}, negative if the default for each format is used
+     */
+    public int getPaddingSize() {
+        return paddingSize;
+    }
+
+    /**
+     * @param paddingSize padding in bytes used by {@link PaddingStrategy#FIXED}, or negative to use the default for
+     *                    each format, which is 100 bytes for ID3v2, 4000 bytes for FLAC and none for MP4 and Ogg Vorbis
+     */
+    public void setPaddingSize(int paddingSize) {
+        checkModifiable();
+        this.paddingSize = paddingSize;
+    }
+
+    /**
+     * @return padding used by {@link PaddingStrategy#PERCENTAGE} as a percentage of the size of the metadata
+     */
+    public int getPaddingPercentage() {
+        return paddingPercentage;
+    }
+
+    /**
+     * @param paddingPercentage padding used by {@link PaddingStrategy#PERCENTAGE} as a percentage of the size of the
+     *                          metadata, default is 10
+     */
+    public void setPaddingPercentage(int paddingPercentage) {
+        checkModifiable();
+        this.paddingPercentage = paddingPercentage;
+    }
+
+    /**
+     * @return {@code true} if the audio of MP3 files is moved within the file when the ID3v2 tag grows. Default is
+     * {@code false}.
+     * @see #setShiftMp3AudioInPlace(boolean)
+     */
+    public boolean isShiftMp3AudioInPlace() {
+        return shiftMp3AudioInPlace;
+    }
+
+    /**
+     * If set to {@code true}, when the ID3v2 tag of an MP3 file no longer fits before the audio the file is extended
+     * and the audio moved towards the end of the file, a chunk at a time starting with the last chunk. Otherwise the
+     * audio is copied to a new file which then replaces the original, needing room for two copies of the file and
+     * giving the file a new identity, which breaks hard links.
+     * <p>
+     * Whilst the audio is moved its progress is recorded in a journal beside the file, see
+     * {@link org.jaudiotagger.audio.io.ShiftJournal}. If the move or the write of the tag fails the move is rolled
+     * back, and if it is interrupted the file cannot be used until it has been repaired by
+     * {@link org.jaudiotagger.audio.io.ShiftJournal#resume(java.io.File)} or
+     * {@link org.jaudiotagger.audio.io.ShiftJournal#rollBack(java.io.File)}. Each chunk is written to the device before
+     * the next, and when the audio is moved by less than {@link #getWriteChunkSize()} each chunk is also copied to the
+     * journal first, so this is slower than copying.
+     *
+     * @param shiftMp3AudioInPlace {@code true} or {@code false}
+     */
+    public void setShiftMp3AudioInPlace(boolean shiftMp3AudioInPlace) {
+        checkModifiable();
+        this.shiftMp3AudioInPlace = shiftMp3AudioInPlace;
+    }
+
     public boolean isWriteWavForTwonky() {
         return isWriteWavForTwonky;
     }
 
     public void setWriteWavForTwonky(boolean isWriteWavForTwonky) {
+        checkModifiable();
         this.isWriteWavForTwonky = isWriteWavForTwonky;
     }
 }
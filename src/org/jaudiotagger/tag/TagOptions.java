@@ -0,0 +1,102 @@
+package org.jaudiotagger.tag;
+
+import java.util.function.Consumer;
+
+/**
+ * An unchangeable copy of the tag options, for reading and writing files with different options at the same time.
+ * <p>
+ * {@link TagOptionSingleton} holds the options used by default, shared by every thread. A snapshot is passed to
+ * methods such as {@link org.jaudiotagger.audio.AudioFileIO#read(java.io.File, TagOptions)}, which use it
+ * instead for the duration of the call, so several calls can each use their own options without affecting each
+ * other or the default options.
+ * <pre>
+ *     TagOptions options = TagOptions.snapshot().with(o -&gt; o.setID3V2Version(ID3V2Version.ID3_V24));
+ *     AudioFile audioFile = AudioFileIO.read(file, options);
+ *     ...
+ *     AudioFileIO.write(audioFile, options);
+ * </pre>
+ * The options are in use by the thread making the call, so they also apply to anything called by the readers and
+ * writers on that thread, such as creating a default ID3 tag.
+ */
+public final class TagOptions {
+    private final TagOptionSingleton options;
+
+    private TagOptions(TagOptionSingleton options) {
+        this.options = options;
+    }
+
+    /**
+     * @return a copy of the options currently in use, later changes to those options do not change the copy
+     */
+    public static TagOptions snapshot() {
+        return of(TagOptionSingleton.getInstance());
+    }
+
+    /**
+     * @param options to copy
+     * @return a copy of the options, later changes to them do not change the copy
+     */
+    public static TagOptions of(TagOptionSingleton options) {
+        return new TagOptions(options.copy(true));
+    }
+
+    /**
+     * @return every option set to its default value
+     */
+    public static TagOptions defaults() {
+        return new TagOptions(TagOptionSingleton.createDefaults().copy(true));
+    }
+
+    /**
+     * @param changes applied to a copy of these options
+     * @return new options with the changes made, these options are unchanged
+     */
+    public TagOptions with(Consumer<TagOptionSingleton> changes) {
+        TagOptionSingleton copy = options.copy(false);
+        changes.accept(copy);
+        return of(copy);
+    }
+
+    /**
+     * @return the option values, these cannot be changed and calling any of the setters fails with
+     * {@link UnsupportedOperationException}
+     */
+    public TagOptionSingleton getOptions() {
+        return options;
+    }
+
+    /**
+     * Use these options on the current thread until the returned scope is closed, scopes must be closed in the
+     * reverse order to which they were opened
+     *
+     * <pre>
+     *     try (TagOptions.Scope scope = options.use()) {
+     *         ...
+     *     }
+     * </pre>
+     *
+     * @return scope which restores the options previously in use when closed
+     */
+    public Scope use() {
+        return new Scope(TagOptionSingleton.setScopedOptions(options));
+    }
+
+    /**
+     * The period during which a thread uses a snapshot rather than the default options
+     */
+    public static final class Scope implements AutoCloseable {
+        private final TagOptionSingleton previous;
+        private boolean closed;
+
+        private Scope(TagOptionSingleton previous) {
+            this.previous = previous;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                TagOptionSingleton.setScopedOptions(previous);
+            }
+        }
+    }
+}
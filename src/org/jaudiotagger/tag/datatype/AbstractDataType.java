@@ -24,6 +24,7 @@ import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
@@ -276,6 +277,38 @@ public abstract class AbstractDataType {
      */
     public abstract void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException;
 
+    /**
+     * Read the datatype from the buffer starting at offset.
+     * <p>
+     * The buffer holds the data of the frame body from zero up to its limit, and is read using absolute positions
+     * so its position is not changed. Datatypes read by ID3v2 frame bodies override this to decode directly from
+     * the buffer, by default the data is copied into an array and read by {@link #readByteArray(byte[], int)}.
+     *
+     * @param buffer
+     * @param offset
+     * @throws org.jaudiotagger.tag.InvalidDataTypeException
+     */
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        byte[] arr = new byte[buffer.limit()];
+        ByteBuffer source = buffer.duplicate();
+        source.position(0);
+        source.get(arr);
+        readByteArray(arr, offset);
+    }
+
+    /**
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return a view of length bytes of the buffer starting at offset, positioned at zero
+     */
+    protected static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        return view.slice();
+    }
+
 
     /**
      * Starting point write ID3 Datatype back to array of bytes.
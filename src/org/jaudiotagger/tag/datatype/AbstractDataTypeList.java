@@ -19,6 +19,7 @@ package org.jaudiotagger.tag.datatype;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -80,19 +81,22 @@ public abstract class AbstractDataTypeList<T extends AbstractDataType> extends A
         if (buffer == null) {
             throw new NullPointerException("Byte array is null");
         }
+        readByteBuffer(ByteBuffer.wrap(buffer), offset);
+    }
 
+    public void readByteBuffer(final ByteBuffer buffer, final int offset) throws InvalidDataTypeException {
         if (offset < 0) {
-            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.length);
+            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
         }
 
         // no events
-        if (offset >= buffer.length) {
+        if (offset >= buffer.limit()) {
             getValue().clear();
             return;
         }
-        for (int currentOffset = offset; currentOffset < buffer.length; ) {
+        for (int currentOffset = offset; currentOffset < buffer.limit(); ) {
             final T data = createListElement();
-            data.readByteArray(buffer, currentOffset);
+            data.readByteBuffer(buffer, currentOffset);
             data.setBody(frameBody);
             getValue().add(data);
             currentOffset += data.getSize();
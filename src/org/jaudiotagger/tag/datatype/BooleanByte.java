@@ -25,6 +25,8 @@ package org.jaudiotagger.tag.datatype;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a bit flag within a byte
  */
@@ -95,12 +97,15 @@ public class BooleanByte extends AbstractDataType {
         if (arr == null) {
             throw new NullPointerException("Byte array is null");
         }
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
 
-        if ((offset < 0) || (offset >= arr.length)) {
-            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        if ((offset < 0) || (offset >= buffer.limit())) {
+            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
         }
 
-        byte newValue = arr[offset];
+        byte newValue = buffer.get(offset);
 
         newValue >>= bitPosition;
         newValue &= 0x1;
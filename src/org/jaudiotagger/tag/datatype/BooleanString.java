@@ -25,6 +25,8 @@ package org.jaudiotagger.tag.datatype;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
+
 public class BooleanString extends AbstractDataType {
     /**
      * Creates a new ObjectBooleanString datatype.
@@ -62,6 +64,11 @@ public class BooleanString extends AbstractDataType {
         value = b != '0';
     }
 
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        byte b = buffer.get(offset);
+        value = b != '0';
+    }
+
     /**
      * @return
      */
@@ -22,20 +22,47 @@
  */
 package org.jaudiotagger.tag.datatype;
 
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a stream of bytes, continuing until the end of the buffer. Usually used for binary data or where
  * we havent yet mapped the data to a better fitting type.
+ * <p>
+ * When read from a buffer the bytes are kept as a view of the buffer, they are only copied into an array when the
+ * value is first asked for, so large binary frames such as images are not copied just to parse the tag. The bytes
+ * may also be left in the file, see {@link #setDeferredValue(FileRegion)}.
+ * <p>
+ * A view keeps the whole buffer it was read from in memory until the value is asked for or replaced, so only data of
+ * at least {@link #MIN_VIEW_SIZE} bytes is held as a view, smaller data is copied straight away.
  */
 public class ByteArraySizeTerminated extends AbstractDataType {
+    /**
+     * Data smaller than this is copied when read rather than held as a view of the buffer
+     */
+    public static final int MIN_VIEW_SIZE = 4096;
+
+    /**
+     * View of the bytes read, held instead of value until the value is needed
+     */
+    private ByteBuffer view;
+
+    /**
+     * Region of the file holding the bytes, held instead of value until the value is needed
+     */
+    private FileRegion region;
+
     public ByteArraySizeTerminated(String identifier, AbstractTagFrameBody frameBody) {
         super(identifier, frameBody);
     }
 
     public ByteArraySizeTerminated(ByteArraySizeTerminated object) {
         super(object);
+        this.view = object.view;
+        this.region = object.region;
     }
 
     /**
@@ -44,6 +71,14 @@ public class ByteArraySizeTerminated extends AbstractDataType {
      * @return the size in bytes
      */
     public int getSize() {
+        if (view != null) {
+            return view.limit();
+        }
+
+        if (region != null) {
+            return region.getLength();
+        }
+
         int len = 0;
 
         if (value != null) {
@@ -53,9 +88,106 @@ public class ByteArraySizeTerminated extends AbstractDataType {
         return len;
     }
 
+    /**
+     * Compares the bytes held without copying them out of the buffer or file they were read from, so neither object
+     * is changed
+     */
     public boolean equals(Object obj) {
-        return obj instanceof ByteArraySizeTerminated && super.equals(obj);
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ByteArraySizeTerminated)) {
+            return false;
+        }
+        ByteArraySizeTerminated object = (ByteArraySizeTerminated) obj;
+        if (!this.identifier.equals(object.identifier)) {
+            return false;
+        }
+        ByteBuffer bytes = peekBytes();
+        ByteBuffer otherBytes = object.peekBytes();
+        if ((bytes == null) || (otherBytes == null)) {
+            return bytes == otherBytes;
+        }
+        return bytes.equals(otherBytes);
+    }
 
+    /**
+     * @return the bytes held, or null if none, without keeping a copy of them
+     */
+    private ByteBuffer peekBytes() {
+        if (view != null) {
+            return view.duplicate();
+        }
+        if (region != null) {
+            return ByteBuffer.wrap(region.readDeferred());
+        }
+        if (value == null) {
+            return null;
+        }
+        return ByteBuffer.wrap((byte[]) value);
+    }
+
+    public void setValue(Object value) {
+        view = null;
+        region = null;
+        super.setValue(value);
+    }
+
+    /**
+     * Get the bytes, copying them from the buffer they were read from if this has not been done yet
+     *
+     * @return the bytes held, or null if none
+     * @throws org.jaudiotagger.audio.exceptions.DeferredReadException if the bytes were left in the file and cannot
+     *                                                                 be read
+     */
+    public Object getValue() {
+        if (view != null) {
+            byte[] data = new byte[view.limit()];
+            view.duplicate().get(data);
+            value = data;
+            view = null;
+        }
+        if (region != null) {
+            value = region.readDeferred();
+            region = null;
+        }
+        return value;
+    }
+
+    /**
+     * Leave the bytes in the file, they are read from the file when the value is first asked for
+     *
+     * @param region of the file holding the bytes
+     */
+    public void setDeferredValue(FileRegion region) {
+        this.value = null;
+        this.view = null;
+        this.region = region;
+    }
+
+    /**
+     * @return the region of the file holding the bytes if they have not been read yet, otherwise null
+     */
+    public FileRegion getDeferredValue() {
+        return region;
+    }
+
+    /**
+     * Get the bytes without copying them
+     *
+     * @return read only view of the bytes held, or null if none
+     */
+    public ByteBuffer getByteBuffer() {
+        if (region != null) {
+            getValue();
+        }
+        if (view != null) {
+            return view.asReadOnlyBuffer();
+        }
+        if (value == null) {
+            return null;
+        }
+        return ByteBuffer.wrap((byte[]) value).asReadOnlyBuffer();
     }
 
     /**
@@ -80,10 +212,39 @@ public class ByteArraySizeTerminated extends AbstractDataType {
         }
 
         int len = arr.length - offset;
+        view = null;
+        region = null;
         value = new byte[len];
         System.arraycopy(arr, offset, value, 0, len);
     }
 
+    /**
+     * Keep a view of the buffer from offset to its limit, or a copy if it is smaller than {@link #MIN_VIEW_SIZE}
+     *
+     * @param buffer
+     * @param offset
+     * @throws InvalidDataTypeException
+     */
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
+        }
+
+        value = null;
+        region = null;
+
+        //Empty Byte Array
+        if (offset >= buffer.limit()) {
+            view = null;
+            return;
+        }
+
+        view = slice(buffer, offset, buffer.limit() - offset);
+        if (view.limit() < MIN_VIEW_SIZE) {
+            getValue();
+        }
+    }
+
     /**
      * Because this is usually binary data and could be very long we just return
      * the number of bytes held
@@ -101,6 +262,6 @@ public class ByteArraySizeTerminated extends AbstractDataType {
      */
     public byte[] writeByteArray() {
         logger.config("Writing byte array" + this.getIdentifier());
-        return (byte[]) value;
+        return (byte[]) getValue();
     }
 }
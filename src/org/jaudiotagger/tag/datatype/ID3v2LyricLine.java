@@ -25,6 +25,7 @@ package org.jaudiotagger.tag.datatype;
 import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 
@@ -107,20 +108,23 @@ public class ID3v2LyricLine extends AbstractDataType {
         if (arr == null) {
             throw new NullPointerException("Byte array is null");
         }
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
 
-        if ((offset < 0) || (offset >= arr.length)) {
-            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        if ((offset < 0) || (offset >= buffer.limit())) {
+            throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
         }
 
         //offset += ();
-        text = new String(arr, offset, arr.length - offset - 4, Charset.forName("ISO-8859-1"));
+        text = Charset.forName("ISO-8859-1").decode(slice(buffer, offset, buffer.limit() - offset - 4)).toString();
 
         //text = text.substring(0, text.length() - 5);
         timeStamp = 0;
 
-        for (int i = arr.length - 4; i < arr.length; i++) {
+        for (int i = buffer.limit() - 4; i < buffer.limit(); i++) {
             timeStamp <<= 8;
-            timeStamp += arr[i];
+            timeStamp += buffer.get(i);
         }
     }
 
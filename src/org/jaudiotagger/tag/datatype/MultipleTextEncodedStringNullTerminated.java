@@ -5,6 +5,7 @@ import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
@@ -73,13 +74,17 @@ public class MultipleTextEncodedStringNullTerminated extends AbstractDataType {
      * @throws InvalidDataTypeException if unable to find any null terminated Strings
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         logger.finer("Reading MultipleTextEncodedStringNullTerminated from array from offset:" + offset);
         //Continue until unable to read a null terminated String
         while (true) {
             try {
                 //Read String
                 TextEncodedStringNullTerminated next = new TextEncodedStringNullTerminated(identifier, frameBody);
-                next.readByteArray(arr, offset);
+                next.readByteBuffer(buffer, offset);
 
                 if (next.getSize() == 0) {
                     break;
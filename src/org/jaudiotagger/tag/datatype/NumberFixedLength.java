@@ -27,6 +27,8 @@ import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.ID3Tags;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * Represents a number held as a fixed number of digits.
@@ -112,19 +114,30 @@ public class NumberFixedLength extends AbstractDataType {
         if (arr == null) {
             throw new NullPointerException("Byte array is null");
         }
-        if ((offset < 0) || (offset >= arr.length)) {
-            throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    /**
+     * Read the number from the buffer
+     *
+     * @param buffer
+     * @param offset
+     * @throws InvalidDataTypeException
+     */
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        if ((offset < 0) || (offset >= buffer.limit())) {
+            throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
         }
 
-        if (offset + size > arr.length) {
+        if (offset + size > buffer.limit()) {
             throw new InvalidDataTypeException("Offset plus size to byte array is out of bounds: offset = "
-                    + offset + ", size = " + size + " + arr.length " + arr.length);
+                    + offset + ", size = " + size + " + arr.length " + buffer.limit());
         }
 
         long lvalue = 0;
         for (int i = offset; i < (offset + size); i++) {
             lvalue <<= 8;
-            lvalue += (arr[i] & 0xff);
+            lvalue += (buffer.get(i) & 0xff);
         }
         value = lvalue;
         logger.config("Read NumberFixedlength:" + value);
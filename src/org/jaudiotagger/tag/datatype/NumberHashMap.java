@@ -30,6 +30,7 @@ import org.jaudiotagger.tag.reference.GenreTypes;
 import org.jaudiotagger.tag.reference.PictureTypes;
 import org.jaudiotagger.utils.EqualsUtil;
 
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeSet;
@@ -190,8 +191,8 @@ public class NumberHashMap extends NumberFixedLength implements HashMapInterface
      * @param offset
      * @throws InvalidDataTypeException if emptyValues are not allowed and the eky was invalid.
      */
-    public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
-        super.readByteArray(arr, offset);
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
+        super.readByteBuffer(buffer, offset);
 
         //Mismatch:Superclass uses Long, but maps expect Integer
         Integer intValue = ((Long) value).intValue();
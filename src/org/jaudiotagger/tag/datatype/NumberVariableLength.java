@@ -26,6 +26,8 @@ import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.ID3Tags;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a number which may span a number of bytes when written to file depending what size is to be represented.
  *
@@ -143,7 +145,17 @@ public class NumberVariableLength extends AbstractDataType {
         if (arr == null) {
             throw new NullPointerException("Byte array is null");
         }
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
 
+    /**
+     * Read from buffer
+     *
+     * @param buffer
+     * @param offset
+     * @throws InvalidDataTypeException
+     */
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         //Coding error, should never happen as far as I can see
         if (offset < 0) {
             throw new IllegalArgumentException("negativer offset into an array offset:" + offset);
@@ -153,12 +165,12 @@ public class NumberVariableLength extends AbstractDataType {
         //with this additional datatype wheras it didnt exist but I think this is probably an advantage the frame is
         //more likely to be parsed by other applications if it contains optional fields.
         //if not optional problem with this frame
-        if (offset >= arr.length) {
+        if (offset >= buffer.limit()) {
             if (minLength == 0) {
                 value = (long) 0;
                 return;
             } else {
-                throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
+                throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
             }
         }
 
@@ -166,9 +178,9 @@ public class NumberVariableLength extends AbstractDataType {
 
         //Read the bytes (starting from offset), the most significant byte of the number being constructed is read first,
         //we then shift the resulting long one byte over to make room for the next byte
-        for (int i = offset; i < arr.length; i++) {
+        for (int i = offset; i < buffer.limit(); i++) {
             lvalue <<= 8;
-            lvalue += (arr[i] & 0xff);
+            lvalue += (buffer.get(i) & 0xff);
         }
 
         value = lvalue;
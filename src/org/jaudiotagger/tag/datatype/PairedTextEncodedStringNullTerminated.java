@@ -6,6 +6,7 @@ import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -78,13 +79,17 @@ public class PairedTextEncodedStringNullTerminated extends AbstractDataType {
      * @throws InvalidDataTypeException if unable to find any null terminated Strings
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         logger.finer("Reading PairTextEncodedStringNullTerminated from array from offset:" + offset);
         //Continue until unable to read a null terminated String
         while (true) {
             try {
                 //Read Key
                 TextEncodedStringNullTerminated key = new TextEncodedStringNullTerminated(identifier, frameBody);
-                key.readByteArray(arr, offset);
+                key.readByteBuffer(buffer, offset);
                 size += key.getSize();
                 offset += key.getSize();
                 if (key.getSize() == 0) {
@@ -94,7 +99,7 @@ public class PairedTextEncodedStringNullTerminated extends AbstractDataType {
                 try {
                     //Read Value
                     TextEncodedStringNullTerminated result = new TextEncodedStringNullTerminated(identifier, frameBody);
-                    result.readByteArray(arr, offset);
+                    result.readByteBuffer(buffer, offset);
                     size += result.getSize();
                     offset += result.getSize();
                     if (result.getSize() == 0) {
@@ -105,11 +110,11 @@ public class PairedTextEncodedStringNullTerminated extends AbstractDataType {
                 } catch (InvalidDataTypeException idte) {
                     //Value may not be null terminated if it is the last value
                     //Read Value
-                    if (offset >= arr.length) {
+                    if (offset >= buffer.limit()) {
                         break;
                     }
                     TextEncodedStringSizeTerminated result = new TextEncodedStringSizeTerminated(identifier, frameBody);
-                    result.readByteArray(arr, offset);
+                    result.readByteBuffer(buffer, offset);
                     size += result.getSize();
                     offset += result.getSize();
                     if (result.getSize() == 0) {
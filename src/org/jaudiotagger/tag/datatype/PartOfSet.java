@@ -76,14 +76,18 @@ public class PartOfSet extends AbstractString {
      * @throws IndexOutOfBoundsException
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         logger.finest("Reading from array from offset:" + offset);
 
         //Get the Specified Decoder
         CharsetDecoder decoder = getTextEncodingCharSet().newDecoder();
 
         //Decode sliced inBuffer
-        ByteBuffer inBuffer = ByteBuffer.wrap(arr, offset, arr.length - offset).slice();
-        CharBuffer outBuffer = CharBuffer.allocate(arr.length - offset);
+        ByteBuffer inBuffer = slice(buffer, offset, buffer.limit() - offset);
+        CharBuffer outBuffer = CharBuffer.allocate(buffer.limit() - offset);
         decoder.reset();
         CoderResult coderResult = decoder.decode(inBuffer, outBuffer, true);
         if (coderResult.isError()) {
@@ -97,7 +101,7 @@ public class PartOfSet extends AbstractString {
         value = new PartOfSetValue(stringValue);
 
         //SetSize, important this is correct for finding the next datatype
-        setSize(arr.length - offset);
+        setSize(buffer.limit() - offset);
         logger.config("Read SizeTerminatedString:" + value + " size:" + size);
     }
 
@@ -79,19 +79,26 @@ public class StringFixedLength extends AbstractString {
      * @param offset this is where to start reading in the buffer for this field
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         logger.config("Reading from array from offset:" + offset);
         try {
             final CharsetDecoder decoder = getTextEncodingCharSet().newDecoder();
 
             //Decode buffer if runs into problems should through exception which we
             //catch and then set value to empty string.
-            logger.finest("Array length is:" + arr.length + "offset is:" + offset + "Size is:" + size);
+            logger.finest("Array length is:" + buffer.limit() + "offset is:" + offset + "Size is:" + size);
 
 
-            if (arr.length - offset < size) {
+            if (buffer.limit() - offset < size) {
                 throw new InvalidDataTypeException("byte array is to small to retrieve string of declared length:" + size);
             }
-            String str = decoder.decode(ByteBuffer.wrap(arr, offset, size)).toString();
+            ByteBuffer inBuffer = buffer.duplicate();
+            inBuffer.limit(offset + size);
+            inBuffer.position(offset);
+            String str = decoder.decode(inBuffer).toString();
             if (str == null) {
                 throw new NullPointerException("String is null");
             }
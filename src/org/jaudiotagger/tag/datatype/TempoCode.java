@@ -17,6 +17,8 @@ import org.jaudiotagger.tag.InvalidDataTypeException;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.ID3Tags;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a {@link org.jaudiotagger.tag.id3.framebody.FrameBodySYTC} tempo code.
  *
@@ -66,17 +68,22 @@ public class TempoCode extends AbstractDataType {
         if (arr == null) {
             throw new NullPointerException("Byte array is null");
         }
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    @Override
+    public void readByteBuffer(final ByteBuffer buffer, final int offset) throws InvalidDataTypeException {
         if (offset < 0) {
             throw new IllegalArgumentException("negative offset into an array offset:" + offset);
         }
-        if (offset >= arr.length) {
-            throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
+        if (offset >= buffer.limit()) {
+            throw new InvalidDataTypeException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + buffer.limit());
         }
 
         long lvalue = 0;
-        lvalue += (arr[offset] & 0xff);
+        lvalue += (buffer.get(offset) & 0xff);
         if (lvalue == 0xFF) {
-            lvalue += (arr[offset + 1] & 0xff);
+            lvalue += (buffer.get(offset + 1) & 0xff);
         }
         value = lvalue;
     }
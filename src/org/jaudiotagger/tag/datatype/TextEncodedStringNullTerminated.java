@@ -56,7 +56,11 @@ public class TextEncodedStringNullTerminated extends AbstractString {
      * @param offset this is where to start reading in the buffer for this field
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
-        if (offset >= arr.length) {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer source, int offset) throws InvalidDataTypeException {
+        if (offset >= source.limit()) {
             throw new InvalidDataTypeException("Unable to find null terminated string");
         }
         int bufferSize;
@@ -71,7 +75,8 @@ public class TextEncodedStringNullTerminated extends AbstractString {
         //We only want to load up to null terminator, data after this is part of different
         //field and it may not be possible to decode it so do the check before we do
         //do the decoding,encoding dependent.
-        ByteBuffer buffer = ByteBuffer.wrap(arr, offset, arr.length - offset);
+        ByteBuffer buffer = source.duplicate();
+        buffer.position(offset);
         int endPosition = 0;
 
         //Latin-1 and UTF-8 strings are terminated by a single-byte null,
@@ -149,7 +154,7 @@ public class TextEncodedStringNullTerminated extends AbstractString {
             value = "";
         } else {
             //Decode sliced inBuffer
-            ByteBuffer inBuffer = ByteBuffer.wrap(arr, offset, bufferSize).slice();
+            ByteBuffer inBuffer = slice(source, offset, bufferSize);
             CharBuffer outBuffer = CharBuffer.allocate(bufferSize);
 
             final CharsetDecoder decoder = getCorrectDecoder(inBuffer);
@@ -69,6 +69,10 @@ public class TextEncodedStringSizeTerminated extends AbstractString {
      * @throws IndexOutOfBoundsException
      */
     public void readByteArray(byte[] arr, int offset) throws InvalidDataTypeException {
+        readByteBuffer(ByteBuffer.wrap(arr), offset);
+    }
+
+    public void readByteBuffer(ByteBuffer buffer, int offset) throws InvalidDataTypeException {
         logger.finest("Reading from array from offset:" + offset);
 
 
@@ -76,14 +80,14 @@ public class TextEncodedStringSizeTerminated extends AbstractString {
         ByteBuffer inBuffer;
         if (TagOptionSingleton.getInstance().isAndroid()) {
             //#302 [dallen] truncating array manually since the decoder.decode() does not honor the offset in the in buffer
-            byte[] truncArr = new byte[arr.length - offset];
-            System.arraycopy(arr, offset, truncArr, 0, truncArr.length);
+            byte[] truncArr = new byte[buffer.limit() - offset];
+            slice(buffer, offset, truncArr.length).get(truncArr);
             inBuffer = ByteBuffer.wrap(truncArr);
         } else {
-            inBuffer = ByteBuffer.wrap(arr, offset, arr.length - offset).slice();
+            inBuffer = slice(buffer, offset, buffer.limit() - offset);
         }
 
-        CharBuffer outBuffer = CharBuffer.allocate(arr.length - offset);
+        CharBuffer outBuffer = CharBuffer.allocate(buffer.limit() - offset);
 
 
         CharsetDecoder decoder = getCorrectDecoder(inBuffer);
@@ -102,7 +106,7 @@ public class TextEncodedStringSizeTerminated extends AbstractString {
             value = outBuffer.toString();
         }
         //SetSize, important this is correct for finding the next datatype
-        setSize(arr.length - offset);
+        setSize(buffer.limit() - offset);
         logger.finest("Read SizeTerminatedString:" + value + " size:" + size);
 
     }
@@ -61,7 +61,7 @@ abstract public class AbstractID3v1Tag extends AbstractID3Tag {
     protected static final byte[] TAG_ID = {(byte) 'T', (byte) 'A', (byte) 'G'};
 
     //Fields Lengths common to v1 and v1.1 tags
-    protected static final int TAG_LENGTH = 128;
+    public static final int TAG_LENGTH = 128;
     protected static final int TAG_DATA_LENGTH = 125;
     protected static final int FIELD_TAGID_LENGTH = 3;
     protected static final int FIELD_TITLE_LENGTH = 30;
@@ -114,24 +114,33 @@ abstract public class AbstractID3v1Tag extends AbstractID3Tag {
      * @throws IOException if there was a problem accessing the file
      */
     public void delete(RandomAccessFile file) throws IOException {
+        delete(file.getChannel());
+    }
+
+    /**
+     * Delete tag from the channel
+     * Looks for tag and if found lops it off the end of the channel.
+     *
+     * @param fc channel to delete the tag from
+     * @throws IOException if there was a problem accessing the channel
+     */
+    public void delete(FileChannel fc) throws IOException {
         //Read into Byte Buffer
         logger.config("Deleting ID3v1 from file if exists");
 
-        FileChannel fc;
         ByteBuffer byteBuffer;
-        fc = file.getChannel();
 
-        if (file.length() < TAG_LENGTH) {
+        if (fc.size() < TAG_LENGTH) {
             throw new IOException("File not not appear large enough to contain a tag");
         }
-        fc.position(file.length() - TAG_LENGTH);
+        fc.position(fc.size() - TAG_LENGTH);
         byteBuffer = ByteBuffer.allocate(TAG_LENGTH);
         fc.read(byteBuffer);
         byteBuffer.rewind();
         if (AbstractID3v1Tag.seekForV1OrV11Tag(byteBuffer)) {
             try {
                 logger.config("Deleted ID3v1 tag");
-                file.setLength(file.length() - TAG_LENGTH);
+                fc.truncate(fc.size() - TAG_LENGTH);
             } catch (IOException ex) {
                 logger.severe("Unable to delete existing ID3v1 Tag:" + ex.getMessage());
             }
@@ -19,6 +19,7 @@ import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.id3.framebody.AbstractID3v2FrameBody;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyEncrypted;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
@@ -114,24 +115,27 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
         logger.config("Creating empty frame of type" + identifier);
         this.identifier = identifier;
 
-        // Use reflection to map id to frame body, which makes things much easier
-        // to keep things up to date.
-        try {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
-            frameBody = c.newInstance();
-        } catch (ClassNotFoundException cnfe) {
-            logger.severe(cnfe.getMessage());
-            frameBody = new FrameBodyUnsupported(identifier);
-        }
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie) {
-            logger.log(Level.SEVERE, "InstantiationException:" + identifier, ie);
-            throw new RuntimeException(ie);
-        }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae) {
-            logger.log(Level.SEVERE, "IllegalAccessException:" + identifier, iae);
-            throw new RuntimeException(iae);
+        frameBody = FrameBodyFactory.newBody(identifier);
+
+        // Fall back to reflection to map id to frame body for bodies that have not been registered
+        if (frameBody == null) {
+            try {
+                Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
+                frameBody = c.newInstance();
+            } catch (ClassNotFoundException cnfe) {
+                logger.severe(cnfe.getMessage());
+                frameBody = new FrameBodyUnsupported(identifier);
+            }
+            //Instantiate Interface/Abstract should not happen
+            catch (InstantiationException ie) {
+                logger.log(Level.SEVERE, "InstantiationException:" + identifier, ie);
+                throw new RuntimeException(ie);
+            }
+            //Private Constructor shouild not happen
+            catch (IllegalAccessException iae) {
+                logger.log(Level.SEVERE, "IllegalAccessException:" + identifier, iae);
+                throw new RuntimeException(iae);
+            }
         }
         frameBody.setHeader(this);
         if (this instanceof ID3v24Frame) {
@@ -225,14 +229,28 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      * @throws InvalidFrameException unable to construct a framebody from the data
      */
     @SuppressWarnings("unchecked")
-    //TODO using reflection is rather slow perhaps we should change this
     protected AbstractID3v2FrameBody readBody(String identifier, ByteBuffer byteBuffer, int frameSize)
             throws InvalidFrameException, InvalidDataTypeException {
-        //Use reflection to map id to frame body, which makes things much easier
-        //to keep things up to date,although slight performance hit.
         logger.finest("Creating framebody:start");
 
         AbstractID3v2FrameBody frameBody;
+        FrameBodyFactory.ReadBodyConstructor constructor = FrameBodyFactory.getReadConstructor(identifier);
+        if (constructor != null) {
+            try {
+                frameBody = constructor.newBody(byteBuffer, frameSize);
+            } catch (InvalidFrameException | InvalidDataTypeException e) {
+                logger.severe(getLoggingFilename() + ":" + "An error occurred within abstractID3v2FrameBody for identifier:" + identifier + ":" + e.getMessage());
+                throw e;
+            } catch (InvalidTagException te) {
+                logger.severe(getLoggingFilename() + ":" + "An error occurred within abstractID3v2FrameBody for identifier:" + identifier + ":" + te.getMessage());
+                throw new InvalidFrameException(te.getMessage());
+            }
+            logger.finest(getLoggingFilename() + ":" + "Created framebody:end" + frameBody.getIdentifier());
+            frameBody.setHeader(this);
+            return frameBody;
+        }
+
+        //Fall back to reflection to map id to frame body for bodies that have not been registered
         try {
             Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
             Class<?>[] constructorParameterTypes = {Class.forName("java.nio.ByteBuffer"), Integer.TYPE};
@@ -328,7 +346,8 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      * different versions of a tag for frames that have a non-trivial mapping such
      * as TYER in v3 to TDRC in v4. This will only work where appropriate constructors
      * exist in the frame body to be created, for example a FrameBodyTYER requires a constructor
-     * consisting of a FrameBodyTDRC.
+     * consisting of a FrameBodyTDRC. The constructor is taken from {@link FrameBodyFactory}, bodies not registered
+     * there are still created reflectively.
      * <p>
      * If this method is called and a suitable constructor does not exist then an InvalidFrameException
      * will be thrown
@@ -339,12 +358,15 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      * @throws InvalidFrameException if unable to construct a framebody for the identifier and body provided.
      */
     @SuppressWarnings("unchecked")
-    //TODO using reflection is rather slow perhaps we should change this
     protected AbstractID3v2FrameBody readBody(String identifier, AbstractID3v2FrameBody body) throws InvalidFrameException {
-        /* Use reflection to map id to frame body, which makes things much easier
-         * to keep things up to date, although slight performance hit.
-         */
-        AbstractID3v2FrameBody frameBody;
+        AbstractID3v2FrameBody frameBody = FrameBodyFactory.copyBody(identifier, body);
+        if (frameBody != null) {
+            logger.finer("frame Body created" + frameBody.getIdentifier());
+            frameBody.setHeader(this);
+            return frameBody;
+        }
+
+        //Fall back to reflection to map id to frame body for bodies that have not been registered
         try {
             Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
             Class<?>[] constructorParameterTypes = {body.getClass()};
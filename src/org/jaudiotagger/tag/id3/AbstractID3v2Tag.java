@@ -19,7 +19,9 @@ import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.UnableToCreateFileException;
 import org.jaudiotagger.audio.exceptions.UnableToModifyFileException;
 import org.jaudiotagger.audio.exceptions.UnableToRenameFileException;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
 import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.io.ShiftJournal;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.FileSystemMessage;
@@ -831,18 +833,27 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
      */
     //TODO should clear all data and preferably recover lost space and go upto end of mp3s 
     public void delete(RandomAccessFile file) throws IOException {
+        delete(file.getChannel());
+    }
+
+    /**
+     * Delete Tag
+     *
+     * @param fc channel to delete the tag from
+     * @throws IOException if problem accessing the channel
+     */
+    public void delete(FileChannel fc) throws IOException {
         // this works by just erasing the "ID3" tag at the beginning
         // of the file
-        byte[] buffer = new byte[FIELD_TAGID_LENGTH];
+        ByteBuffer buffer = ByteBuffer.allocate(FIELD_TAGID_LENGTH);
         //Read into Byte Buffer
-        final FileChannel fc = file.getChannel();
-        fc.position();
         ByteBuffer byteBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
         fc.read(byteBuffer, 0);
         byteBuffer.flip();
         if (seek(byteBuffer)) {
-            file.seek(0L);
-            file.write(buffer);
+            while (buffer.hasRemaining()) {
+                fc.write(buffer, buffer.position());
+            }
         }
     }
 
@@ -1038,9 +1049,6 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
             bb = ByteBuffer.allocate(TAG_HEADER_LENGTH);
             fc.read(bb);
             bb.flip();
-            if (bb.limit() < (TAG_HEADER_LENGTH)) {
-                return 0;
-            }
         } finally {
             if (fc != null) {
                 fc.close();
@@ -1050,6 +1058,19 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
                 fis.close();
             }
         }
+        return getV2TagSizeIfExists(bb);
+    }
+
+    /**
+     * Checks to see if the buffer contains an ID3tag header and if so returns the size of the tag (including the header)
+     *
+     * @param bb containing the first bytes of the file
+     * @return size of tag including the header or zero if no tag
+     */
+    public static long getV2TagSizeIfExists(ByteBuffer bb) {
+        if (bb.remaining() < (TAG_HEADER_LENGTH)) {
+            return 0;
+        }
 
         //ID3 identifier
         byte[] tagIdentifier = new byte[FIELD_TAGID_LENGTH];
@@ -1122,7 +1143,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
         /** There is not enough room as we need to move the audio file we might
          *  as well increase it more than neccessary for future changes
          */
-        return tagSize + TAG_SIZE_INCREMENT;
+        return tagSize + PaddingPolicy.getPadding(tagSize, TAG_SIZE_INCREMENT);
     }
 
     /**
@@ -1257,6 +1278,37 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
         }
     }
 
+    /**
+     * Move the audio towards the end of the file, within the file, so that there is room for the tag before it, and
+     * then write the tag.
+     * <p>
+     * The file keeps its identity and needs little more space than the larger file, unlike
+     * {@link #adjustPadding(File, int, long)}. The move is recorded in a journal beside the file, which is kept until
+     * the tag has also been written. If either fails the move is rolled back, leaving the file as it was, and if the
+     * write is interrupted the file can be repaired from the journal.
+     *
+     * @param file        the file to write the tag to
+     * @param fc          channel to the file, open for reading and writing
+     * @param paddingSize total size required to store tag before audio
+     * @param audioStart  current start of the audio
+     * @throws IOException
+     */
+    private void writeBufferAfterShift(File file, FileChannel fc, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int paddingSize, long audioStart) throws IOException {
+        logger.finer("Need to shift audio within file to accommodate tag");
+        ShiftJournal journal = ShiftJournal.shift(file, fc, audioStart, paddingSize - audioStart);
+        try {
+            fc.position(0);
+            fc.write(headerBuffer);
+            fc.write(ByteBuffer.wrap(bodyByteBuffer));
+            fc.write(ByteBuffer.wrap(new byte[padding]));
+            fc.force(false);
+        } catch (IOException ioe) {
+            journal.rollBack(fc, ioe);
+            throw ioe;
+        }
+        journal.finish();
+    }
+
     /**
      * Write the data from the buffer to the file
      *
@@ -1271,19 +1323,31 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag {
     protected void writeBufferToFile(File file, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException {
         FileChannel fc = null;
         FileLock fileLock = null;
+        boolean shiftAudio = false;
 
         //We need to adjust location of audio file if true
         if (sizeIncPadding > audioStartLocation) {
             logger.finest("Adjusting Padding");
-            adjustPadding(file, sizeIncPadding, audioStartLocation);
+            if (TagOptionSingleton.getInstance().isShiftMp3AudioInPlace()) {
+                shiftAudio = true;
+            } else {
+                adjustPadding(file, sizeIncPadding, audioStartLocation);
+            }
+            PaddingPolicy.recordRewrite();
+        } else {
+            PaddingPolicy.recordInPlaceSave();
         }
 
         try {
             fc = new RandomAccessFile(file, "rw").getChannel();
             fileLock = getFileLockForWriting(fc, file.getPath());
-            fc.write(headerBuffer);
-            fc.write(ByteBuffer.wrap(bodyByteBuffer));
-            fc.write(ByteBuffer.wrap(new byte[padding]));
+            if (shiftAudio) {
+                writeBufferAfterShift(file, fc, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+            } else {
+                fc.write(headerBuffer);
+                fc.write(ByteBuffer.wrap(bodyByteBuffer));
+                fc.write(ByteBuffer.wrap(new byte[padding]));
+            }
         } catch (FileNotFoundException fe) {
             logger.log(Level.SEVERE, getLoggingFilename() + fe.getMessage(), fe);
             if (fe.getMessage().contains(FileSystemMessage.ACCESS_IS_DENIED.getMsg()) || fe.getMessage().contains(FileSystemMessage.PERMISSION_DENIED.getMsg())) {
@@ -188,6 +188,18 @@ public class ID3v11Tag extends ID3v1Tag {
         }
     }
 
+    /**
+     * Creates a new ID3v11 datatype from the last 128 bytes of a file that have already been read into a buffer
+     *
+     * @param byteBuffer positioned at the start of the tag
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v11Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v11 datatype.
      *
@@ -457,18 +469,12 @@ public class ID3v11Tag extends ID3v1Tag {
 
 
     /**
-     * Write this representation of tag to the file indicated
-     *
-     * @param file that this tag should be written to
-     * @throws IOException thrown if there were problems writing to the file
+     * @return the tag as it is written to the end of the file
      */
-    public void write(RandomAccessFile file) throws IOException {
-        logger.config("Saving ID3v11 tag to file");
+    protected byte[] writeTagToBuffer() {
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
         if (TagOptionSingleton.getInstance().isId3v1SaveTitle()) {
@@ -511,9 +517,7 @@ public class ID3v11Tag extends ID3v1Tag {
         if (TagOptionSingleton.getInstance().isId3v1SaveGenre()) {
             buffer[offset] = genre;
         }
-        file.write(buffer);
-
-        logger.config("Saved ID3v11 tag to file");
+        return buffer;
     }
 
 
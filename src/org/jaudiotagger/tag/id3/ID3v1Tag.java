@@ -160,6 +160,18 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag {
         }
     }
 
+    /**
+     * Creates a new ID3v1 datatype from the last 128 bytes of a file that have already been read into a buffer
+     *
+     * @param byteBuffer positioned at the start of the tag
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v1Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v1 datatype.
      *
@@ -834,12 +846,33 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag {
      * @throws IOException
      */
     public void write(RandomAccessFile file) throws IOException {
+        write(file.getChannel());
+    }
+
+    /**
+     * Write this tag to the end of the channel, replacing any tag previously existing
+     *
+     * @param fc
+     * @throws IOException
+     */
+    public void write(FileChannel fc) throws IOException {
         logger.config("Saving ID3v1 tag to file");
+        delete(fc);
+        ByteBuffer buffer = ByteBuffer.wrap(writeTagToBuffer());
+        long tagStart = fc.size();
+        while (buffer.hasRemaining()) {
+            fc.write(buffer, tagStart + buffer.position());
+        }
+        logger.config("Saved ID3v1 tag to file");
+    }
+
+    /**
+     * @return the tag as it is written to the end of the file
+     */
+    protected byte[] writeTagToBuffer() {
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
         //Copy the TAGID into new buffer
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
@@ -881,8 +914,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag {
         if (TagOptionSingleton.getInstance().isId3v1SaveGenre()) {
             buffer[offset] = genre;
         }
-        file.write(buffer);
-        logger.config("Saved ID3v1 tag to file");
+        return buffer;
     }
 
     /**
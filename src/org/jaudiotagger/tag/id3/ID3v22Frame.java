@@ -22,6 +22,7 @@ import org.jaudiotagger.tag.InvalidFrameException;
 import org.jaudiotagger.tag.InvalidFrameIdentifierException;
 import org.jaudiotagger.tag.id3.framebody.AbstractID3v2FrameBody;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyDeprecated;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
@@ -137,24 +138,27 @@ public class ID3v22Frame extends AbstractID3v2Frame {
             }
         }
 
-        // Use reflection to map id to frame body, which makes things much easier
-        // to keep things up to date.
-        try {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + bodyIdentifier);
-            frameBody = c.newInstance();
-        } catch (ClassNotFoundException cnfe) {
-            logger.log(Level.SEVERE, cnfe.getMessage(), cnfe);
-            frameBody = new FrameBodyUnsupported(identifier);
-        }
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie) {
-            logger.log(Level.SEVERE, ie.getMessage(), ie);
-            throw new RuntimeException(ie);
-        }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae) {
-            logger.log(Level.SEVERE, iae.getMessage(), iae);
-            throw new RuntimeException(iae);
+        frameBody = FrameBodyFactory.newBody(bodyIdentifier);
+
+        // Fall back to reflection to map id to frame body for bodies that have not been registered
+        if (frameBody == null) {
+            try {
+                Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + bodyIdentifier);
+                frameBody = c.newInstance();
+            } catch (ClassNotFoundException cnfe) {
+                logger.log(Level.SEVERE, cnfe.getMessage(), cnfe);
+                frameBody = new FrameBodyUnsupported(identifier);
+            }
+            //Instantiate Interface/Abstract should not happen
+            catch (InstantiationException ie) {
+                logger.log(Level.SEVERE, ie.getMessage(), ie);
+                throw new RuntimeException(ie);
+            }
+            //Private Constructor shouild not happen
+            catch (IllegalAccessException iae) {
+                logger.log(Level.SEVERE, iae.getMessage(), iae);
+                throw new RuntimeException(iae);
+            }
         }
         frameBody.setHeader(this);
         logger.config("Created empty frame of type" + this.identifier + "with frame body of" + bodyIdentifier);
@@ -16,6 +16,7 @@
 package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.FileConstants;
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.*;
@@ -24,6 +25,7 @@ import org.jaudiotagger.tag.id3.framebody.*;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
 import org.jaudiotagger.tag.images.Artwork;
 import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.File;
@@ -682,13 +684,14 @@ public class ID3v22Tag extends AbstractID3v2Tag {
 
         for (TagField next : coverartList) {
             FrameBodyPIC coverArt = (FrameBodyPIC) ((AbstractID3v2Frame) next).getBody();
-            Artwork artwork = ArtworkFactory.getNew();
+            FileRegion imageRegion = coverArt.getImageRegion();
+            Artwork artwork = imageRegion != null ? new LazyArtwork(imageRegion) : ArtworkFactory.getNew();
             artwork.setMimeType(ImageFormats.getMimeTypeForFormat(coverArt.getFormatType()));
             artwork.setPictureType(coverArt.getPictureType());
             if (coverArt.isImageUrl()) {
                 artwork.setLinked(true);
                 artwork.setImageUrl(coverArt.getImageUrl());
-            } else {
+            } else if (imageRegion == null) {
                 artwork.setBinaryData(coverArt.getImageData());
             }
             artworkList.add(artwork);
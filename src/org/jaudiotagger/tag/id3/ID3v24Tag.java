@@ -16,6 +16,7 @@
 package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.FileConstants;
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.*;
@@ -26,6 +27,7 @@ import org.jaudiotagger.tag.id3.valuepair.MusicianCredits;
 import org.jaudiotagger.tag.id3.valuepair.StandardIPLSKey;
 import org.jaudiotagger.tag.images.Artwork;
 import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
 import org.jaudiotagger.tag.lyrics3.AbstractLyrics3;
 import org.jaudiotagger.tag.lyrics3.Lyrics3v2;
 import org.jaudiotagger.tag.lyrics3.Lyrics3v2Field;
@@ -1168,13 +1170,14 @@ public class ID3v24Tag extends AbstractID3v2Tag {
 
         for (TagField next : coverartList) {
             FrameBodyAPIC coverArt = (FrameBodyAPIC) ((AbstractID3v2Frame) next).getBody();
-            Artwork artwork = ArtworkFactory.getNew();
+            FileRegion imageRegion = coverArt.getImageRegion();
+            Artwork artwork = imageRegion != null ? new LazyArtwork(imageRegion) : ArtworkFactory.getNew();
             artwork.setMimeType(coverArt.getMimeType());
             artwork.setPictureType(coverArt.getPictureType());
             if (coverArt.isImageUrl()) {
                 artwork.setLinked(true);
                 artwork.setImageUrl(coverArt.getImageUrl());
-            } else {
+            } else if (imageRegion == null) {
                 artwork.setBinaryData(coverArt.getImageData());
             }
             artworkList.add(artwork);
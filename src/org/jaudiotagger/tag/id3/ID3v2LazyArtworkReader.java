@@ -0,0 +1,222 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.audio.io.CachedChannelReader;
+import org.jaudiotagger.audio.io.FileRegion;
+import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.datatype.ByteArraySizeTerminated;
+import org.jaudiotagger.tag.datatype.DataTypes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Reads an ID3v2 tag from the start of a file leaving the image data of picture frames in the file.
+ * <p>
+ * The frames are walked within the file, every frame is read except that only the start of each large picture frame
+ * is read, enough for the text encoding, mime type, picture type and description. The tag is then parsed as usual
+ * from these bytes and the image data of each picture frame is set to the region of the file it occupies, so it is
+ * only read if asked for.
+ * <p>
+ * Tags that cannot be walked this way (unsynchronised, compressed, with an extended header or footer, or with
+ * inconsistent frame sizes) are not read, the caller should then read the whole tag instead.
+ */
+public class ID3v2LazyArtworkReader {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.id3");
+
+    /**
+     * Bytes read from the start of a picture frame body, pictures smaller than this are read in full
+     */
+    private static final int PICTURE_HEAD_LENGTH = 1024;
+
+    private static final int FRAME_HEADER_LENGTH_V22 = 6;
+    private static final int FRAME_HEADER_LENGTH_V23 = 10;
+
+    /**
+     * A picture frame whose image data has been left in the file
+     */
+    private static class DeferredPicture {
+        private final long bodyOffset;
+        private final int bodySize;
+
+        private DeferredPicture(long bodyOffset, int bodySize) {
+            this.bodyOffset = bodyOffset;
+            this.bodySize = bodySize;
+        }
+    }
+
+    /**
+     * @param file      being read, used to read the image data later
+     * @param reader    for the file
+     * @param startByte location of the audio, the tag must end before it
+     * @return the tag, or null if there is no tag or it cannot be read leaving the images in the file
+     * @throws IOException
+     */
+    public static AbstractID3v2Tag read(File file, CachedChannelReader reader, int startByte) throws IOException {
+        ByteBuffer header = reader.fetch(0, AbstractID3v2Tag.TAG_HEADER_LENGTH);
+        if (header.limit() < AbstractID3v2Tag.TAG_HEADER_LENGTH || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+            return null;
+        }
+        byte majorVersion = header.get(AbstractID3v2Tag.FIELD_TAG_MAJOR_VERSION_POS);
+        byte flags = header.get(AbstractID3v2Tag.FIELD_TAG_FLAG_POS);
+        if (majorVersion < ID3v22Tag.MAJOR_VERSION || majorVersion > ID3v24Tag.MAJOR_VERSION) {
+            return null;
+        }
+
+        //Unsynchronisation, extended header or compression, footer
+        if ((flags & (ID3v23Tag.MASK_V23_UNSYNCHRONIZATION | ID3v23Tag.MASK_V23_EXTENDED_HEADER)) != 0) {
+            return null;
+        }
+        if (majorVersion == ID3v24Tag.MAJOR_VERSION && (flags & ID3v24Tag.MASK_V24_FOOTER_PRESENT) != 0) {
+            return null;
+        }
+
+        ByteBuffer sizeBuffer = header.duplicate();
+        sizeBuffer.position(AbstractID3v2Tag.FIELD_TAG_SIZE_POS);
+        int tagSize = ID3SyncSafeInteger.bufferToValue(sizeBuffer);
+        long tagEnd = AbstractID3v2Tag.TAG_HEADER_LENGTH + (long) tagSize;
+        if (tagEnd > startByte || tagEnd > reader.size()) {
+            return null;
+        }
+
+        int frameHeaderLength = majorVersion == ID3v22Tag.MAJOR_VERSION ? FRAME_HEADER_LENGTH_V22 : FRAME_HEADER_LENGTH_V23;
+        String pictureId = majorVersion == ID3v22Tag.MAJOR_VERSION ? ID3v22Frames.FRAME_ID_V2_ATTACHED_PICTURE : ID3v24Frames.FRAME_ID_ATTACHED_PICTURE;
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        //For each picture frame in the order read, the picture left in the file or null if read in full
+        List<DeferredPicture> pictures = new ArrayList<DeferredPicture>();
+        boolean anyDeferred = false;
+
+        long position = AbstractID3v2Tag.TAG_HEADER_LENGTH;
+        while (position + frameHeaderLength <= tagEnd) {
+            ByteBuffer frameHeader = reader.fetch(position, frameHeaderLength);
+            //Padding
+            if (frameHeader.get(0) == 0) {
+                break;
+            }
+
+            String frameId;
+            int frameSize;
+            boolean formatFlags;
+            if (majorVersion == ID3v22Tag.MAJOR_VERSION) {
+                frameId = new String(new byte[]{frameHeader.get(0), frameHeader.get(1), frameHeader.get(2)}, "ISO-8859-1");
+                frameSize = ((frameHeader.get(3) & 0xff) << 16) | ((frameHeader.get(4) & 0xff) << 8) | (frameHeader.get(5) & 0xff);
+                formatFlags = false;
+            } else {
+                frameId = new String(new byte[]{frameHeader.get(0), frameHeader.get(1), frameHeader.get(2), frameHeader.get(3)}, "ISO-8859-1");
+                if (majorVersion == ID3v24Tag.MAJOR_VERSION) {
+                    //Sizes that are not sync safe are handled when reading the whole tag
+                    for (int i = 4; i < 8; i++) {
+                        if ((frameHeader.get(i) & 0x80) != 0) {
+                            return null;
+                        }
+                    }
+                    ByteBuffer frameSizeBuffer = frameHeader.duplicate();
+                    frameSizeBuffer.position(4);
+                    frameSize = ID3SyncSafeInteger.bufferToValue(frameSizeBuffer);
+                } else {
+                    frameSize = frameHeader.getInt(4);
+                }
+                formatFlags = frameHeader.get(9) != 0;
+            }
+
+            long frameEnd = position + frameHeaderLength + frameSize;
+            if (frameSize < 0 || frameEnd > tagEnd) {
+                return null;
+            }
+
+            if (frameId.equals(pictureId) && !formatFlags && frameSize > PICTURE_HEAD_LENGTH) {
+                byte[] shortHeader = new byte[frameHeaderLength];
+                frameHeader.duplicate().get(shortHeader);
+                setFrameSize(shortHeader, majorVersion, PICTURE_HEAD_LENGTH);
+                frames.write(shortHeader);
+                frames.write(toArray(reader.fetch(position + frameHeaderLength, PICTURE_HEAD_LENGTH)));
+                pictures.add(new DeferredPicture(position + frameHeaderLength, frameSize));
+                anyDeferred = true;
+            } else {
+                frames.write(toArray(reader.fetch(position, frameHeaderLength + frameSize)));
+                if (frameId.equals(pictureId)) {
+                    pictures.add(null);
+                }
+            }
+            position = frameEnd;
+        }
+
+        if (!anyDeferred) {
+            return null;
+        }
+
+        //Build a tag header for the frames read
+        ByteBuffer tagData = ByteBuffer.allocate(AbstractID3v2Tag.TAG_HEADER_LENGTH + frames.size());
+        tagData.put(toArray(header));
+        tagData.position(AbstractID3v2Tag.FIELD_TAG_SIZE_POS);
+        tagData.put(ID3SyncSafeInteger.valueToBuffer(frames.size()));
+        tagData.put(frames.toByteArray());
+        tagData.rewind();
+
+        AbstractID3v2Tag tag;
+        try {
+            if (majorVersion == ID3v24Tag.MAJOR_VERSION) {
+                tag = new ID3v24Tag(tagData, file.getName());
+            } else if (majorVersion == ID3v23Tag.MAJOR_VERSION) {
+                tag = new ID3v23Tag(tagData, file.getName());
+            } else {
+                tag = new ID3v22Tag(tagData, file.getName());
+            }
+        } catch (TagException te) {
+            logger.config(file.getName() + ":Unable to read tag leaving artwork in file:" + te.getMessage());
+            return null;
+        }
+
+        //Match the picture frames parsed to the picture frames read, if any were dropped as invalid give up
+        List<TagField> fields = tag.getFields(pictureId);
+        if (fields.size() != pictures.size()) {
+            logger.config(file.getName() + ":Unable to match picture frames, reading whole tag");
+            return null;
+        }
+        List<ByteArraySizeTerminated> imageData = new ArrayList<ByteArraySizeTerminated>();
+        for (int i = 0; i < pictures.size(); i++) {
+            if (pictures.get(i) == null) {
+                imageData.add(null);
+                continue;
+            }
+            AbstractTagFrameBody body = ((AbstractID3v2Frame) fields.get(i)).getBody();
+            if (body == null || !(body.getObject(DataTypes.OBJ_PICTURE_DATA) instanceof ByteArraySizeTerminated)) {
+                return null;
+            }
+            imageData.add((ByteArraySizeTerminated) body.getObject(DataTypes.OBJ_PICTURE_DATA));
+        }
+        for (int i = 0; i < pictures.size(); i++) {
+            DeferredPicture picture = pictures.get(i);
+            if (picture != null) {
+                ByteArraySizeTerminated data = imageData.get(i);
+                int pictureHeaderLength = PICTURE_HEAD_LENGTH - data.getSize();
+                data.setDeferredValue(new FileRegion(file, picture.bodyOffset + pictureHeaderLength, picture.bodySize - pictureHeaderLength));
+            }
+        }
+        tag.fileReadSize = tagSize;
+        return tag;
+    }
+
+    private static void setFrameSize(byte[] frameHeader, byte majorVersion, int size) {
+        if (majorVersion == ID3v22Tag.MAJOR_VERSION) {
+            frameHeader[3] = (byte) (size >> 16);
+            frameHeader[4] = (byte) (size >> 8);
+            frameHeader[5] = (byte) size;
+        } else if (majorVersion == ID3v24Tag.MAJOR_VERSION) {
+            System.arraycopy(ID3SyncSafeInteger.valueToBuffer(size), 0, frameHeader, 4, 4);
+        } else {
+            ByteBuffer.wrap(frameHeader).putInt(4, size);
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return data;
+    }
+}
@@ -32,6 +32,7 @@ import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
 /**
@@ -133,16 +134,17 @@ public abstract class AbstractID3v2FrameBody extends AbstractTagFrameBody {
      * @param byteBuffer file to read
      * @throws InvalidFrameException if unable to construct a frameBody from the ByteBuffer
      */
-    //TODO why don't we just slice byteBuffer, set limit to size and convert readByteArray to take a ByteBuffer
-    //then we wouldn't have to temporary allocate space for the buffer, using lots of needless memory
-    //and providing extra work for the garbage collector.
     public void read(ByteBuffer byteBuffer) throws InvalidTagException {
         int size = getSize();
         logger.config("Reading body for" + this.getIdentifier() + ":" + size);
 
-        //Allocate a buffer to the size of the Frame Body and read from file
-        byte[] buffer = new byte[size];
-        byteBuffer.get(buffer);
+        //Slice the Frame Body from the tag rather than copying it, the datatypes read directly from the slice
+        if (size > byteBuffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer buffer = byteBuffer.slice();
+        buffer.limit(size);
+        byteBuffer.position(byteBuffer.position() + size);
 
         //Offset into buffer, incremented by length of previous dataType
         //this offset is only used internally to decide where to look for the next
@@ -165,7 +167,7 @@ public abstract class AbstractID3v2FrameBody extends AbstractTagFrameBody {
             //Try and load it with data from the Buffer
             //if it fails frame is invalid
             try {
-                object.readByteArray(buffer, offset);
+                object.readByteBuffer(buffer, offset);
             } catch (InvalidDataTypeException e) {
                 logger.warning("Problem reading datatype within Frame Body:" + e.getMessage());
                 throw e;
@@ -15,6 +15,7 @@
  */
 package org.jaudiotagger.tag.id3.framebody;
 
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.tag.InvalidTagException;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.datatype.*;
@@ -113,8 +114,14 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
         this.setObjectValue(DataTypes.OBJ_MIME_TYPE, ImageFormats.getMimeTypeForFormat((String) body.getObjectValue(DataTypes.OBJ_IMAGE_FORMAT)));
         this.setObjectValue(DataTypes.OBJ_PICTURE_TYPE, body.getObjectValue(DataTypes.OBJ_PICTURE_TYPE));
         this.setObjectValue(DataTypes.OBJ_DESCRIPTION, body.getDescription());
-        this.setObjectValue(DataTypes.OBJ_PICTURE_DATA, body.getObjectValue(DataTypes.OBJ_PICTURE_DATA));
 
+        //Leave image data in the file if it has not been read yet
+        FileRegion region = ((ByteArraySizeTerminated) body.getObject(DataTypes.OBJ_PICTURE_DATA)).getDeferredValue();
+        if (region != null) {
+            ((ByteArraySizeTerminated) getObject(DataTypes.OBJ_PICTURE_DATA)).setDeferredValue(region);
+        } else {
+            this.setObjectValue(DataTypes.OBJ_PICTURE_DATA, body.getObjectValue(DataTypes.OBJ_PICTURE_DATA));
+        }
     }
 
     /**
@@ -146,11 +153,8 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
     }
 
     public String getUserFriendlyValue() {
-        if (getImageData() != null) {
-            return getMimeType() + ":" + getDescription() + ":" + getImageData().length;
-        } else {
-            return getMimeType() + ":" + getDescription() + ":0";
-        }
+        //Size of the image data without reading it if it has been left in the file
+        return getMimeType() + ":" + getDescription() + ":" + getObject(DataTypes.OBJ_PICTURE_DATA).getSize();
     }
 
 
@@ -208,6 +212,15 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
         return (byte[]) getObjectValue(DataTypes.OBJ_PICTURE_DATA);
     }
 
+    /**
+     * Get the region of the file holding the image data, if it was left in the file when the tag was read
+     *
+     * @return the region or null if the image data is held in memory
+     */
+    public FileRegion getImageRegion() {
+        return ((ByteArraySizeTerminated) getObject(DataTypes.OBJ_PICTURE_DATA)).getDeferredValue();
+    }
+
     /**
      * Set Picture Type
      *
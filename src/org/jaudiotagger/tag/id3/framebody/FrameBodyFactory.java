@@ -0,0 +1,342 @@
+package org.jaudiotagger.tag.id3.framebody;
+
+import org.jaudiotagger.tag.InvalidTagException;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps frame body identifiers to the constructors of their frame bodies.
+ * <p>
+ * Frame bodies used to be created by looking up the class FrameBody + identifier by name and invoking its
+ * constructor reflectively for every frame read or converted, this table lets the frames call the constructors
+ * directly. Frame bodies not in the table are still created reflectively by the frames, additional bodies can be
+ * added with {@link #register(String, EmptyBodyConstructor, ReadBodyConstructor)} and
+ * {@link #registerCopy(String, Class, CopyBodyConstructor)}.
+ */
+public final class FrameBodyFactory {
+
+    /**
+     * Creates an empty frame body
+     */
+    public interface EmptyBodyConstructor {
+        AbstractID3v2FrameBody newBody();
+    }
+
+    /**
+     * Creates a frame body by reading frameSize bytes from the buffer
+     */
+    public interface ReadBodyConstructor {
+        AbstractID3v2FrameBody newBody(ByteBuffer byteBuffer, int frameSize) throws InvalidTagException;
+    }
+
+    /**
+     * Creates a frame body from a body of another type, when converting a frame between ID3v2 versions
+     */
+    public interface CopyBodyConstructor<T extends AbstractID3v2FrameBody> {
+        AbstractID3v2FrameBody newBody(T body);
+    }
+
+    private static final Map<String, EmptyBodyConstructor> emptyConstructors = new ConcurrentHashMap<String, EmptyBodyConstructor>();
+    private static final Map<String, ReadBodyConstructor> readConstructors = new ConcurrentHashMap<String, ReadBodyConstructor>();
+    private static final Map<String, CopyBodyConstructor<?>> copyConstructors = new ConcurrentHashMap<String, CopyBodyConstructor<?>>();
+
+    static {
+        register("AENC", FrameBodyAENC::new, FrameBodyAENC::new);
+        register("APIC", FrameBodyAPIC::new, FrameBodyAPIC::new);
+        register("ASPI", FrameBodyASPI::new, FrameBodyASPI::new);
+        register("CHAP", FrameBodyCHAP::new, FrameBodyCHAP::new);
+        register("COMM", FrameBodyCOMM::new, FrameBodyCOMM::new);
+        register("COMR", FrameBodyCOMR::new, FrameBodyCOMR::new);
+        register("CRM", FrameBodyCRM::new, FrameBodyCRM::new);
+        register("CTOC", FrameBodyCTOC::new, FrameBodyCTOC::new);
+        register("ENCR", FrameBodyENCR::new, FrameBodyENCR::new);
+        register("EQU2", FrameBodyEQU2::new, FrameBodyEQU2::new);
+        register("EQUA", FrameBodyEQUA::new, null);
+        register("ETCO", FrameBodyETCO::new, FrameBodyETCO::new);
+        register("GEOB", FrameBodyGEOB::new, FrameBodyGEOB::new);
+        register("GRID", FrameBodyGRID::new, FrameBodyGRID::new);
+        register("GRP1", FrameBodyGRP1::new, FrameBodyGRP1::new);
+        register("IPLS", FrameBodyIPLS::new, FrameBodyIPLS::new);
+        register("LINK", FrameBodyLINK::new, FrameBodyLINK::new);
+        register("MCDI", FrameBodyMCDI::new, FrameBodyMCDI::new);
+        register("MLLT", FrameBodyMLLT::new, null);
+        register("MVIN", FrameBodyMVIN::new, FrameBodyMVIN::new);
+        register("MVNM", FrameBodyMVNM::new, FrameBodyMVNM::new);
+        register("OWNE", FrameBodyOWNE::new, FrameBodyOWNE::new);
+        register("PCNT", FrameBodyPCNT::new, FrameBodyPCNT::new);
+        register("PIC", FrameBodyPIC::new, FrameBodyPIC::new);
+        register("POPM", FrameBodyPOPM::new, FrameBodyPOPM::new);
+        register("POSS", FrameBodyPOSS::new, FrameBodyPOSS::new);
+        register("PRIV", FrameBodyPRIV::new, FrameBodyPRIV::new);
+        register("RBUF", FrameBodyRBUF::new, FrameBodyRBUF::new);
+        register("RVA2", FrameBodyRVA2::new, FrameBodyRVA2::new);
+        register("RVAD", FrameBodyRVAD::new, FrameBodyRVAD::new);
+        register("RVRB", FrameBodyRVRB::new, FrameBodyRVRB::new);
+        register("SEEK", FrameBodySEEK::new, FrameBodySEEK::new);
+        register("SIGN", FrameBodySIGN::new, FrameBodySIGN::new);
+        register("SYLT", FrameBodySYLT::new, FrameBodySYLT::new);
+        register("SYTC", FrameBodySYTC::new, FrameBodySYTC::new);
+        register("TALB", FrameBodyTALB::new, FrameBodyTALB::new);
+        register("TBPM", FrameBodyTBPM::new, FrameBodyTBPM::new);
+        register("TCMP", FrameBodyTCMP::new, FrameBodyTCMP::new);
+        register("TCOM", FrameBodyTCOM::new, FrameBodyTCOM::new);
+        register("TCON", FrameBodyTCON::new, FrameBodyTCON::new);
+        register("TCOP", FrameBodyTCOP::new, FrameBodyTCOP::new);
+        register("TDAT", FrameBodyTDAT::new, FrameBodyTDAT::new);
+        register("TDEN", FrameBodyTDEN::new, FrameBodyTDEN::new);
+        register("TDLY", FrameBodyTDLY::new, FrameBodyTDLY::new);
+        register("TDOR", FrameBodyTDOR::new, FrameBodyTDOR::new);
+        register("TDRC", FrameBodyTDRC::new, FrameBodyTDRC::new);
+        register("TDRL", FrameBodyTDRL::new, FrameBodyTDRL::new);
+        register("TDTG", FrameBodyTDTG::new, FrameBodyTDTG::new);
+        register("TENC", FrameBodyTENC::new, FrameBodyTENC::new);
+        register("TEXT", FrameBodyTEXT::new, FrameBodyTEXT::new);
+        register("TFLT", FrameBodyTFLT::new, FrameBodyTFLT::new);
+        register("TIME", FrameBodyTIME::new, FrameBodyTIME::new);
+        register("TIPL", FrameBodyTIPL::new, FrameBodyTIPL::new);
+        register("TIT1", FrameBodyTIT1::new, FrameBodyTIT1::new);
+        register("TIT2", FrameBodyTIT2::new, FrameBodyTIT2::new);
+        register("TIT3", FrameBodyTIT3::new, FrameBodyTIT3::new);
+        register("TKEY", FrameBodyTKEY::new, FrameBodyTKEY::new);
+        register("TLAN", FrameBodyTLAN::new, FrameBodyTLAN::new);
+        register("TLEN", FrameBodyTLEN::new, FrameBodyTLEN::new);
+        register("TMCL", FrameBodyTMCL::new, FrameBodyTMCL::new);
+        register("TMED", FrameBodyTMED::new, FrameBodyTMED::new);
+        register("TMOO", FrameBodyTMOO::new, FrameBodyTMOO::new);
+        register("TOAL", FrameBodyTOAL::new, FrameBodyTOAL::new);
+        register("TOFN", FrameBodyTOFN::new, FrameBodyTOFN::new);
+        register("TOLY", FrameBodyTOLY::new, FrameBodyTOLY::new);
+        register("TOPE", FrameBodyTOPE::new, FrameBodyTOPE::new);
+        register("TORY", FrameBodyTORY::new, FrameBodyTORY::new);
+        register("TOWN", FrameBodyTOWN::new, FrameBodyTOWN::new);
+        register("TPE1", FrameBodyTPE1::new, FrameBodyTPE1::new);
+        register("TPE2", FrameBodyTPE2::new, FrameBodyTPE2::new);
+        register("TPE3", FrameBodyTPE3::new, FrameBodyTPE3::new);
+        register("TPE4", FrameBodyTPE4::new, FrameBodyTPE4::new);
+        register("TPOS", FrameBodyTPOS::new, FrameBodyTPOS::new);
+        register("TPRO", FrameBodyTPRO::new, FrameBodyTPRO::new);
+        register("TPUB", FrameBodyTPUB::new, FrameBodyTPUB::new);
+        register("TRCK", FrameBodyTRCK::new, FrameBodyTRCK::new);
+        register("TRDA", FrameBodyTRDA::new, FrameBodyTRDA::new);
+        register("TRSN", FrameBodyTRSN::new, FrameBodyTRSN::new);
+        register("TRSO", FrameBodyTRSO::new, FrameBodyTRSO::new);
+        register("TSIZ", FrameBodyTSIZ::new, FrameBodyTSIZ::new);
+        register("TSO2", FrameBodyTSO2::new, FrameBodyTSO2::new);
+        register("TSOA", FrameBodyTSOA::new, FrameBodyTSOA::new);
+        register("TSOC", FrameBodyTSOC::new, FrameBodyTSOC::new);
+        register("TSOP", FrameBodyTSOP::new, FrameBodyTSOP::new);
+        register("TSOT", FrameBodyTSOT::new, FrameBodyTSOT::new);
+        register("TSRC", FrameBodyTSRC::new, FrameBodyTSRC::new);
+        register("TSSE", FrameBodyTSSE::new, FrameBodyTSSE::new);
+        register("TSST", FrameBodyTSST::new, FrameBodyTSST::new);
+        register("TXXX", FrameBodyTXXX::new, FrameBodyTXXX::new);
+        register("TYER", FrameBodyTYER::new, FrameBodyTYER::new);
+        register("UFID", FrameBodyUFID::new, FrameBodyUFID::new);
+        register("USER", FrameBodyUSER::new, FrameBodyUSER::new);
+        register("USLT", FrameBodyUSLT::new, FrameBodyUSLT::new);
+        register("WCOM", FrameBodyWCOM::new, FrameBodyWCOM::new);
+        register("WCOP", FrameBodyWCOP::new, FrameBodyWCOP::new);
+        register("WOAF", FrameBodyWOAF::new, FrameBodyWOAF::new);
+        register("WOAR", FrameBodyWOAR::new, FrameBodyWOAR::new);
+        register("WOAS", FrameBodyWOAS::new, FrameBodyWOAS::new);
+        register("WORS", FrameBodyWORS::new, FrameBodyWORS::new);
+        register("WPAY", FrameBodyWPAY::new, FrameBodyWPAY::new);
+        register("WPUB", FrameBodyWPUB::new, FrameBodyWPUB::new);
+        register("WXXX", FrameBodyWXXX::new, FrameBodyWXXX::new);
+        register("XSOA", FrameBodyXSOA::new, FrameBodyXSOA::new);
+        register("XSOP", FrameBodyXSOP::new, FrameBodyXSOP::new);
+        register("XSOT", FrameBodyXSOT::new, FrameBodyXSOT::new);
+
+        registerCopy("AENC", FrameBodyAENC.class, FrameBodyAENC::new);
+        registerCopy("APIC", FrameBodyAPIC.class, FrameBodyAPIC::new);
+        registerCopy("APIC", FrameBodyPIC.class, FrameBodyAPIC::new);
+        registerCopy("ASPI", FrameBodyASPI.class, FrameBodyASPI::new);
+        registerCopy("CHAP", FrameBodyCHAP.class, FrameBodyCHAP::new);
+        registerCopy("COMM", FrameBodyCOMM.class, FrameBodyCOMM::new);
+        registerCopy("COMR", FrameBodyCOMR.class, FrameBodyCOMR::new);
+        registerCopy("CRM", FrameBodyCRM.class, FrameBodyCRM::new);
+        registerCopy("CTOC", FrameBodyCTOC.class, FrameBodyCTOC::new);
+        registerCopy("ENCR", FrameBodyENCR.class, FrameBodyENCR::new);
+        registerCopy("EQU2", FrameBodyEQU2.class, FrameBodyEQU2::new);
+        registerCopy("EQUA", FrameBodyEQUA.class, FrameBodyEQUA::new);
+        registerCopy("GEOB", FrameBodyGEOB.class, FrameBodyGEOB::new);
+        registerCopy("GRID", FrameBodyGRID.class, FrameBodyGRID::new);
+        registerCopy("GRP1", FrameBodyGRP1.class, FrameBodyGRP1::new);
+        registerCopy("IPLS", FrameBodyIPLS.class, FrameBodyIPLS::new);
+        registerCopy("IPLS", FrameBodyTIPL.class, FrameBodyIPLS::new);
+        registerCopy("LINK", FrameBodyLINK.class, FrameBodyLINK::new);
+        registerCopy("MCDI", FrameBodyMCDI.class, FrameBodyMCDI::new);
+        registerCopy("MLLT", FrameBodyMLLT.class, FrameBodyMLLT::new);
+        registerCopy("MVIN", FrameBodyMVIN.class, FrameBodyMVIN::new);
+        registerCopy("MVNM", FrameBodyMVNM.class, FrameBodyMVNM::new);
+        registerCopy("OWNE", FrameBodyOWNE.class, FrameBodyOWNE::new);
+        registerCopy("PCNT", FrameBodyPCNT.class, FrameBodyPCNT::new);
+        registerCopy("PIC", FrameBodyAPIC.class, FrameBodyPIC::new);
+        registerCopy("PIC", FrameBodyPIC.class, FrameBodyPIC::new);
+        registerCopy("POPM", FrameBodyPOPM.class, FrameBodyPOPM::new);
+        registerCopy("POSS", FrameBodyPOSS.class, FrameBodyPOSS::new);
+        registerCopy("PRIV", FrameBodyPRIV.class, FrameBodyPRIV::new);
+        registerCopy("RBUF", FrameBodyRBUF.class, FrameBodyRBUF::new);
+        registerCopy("RVA2", FrameBodyRVA2.class, FrameBodyRVA2::new);
+        registerCopy("RVA2", FrameBodyRVAD.class, FrameBodyRVA2::new);
+        registerCopy("RVAD", FrameBodyRVA2.class, FrameBodyRVAD::new);
+        registerCopy("RVAD", FrameBodyRVAD.class, FrameBodyRVAD::new);
+        registerCopy("RVRB", FrameBodyRVRB.class, FrameBodyRVRB::new);
+        registerCopy("SEEK", FrameBodySEEK.class, FrameBodySEEK::new);
+        registerCopy("SIGN", FrameBodySIGN.class, FrameBodySIGN::new);
+        registerCopy("SYLT", FrameBodySYLT.class, FrameBodySYLT::new);
+        registerCopy("TALB", FrameBodyTALB.class, FrameBodyTALB::new);
+        registerCopy("TBPM", FrameBodyTBPM.class, FrameBodyTBPM::new);
+        registerCopy("TCMP", FrameBodyTCMP.class, FrameBodyTCMP::new);
+        registerCopy("TCOM", FrameBodyTCOM.class, FrameBodyTCOM::new);
+        registerCopy("TCON", FrameBodyTCON.class, FrameBodyTCON::new);
+        registerCopy("TCOP", FrameBodyTCOP.class, FrameBodyTCOP::new);
+        registerCopy("TDAT", FrameBodyTDAT.class, FrameBodyTDAT::new);
+        registerCopy("TDEN", FrameBodyTDEN.class, FrameBodyTDEN::new);
+        registerCopy("TDLY", FrameBodyTDLY.class, FrameBodyTDLY::new);
+        registerCopy("TDOR", FrameBodyTDOR.class, FrameBodyTDOR::new);
+        registerCopy("TDOR", FrameBodyTORY.class, FrameBodyTDOR::new);
+        registerCopy("TDRC", FrameBodyTDAT.class, FrameBodyTDRC::new);
+        registerCopy("TDRC", FrameBodyTDRC.class, FrameBodyTDRC::new);
+        registerCopy("TDRC", FrameBodyTIME.class, FrameBodyTDRC::new);
+        registerCopy("TDRC", FrameBodyTRDA.class, FrameBodyTDRC::new);
+        registerCopy("TDRC", FrameBodyTYER.class, FrameBodyTDRC::new);
+        registerCopy("TDRL", FrameBodyTDRL.class, FrameBodyTDRL::new);
+        registerCopy("TDTG", FrameBodyTDTG.class, FrameBodyTDTG::new);
+        registerCopy("TENC", FrameBodyTENC.class, FrameBodyTENC::new);
+        registerCopy("TEXT", FrameBodyTEXT.class, FrameBodyTEXT::new);
+        registerCopy("TFLT", FrameBodyTFLT.class, FrameBodyTFLT::new);
+        registerCopy("TIME", FrameBodyTIME.class, FrameBodyTIME::new);
+        registerCopy("TIPL", FrameBodyIPLS.class, FrameBodyTIPL::new);
+        registerCopy("TIT1", FrameBodyTIT1.class, FrameBodyTIT1::new);
+        registerCopy("TIT2", FrameBodyTIT2.class, FrameBodyTIT2::new);
+        registerCopy("TIT3", FrameBodyTIT3.class, FrameBodyTIT3::new);
+        registerCopy("TKEY", FrameBodyTKEY.class, FrameBodyTKEY::new);
+        registerCopy("TLAN", FrameBodyTLAN.class, FrameBodyTLAN::new);
+        registerCopy("TLEN", FrameBodyTLEN.class, FrameBodyTLEN::new);
+        registerCopy("TMCL", FrameBodyIPLS.class, FrameBodyTMCL::new);
+        registerCopy("TMED", FrameBodyTMED.class, FrameBodyTMED::new);
+        registerCopy("TMOO", FrameBodyTMOO.class, FrameBodyTMOO::new);
+        registerCopy("TMOO", FrameBodyTXXX.class, FrameBodyTMOO::new);
+        registerCopy("TOAL", FrameBodyTOAL.class, FrameBodyTOAL::new);
+        registerCopy("TOFN", FrameBodyTOFN.class, FrameBodyTOFN::new);
+        registerCopy("TOLY", FrameBodyTOLY.class, FrameBodyTOLY::new);
+        registerCopy("TOPE", FrameBodyTOPE.class, FrameBodyTOPE::new);
+        registerCopy("TORY", FrameBodyTDOR.class, FrameBodyTORY::new);
+        registerCopy("TORY", FrameBodyTORY.class, FrameBodyTORY::new);
+        registerCopy("TOWN", FrameBodyTOWN.class, FrameBodyTOWN::new);
+        registerCopy("TPE1", FrameBodyTPE1.class, FrameBodyTPE1::new);
+        registerCopy("TPE2", FrameBodyTPE2.class, FrameBodyTPE2::new);
+        registerCopy("TPE3", FrameBodyTPE3.class, FrameBodyTPE3::new);
+        registerCopy("TPE4", FrameBodyTPE4.class, FrameBodyTPE4::new);
+        registerCopy("TPOS", FrameBodyTPOS.class, FrameBodyTPOS::new);
+        registerCopy("TPRO", FrameBodyTPRO.class, FrameBodyTPRO::new);
+        registerCopy("TPUB", FrameBodyTPUB.class, FrameBodyTPUB::new);
+        registerCopy("TRCK", FrameBodyTRCK.class, FrameBodyTRCK::new);
+        registerCopy("TRDA", FrameBodyTRDA.class, FrameBodyTRDA::new);
+        registerCopy("TRSN", FrameBodyTRSN.class, FrameBodyTRSN::new);
+        registerCopy("TRSO", FrameBodyTRSO.class, FrameBodyTRSO::new);
+        registerCopy("TSIZ", FrameBodyTSIZ.class, FrameBodyTSIZ::new);
+        registerCopy("TSO2", FrameBodyTSO2.class, FrameBodyTSO2::new);
+        registerCopy("TSOA", FrameBodyTSOA.class, FrameBodyTSOA::new);
+        registerCopy("TSOC", FrameBodyTSOC.class, FrameBodyTSOC::new);
+        registerCopy("TSOP", FrameBodyTSOP.class, FrameBodyTSOP::new);
+        registerCopy("TSOT", FrameBodyTSOT.class, FrameBodyTSOT::new);
+        registerCopy("TSRC", FrameBodyTSRC.class, FrameBodyTSRC::new);
+        registerCopy("TSSE", FrameBodyTSSE.class, FrameBodyTSSE::new);
+        registerCopy("TSST", FrameBodyTSST.class, FrameBodyTSST::new);
+        registerCopy("TXXX", FrameBodyTMOO.class, FrameBodyTXXX::new);
+        registerCopy("TXXX", FrameBodyTXXX.class, FrameBodyTXXX::new);
+        registerCopy("TYER", FrameBodyTDRC.class, FrameBodyTYER::new);
+        registerCopy("TYER", FrameBodyTYER.class, FrameBodyTYER::new);
+        registerCopy("UFID", FrameBodyUFID.class, FrameBodyUFID::new);
+        registerCopy("USER", FrameBodyUSER.class, FrameBodyUSER::new);
+        registerCopy("USLT", FrameBodyUSLT.class, FrameBodyUSLT::new);
+        registerCopy("WCOM", FrameBodyWCOM.class, FrameBodyWCOM::new);
+        registerCopy("WCOP", FrameBodyWCOP.class, FrameBodyWCOP::new);
+        registerCopy("WOAF", FrameBodyWOAF.class, FrameBodyWOAF::new);
+        registerCopy("WOAR", FrameBodyWOAR.class, FrameBodyWOAR::new);
+        registerCopy("WOAS", FrameBodyWOAS.class, FrameBodyWOAS::new);
+        registerCopy("WORS", FrameBodyWORS.class, FrameBodyWORS::new);
+        registerCopy("WPAY", FrameBodyWPAY.class, FrameBodyWPAY::new);
+        registerCopy("WPUB", FrameBodyWPUB.class, FrameBodyWPUB::new);
+        registerCopy("WXXX", FrameBodyWXXX.class, FrameBodyWXXX::new);
+        registerCopy("XSOA", FrameBodyXSOA.class, FrameBodyXSOA::new);
+        registerCopy("XSOP", FrameBodyXSOP.class, FrameBodyXSOP::new);
+        registerCopy("XSOT", FrameBodyXSOT.class, FrameBodyXSOT::new);
+    }
+
+    private FrameBodyFactory() {
+    }
+
+    /**
+     * Register the constructors for a frame body identifier, replacing any existing ones
+     *
+     * @param identifier   of the frame body
+     * @param empty        creates an empty body, may be null
+     * @param read         creates a body from a buffer, may be null
+     */
+    public static void register(String identifier, EmptyBodyConstructor empty, ReadBodyConstructor read) {
+        if (empty != null) {
+            emptyConstructors.put(identifier, empty);
+        } else {
+            emptyConstructors.remove(identifier);
+        }
+        if (read != null) {
+            readConstructors.put(identifier, read);
+        } else {
+            readConstructors.remove(identifier);
+        }
+    }
+
+    /**
+     * Register the constructor that creates a frame body for an identifier from a body of the given class, replacing
+     * any existing one
+     *
+     * @param identifier of the frame body to create
+     * @param bodyClass  class of the body it is created from
+     * @param copy       creates the body, may be null
+     */
+    public static <T extends AbstractID3v2FrameBody> void registerCopy(String identifier, Class<T> bodyClass, CopyBodyConstructor<T> copy) {
+        if (copy != null) {
+            copyConstructors.put(getCopyKey(identifier, bodyClass), copy);
+        } else {
+            copyConstructors.remove(getCopyKey(identifier, bodyClass));
+        }
+    }
+
+    private static String getCopyKey(String identifier, Class<?> bodyClass) {
+        return identifier + ":" + bodyClass.getName();
+    }
+
+    /**
+     * @param identifier of the frame body
+     * @return a new empty frame body, or null if no constructor is registered for the identifier
+     */
+    public static AbstractID3v2FrameBody newBody(String identifier) {
+        EmptyBodyConstructor constructor = emptyConstructors.get(identifier);
+        return constructor != null ? constructor.newBody() : null;
+    }
+
+    /**
+     * @param identifier of the frame body
+     * @return the constructor that reads a frame body of this type, or null if none is registered
+     */
+    public static ReadBodyConstructor getReadConstructor(String identifier) {
+        return readConstructors.get(identifier);
+    }
+
+    /**
+     * @param identifier of the frame body to create
+     * @param body       to create it from
+     * @return a new frame body populated from the body, or null if no constructor is registered for the identifier
+     * and the class of the body
+     */
+    @SuppressWarnings("unchecked")
+    public static AbstractID3v2FrameBody copyBody(String identifier, AbstractID3v2FrameBody body) {
+        CopyBodyConstructor<AbstractID3v2FrameBody> constructor = (CopyBodyConstructor<AbstractID3v2FrameBody>) copyConstructors.get(getCopyKey(identifier, body.getClass()));
+        return constructor != null ? constructor.newBody(body) : null;
+    }
+}
@@ -22,6 +22,7 @@
  */
 package org.jaudiotagger.tag.id3.framebody;
 
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.tag.InvalidTagException;
 import org.jaudiotagger.tag.datatype.*;
 import org.jaudiotagger.tag.id3.ID3v22Frames;
@@ -170,6 +171,15 @@ public class FrameBodyPIC extends AbstractID3v2FrameBody implements ID3v22FrameB
         return (byte[]) getObjectValue(DataTypes.OBJ_PICTURE_DATA);
     }
 
+    /**
+     * Get the region of the file holding the image data, if it was left in the file when the tag was read
+     *
+     * @return the region or null if the image data is held in memory
+     */
+    public FileRegion getImageRegion() {
+        return ((ByteArraySizeTerminated) getObject(DataTypes.OBJ_PICTURE_DATA)).getDeferredValue();
+    }
+
     /**
      * Set Picture Type
      *
@@ -30,6 +30,10 @@ public class ArtworkFactory {
      * @return
      */
     public static Artwork createArtworkFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt) {
+        //Image data not read yet
+        if (coverArt.getImageRegion() != null) {
+            return LazyArtwork.createArtworkFromMetadataBlockDataPicture(coverArt);
+        }
         //Normal
         if (!TagOptionSingleton.getInstance().isAndroid()) {
             return StandardArtwork.createArtworkFromMetadataBlockDataPicture(coverArt);
@@ -0,0 +1,198 @@
+package org.jaudiotagger.tag.images;
+
+import org.jaudiotagger.audio.exceptions.DeferredReadException;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.audio.io.FileRegion;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Artwork whose image data is left in the file until it is asked for.
+ * <p>
+ * The mime type, picture type, description and dimensions are available straight away, the binary data is
+ * read from the file the first time {@link #getBinaryData()} (or anything needing the image) is called. This
+ * allows artwork to be listed without the images being held in memory, see
+ * {@link org.jaudiotagger.tag.TagOptionSingleton#setLazyArtwork(boolean)}.
+ */
+public class LazyArtwork implements Artwork {
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.images");
+
+    private final Artwork artwork = ArtworkFactory.getNew();
+    private FileRegion region;
+    private int length;
+
+    /**
+     * @param region of the file containing the image data
+     */
+    public LazyArtwork(FileRegion region) {
+        this.region = region;
+        this.length = region.getLength();
+    }
+
+    /**
+     * For subclasses that load the image data from somewhere other than a region of a file
+     *
+     * @param length of the image data in bytes
+     */
+    protected LazyArtwork(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Load the image data
+     *
+     * @return the image data
+     * @throws IOException
+     */
+    protected byte[] loadBinaryData() throws IOException {
+        return region.read();
+    }
+
+    /**
+     * @return true if the image data has been loaded, or set directly
+     */
+    public boolean isLoaded() {
+        return length < 0;
+    }
+
+    /**
+     * @return the size of the image data in bytes, without loading it
+     */
+    public int getBinaryDataLength() {
+        if (isLoaded()) {
+            byte[] data = artwork.getBinaryData();
+            return data == null ? 0 : data.length;
+        }
+        return length;
+    }
+
+    /**
+     * @return the region of the file holding the image data, or null if not held in a file or already loaded
+     */
+    public FileRegion getRegion() {
+        return isLoaded() ? null : region;
+    }
+
+    /**
+     * @throws DeferredReadException if the image data cannot be loaded
+     */
+    private void load() {
+        if (!isLoaded()) {
+            try {
+                artwork.setBinaryData(loadBinaryData());
+            } catch (IOException ioe) {
+                logger.warning("Unable to load image data from:" + region + ":" + ioe.getMessage());
+                throw new DeferredReadException("Unable to load image data from:" + region, ioe);
+            }
+            region = null;
+            length = -1;
+        }
+    }
+
+    public byte[] getBinaryData() {
+        load();
+        return artwork.getBinaryData();
+    }
+
+    public void setBinaryData(byte[] binaryData) {
+        region = null;
+        length = -1;
+        artwork.setBinaryData(binaryData);
+    }
+
+    public String getMimeType() {
+        return artwork.getMimeType();
+    }
+
+    public void setMimeType(String mimeType) {
+        artwork.setMimeType(mimeType);
+    }
+
+    public String getDescription() {
+        return artwork.getDescription();
+    }
+
+    public int getHeight() {
+        return artwork.getHeight();
+    }
+
+    public int getWidth() {
+        return artwork.getWidth();
+    }
+
+    public void setDescription(String description) {
+        artwork.setDescription(description);
+    }
+
+    public boolean setImageFromData() {
+        load();
+        return artwork.setImageFromData();
+    }
+
+    public Object getImage() throws IOException {
+        load();
+        return artwork.getImage();
+    }
+
+    public boolean isLinked() {
+        return artwork.isLinked();
+    }
+
+    public void setLinked(boolean linked) {
+        artwork.setLinked(linked);
+    }
+
+    public String getImageUrl() {
+        return artwork.getImageUrl();
+    }
+
+    public void setImageUrl(String imageUrl) {
+        artwork.setImageUrl(imageUrl);
+    }
+
+    public int getPictureType() {
+        return artwork.getPictureType();
+    }
+
+    public void setPictureType(int pictureType) {
+        artwork.setPictureType(pictureType);
+    }
+
+    public void setFromFile(File file) throws IOException {
+        region = null;
+        length = -1;
+        artwork.setFromFile(file);
+    }
+
+    public void setFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt) {
+        region = null;
+        length = -1;
+        artwork.setFromMetadataBlockDataPicture(coverArt);
+    }
+
+    /**
+     * Create artwork from a Flac block whose image data has not been read yet
+     *
+     * @param coverArt
+     * @return
+     */
+    public static LazyArtwork createArtworkFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt) {
+        LazyArtwork artwork = new LazyArtwork(coverArt.getImageRegion());
+        artwork.setMimeType(coverArt.getMimeType());
+        artwork.setDescription(coverArt.getDescription());
+        artwork.setPictureType(coverArt.getPictureType());
+        artwork.setWidth(coverArt.getWidth());
+        artwork.setHeight(coverArt.getHeight());
+        return artwork;
+    }
+
+    public void setWidth(int width) {
+        artwork.setWidth(width);
+    }
+
+    public void setHeight(int height) {
+        artwork.setHeight(height);
+    }
+}
@@ -23,6 +23,7 @@ import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.images.Artwork;
 import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
 import org.jaudiotagger.tag.mp4.field.*;
 
 import java.nio.charset.Charset;
@@ -706,8 +707,13 @@ public class Mp4Tag extends AbstractTag {
 
         for (TagField next : coverartList) {
             Mp4TagCoverField mp4CoverArt = (Mp4TagCoverField) next;
-            Artwork artwork = ArtworkFactory.getNew();
-            artwork.setBinaryData(mp4CoverArt.getData());
+            Artwork artwork;
+            if (mp4CoverArt.getImageRegion() != null) {
+                artwork = new LazyArtwork(mp4CoverArt.getImageRegion());
+            } else {
+                artwork = ArtworkFactory.getNew();
+                artwork.setBinaryData(mp4CoverArt.getData());
+            }
             artwork.setMimeType(Mp4TagCoverField.getMimeTypeForImageType(mp4CoverArt.getFieldType()));
             artworkList.add(artwork);
         }
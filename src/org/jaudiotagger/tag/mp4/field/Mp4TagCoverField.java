@@ -18,6 +18,7 @@
  */
 package org.jaudiotagger.tag.mp4.field;
 
+import org.jaudiotagger.audio.io.FileRegion;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
 import org.jaudiotagger.tag.mp4.Mp4FieldKey;
@@ -40,6 +41,9 @@ public class Mp4TagCoverField extends Mp4TagBinaryField {
     //may have data and name atom
     private int dataAndHeaderSize;
 
+    //Region of the file holding the image, if it has not been read yet
+    private FileRegion region;
+
     /**
      * Empty CoverArt Field
      */
@@ -65,23 +69,82 @@ public class Mp4TagCoverField extends Mp4TagBinaryField {
      */
     public Mp4TagCoverField(byte[] data) {
         super(Mp4FieldKey.ARTWORK.getFieldName(), data);
+        imageType = identifyImageType(data);
+    }
 
+    /**
+     * Identifies the imageType by looking at the start of the data
+     *
+     * @param data
+     * @return the image type
+     */
+    private static Mp4FieldType identifyImageType(byte[] data) {
         //Read signature
         if (ImageFormats.binaryDataIsPngFormat(data)) {
-            imageType = Mp4FieldType.COVERART_PNG;
+            return Mp4FieldType.COVERART_PNG;
         } else if (ImageFormats.binaryDataIsJpgFormat(data)) {
-            imageType = Mp4FieldType.COVERART_JPEG;
+            return Mp4FieldType.COVERART_JPEG;
         } else if (ImageFormats.binaryDataIsGifFormat(data)) {
-            imageType = Mp4FieldType.COVERART_GIF;
+            return Mp4FieldType.COVERART_GIF;
         } else if (ImageFormats.binaryDataIsBmpFormat(data)) {
-            imageType = Mp4FieldType.COVERART_BMP;
+            return Mp4FieldType.COVERART_BMP;
         } else {
             logger.warning(ErrorMessage.GENERAL_UNIDENITIFED_IMAGE_FORMAT.getMsg());
-            imageType = Mp4FieldType.COVERART_PNG;
+            return Mp4FieldType.COVERART_PNG;
         }
     }
 
 
+    /**
+     * Construct cover art whose binary data is left in the file until it is needed
+     * <p>
+     * Identifies the imageType by looking at the start of the data
+     *
+     * @param region    of the file holding the image data
+     * @param dataStart the first few bytes of the image data
+     */
+    public Mp4TagCoverField(FileRegion region, byte[] dataStart) {
+        super(Mp4FieldKey.ARTWORK.getFieldName());
+        this.region = region;
+        this.imageType = identifyImageType(dataStart);
+    }
+
+    /**
+     * @return the region of the file holding the image data if it has not been read yet, otherwise null
+     */
+    public FileRegion getImageRegion() {
+        return region;
+    }
+
+    private void load() {
+        if (region != null) {
+            dataBytes = region.readDeferred();
+            region = null;
+        }
+    }
+
+    protected byte[] getDataBytes() {
+        load();
+        return dataBytes;
+    }
+
+    public byte[] getData() {
+        load();
+        return dataBytes;
+    }
+
+    public void setData(byte[] d) {
+        region = null;
+        super.setData(d);
+    }
+
+    public boolean isEmpty() {
+        if (region != null) {
+            return region.getLength() == 0;
+        }
+        return super.isEmpty();
+    }
+
     /**
      * Return field type, for artwork this also identifies the imagetype
      *
@@ -97,7 +160,7 @@ public class Mp4TagCoverField extends Mp4TagBinaryField {
 
 
     public String toString() {
-        return imageType + ":" + dataBytes.length + "bytes";
+        return imageType + ":" + (region != null ? region.getLength() : dataBytes.length) + "bytes";
     }
 
     /**
@@ -0,0 +1,18 @@
+package org.jaudiotagger.tag.options;
+
+/**
+ * How much padding is left after the metadata when it no longer fits in the space available and the audio has to be
+ * moved, so that the metadata can grow a little next time without moving the audio again.
+ * <p>
+ * i.e for 3000 bytes of metadata
+ * FIXED,        the padding size, 100 bytes for ID3v2 by default
+ * PERCENTAGE,   10% of 3000 = 300 bytes with the default percentage
+ * POWER_OF_TWO, rounded up to 4096 = 1096 bytes
+ *
+ * @see org.jaudiotagger.tag.TagOptionSingleton#setPaddingStrategy(PaddingStrategy)
+ */
+public enum PaddingStrategy {
+    FIXED,
+    PERCENTAGE,
+    POWER_OF_TWO,
+}
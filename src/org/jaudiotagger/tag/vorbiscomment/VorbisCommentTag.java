@@ -25,11 +25,13 @@ import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.images.Artwork;
 import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.EnumMap;
@@ -501,6 +503,14 @@ public class VorbisCommentTag extends AbstractTag {
         for (TagField tagField : metadataBlockPics) {
 
             try {
+                //Only decode the picture header, the image is decoded when asked for
+                if (TagOptionSingleton.getInstance().isLazyArtwork()) {
+                    Artwork artwork = Base64Artwork.create(((TagTextField) tagField).getContent());
+                    if (artwork != null) {
+                        artworkList.add(artwork);
+                        continue;
+                    }
+                }
                 byte[] imageBinaryData = Base64.getDecoder().decode(((TagTextField) tagField).getContent());
                 MetadataBlockDataPicture coverArt = new MetadataBlockDataPicture(ByteBuffer.wrap(imageBinaryData));
                 Artwork artwork = ArtworkFactory.createArtworkFromMetadataBlockDataPicture(coverArt);
@@ -513,6 +523,92 @@ public class VorbisCommentTag extends AbstractTag {
     }
 
 
+    /**
+     * Artwork held as a base64 encoded MetadataBlockPicture field, the image data is only decoded when needed
+     */
+    private static class Base64Artwork extends LazyArtwork {
+        //Picture type, mime type length, then description length, width, height, colour depth, colour count and image length
+        private static final int FIXED_HEADER_LENGTH = 32;
+
+        private final String content;
+        private final int imageOffset;
+
+        private Base64Artwork(String content, int imageOffset, int imageLength) {
+            super(imageLength);
+            this.content = content;
+            this.imageOffset = imageOffset;
+        }
+
+        /**
+         * @param content base64 encoded picture block
+         * @return the artwork, or null if it is linked so has no image data to defer
+         * @throws InvalidFrameException if the picture header cannot be decoded
+         */
+        private static Base64Artwork create(String content) throws InvalidFrameException {
+            ByteBuffer header = decodeStart(content, 8);
+            int pictureType = header.getInt();
+            int mimeTypeLength = header.getInt();
+            header = decodeStart(content, 8 + mimeTypeLength + 4);
+            header.position(8 + mimeTypeLength);
+            int descriptionLength = header.getInt();
+            header = decodeStart(content, FIXED_HEADER_LENGTH + mimeTypeLength + descriptionLength);
+            header.position(8);
+
+            byte[] mimeType = new byte[mimeTypeLength];
+            header.get(mimeType);
+            header.getInt();
+            byte[] description = new byte[descriptionLength];
+            header.get(description);
+            int width = header.getInt();
+            int height = header.getInt();
+            header.getInt();
+            header.getInt();
+            int imageLength = header.getInt();
+
+            String mimeTypeString = new String(mimeType, StandardCharsets.ISO_8859_1);
+            if (mimeTypeString.equals(MetadataBlockDataPicture.IMAGE_IS_URL) || imageLength < 0) {
+                return null;
+            }
+            Base64Artwork artwork = new Base64Artwork(content, header.position(), imageLength);
+            artwork.setPictureType(pictureType);
+            artwork.setMimeType(mimeTypeString);
+            artwork.setDescription(new String(description, StandardCharsets.UTF_8));
+            artwork.setWidth(width);
+            artwork.setHeight(height);
+            return artwork;
+        }
+
+        /**
+         * Decode just enough of the start of the field to get the given number of bytes
+         */
+        private static ByteBuffer decodeStart(String content, int length) throws InvalidFrameException {
+            if (length < 0) {
+                throw new InvalidFrameException("Invalid picture header length:" + length);
+            }
+            int chars = (int) Math.min(content.length(), ((length + 2L) / 3) * 4);
+            byte[] data;
+            try {
+                data = Base64.getDecoder().decode(content.substring(0, chars));
+            } catch (IllegalArgumentException iae) {
+                throw new InvalidFrameException("Unable to decode picture header:" + iae.getMessage());
+            }
+            if (data.length < length) {
+                throw new InvalidFrameException("Picture header is only " + data.length + " bytes but needs " + length);
+            }
+            return ByteBuffer.wrap(data);
+        }
+
+        protected byte[] loadBinaryData() throws IOException {
+            byte[] data = Base64.getDecoder().decode(content);
+            if (imageOffset + getBinaryDataLength() > data.length) {
+                throw new IOException("Picture data is only " + (data.length - imageOffset) + " bytes but should be " + getBinaryDataLength());
+            }
+            byte[] image = new byte[getBinaryDataLength()];
+            System.arraycopy(data, imageOffset, image, 0, image.length);
+            return image;
+        }
+    }
+
     /**
      * Create MetadataBlockPicture field, this is the preferred way of storing artwork in VorbisComment tag now but
      * has to be base encoded to be stored in VorbisComment
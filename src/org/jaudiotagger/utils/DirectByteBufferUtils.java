@@ -1,5 +1,6 @@
 package org.jaudiotagger.utils;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.Buffer;
@@ -116,6 +117,55 @@ public class DirectByteBufferUtils {
 
     }
 
+    /**
+     * From Java 9 the cleaner is no longer accessible but {@code sun.misc.Unsafe} provides a method to run it,
+     * whatever the vendor of the JVM
+     */
+    private final static class UnsafeReleaseStrategy implements ReleaseStrategy {
+
+        private static final ReleaseStrategy INSTANCE = new UnsafeReleaseStrategy();
+
+        private static final Object unsafe;
+        private static final Method invokeCleanerMethod;
+
+        static {
+            Object theUnsafe = null;
+            Method invokeCleaner = null;
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafeField.setAccessible(true);
+                theUnsafe = theUnsafeField.get(null);
+            } catch (Exception e) {
+                // Before Java 9, or not allowed
+                invokeCleaner = null;
+            }
+            unsafe = theUnsafe;
+            invokeCleanerMethod = invokeCleaner;
+        }
+
+        private UnsafeReleaseStrategy() {
+        }
+
+        private static boolean isAvailable() {
+            return unsafe != null && invokeCleanerMethod != null;
+        }
+
+        @Override
+        public void release(Buffer bb) {
+            try {
+                invokeCleanerMethod.invoke(unsafe, bb);
+            } catch (IllegalAccessException e) {
+                LOGGER.log(Level.WARNING, "Authorisation failed to invoke release on: " + bb, e);
+            } catch (InvocationTargetException e) {
+                // Slices and duplicates cannot be released, only the buffer they were created from
+                LOGGER.log(Level.WARNING, "Failed to release: " + bb, e);
+            }
+        }
+
+    }
+
     private final static class UnsupportedJvmReleaseStrategy implements ReleaseStrategy {
         private static final ReleaseStrategy INSTANCE = new UnsupportedJvmReleaseStrategy();
 
@@ -135,6 +185,10 @@ public class DirectByteBufferUtils {
      */
     private static ReleaseStrategy decideReleaseStrategy() {
 
+        if (UnsafeReleaseStrategy.isAvailable()) {
+            return UnsafeReleaseStrategy.INSTANCE;
+        }
+
         final String javaVendor = System.getProperty("java.vendor");
 
         if (javaVendor.equals("Sun Microsystems Inc.") || javaVendor.equals("Oracle Corporation")) {
@@ -0,0 +1,127 @@
+package org.jcodec.containers.mp4;
+
+import org.jaudiotagger.audio.generic.Utils;
+import org.jcodec.containers.mp4.boxes.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps box classes to their constructors.
+ * <p>
+ * The box factories used to create every box read by calling its (Header) constructor reflectively, this table
+ * lets them call the constructors directly. Classes that are not in the table, e.g. ones added to a {@link Boxes}
+ * with {@link Boxes#override(String, Class)}, are still created reflectively.
+ */
+public final class BoxConstructors {
+
+    /**
+     * Creates a box for the given header
+     */
+    public interface BoxConstructor {
+        Box newBox(Header header);
+    }
+
+    private static final Map<Class<? extends Box>, BoxConstructor> constructors = new ConcurrentHashMap<Class<? extends Box>, BoxConstructor>();
+
+    static {
+        register(AliasBox.class, AliasBox::new);
+        register(AudioSampleEntry.class, AudioSampleEntry::new);
+        register(Box.LeafBox.class, Box.LeafBox::new);
+        register(ChannelBox.class, ChannelBox::new);
+        register(ChunkOffsets64Box.class, ChunkOffsets64Box::new);
+        register(ChunkOffsetsBox.class, ChunkOffsetsBox::new);
+        register(CleanApertureExtension.class, CleanApertureExtension::new);
+        register(ClearApertureBox.class, ClearApertureBox::new);
+        register(ClipRegionBox.class, ClipRegionBox::new);
+        register(ColorExtension.class, ColorExtension::new);
+        register(CompositionOffsetsBox.class, CompositionOffsetsBox::new);
+        register(DataBox.class, DataBox::new);
+        register(DataInfoBox.class, DataInfoBox::new);
+        register(DataRefBox.class, DataRefBox::new);
+        register(EditListBox.class, EditListBox::new);
+        register(EncodedPixelBox.class, EncodedPixelBox::new);
+        register(EndianBox.class, EndianBox::new);
+        register(EsdsBox.class, EsdsBox::new);
+        register(FielExtension.class, FielExtension::new);
+        register(FileTypeBox.class, FileTypeBox::new);
+        register(FormatBox.class, FormatBox::new);
+        register(GamaExtension.class, GamaExtension::new);
+        register(GenericMediaInfoBox.class, GenericMediaInfoBox::new);
+        register(HandlerBox.class, HandlerBox::new);
+        register(IListBox.class, IListBox::new);
+        register(KeysBox.class, KeysBox::new);
+        register(LoadSettingsBox.class, LoadSettingsBox::new);
+        register(MP4ABox.class, MP4ABox::new);
+        register(MdtaBox.class, MdtaBox::new);
+        register(MediaBox.class, MediaBox::new);
+        register(MediaHeaderBox.class, MediaHeaderBox::new);
+        register(MediaInfoBox.class, MediaInfoBox::new);
+        register(MetaBox.class, MetaBox::new);
+        register(MovieBox.class, MovieBox::new);
+        register(MovieExtendsBox.class, MovieExtendsBox::new);
+        register(MovieExtendsHeaderBox.class, MovieExtendsHeaderBox::new);
+        register(MovieFragmentBox.class, MovieFragmentBox::new);
+        register(MovieFragmentHeaderBox.class, MovieFragmentHeaderBox::new);
+        register(MovieHeaderBox.class, MovieHeaderBox::new);
+        register(NameBox.class, NameBox::new);
+        register(NodeBox.class, NodeBox::new);
+        register(PartialSyncSamplesBox.class, PartialSyncSamplesBox::new);
+        register(PixelAspectExt.class, PixelAspectExt::new);
+        register(ProductionApertureBox.class, ProductionApertureBox::new);
+        register(ReverseDnsBox.class, ReverseDnsBox::new);
+        register(ReverseDnsBox.RdnsMeanBox.class, ReverseDnsBox.RdnsMeanBox::new);
+        register(ReverseDnsBox.RdnsNameBox.class, ReverseDnsBox.RdnsNameBox::new);
+        register(SampleDescriptionBox.class, SampleDescriptionBox::new);
+        register(SampleEntry.class, SampleEntry::new);
+        register(SampleSizesBox.class, SampleSizesBox::new);
+        register(SampleToChunkBox.class, SampleToChunkBox::new);
+        register(SegmentIndexBox.class, SegmentIndexBox::new);
+        register(SegmentTypeBox.class, SegmentTypeBox::new);
+        register(SoundMediaHeaderBox.class, SoundMediaHeaderBox::new);
+        register(SyncSamplesBox.class, SyncSamplesBox::new);
+        register(TimeToSampleBox.class, TimeToSampleBox::new);
+        register(TimecodeMediaInfoBox.class, TimecodeMediaInfoBox::new);
+        register(TimecodeSampleEntry.class, TimecodeSampleEntry::new);
+        register(TrackExtendsBox.class, TrackExtendsBox::new);
+        register(TrackFragmentBaseMediaDecodeTimeBox.class, TrackFragmentBaseMediaDecodeTimeBox::new);
+        register(TrackFragmentBox.class, TrackFragmentBox::new);
+        register(TrackFragmentHeaderBox.class, TrackFragmentHeaderBox::new);
+        register(TrackHeaderBox.class, TrackHeaderBox::new);
+        register(TrakBox.class, TrakBox::new);
+        register(TrunBox.class, TrunBox::new);
+        register(UdtaBox.class, UdtaBox::new);
+        register(UdtaMetaBox.class, UdtaMetaBox::new);
+        register(UrlBox.class, UrlBox::new);
+        register(VideoMediaHeaderBox.class, VideoMediaHeaderBox::new);
+        register(WaveExtension.class, WaveExtension::new);
+    }
+
+    private BoxConstructors() {
+    }
+
+    /**
+     * Register the constructor to use for a box class, replacing any existing one
+     *
+     * @param claz
+     * @param constructor
+     */
+    public static void register(Class<? extends Box> claz, BoxConstructor constructor) {
+        constructors.put(claz, constructor);
+    }
+
+    /**
+     * Create a box of the given class
+     *
+     * @param claz
+     * @param header
+     * @return the new box, created directly if the class is registered or reflectively otherwise
+     */
+    public static Box newBox(Class<? extends Box> claz, Header header) {
+        BoxConstructor constructor = constructors.get(claz);
+        if (constructor != null) {
+            return constructor.newBox(header);
+        }
+        return Utils.newInstance(claz, new Object[]{header});
+    }
+}
@@ -1,6 +1,5 @@
 package org.jcodec.containers.mp4;
 
-import org.jaudiotagger.audio.generic.Utils;
 import org.jcodec.containers.mp4.boxes.AudioSampleEntry;
 import org.jcodec.containers.mp4.boxes.Box;
 import org.jcodec.containers.mp4.boxes.DataRefBox;
@@ -10,6 +9,10 @@ import org.jcodec.containers.mp4.boxes.SampleDescriptionBox;
 import org.jcodec.containers.mp4.boxes.TimecodeSampleEntry;
 import org.jcodec.containers.mp4.boxes.WaveExtension;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * This class is part of JCodec ( www.jcodec.org ) This software is distributed
  * under FreeBSD License
@@ -27,23 +30,43 @@ public class BoxFactory implements IBoxFactory {
     private static IBoxFactory sample = new BoxFactory(new SampleBoxes());
     private static IBoxFactory timecode = new BoxFactory(new TimecodeBoxes());
     private static IBoxFactory waveext = new BoxFactory(new WaveExtBoxes());
+    private static IBoxFactory lazy = new BoxFactory(new DefaultBoxes(),
+            Arrays.asList("stsz", "stz2", "stts", "stsc", "ctts", "stss", "stco", "co64"));
 
     private Boxes boxes;
+    private Collection<String> deferred;
 
     public static IBoxFactory getDefault() {
         return instance;
     }
 
+    /**
+     * A factory that keeps the sample tables as raw {@link Box.LeafBox}es, they are only decoded if they are
+     * looked up by type, e.g. with {@link NodeBox#findFirstPath(NodeBox, Class, String[])}
+     */
+    public static IBoxFactory getLazy() {
+        return lazy;
+    }
+
     public BoxFactory(Boxes boxes) {
+        this(boxes, Collections.<String>emptyList());
+    }
+
+    /**
+     * @param boxes    known boxes
+     * @param deferred fourccs of leaf boxes whose parsing is deferred until they are accessed
+     */
+    public BoxFactory(Boxes boxes, Collection<String> deferred) {
         this.boxes = boxes;
+        this.deferred = deferred;
     }
 
     @Override
     public Box newBox(Header header) {
         Class<? extends Box> claz = boxes.toClass(header.getFourcc());
-        if (claz == null)
+        if (claz == null || deferred.contains(header.getFourcc()))
             return new Box.LeafBox(header);
-        Box box = Utils.newInstance(claz, new Object[] { header });
+        Box box = BoxConstructors.newBox(claz, header);
         if (box instanceof NodeBox) {
             NodeBox nodebox = (NodeBox) box;
             if (nodebox instanceof SampleDescriptionBox) {
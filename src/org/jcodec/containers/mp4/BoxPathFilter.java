@@ -0,0 +1,116 @@
+package org.jcodec.containers.mp4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selects which boxes of a movie are read from the file.
+ * <p>
+ * Paths are dot separated fourccs from the root of the file, as used by {@link org.jcodec.containers.mp4.boxes.Box#path(String)},
+ * e.g. "moov.udta.meta.ilst". A box is read if it lies on the way to, or inside, an included path and is not inside
+ * an excluded path. Boxes that are not wanted are skipped without their bodies being read from the channel.
+ * <p>
+ * Movies parsed with a filter are only suitable for reading, they cannot be written back to a file.
+ */
+public class BoxPathFilter {
+
+    /**
+     * The large per sample tables, not needed to read the audio header or tag
+     */
+    private static final String[] SAMPLE_TABLES = new String[]{
+            "moov.trak.mdia.minf.stbl.stsz",
+            "moov.trak.mdia.minf.stbl.stz2",
+            "moov.trak.mdia.minf.stbl.stts",
+            "moov.trak.mdia.minf.stbl.stsc",
+            "moov.trak.mdia.minf.stbl.ctts",
+            "moov.trak.mdia.minf.stbl.stss",
+            "moov.trak.mdia.minf.stbl.stps",
+            "moov.trak.mdia.minf.stbl.sdtp"};
+
+    /**
+     * Just the metadata
+     */
+    public static final BoxPathFilter TAG_ONLY = include("moov.udta", "moov.meta");
+
+    /**
+     * Everything needed to read the audio header and the metadata, skipping the sample tables
+     */
+    public static final BoxPathFilter AUDIO_HEADER_AND_TAG = include("moov").exclude(SAMPLE_TABLES);
+
+    /**
+     * Boxes whose body consists only of child boxes, so can be walked directly within the file
+     */
+    private static final List<String> CONTAINERS = Arrays.asList("moov", "trak", "mdia", "minf", "stbl", "udta", "edts", "dinf", "mvex");
+
+    private final String[] includes;
+    private final String[] excludes;
+
+    private BoxPathFilter(String[] includes, String[] excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    public static BoxPathFilter include(String... paths) {
+        return new BoxPathFilter(paths, new String[0]);
+    }
+
+    /**
+     * @param paths to exclude
+     * @return a new filter that also excludes these paths
+     */
+    public BoxPathFilter exclude(String... paths) {
+        List<String> all = new ArrayList<String>(Arrays.asList(excludes));
+        all.addAll(Arrays.asList(paths));
+        return new BoxPathFilter(includes, all.toArray(new String[all.size()]));
+    }
+
+    private static boolean isAtOrUnder(String path, String ancestor) {
+        return path.equals(ancestor) || path.startsWith(ancestor + ".");
+    }
+
+    private static boolean isStrictlyUnder(String path, String ancestor) {
+        return path.startsWith(ancestor + ".");
+    }
+
+    /**
+     * @param path of box
+     * @return true if the box should be read
+     */
+    public boolean isWanted(String path) {
+        for (String exclude : excludes) {
+            if (isAtOrUnder(path, exclude)) {
+                return false;
+            }
+        }
+        for (String include : includes) {
+            if (isAtOrUnder(path, include) || isStrictlyUnder(include, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param path   of a wanted box
+     * @param fourcc of the box
+     * @return true if only some of the children of this box are wanted, and the box can be walked so that the
+     * unwanted children need not be read at all
+     */
+    public boolean isPartial(String path, String fourcc) {
+        if (!CONTAINERS.contains(fourcc)) {
+            return false;
+        }
+        for (String exclude : excludes) {
+            if (isStrictlyUnder(exclude, path)) {
+                return true;
+            }
+        }
+        for (String include : includes) {
+            if (isAtOrUnder(path, include)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -97,6 +97,52 @@ public class MP4Util {
         return null;
     }
 
+    /**
+     * Parse the movie reading only the boxes wanted by the filter, the bodies of other boxes are never read
+     * from the channel. Sample tables that are read are only decoded when accessed. The resulting movie can be
+     * read but should not be written back.
+     */
+    public static Movie parseFullMovieChannel(FileChannel input, BoxPathFilter filter) throws IOException {
+        FileTypeBox ftyp = null;
+        List<Atom> rootAtoms = getRootAtoms(input);
+        Iterator<Atom> itr = rootAtoms.iterator();
+        while (itr.hasNext()) {
+            Atom atom = itr.next();
+            if ("ftyp".equals(atom.getHeader().getFourcc())) {
+                ftyp = (FileTypeBox) atom.parseBox(input);
+                itr.remove();
+            } else if ("moov".equals(atom.getHeader().getFourcc())) {
+                MovieBox moov = (MovieBox) atom.parseBox(input, "moov", filter, BoxFactory.getLazy());
+                itr.remove();
+                return new Movie(ftyp, moov, rootAtoms);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the child atoms of a box that only contains other boxes, reading just their headers
+     */
+    public static List<Atom> getChildAtoms(FileChannel input, Atom parent) throws IOException {
+        List<Atom> result = new ArrayList<Atom>();
+        long off = parent.getOffset() + parent.getHeader().headerSize();
+        long end = parent.getOffset() + parent.getHeader().getSize();
+        while (off + 8 <= end) {
+            input.position(off);
+            ByteBuffer buf = Utils.fetchFromChannel(input, (int) Math.min(16, end - off));
+            Header atom = Header.read(buf);
+            if (atom == null)
+                break;
+            //Header.read skips any zero padding before the header
+            long start = off + buf.position() - atom.headerSize();
+            if (start + atom.getSize() > end)
+                break;
+            result.add(new Atom(atom, start));
+            off = start + atom.getSize();
+        }
+        return result;
+    }
+
     public static List<MovieFragmentBox> parseMovieFragments(FileChannel input) throws IOException {
         MovieBox moov = null;
         LinkedList<MovieFragmentBox> fragments = new LinkedList<MovieFragmentBox>();
@@ -177,6 +223,30 @@ public class MP4Util {
             return MP4Util.parseBox(Utils.fetchFromChannel(input, (int) header.getBodySize()), header, BoxFactory.getDefault());
         }
 
+        /**
+         * Parse the box reading only the descendants wanted by the filter
+         *
+         * @param input   channel
+         * @param path    of this box from the root of the file
+         * @param filter  selecting the boxes to read
+         * @param factory to create this box
+         */
+        public Box parseBox(FileChannel input, String path, BoxPathFilter filter, IBoxFactory factory) throws IOException {
+            if (!filter.isPartial(path, header.getFourcc())) {
+                input.position(offset + header.headerSize());
+                return MP4Util.parseBox(Utils.fetchFromChannel(input, (int) header.getBodySize()), header, factory);
+            }
+
+            NodeBox node = (NodeBox) factory.newBox(header);
+            for (Atom child : getChildAtoms(input, this)) {
+                String childPath = path + "." + child.getHeader().getFourcc();
+                if (filter.isWanted(childPath)) {
+                    node.add(child.parseBox(input, childPath, filter, factory));
+                }
+            }
+            return node;
+        }
+
         public void copy(FileChannel input, WritableByteChannel out) throws IOException {
             input.position(offset);
             Utils.copy(input, out, header.getSize());
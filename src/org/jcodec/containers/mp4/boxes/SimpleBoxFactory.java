@@ -1,6 +1,6 @@
 package org.jcodec.containers.mp4.boxes;
 
-import org.jaudiotagger.audio.generic.Utils;
+import org.jcodec.containers.mp4.BoxConstructors;
 import org.jcodec.containers.mp4.Boxes;
 import org.jcodec.containers.mp4.IBoxFactory;
 
@@ -16,7 +16,7 @@ public class SimpleBoxFactory implements IBoxFactory {
         Class<? extends Box> claz = boxes.toClass(header.getFourcc());
         if (claz == null)
             return new Box.LeafBox(header);
-        Box box = Utils.newInstance(claz, new Object[] { header });
+        Box box = BoxConstructors.newBox(claz, header);
         return box;
     }
 
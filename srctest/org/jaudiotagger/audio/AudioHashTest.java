@@ -0,0 +1,98 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Check the audio hash only covers the audio, so is unchanged by retagging, and that cached hashes are used until the
+ * file changes
+ */
+public class AudioHashTest extends AbstractTestCase
+{
+    private static final String[] FILES = {"test.flac", "test.wav", "test119.aif", "test122.dsf", "testV1Cbr128ID3v1v2.mp3", "test.m4a"};
+
+    public void testHashUnchangedByRetagging() throws Exception
+    {
+        for (String fileName : FILES)
+        {
+            File testFile = AbstractTestCase.copyAudioToTmp(fileName, new File("hash" + fileName));
+            AudioFile audioFile = AudioFileIO.read(testFile);
+            Map<String, byte[]> before = audioFile.getAudioHash("MD5", "SHA-256");
+            assertEquals(fileName, 16, before.get("MD5").length);
+            assertEquals(fileName, 32, before.get("SHA-256").length);
+
+            //The digests calculated together are the same as calculated alone
+            assertTrue(fileName, Arrays.equals(before.get("MD5"), audioFile.getAudioHash("MD5").get("MD5")));
+
+            char[] longArtist = new char[5000];
+            Arrays.fill(longArtist, 'a');
+            audioFile.getTagOrCreateAndSetDefault().setField(FieldKey.ARTIST, new String(longArtist));
+            audioFile.commit();
+
+            AudioFile retagged = AudioFileIO.read(testFile);
+            assertEquals(fileName, new String(longArtist), retagged.getTag().getFirst(FieldKey.ARTIST));
+            Map<String, byte[]> after = retagged.getAudioHash("MD5", "SHA-256");
+            assertTrue(fileName, Arrays.equals(before.get("MD5"), after.get("MD5")));
+            assertTrue(fileName, Arrays.equals(before.get("SHA-256"), after.get("SHA-256")));
+        }
+    }
+
+    public void testMp3HashMatchesGetHash() throws Exception
+    {
+        MP3File mp3File = (MP3File) AudioFileIO.read(new File("testdata", "testV1Cbr128ID3v1v2.mp3"));
+        assertTrue(mp3File.hasID3v1Tag());
+        assertTrue(Arrays.equals(mp3File.getHash("SHA-1", 1000), mp3File.getAudioHash("SHA-1").get("SHA-1")));
+    }
+
+    public void testFormatWithoutAudioPosition() throws Exception
+    {
+        try
+        {
+            AudioFileIO.read(new File("testdata", "test.ogg")).getAudioHash("MD5");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //Expected
+        }
+    }
+
+    public void testCache() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("hashcache.flac"));
+        File cacheFile = new File("testdatatmp", "hashcache.txt");
+        AudioFile audioFile = AudioFileIO.read(testFile);
+        AudioHashCache cache = new AudioHashCache();
+        byte[] hash = audioFile.getAudioHash(cache, "SHA-1").get("SHA-1");
+        assertEquals(1, cache.size());
+        long start = audioFile.getAudioHeader().getAudioDataStartPosition();
+        long end = audioFile.getAudioHeader().getAudioDataEndPosition();
+        assertTrue(Arrays.equals(hash, cache.get(testFile, start, end, "SHA-1")));
+        assertNull(cache.get(testFile, start, end, "MD5"));
+
+        //A cached hash is used rather than reading the audio
+        byte[] fake = MessageDigest.getInstance("SHA-1").digest(new byte[1]);
+        cache.put(testFile, start, end, "SHA-1", fake);
+        cache.save(cacheFile);
+        AudioHashCache loaded = AudioHashCache.load(cacheFile);
+        assertEquals(1, loaded.size());
+        assertTrue(Arrays.equals(fake, audioFile.getAudioHash(loaded, "SHA-1").get("SHA-1")));
+
+        //Once the file has changed it is read again
+        audioFile.getTag().setField(FieldKey.ARTIST, "hash cache");
+        audioFile.commit();
+        testFile.setLastModified(testFile.lastModified() + 2000);
+        AudioFile retagged = AudioFileIO.read(testFile);
+        assertNull(loaded.get(testFile, start, end, "SHA-1"));
+        assertTrue(Arrays.equals(hash, retagged.getAudioHash(loaded, "SHA-1").get("SHA-1")));
+        assertEquals(1, loaded.size());
+        assertTrue(AudioHashCache.load(new File("testdatatmp", "missing.txt")).size() == 0);
+    }
+}
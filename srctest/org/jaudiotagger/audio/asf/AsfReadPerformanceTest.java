@@ -0,0 +1,132 @@
+package org.jaudiotagger.audio.asf;
+
+import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.io.AsfHeaderReader;
+import org.jaudiotagger.audio.asf.io.ByteBufferInputStream;
+import org.jaudiotagger.audio.asf.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares dispatching on the chunks of wma headers by reading each GUID a byte at a time into a new object and
+ * looking it up in a map (as was done before) with reading it from the header buffer as two longs and finding the
+ * interned instance, both must find the same chunks.
+ */
+public class AsfReadPerformanceTest {
+    private static final Map<GUID, GUID> knownGuids = new HashMap<GUID, GUID>();
+
+    static {
+        for (GUID guid : GUID.KNOWN_GUIDS) {
+            knownGuids.put(new GUID(guid.getGUID()), guid);
+        }
+    }
+
+    private static List<File> wmaFiles() {
+        File[] files = new File("testdata").listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".wma");
+            }
+        });
+        List<File> wma = new ArrayList<File>();
+        if (files != null) {
+            for (File file : files) {
+                wma.add(file);
+            }
+        }
+        return wma;
+    }
+
+    private static List<byte[]> readHeaderObjects() throws Exception {
+        List<byte[]> headers = new ArrayList<byte[]>();
+        for (File file : wmaFiles()) {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                ByteBufferInputStream stream = AsfHeaderReader.readHeaderObject(raf.getChannel(), 0);
+                byte[] header = new byte[stream.available()];
+                stream.read(header, 0, header.length);
+                headers.add(header);
+            } finally {
+                raf.close();
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * The original byte at a time GUID reading
+     */
+    private static GUID readGUIDAsArray(InputStream stream) throws Exception {
+        int[] binaryGuid = new int[GUID.GUID_LENGTH];
+        for (int i = 0; i < binaryGuid.length; i++) {
+            binaryGuid[i] = stream.read();
+        }
+        return new GUID(binaryGuid);
+    }
+
+    /**
+     * Walk the top level chunks of the header object, returning the number of known chunks
+     */
+    private static int dispatchAsArray(byte[] header, List<GUID> found) throws Exception {
+        ByteArrayInputStream stream = new ByteArrayInputStream(header);
+        stream.skip(30);
+        int position = 30;
+        int known = 0;
+        while (position + 24 <= header.length) {
+            GUID guid = readGUIDAsArray(stream);
+            long size = Utils.readUINT64(stream);
+            GUID configured = knownGuids.get(guid);
+            if (configured != null) {
+                known++;
+            }
+            found.add(configured != null ? configured : guid);
+            stream.skip(size - 24);
+            position += size;
+        }
+        return known;
+    }
+
+    private static int dispatchFromBuffer(byte[] header, List<GUID> found) throws Exception {
+        ByteBufferInputStream stream = new ByteBufferInputStream(ByteBuffer.wrap(header));
+        stream.skip(30);
+        int position = 30;
+        int known = 0;
+        while (position + 24 <= header.length) {
+            GUID guid = Utils.readGUID(stream);
+            long size = Utils.readUINT64(stream);
+            if (GUID.getConfigured(guid) == guid) {
+                known++;
+            }
+            found.add(guid);
+            stream.skip(size - 24);
+            position += size;
+        }
+        return known;
+    }
+
+    @Test
+    public void testSameChunks() throws Exception {
+        for (byte[] header : readHeaderObjects()) {
+            List<GUID> expected = new ArrayList<GUID>();
+            List<GUID> actual = new ArrayList<GUID>();
+            Assert.assertEquals(dispatchAsArray(header, expected), dispatchFromBuffer(header, actual));
+            Assert.assertEquals(expected, actual);
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i).hashCode(), actual.get(i).hashCode());
+                if (knownGuids.containsKey(expected.get(i))) {
+                    Assert.assertSame(expected.get(i), actual.get(i));
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package org.jaudiotagger.audio.asf.data;
 
 import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.asf.util.Utils;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -25,6 +31,40 @@ public class GUIDTest extends AbstractTestCase {
         }
     }
 
+    /**
+     * Test method for
+     * {@link org.jaudiotagger.audio.asf.data.GUID#valueOf(long, long)}.
+     */
+    public void testValueOf() {
+        for (GUID curr : GUID.KNOWN_GUIDS) {
+            final ByteBuffer bytes = ByteBuffer.wrap(curr.getBytes());
+            assertSame(curr, GUID.valueOf(bytes.getLong(), bytes.getLong()));
+        }
+        final GUID unknown = GUID.valueOf(0x0102030405060708L, 0x090A0B0C0D0E0FF0L);
+        assertNull(GUID.getConfigured(unknown));
+        final GUID fromArray = new GUID(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 0xF0});
+        assertEquals(fromArray, unknown);
+        assertEquals(fromArray.hashCode(), unknown.hashCode());
+        assertTrue(Arrays.equals(fromArray.getGUID(), unknown.getGUID()));
+        assertEquals("04030201-0605-0807-090a-0b0c0d0e0ff0", unknown.toString());
+    }
+
+    /**
+     * Test method for
+     * {@link org.jaudiotagger.audio.asf.util.Utils#readGUID(java.io.InputStream)}
+     * when the stream ends before the GUID does.
+     */
+    public void testReadGUIDAtEndOfStream() throws IOException {
+        final byte[] bytes = GUID.GUID_HEADER.getBytes();
+        assertSame(GUID.GUID_HEADER, Utils.readGUID(new ByteArrayInputStream(bytes)));
+        try {
+            Utils.readGUID(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+            fail("Expected EOFException");
+        } catch (EOFException eofe) {
+            // Expected, the missing byte must not be read as 0xFF
+        }
+    }
+
     /**
      * Test method for
      * {@link org.jaudiotagger.audio.asf.data.GUID#parseGUID(java.lang.String)}.
@@ -0,0 +1,170 @@
+package org.jaudiotagger.audio.asf.io;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.asf.data.AsfHeader;
+import org.jaudiotagger.audio.asf.util.Utils;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Check reading the header object into a buffer gives the same header as reading from the file stream
+ */
+public class AsfHeaderReaderTest extends TestCase
+{
+    private static AsfHeaderReader createFullReader()
+    {
+        final List<Class<? extends ChunkReader>> readers = new ArrayList<Class<? extends ChunkReader>>();
+        readers.add(ContentDescriptionReader.class);
+        readers.add(ContentBrandingReader.class);
+        readers.add(LanguageListReader.class);
+        readers.add(MetadataReader.class);
+        final AsfExtHeaderReader extReader = new AsfExtHeaderReader(readers, true);
+        readers.add(FileHeaderReader.class);
+        readers.add(StreamChunkReader.class);
+        readers.add(EncodingChunkReader.class);
+        readers.add(EncryptionChunkReader.class);
+        readers.add(StreamBitratePropertiesReader.class);
+        final AsfHeaderReader reader = new AsfHeaderReader(readers, false);
+        reader.setExtendedHeaderReader(extReader);
+        return reader;
+    }
+
+    public void testBufferMatchesStream() throws Exception
+    {
+        final AsfHeaderReader reader = createFullReader();
+        for (String fileName : new String[]{"test1.wma", "test2.wma", "test4.wma", "test5.wma", "test6.wma", "test7.wma"})
+        {
+            final File file = new File("testdata", fileName);
+            final AsfHeader expected;
+            try (InputStream stream = new FullRequestInputStream(new BufferedInputStream(new FileInputStream(file))))
+            {
+                expected = reader.read(Utils.readGUID(stream), stream, 0);
+            }
+
+            final AsfHeader actual;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+            {
+                final ByteBufferInputStream stream = AsfHeaderReader.readHeaderObject(raf.getChannel(), 0);
+                assertEquals(fileName, expected.getChunkLength().longValue(), stream.available());
+                actual = reader.read(Utils.readGUID(stream), stream, 0);
+                assertEquals(fileName, 0, stream.available());
+                assertEquals(fileName, 0, raf.getFilePointer());
+            }
+            assertEquals(fileName, expected.prettyPrint(""), actual.prettyPrint(""));
+            assertEquals(fileName, expected.prettyPrint(""), AsfHeaderReader.readHeader(file).prettyPrint(""));
+        }
+    }
+
+    public void testNotAsf() throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(new File("testdata", "test.ogg"), "r"))
+        {
+            final ByteBufferInputStream stream = AsfHeaderReader.readHeaderObject(raf.getChannel(), 0);
+            assertEquals(24, stream.available());
+            AsfHeaderReader.readHeader(raf);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            //Expected
+        }
+    }
+
+    public void testNumbersFromBuffer() throws Exception
+    {
+        final byte[] data = {1, 2, 3, 4, 5, 6, 7, (byte) 0xF8, (byte) 0xFF, (byte) 0xFE};
+        final ByteBufferInputStream stream = new ByteBufferInputStream(ByteBuffer.wrap(data));
+        stream.mark(0);
+        assertEquals(0x0201, Utils.readUINT16(stream));
+        assertEquals(0x06050403L, Utils.readUINT32(stream));
+        stream.reset();
+        assertEquals(0xF807060504030201L, Utils.readUINT64(stream));
+        assertEquals(0xFEFF, Utils.readUINT16(stream));
+        assertEquals(-1, stream.read());
+        assertEquals(0, stream.read(new byte[1], 0, 0));
+        try
+        {
+            Utils.readUINT32(stream);
+            fail("Expected EOFException");
+        }
+        catch (EOFException eofe)
+        {
+            //Expected
+        }
+        assertEquals(-1, stream.read(new byte[1], 0, 1));
+
+        //Fewer bytes than requested are returned at the end, as for any InputStream
+        stream.reset();
+        stream.skip(8);
+        final byte[] tail = new byte[4];
+        assertEquals(2, stream.read(tail, 0, 4));
+        assertEquals((byte) 0xFE, tail[1]);
+        stream.reset();
+        stream.skip(8);
+        try
+        {
+            Utils.readFully(stream, tail, 0, 4);
+            fail("Expected EOFException");
+        }
+        catch (EOFException eofe)
+        {
+            //Expected
+        }
+    }
+
+    /**
+     * A header cut short by the end of the file must fail rather than be read with sizes made up from the missing
+     * bytes
+     */
+    public void testTruncatedHeader() throws Exception
+    {
+        final byte[] data = Files.readAllBytes(new File("testdata", "test1.wma").toPath());
+        final long headerSize;
+        try (RandomAccessFile raf = new RandomAccessFile(new File("testdata", "test1.wma"), "r"))
+        {
+            headerSize = AsfHeaderReader.readHeaderObject(raf.getChannel(), 0).available();
+        }
+        final File file = File.createTempFile("truncated", ".wma");
+        try
+        {
+            for (long length : new long[]{40, headerSize / 2, headerSize - 3})
+            {
+                Files.write(file.toPath(), Arrays.copyOf(data, (int) length));
+                try
+                {
+                    AsfHeaderReader.readHeader(file);
+                    fail("Expected EOFException:" + length);
+                }
+                catch (EOFException eofe)
+                {
+                    //Expected
+                }
+                try
+                {
+                    AudioFileIO.read(file);
+                    fail("Expected CannotReadException:" + length);
+                }
+                catch (CannotReadException cre)
+                {
+                    //Expected
+                }
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.jaudiotagger.audio.flac;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.flac.FlacTag;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Check the tag is encoded once and gives the same data as converting it in one go
+ */
+public class FlacTagCreatorTest extends TestCase
+{
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testEncodedTagMatchesConvert() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testEncodedTag.flac"));
+        TagOptionSingleton.getInstance().setLazyArtwork(true);
+        FlacTag tag = (FlacTag) AudioFileIO.read(testFile).getTag();
+        assertFalse(tag.getImages().isEmpty());
+
+        //Length is known without reading the images from the file
+        for (MetadataBlockDataPicture image : tag.getImages())
+        {
+            int length = image.getLength();
+            assertTrue(image.isImageUrl() || image.getImageRegion() != null);
+            assertEquals(length, image.getBytes().limit());
+        }
+
+        FlacTagCreator creator = new FlacTagCreator();
+        FlacTagCreator.EncodedTag encoded = creator.encode(tag);
+        assertEquals(creator.convert(tag).limit(), encoded.getLength());
+        for (int padding : new int[]{0, 4000})
+        {
+            ByteBuffer expected = creator.convert(tag, padding);
+            ByteBuffer actual = ByteBuffer.allocate(encoded.getLength() + padding);
+            for (ByteBuffer block : encoded.getBuffers(padding))
+            {
+                actual.put(block);
+            }
+            assertFalse(actual.hasRemaining());
+            actual.flip();
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.options.PaddingStrategy;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+/**
+ * Check the padding strategies, and that saving a few more fields each time mostly writes in place once there is
+ * padding
+ */
+public class PaddingPolicyTest extends AbstractTestCase
+{
+    private static final FieldKey[] FIELDS = {FieldKey.ALBUM, FieldKey.COMPOSER, FieldKey.CONDUCTOR, FieldKey.LYRICIST, FieldKey.PRODUCER, FieldKey.REMIXER, FieldKey.MOOD, FieldKey.ORIGINAL_ARTIST};
+
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testGetPadding()
+    {
+        assertEquals(100, PaddingPolicy.getPadding(3000, 100));
+        TagOptionSingleton.getInstance().setPaddingSize(0);
+        assertEquals(0, PaddingPolicy.getPadding(3000, 100));
+
+        TagOptionSingleton.getInstance().setPaddingStrategy(PaddingStrategy.PERCENTAGE);
+        assertEquals(300, PaddingPolicy.getPadding(3000, 100));
+        TagOptionSingleton.getInstance().setPaddingPercentage(50);
+        assertEquals(1500, PaddingPolicy.getPadding(3000, 100));
+
+        TagOptionSingleton.getInstance().setPaddingStrategy(PaddingStrategy.POWER_OF_TWO);
+        assertEquals(1096, PaddingPolicy.getPadding(3000, 100));
+        assertEquals(1, PaddingPolicy.getPadding(4095, 100));
+        //Already a power of two so nothing to round up
+        assertEquals(0, PaddingPolicy.getPadding(4096, 100));
+        assertEquals(4095, PaddingPolicy.getPadding(4097, 100));
+        assertEquals(0, PaddingPolicy.getPadding(1, 100));
+        assertEquals(1, PaddingPolicy.getPadding(3, 100));
+        assertEquals(0, PaddingPolicy.getPadding(0, 100));
+    }
+
+    /**
+     * Add a field to the tag and save it, once for each of the fields
+     *
+     * @return the saves made
+     */
+    private SaveStatistics enrich(String fileName, String copyName) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp(fileName, new File(copyName));
+        char[] value = new char[200];
+        SaveStatistics before = PaddingPolicy.getStatistics();
+        for (int i = 0; i < FIELDS.length; i++)
+        {
+            AudioFile audioFile = AudioFileIO.read(testFile);
+            Tag tag = audioFile.getTagOrCreateAndSetDefault();
+            Arrays.fill(value, (char) ('a' + i));
+            tag.setField(FIELDS[i], new String(value));
+            audioFile.commit();
+        }
+        SaveStatistics saves = PaddingPolicy.getStatistics().since(before);
+
+        Tag tag = AudioFileIO.read(testFile).getTag();
+        for (int i = 0; i < FIELDS.length; i++)
+        {
+            Arrays.fill(value, (char) ('a' + i));
+            assertEquals(fileName + ":" + FIELDS[i], new String(value), tag.getFirst(FIELDS[i]));
+        }
+        return saves;
+    }
+
+    public void testEnrichment() throws Exception
+    {
+        String[] files = {"testV1.mp3", "test.flac", "test.m4a", "test.ogg"};
+        SaveStatistics[] fixed = new SaveStatistics[files.length];
+        for (int i = 0; i < files.length; i++)
+        {
+            fixed[i] = enrich(files[i], "paddingfixed" + files[i]);
+            assertEquals(files[i], FIELDS.length, fixed[i].getInPlaceSaves() + fixed[i].getRewrites());
+        }
+
+        TagOptionSingleton.getInstance().setPaddingStrategy(PaddingStrategy.POWER_OF_TWO);
+        for (int i = 0; i < files.length; i++)
+        {
+            SaveStatistics powerOfTwo = enrich(files[i], "paddingpower" + files[i]);
+            assertEquals(files[i], FIELDS.length, powerOfTwo.getInPlaceSaves() + powerOfTwo.getRewrites());
+            assertTrue(files[i], powerOfTwo.getRewrites() <= fixed[i].getRewrites());
+        }
+
+        //The default ID3v2 padding is too small for a 200 byte field, and Ogg Vorbis has no padding by default
+        assertEquals(FIELDS.length, fixed[0].getRewrites());
+        assertEquals(FIELDS.length, fixed[3].getRewrites());
+    }
+
+    /**
+     * Save a field that makes the tag grow, then another that should fit in the padding left by the first save, the
+     * second save must write to the original file rather than replace it with a copy
+     */
+    private void checkPaddingUsed(String fileName, String copyName) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp(fileName, new File(copyName));
+        AudioFile audioFile = AudioFileIO.read(testFile);
+        audioFile.getTagOrCreateAndSetDefault().setField(FieldKey.COMMENT, "A comment that makes the tag grow");
+        audioFile.commit();
+        long length = testFile.length();
+        Object fileKey = Files.readAttributes(testFile.toPath(), BasicFileAttributes.class).fileKey();
+
+        //The padding left by the first save is used by the next one
+        SaveStatistics before = PaddingPolicy.getStatistics();
+        audioFile = AudioFileIO.read(testFile);
+        audioFile.getTag().setField(FieldKey.MOOD, "Another field that fits in the padding");
+        audioFile.commit();
+        SaveStatistics saves = PaddingPolicy.getStatistics().since(before);
+        assertEquals(1, saves.getInPlaceSaves());
+        assertEquals(0, saves.getRewrites());
+        assertEquals(length, testFile.length());
+        if (fileKey != null)
+        {
+            assertEquals(fileKey, Files.readAttributes(testFile.toPath(), BasicFileAttributes.class).fileKey());
+        }
+
+        audioFile = AudioFileIO.read(testFile);
+        Tag tag = audioFile.getTag();
+        assertEquals("A comment that makes the tag grow", tag.getFirst(FieldKey.COMMENT));
+        assertEquals("Another field that fits in the padding", tag.getFirst(FieldKey.MOOD));
+        assertEquals(AudioFileIO.read(AbstractTestCase.copyAudioToTmp(fileName)).getAudioHeader().getTrackLength(), audioFile.getAudioHeader().getTrackLength());
+    }
+
+    public void testVorbisPaddingUsed() throws Exception
+    {
+        TagOptionSingleton.getInstance().setPaddingSize(1000);
+        checkPaddingUsed("test.ogg", "paddingvorbis.ogg");
+    }
+
+    public void testMp4PaddingUsed() throws Exception
+    {
+        checkPaddingUsed("test.m4a", "paddingmp4.m4a");
+    }
+}
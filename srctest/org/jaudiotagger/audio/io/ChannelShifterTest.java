@@ -0,0 +1,94 @@
+package org.jaudiotagger.audio.io;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Check data is moved correctly whether the distance is smaller or larger than the chunk size
+ */
+public class ChannelShifterTest extends TestCase
+{
+    private static final int FILE_SIZE = 10000;
+
+    private File file;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("shift", ".dat");
+        byte[] data = new byte[FILE_SIZE];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31 + i / 256);
+        }
+        Files.write(file.toPath(), data);
+        TagOptionSingleton.getInstance().setWriteChunkSize(1000);
+    }
+
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        file.delete();
+    }
+
+    private void checkShift(long start, long end, long distance) throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        byte[] expected = Arrays.copyOf(original, (int) Math.max(original.length, end + distance));
+        System.arraycopy(original, (int) start, expected, (int) (start + distance), (int) (end - start));
+
+        ShiftStatistics statistics;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            FileChannel fc = raf.getChannel();
+            fc.position(17);
+            statistics = ChannelShifter.shift(fc, start, end, distance);
+            assertEquals(17, fc.position());
+        }
+        assertEquals(end - start, statistics.getBytesMoved());
+        assertEquals((end - start + 999) / 1000, statistics.getChunks());
+        assertTrue(Arrays.equals(expected, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testShiftTowardsEndSmallDistance() throws Exception
+    {
+        checkShift(100, FILE_SIZE, 10);
+    }
+
+    public void testShiftTowardsEndLargeDistance() throws Exception
+    {
+        checkShift(100, FILE_SIZE, 4321);
+    }
+
+    public void testShiftTowardsStartSmallDistance() throws Exception
+    {
+        checkShift(500, FILE_SIZE, -7);
+    }
+
+    public void testShiftTowardsStartLargeDistance() throws Exception
+    {
+        checkShift(5000, FILE_SIZE, -4999);
+    }
+
+    public void testShiftPartOfFile() throws Exception
+    {
+        checkShift(2000, 2500, 300);
+        checkShift(2000, 2500, -300);
+    }
+
+    public void testStatisticsAccumulate() throws Exception
+    {
+        long before = ChannelShifter.getStatistics().getShifts();
+        checkShift(0, 100, 1);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            assertEquals(0, ChannelShifter.shift(raf.getChannel(), 0, 100, 0).getBytesMoved());
+        }
+        assertEquals(before + 1, ChannelShifter.getStatistics().getShifts());
+    }
+}
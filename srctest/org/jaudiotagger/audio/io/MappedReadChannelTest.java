@@ -0,0 +1,123 @@
+package org.jaudiotagger.audio.io;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Check reads through the mapping match the file whether they are within, beyond or across the end of the mapped
+ * region, and that reading files in mapped mode gives the same result
+ */
+public class MappedReadChannelTest extends TestCase
+{
+    private static final int FILE_SIZE = 10000;
+
+    private File file;
+    private byte[] data;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("mapped", ".dat");
+        data = new byte[FILE_SIZE];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31 + i / 256);
+        }
+        Files.write(file.toPath(), data);
+    }
+
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        file.delete();
+    }
+
+    private void checkRead(FileChannel fc, long position, int length) throws Exception
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        fc.position(position);
+        int read = fc.read(buffer);
+        int expectedLength = (int) Math.min(length, FILE_SIZE - position);
+        assertEquals(expectedLength, read);
+        assertEquals(position + read, fc.position());
+        byte[] expected = Arrays.copyOfRange(data, (int) position, (int) position + expectedLength);
+        assertTrue(Arrays.equals(expected, Arrays.copyOf(buffer.array(), read)));
+    }
+
+    public void testReads() throws Exception
+    {
+        try (MappedReadChannel fc = new MappedReadChannel(new RandomAccessFile(file, "r").getChannel(), 4000))
+        {
+            assertEquals(4000, fc.getMappedSize());
+            assertEquals(FILE_SIZE, fc.size());
+            checkRead(fc, 0, 100);
+            checkRead(fc, 3900, 100);
+            checkRead(fc, 3950, 100);
+            checkRead(fc, 5000, 100);
+            checkRead(fc, 9950, 100);
+            checkRead(fc, 0, FILE_SIZE);
+
+            fc.position(FILE_SIZE);
+            assertEquals(-1, fc.read(ByteBuffer.allocate(10)));
+            assertEquals(-1, fc.read(ByteBuffer.allocate(10), FILE_SIZE + 10));
+
+            try
+            {
+                fc.write(ByteBuffer.allocate(1));
+                fail("Expected NonWritableChannelException");
+            }
+            catch (NonWritableChannelException nwce)
+            {
+                //Expected
+            }
+        }
+    }
+
+    public void testWholeFileMapped() throws Exception
+    {
+        MappedReadChannel fc = new MappedReadChannel(new RandomAccessFile(file, "r").getChannel(), Long.MAX_VALUE);
+        assertEquals(FILE_SIZE, fc.getMappedSize());
+        checkRead(fc, 123, 4567);
+        fc.close();
+        try
+        {
+            fc.read(ByteBuffer.allocate(1), 0);
+            fail("Expected ClosedChannelException");
+        }
+        catch (ClosedChannelException cce)
+        {
+            //Expected
+        }
+    }
+
+    public void testReadFilesMapped() throws Exception
+    {
+        for (String fileName : new String[]{"test.flac", "test2.flac", "test.wav", "test123.wav", "test119.aif", "test138.aiff", "test122.dsf"})
+        {
+            File testFile = new File("testdata", fileName);
+            TagOptionSingleton.getInstance().setMappedRead(false);
+            AudioFile expected = AudioFileIO.read(testFile);
+            TagOptionSingleton.getInstance().setMappedRead(true);
+            AudioFile actual = AudioFileIO.read(testFile);
+            assertEquals(fileName, expected.getAudioHeader().toString(), actual.getAudioHeader().toString());
+            assertEquals(fileName, String.valueOf(expected.getTag()), String.valueOf(actual.getTag()));
+
+            //Only the start of the file mapped
+            TagOptionSingleton.getInstance().setMappedReadSize(1000);
+            actual = AudioFileIO.read(testFile);
+            assertEquals(fileName, expected.getAudioHeader().toString(), actual.getAudioHeader().toString());
+            assertEquals(fileName, String.valueOf(expected.getTag()), String.valueOf(actual.getTag()));
+            TagOptionSingleton.getInstance().setMappedReadSize(16 * 1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.jaudiotagger.audio.io;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Check audio held in memory can be read and written through a channel and gives the same result as the file, and
+ * that formats which can only be read or written through a file are refused rather than copied to one
+ */
+public class SeekableFileChannelTest extends TestCase
+{
+    private static final String[] READ_FILES = {"test.flac", "test.wav", "test119.aif", "test122.dsf", "test.m4a", "test1.wma", "testV1.mp3", "testV1Cbr128ID3v1v2.mp3"};
+    private static final String[] WRITE_FILES = {"test.flac", "test.wav", "test119.aif", "test122.dsf", "testV1.mp3", "testV1Cbr128ID3v1v2.mp3"};
+
+    /**
+     * Growable in memory channel
+     */
+    static class MemoryChannel implements SeekableByteChannel
+    {
+        private byte[] data;
+        private int size;
+        private int position;
+        private boolean open = true;
+
+        MemoryChannel(byte[] data)
+        {
+            this.data = data.clone();
+            this.size = data.length;
+        }
+
+        byte[] toByteArray()
+        {
+            return Arrays.copyOf(data, size);
+        }
+
+        public int read(ByteBuffer dst) throws IOException
+        {
+            ensureOpen();
+            if (position >= size)
+            {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), size - position);
+            dst.put(data, position, length);
+            position += length;
+            return length;
+        }
+
+        public int write(ByteBuffer src) throws IOException
+        {
+            ensureOpen();
+            int length = src.remaining();
+            if (position + length > data.length)
+            {
+                data = Arrays.copyOf(data, Math.max(position + length, data.length * 2));
+            }
+            src.get(data, position, length);
+            position += length;
+            size = Math.max(size, position);
+            return length;
+        }
+
+        public long position() throws IOException
+        {
+            ensureOpen();
+            return position;
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException
+        {
+            ensureOpen();
+            position = (int) newPosition;
+            return this;
+        }
+
+        public long size() throws IOException
+        {
+            ensureOpen();
+            return size;
+        }
+
+        public SeekableByteChannel truncate(long newSize) throws IOException
+        {
+            ensureOpen();
+            size = (int) Math.min(size, newSize);
+            position = Math.min(position, size);
+            return this;
+        }
+
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        public void close()
+        {
+            open = false;
+        }
+
+        private void ensureOpen() throws IOException
+        {
+            if (!open)
+            {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+
+    private static String extension(String fileName)
+    {
+        return fileName.substring(fileName.lastIndexOf('.') + 1);
+    }
+
+    public void testPositionalReadAndWrite() throws Exception
+    {
+        MemoryChannel memory = new MemoryChannel(new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        FileChannel fc = SeekableFileChannel.of(memory);
+        fc.position(2);
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        assertEquals(3, fc.read(buffer, 6));
+        assertEquals(6, buffer.get(0));
+        assertEquals(2, fc.position());
+
+        buffer.rewind();
+        assertEquals(3, fc.write(buffer, 12));
+        assertEquals(2, fc.position());
+        assertEquals(15, fc.size());
+
+        fc.truncate(8);
+        assertEquals(8, fc.size());
+        try
+        {
+            fc.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+            fail("Expected IOException");
+        }
+        catch (IOException ioe)
+        {
+            //Expected
+        }
+        fc.close();
+        assertFalse(memory.isOpen());
+    }
+
+    public void testReadFromChannel() throws Exception
+    {
+        for (String fileName : READ_FILES)
+        {
+            File testFile = new File("testdata", fileName);
+            AudioFile expected = AudioFileIO.read(testFile);
+            MemoryChannel channel = new MemoryChannel(Files.readAllBytes(testFile.toPath()));
+            AudioFile actual = AudioFileIO.read(channel, extension(fileName));
+            assertTrue(fileName, channel.isOpen());
+            assertNull(fileName, actual.getFile());
+            assertEquals(fileName, expected.getAudioHeader().toString(), actual.getAudioHeader().toString());
+            assertEquals(fileName, String.valueOf(expected.getTag()), String.valueOf(actual.getTag()));
+        }
+    }
+
+    public void testWriteToChannel() throws Exception
+    {
+        for (String fileName : WRITE_FILES)
+        {
+            File testFile = new File("testdata", fileName);
+            byte[] original = Files.readAllBytes(testFile.toPath());
+            MemoryChannel channel = new MemoryChannel(original);
+            AudioFile audioFile = AudioFileIO.read(channel, extension(fileName));
+            audioFile.getTagOrCreateAndSetDefault().setField(FieldKey.ARTIST, "channel artist");
+            AudioFileIO.write(audioFile, channel);
+            assertTrue(fileName, channel.isOpen());
+            assertNull(fileName, audioFile.getFile());
+
+            AudioFile reread = AudioFileIO.read(channel, extension(fileName));
+            assertEquals(fileName, "channel artist", reread.getTag().getFirst(FieldKey.ARTIST));
+            assertEquals(fileName, audioFile.getAudioHeader().getTrackLength(), reread.getAudioHeader().getTrackLength());
+            assertTrue(fileName, Arrays.equals(original, Files.readAllBytes(testFile.toPath())));
+        }
+    }
+
+    public void testFileOnlyFormatsRefused() throws Exception
+    {
+        byte[] ogg = Files.readAllBytes(new File("testdata", "test.ogg").toPath());
+        MemoryChannel oggChannel = new MemoryChannel(ogg);
+        try
+        {
+            AudioFileIO.read(oggChannel, "ogg");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //Expected
+        }
+        assertTrue(oggChannel.isOpen());
+
+        File testFile = new File("testdata", "test.m4a");
+        byte[] original = Files.readAllBytes(testFile.toPath());
+        MemoryChannel channel = new MemoryChannel(original);
+        AudioFile audioFile = AudioFileIO.read(channel, "m4a");
+        audioFile.getTag().setField(FieldKey.ARTIST, "channel artist");
+        try
+        {
+            AudioFileIO.write(audioFile, channel);
+            fail("Expected CannotWriteException");
+        }
+        catch (CannotWriteException cwe)
+        {
+            //Expected
+        }
+        assertTrue(Arrays.equals(original, channel.toByteArray()));
+    }
+
+    /**
+     * When the ID3v2 tag no longer fits the audio is moved within the channel, and the ID3v1 tag is rewritten at the
+     * end
+     */
+    public void testMp3TagGrowsInChannel() throws Exception
+    {
+        File testFile = new File("testdata", "testV1Cbr128ID3v1v2.mp3");
+        byte[] original = Files.readAllBytes(testFile.toPath());
+        MemoryChannel channel = new MemoryChannel(original);
+        MP3File mp3File = (MP3File) AudioFileIO.read(channel, "mp3");
+        int audioStart = (int) mp3File.getMP3AudioHeader().getMp3StartByte();
+        assertTrue(mp3File.hasID3v1Tag());
+
+        char[] value = new char[5000];
+        Arrays.fill(value, 'x');
+        mp3File.getID3v2Tag().setField(FieldKey.COMMENT, new String(value));
+        mp3File.getID3v1Tag().setField(FieldKey.ARTIST, "v1 artist");
+        AudioFileIO.write(mp3File, channel);
+
+        MP3File reread = (MP3File) AudioFileIO.read(channel, "mp3");
+        assertEquals(new String(value), reread.getID3v2Tag().getFirst(FieldKey.COMMENT));
+        assertEquals("v1 artist", reread.getID3v1Tag().getFirst(FieldKey.ARTIST));
+        int newAudioStart = (int) reread.getMP3AudioHeader().getMp3StartByte();
+        assertTrue(newAudioStart > audioStart + value.length);
+        byte[] written = channel.toByteArray();
+        assertEquals(original.length + newAudioStart - audioStart, written.length);
+        assertTrue(Arrays.equals(Arrays.copyOfRange(original, audioStart, original.length - 128),
+                Arrays.copyOfRange(written, newAudioStart, written.length - 128)));
+    }
+}
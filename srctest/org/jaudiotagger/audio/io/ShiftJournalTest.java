@@ -0,0 +1,392 @@
+package org.jaudiotagger.audio.io;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.generic.PaddingPolicy;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+/**
+ * Check audio is moved within the file when the ID3v2 tag grows, and that an interrupted move can be resumed or
+ * rolled back from its journal
+ */
+public class ShiftJournalTest extends TestCase
+{
+    private static final int FILE_SIZE = 10000;
+
+    private File file;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("journal", ".dat");
+        byte[] data = new byte[FILE_SIZE];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31 + i / 256 + 1);
+        }
+        Files.write(file.toPath(), data);
+        TagOptionSingleton.getInstance().setWriteChunkSize(1000);
+    }
+
+    public void tearDown() throws Exception
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        Files.deleteIfExists(ShiftJournal.getJournalFile(file).toPath());
+        file.delete();
+    }
+
+    /**
+     * Channel to the file whose writes fail, either once when the given number of writes have been made or whenever
+     * they would make the file longer than the limit, as when the device is full
+     */
+    static class FailingChannel implements SeekableByteChannel
+    {
+        private final FileChannel fc;
+        private final long limit;
+        private int writesBeforeFailure;
+
+        FailingChannel(FileChannel fc, int writesBeforeFailure, long limit)
+        {
+            this.fc = fc;
+            this.writesBeforeFailure = writesBeforeFailure;
+            this.limit = limit;
+        }
+
+        public int read(ByteBuffer dst) throws IOException
+        {
+            return fc.read(dst);
+        }
+
+        public int write(ByteBuffer src) throws IOException
+        {
+            if (writesBeforeFailure-- == 0 || fc.position() + src.remaining() > limit)
+            {
+                //Write part of the data before failing, as a real device would
+                src.limit(src.position() + src.remaining() / 2);
+                fc.write(src);
+                throw new IOException("No space left on device");
+            }
+            return fc.write(src);
+        }
+
+        public long position() throws IOException
+        {
+            return fc.position();
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException
+        {
+            fc.position(newPosition);
+            return this;
+        }
+
+        public long size() throws IOException
+        {
+            return fc.size();
+        }
+
+        public SeekableByteChannel truncate(long size) throws IOException
+        {
+            fc.truncate(size);
+            return this;
+        }
+
+        public boolean isOpen()
+        {
+            return fc.isOpen();
+        }
+
+        public void close() throws IOException
+        {
+            fc.close();
+        }
+    }
+
+    /**
+     * Start moving the data between start and the end of the file, stopping once the data from stop has been moved
+     */
+    private void interruptShift(long start, long stop, long distance) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            ShiftJournal journal = ShiftJournal.create(file, raf.getChannel(), start, FILE_SIZE, distance, FILE_SIZE + distance);
+            ChannelShifter.shift(raf.getChannel(), stop, FILE_SIZE, distance, journal);
+            journal.close();
+        }
+        assertTrue(ShiftJournal.isPending(file));
+    }
+
+    /**
+     * Move the data from start to the end of the file and write over everything before it, as a tag would be, but
+     * do not finish the journal
+     */
+    private void interruptWrite(long start, long distance) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            ShiftJournal journal = ShiftJournal.shift(file, raf.getChannel(), start, distance);
+            byte[] tag = new byte[(int) (start + Math.max(0, distance))];
+            Arrays.fill(tag, (byte) 0x55);
+            raf.write(tag);
+            journal.close();
+        }
+        assertTrue(ShiftJournal.isPending(file));
+    }
+
+    /**
+     * Move the data between start and the end of the file through a channel whose writes fail, leaving the journal
+     * as it would be if the move was interrupted part way through writing a chunk
+     */
+    private void interruptChunk(long start, long distance, int writesBeforeFailure) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            ShiftJournal journal = ShiftJournal.create(file, raf.getChannel(), start, FILE_SIZE, distance, FILE_SIZE + distance);
+            FileChannel fc = SeekableFileChannel.of(new FailingChannel(raf.getChannel(), writesBeforeFailure, Long.MAX_VALUE));
+            try
+            {
+                ChannelShifter.shift(fc, start, FILE_SIZE, distance, journal);
+                fail("Expected the shift to fail");
+            }
+            catch (IOException ioe)
+            {
+                assertEquals("No space left on device", ioe.getMessage());
+            }
+            journal.close();
+        }
+        assertTrue(ShiftJournal.isPending(file));
+    }
+
+    public void testResume() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptShift(100, 6000, 300);
+
+        assertTrue(ShiftJournal.resume(file));
+        assertFalse(ShiftJournal.isPending(file));
+        assertFalse(ShiftJournal.resume(file));
+
+        byte[] expected = Arrays.copyOf(original, FILE_SIZE + 300);
+        System.arraycopy(original, 100, expected, 400, FILE_SIZE - 100);
+        Arrays.fill(expected, 100, 400, (byte) 0);
+        assertTrue(Arrays.equals(expected, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testRollBack() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptShift(100, 6000, 300);
+
+        assertTrue(ShiftJournal.rollBack(file));
+        assertFalse(ShiftJournal.isPending(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    /**
+     * The chunks are larger than the distance so the chunk being written when the move was interrupted has been
+     * partly written over itself, and is put back from the journal
+     */
+    public void testResumeInterruptedChunk() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptChunk(100, 300, 3);
+
+        assertTrue(ShiftJournal.resume(file));
+        assertFalse(ShiftJournal.isPending(file));
+        byte[] expected = Arrays.copyOf(original, FILE_SIZE + 300);
+        System.arraycopy(original, 100, expected, 400, FILE_SIZE - 100);
+        Arrays.fill(expected, 100, 400, (byte) 0);
+        assertTrue(Arrays.equals(expected, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testRollBackInterruptedChunk() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptChunk(100, 300, 3);
+
+        assertTrue(ShiftJournal.rollBack(file));
+        assertFalse(ShiftJournal.isPending(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testRollBackInterruptedChunkTowardsStart() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptChunk(2000, -300, 2);
+
+        assertTrue(ShiftJournal.rollBack(file));
+        assertFalse(ShiftJournal.isPending(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testRollBackTowardsStart() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            ShiftJournal journal = ShiftJournal.create(file, raf.getChannel(), 2000, FILE_SIZE, -700, FILE_SIZE - 700);
+            ChannelShifter.shift(raf.getChannel(), 2000, 5000, -700, journal);
+            journal.close();
+        }
+
+        //The data written over before the start of the move is put back from the journal
+        assertTrue(ShiftJournal.rollBack(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testRollBackAfterTagWritten() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptWrite(100, 300);
+
+        assertTrue(ShiftJournal.rollBack(file));
+        assertFalse(ShiftJournal.isPending(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testResumeAfterTagWritten() throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        interruptWrite(100, 300);
+
+        //The tag that was partly written is replaced by the original one
+        assertTrue(ShiftJournal.resume(file));
+        byte[] expected = Arrays.copyOf(original, FILE_SIZE + 300);
+        System.arraycopy(original, 100, expected, 400, FILE_SIZE - 100);
+        Arrays.fill(expected, 100, 400, (byte) 0);
+        assertTrue(Arrays.equals(expected, Files.readAllBytes(file.toPath())));
+    }
+
+    /**
+     * Shift through a channel whose writes fail, the file should be put back as it was
+     */
+    private void checkFailedShiftRolledBack(int writesBeforeFailure, long limit) throws Exception
+    {
+        byte[] original = Files.readAllBytes(file.toPath());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            FileChannel fc = SeekableFileChannel.of(new FailingChannel(raf.getChannel(), writesBeforeFailure, limit));
+            ShiftJournal.shift(file, fc, 100, 300);
+            fail("Expected the shift to fail");
+        }
+        catch (IOException ioe)
+        {
+            assertEquals("No space left on device", ioe.getMessage());
+            assertEquals(0, ioe.getSuppressed().length);
+        }
+        assertFalse(ShiftJournal.isPending(file));
+        assertTrue(Arrays.equals(original, Files.readAllBytes(file.toPath())));
+    }
+
+    public void testFailedShiftRolledBack() throws Exception
+    {
+        checkFailedShiftRolledBack(5, Long.MAX_VALUE);
+    }
+
+    public void testDeviceFullShiftRolledBack() throws Exception
+    {
+        checkFailedShiftRolledBack(Integer.MAX_VALUE, FILE_SIZE + 100);
+    }
+
+    public void testJournalMustBeRecovered() throws Exception
+    {
+        interruptShift(100, 6000, 300);
+        try
+        {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+            {
+                ShiftJournal.create(file, raf.getChannel(), 0, FILE_SIZE, 10, FILE_SIZE + 10);
+            }
+            fail("Expected the interrupted move to be recovered first");
+        }
+        catch (IOException ioe)
+        {
+            assertTrue(ioe.getMessage().contains(ShiftJournal.SUFFIX));
+        }
+    }
+
+    public void testInvalidJournal() throws Exception
+    {
+        Files.write(ShiftJournal.getJournalFile(file).toPath(), new byte[]{'J', 'T'});
+        try
+        {
+            ShiftJournal.resume(file);
+            fail("Expected the journal to be rejected");
+        }
+        catch (IOException ioe)
+        {
+            assertTrue(ShiftJournal.isPending(file));
+        }
+    }
+
+    public void testMp3AudioShiftedInPlace() throws Exception
+    {
+        TagOptionSingleton.getInstance().setShiftMp3AudioInPlace(true);
+        TagOptionSingleton.getInstance().setWriteChunkSize(8192);
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("shiftinplace.mp3"));
+        AudioFile audioFile = AudioFileIO.read(testFile);
+        byte[] hash = audioFile.getAudioHash("MD5").get("MD5");
+        Object fileKey = Files.readAttributes(testFile.toPath(), BasicFileAttributes.class).fileKey();
+
+        long audioStart = audioFile.getAudioHeader().getAudioDataStartPosition();
+        long length = testFile.length();
+
+        char[] value = new char[5000];
+        Arrays.fill(value, 'x');
+        audioFile.getTagOrCreateAndSetDefault().setField(FieldKey.COMMENT, new String(value));
+        long rewrites = PaddingPolicy.getStatistics().getRewrites();
+        ShiftStatistics before = ChannelShifter.getStatistics();
+        audioFile.commit();
+        assertEquals(rewrites + 1, PaddingPolicy.getStatistics().getRewrites());
+        assertFalse(ShiftJournal.isPending(testFile));
+
+        //The padding is only what the padding policy asks for, the audio is still moved a whole chunk at a time
+        long audioMoved = AudioFileIO.read(testFile).getAudioHeader().getAudioDataStartPosition() - audioStart;
+        assertEquals(audioMoved, testFile.length() - length);
+        assertTrue(audioMoved < 8192);
+        ShiftStatistics after = ChannelShifter.getStatistics();
+        assertEquals(length - audioStart, after.getBytesMoved() - before.getBytesMoved());
+        assertEquals((length - audioStart + 8191) / 8192, after.getChunks() - before.getChunks());
+
+        //The same file was written to rather than replaced by a copy
+        if (fileKey != null)
+        {
+            assertEquals(fileKey, Files.readAttributes(testFile.toPath(), BasicFileAttributes.class).fileKey());
+        }
+        audioFile = AudioFileIO.read(testFile);
+        assertEquals(new String(value), audioFile.getTag().getFirst(FieldKey.COMMENT));
+        assertTrue(Arrays.equals(hash, audioFile.getAudioHash("MD5").get("MD5")));
+    }
+
+    public void testMp3NotReadWhilstPending() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("shiftpending.mp3"));
+        Files.write(ShiftJournal.getJournalFile(testFile).toPath(), new byte[]{'J', 'T'});
+        try
+        {
+            AudioFileIO.read(testFile);
+            fail("Expected the file to be refused until it is recovered");
+        }
+        catch (CannotReadException cre)
+        {
+            assertTrue(cre.getMessage().contains(ShiftJournal.SUFFIX));
+        }
+        finally
+        {
+            Files.delete(ShiftJournal.getJournalFile(testFile).toPath());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.io.CachedChannelReader;
+import org.jaudiotagger.audio.io.ReadStatistics;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Check mp3 files are only opened once when read, and regions are served from the cache
+ */
+public class MP3FileReadStatisticsTest extends TestCase
+{
+    public void testReadOpensFileOnce() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3");
+        MP3File mp3File = new MP3File(testFile);
+        assertTrue(mp3File.hasID3v1Tag());
+        assertTrue(mp3File.hasID3v2Tag());
+
+        ReadStatistics statistics = mp3File.getReadStatistics();
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getOpens());
+        assertTrue(statistics.getBytesRead() <= testFile.length());
+        assertTrue(statistics.getCacheHits() > 0);
+    }
+
+    public void testSameResultAsSeekFromFile() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrOld0.mp3");
+        MP3File mp3File = new MP3File(testFile);
+        MP3AudioHeader fromFile = new MP3AudioHeader(testFile, 0);
+        assertEquals(fromFile.getMp3StartByte(), mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertEquals(fromFile.getTrackLengthAsString(), mp3File.getMP3AudioHeader().getTrackLengthAsString());
+        assertEquals(fromFile.getMp3StartByte(), mp3File.getMP3StartByte(testFile));
+    }
+
+    public void testTagsStillReadable() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v2.mp3");
+        MP3File mp3File = new MP3File(testFile);
+        mp3File.getTag().setField(FieldKey.ALBUM, "cached");
+        mp3File.commit();
+        mp3File = new MP3File(testFile);
+        assertEquals("cached", mp3File.getTag().getFirst(FieldKey.ALBUM));
+        assertEquals(1, mp3File.getReadStatistics().getOpens());
+    }
+
+    public void testCachedChannelReaderTailWindow() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3");
+        CachedChannelReader reader = CachedChannelReader.open(testFile);
+        try
+        {
+            ByteBuffer tag = reader.fetch(reader.size() - 128, 128);
+            assertEquals('T', tag.get(0));
+            assertEquals('A', tag.get(1));
+            assertEquals('G', tag.get(2));
+
+            //Served from the same window as the tag
+            reader.fetch(reader.size() - 3, 3);
+            assertEquals(1, reader.getStatistics().getReads());
+            assertEquals(1, reader.getStatistics().getCacheHits());
+
+            ByteBuffer dst = ByteBuffer.allocate(10);
+            assertEquals(-1, reader.read(dst, reader.size()));
+            assertEquals(3, reader.read(dst, reader.size() - 3));
+
+            //Nothing available at or beyond the end
+            assertEquals(0, reader.fetch(reader.size(), 10).remaining());
+            assertEquals(0, reader.fetch(reader.size() + CachedChannelReader.WINDOW_SIZE * 2, 10).remaining());
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+}
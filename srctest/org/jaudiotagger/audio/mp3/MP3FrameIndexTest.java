@@ -0,0 +1,167 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Check walking the frames gives the exact frame count and frame positions of a variable bitrate file without a Xing
+ * header, and agrees with the Xing header for files that have one
+ */
+public class MP3FrameIndexTest extends TestCase
+{
+    //MPEG-1 Layer III 44100Hz Joint Stereo, without the bitrate and padding bits
+    private static final int HEADER_WORD = 0xFFFB0040;
+
+    private File file;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("frameindex", ".mp3");
+    }
+
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        file.delete();
+    }
+
+    /**
+     * Write frames with random bitrates, optionally with junk between some of them, followed by an ID3v1 tag
+     *
+     * @return the positions of the frames
+     */
+    private List<Long> writeVbrFile(int frameCount, boolean junk) throws Exception
+    {
+        Random random = new Random(frameCount);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> positions = new ArrayList<Long>();
+        for (int i = 0; i < frameCount; i++)
+        {
+            if (junk && i > 0 && i % 500 == 0)
+            {
+                out.write(new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0xF0, 0x00, 0x00}, 0, 5);
+            }
+            positions.add((long) out.size());
+            //Low bitrates at the start so the estimate from the first frame is well out
+            int bitRateIndex = i < 10 ? 1 : 5 + random.nextInt(9);
+            int headerWord = HEADER_WORD | bitRateIndex << 12 | (i % 3 == 0 ? 1 << 9 : 0);
+            byte[] frame = new byte[MP3FrameIndex.getFrameLength(headerWord)];
+            ByteBuffer.wrap(frame).putInt(headerWord);
+            out.write(frame, 0, frame.length);
+        }
+        byte[] tag = new byte[128];
+        tag[0] = 'T';
+        tag[1] = 'A';
+        tag[2] = 'G';
+        out.write(tag, 0, tag.length);
+        Files.write(file.toPath(), out.toByteArray());
+        return positions;
+    }
+
+    public void testFrameLength()
+    {
+        //MPEG-1 Layer III 128kbps 44100Hz
+        assertEquals(417, MP3FrameIndex.getFrameLength(0xFFFB9000));
+        assertEquals(418, MP3FrameIndex.getFrameLength(0xFFFB9200));
+        //MPEG-2 Layer III 64kbps 22050Hz stereo and mono
+        assertEquals(208, MP3FrameIndex.getFrameLength(0xFFF38000));
+        assertEquals(208, MP3FrameIndex.getFrameLength(0xFFF380C0));
+        //MPEG-1 Layer I 32kbps 44100Hz
+        assertEquals(32, MP3FrameIndex.getFrameLength(0xFFFF1000));
+        assertEquals(0, MP3FrameIndex.getFrameLength(0xFFFBF000));
+        assertEquals(0, MP3FrameIndex.getFrameLength(0x54414700));
+    }
+
+    public void testVbrWithoutXing() throws Exception
+    {
+        List<Long> positions = writeVbrFile(3000, true);
+        MP3File estimated = (MP3File) AudioFileIO.read(file);
+        assertNull(estimated.getMP3AudioHeader().getFrameIndex());
+        assertTrue(estimated.getMP3AudioHeader().getNumberOfFrames() != 3000);
+
+        TagOptionSingleton.getInstance().setAccurateMp3Length(true);
+        MP3AudioHeader header = ((MP3File) AudioFileIO.read(file)).getMP3AudioHeader();
+        MP3FrameIndex index = header.getFrameIndex();
+        assertNotNull(index);
+        assertEquals(3000, index.getFrameCount());
+        assertEquals(3000, header.getNumberOfFrames());
+        assertEquals(3000L * 1152, index.getSampleCount());
+        assertEquals(3000L, header.getNoOfSamples().longValue());
+        assertEquals(3000 * 1152 / 44100.0, header.getPreciseTrackLength(), 0.0001);
+        assertEquals(78, header.getTrackLength());
+        assertTrue(header.isVariableBitRate());
+        assertTrue(header.getBitRate().startsWith("~"));
+
+        for (int i = 0; i < positions.size(); i++)
+        {
+            assertEquals("Frame:" + i, positions.get(i).longValue(), index.getFramePosition(i));
+        }
+        assertEquals(file.length() - 128 - 5 * 5, index.getAudioSize());
+        assertEquals(index.getAudioSize() * 8 / (index.getPreciseTrackLength() * 1000), index.getAverageBitRate(), 1);
+        assertEquals(0, index.getFrameAt(0));
+        assertEquals(1000, index.getFrameAt(1000 * 1152 / 44100.0 + 0.001));
+        assertEquals(2999, index.getFrameAt(1000));
+    }
+
+    public void testAgreesWithXing() throws Exception
+    {
+        File[] files = new File("testdata").listFiles(new FilenameFilter()
+        {
+            public boolean accept(File dir, String name)
+            {
+                return name.endsWith(".mp3");
+            }
+        });
+        int checked = 0;
+        for (File testFile : files)
+        {
+            MP3AudioHeader header;
+            try
+            {
+                header = new MP3AudioHeader(testFile);
+            }
+            catch (Exception e)
+            {
+                continue;
+            }
+            if (header.mp3XingFrame == null || !header.mp3XingFrame.isFrameCountEnabled())
+            {
+                continue;
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+            {
+                MP3FrameIndex index = MP3FrameIndex.read(raf.getChannel(), header.getMp3StartByte(), raf.length(), true);
+                if (index.getFrameCount() > 0)
+                {
+                    assertEquals(testFile.getName(), header.mp3XingFrame.getFrameCount(), index.getFrameCount());
+                    checked++;
+                }
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    /**
+     * A file much larger than the blocks the audio is read in
+     */
+    public void testIndexLargeFile() throws Exception
+    {
+        writeVbrFile(200000, false);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            MP3FrameIndex index = MP3FrameIndex.read(raf.getChannel(), 0, raf.length() - 128, false);
+            assertEquals(200000, index.getFrameCount());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares searching for the first frame by decoding each candidate header into a new object through boxed map
+ * lookups, throwing an exception for each invalid one (as was done before), with validating the header word against
+ * primitive tables and only creating the header once it is valid, both must find the same frames.
+ */
+public class MP3SyncSearchTest {
+    private static final int JUNK_SIZE = 64 * 1024;
+
+    /**
+     * The map based decoding, keyed as before on the bitrate bits of the third byte and the id and layer bits of the
+     * second byte
+     */
+    private static final Map<Integer, Integer> bitrateMap = new HashMap<Integer, Integer>();
+    private static final Map<Integer, Map<Integer, Integer>> samplingRateMap = new HashMap<Integer, Map<Integer, Integer>>();
+
+    static {
+        int[][] bitrates = {
+                {0xE, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+                {0xC, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+                {0xA, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+                {0x6, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+                {0x4, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+                {0x2, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}};
+        for (int[] table : bitrates) {
+            for (int i = 1; i < table.length; i++) {
+                bitrateMap.put(i << 4 | table[0], table[i]);
+            }
+        }
+        int[][] samplingRates = {{MPEGFrameHeader.VERSION_1, 44100, 48000, 32000},
+                {MPEGFrameHeader.VERSION_2, 22050, 24000, 16000},
+                {MPEGFrameHeader.VERSION_2_5, 11025, 12000, 8000}};
+        for (int[] table : samplingRates) {
+            Map<Integer, Integer> rates = new HashMap<Integer, Integer>();
+            for (int i = 1; i < table.length; i++) {
+                rates.put(i - 1, table[i]);
+            }
+            samplingRateMap.put(table[0], rates);
+        }
+    }
+
+    /**
+     * Decoded fields of a header, created for every candidate as before
+     */
+    private static class MapDecodedHeader {
+        int version;
+        int layer;
+        Integer bitRate;
+        Integer samplingRate;
+        int channelMode;
+        boolean padding;
+
+        MapDecodedHeader(byte[] b) throws InvalidAudioFrameException {
+            bitRate = bitrateMap.get(b[2] & 0xF0 | b[1] & 0x08 | b[1] & 0x06);
+            if (bitRate == null) {
+                throw new InvalidAudioFrameException("Invalid bitrate");
+            }
+            version = (b[1] & 0x18) >> 3;
+            if (version == 1) {
+                throw new InvalidAudioFrameException("Invalid mpeg version");
+            }
+            layer = (b[1] & 0x06) >>> 1;
+            if (layer == 0) {
+                throw new InvalidAudioFrameException("Invalid Layer");
+            }
+            samplingRate = samplingRateMap.get(version).get((b[2] & 0x0C) >>> 2);
+            if (samplingRate == null) {
+                throw new InvalidAudioFrameException("Invalid sampling rate");
+            }
+            padding = (b[2] & 0x02) != 0;
+            channelMode = (b[3] & 0xC0) >>> 6;
+        }
+
+        int getFrameLength() {
+            int paddingLength = padding ? 1 : 0;
+            switch (layer) {
+                case MPEGFrameHeader.LAYER_I:
+                    return (12 * (bitRate * 1000) / samplingRate + paddingLength) * 4;
+                case MPEGFrameHeader.LAYER_II:
+                    return 144 * (bitRate * 1000) / samplingRate + paddingLength;
+                default:
+                    if (version != MPEGFrameHeader.VERSION_1 && channelMode == MPEGFrameHeader.MODE_MONO) {
+                        return 72 * (bitRate * 1000) / samplingRate + paddingLength;
+                    }
+                    return 144 * (bitRate * 1000) / samplingRate + paddingLength;
+            }
+        }
+    }
+
+    /**
+     * Count the valid headers in the buffer by decoding each candidate as before
+     */
+    private static int searchWithMaps(ByteBuffer bb) {
+        byte[] header = new byte[MPEGFrameHeader.HEADER_SIZE];
+        int found = 0;
+        for (int i = 0; i < bb.limit() - MPEGFrameHeader.HEADER_SIZE; i++) {
+            bb.position(i);
+            if (MPEGFrameHeader.isMPEGFrame(bb)) {
+                try {
+                    bb.get(header, 0, MPEGFrameHeader.HEADER_SIZE);
+                    new MapDecodedHeader(header);
+                    found++;
+                } catch (InvalidAudioFrameException e) {
+                    //Not a header
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Count the valid headers in the buffer by validating the header word
+     */
+    private static int searchWithHeaderWord(ByteBuffer bb) {
+        int found = 0;
+        for (int i = 0; i < bb.limit() - MPEGFrameHeader.HEADER_SIZE; i++) {
+            bb.position(i);
+            if (MPEGFrameHeader.isValidHeader(MPEGFrameHeader.getHeaderWord(bb))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Junk such as an unsynchronised image, with plenty of bytes that could start a sync
+     */
+    private static ByteBuffer createJunk() {
+        byte[] junk = new byte[JUNK_SIZE];
+        Random random = new Random(1);
+        random.nextBytes(junk);
+        for (int i = 0; i < junk.length; i += 7) {
+            junk[i] = (byte) 0xFF;
+        }
+        return ByteBuffer.wrap(junk);
+    }
+
+    @Test
+    public void testSameDecoding() throws Exception {
+        byte[] bytes = new byte[MPEGFrameHeader.HEADER_SIZE];
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        //Every header word with the sync bits set
+        for (int low = 0; low < 1 << 21; low++) {
+            int word = 0xFFE00000 | low;
+            bb.putInt(0, word);
+            MapDecodedHeader expected;
+            try {
+                expected = new MapDecodedHeader(bytes);
+            } catch (InvalidAudioFrameException e) {
+                expected = null;
+            }
+            Assert.assertEquals(Integer.toHexString(word), expected != null, MPEGFrameHeader.isValidHeader(word));
+            if (expected != null) {
+                MPEGFrameHeader actual = MPEGFrameHeader.parseMPEGHeader(bb);
+                Assert.assertEquals(expected.getFrameLength(), actual.getFrameLength());
+                Assert.assertEquals(expected.getFrameLength(), MPEGFrameHeader.getFrameLength(word));
+                Assert.assertEquals(expected.bitRate, actual.getBitRate());
+                Assert.assertEquals(expected.samplingRate, actual.getSamplingRate());
+                Assert.assertEquals(expected.version, actual.getVersion());
+                Assert.assertEquals(expected.layer, actual.getLayer());
+                Assert.assertEquals(expected.padding, actual.isPadding());
+                Assert.assertEquals(expected.channelMode, actual.getChannelMode());
+                Assert.assertEquals(word, actual.getHeaderWord());
+            }
+        }
+        Assert.assertFalse(MPEGFrameHeader.isValidHeader(0x7FFB9000));
+        Assert.assertEquals(0, MPEGFrameHeader.getHeaderWord(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0x90})));
+    }
+
+    @Test
+    public void testSameSearch() throws Exception {
+        ByteBuffer junk = createJunk();
+        Assert.assertEquals(searchWithMaps(junk), searchWithHeaderWord(junk));
+    }
+}
@@ -0,0 +1,85 @@
+package org.jaudiotagger.audio.ogg;
+
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Checks calculating the Ogg checksum eight bytes at a time gives the same checksum as calculating it a byte at a
+ * time from a single table (as was done before), for heap, direct and sliced buffers.
+ */
+public class OggCRCFactoryTest {
+    private static final long[] byteTable = new long[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            long r = i << 24;
+            for (int j = 0; j < 8; j++) {
+                if ((r & 0x80000000L) != 0) {
+                    r = (r << 1) ^ 0x04c11db7L;
+                } else {
+                    r <<= 1;
+                }
+            }
+            byteTable[i] = r;
+        }
+    }
+
+    /**
+     * The original byte at a time calculation
+     */
+    private static int computeByteAtATime(byte[] data, int offset, int length) {
+        long crc_reg = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int tmp = (int) (((crc_reg >>> 24) & 0xff) ^ (data[i] & 0xff));
+            crc_reg = (crc_reg << 8) ^ byteTable[tmp];
+            crc_reg &= 0xffffffff;
+        }
+        return (int) crc_reg;
+    }
+
+    private static byte[] randomPage(Random random, int length) {
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+
+    @Test
+    public void testSameChecksum() throws Exception {
+        Random random = new Random(7);
+        for (int length = 0; length < 300; length++) {
+            byte[] data = randomPage(random, length + 5);
+            int expected = computeByteAtATime(data, 3, length);
+
+            Assert.assertEquals(expected, ByteBuffer.wrap(OggCRCFactory.computeCRC(data, 3, length)).order(ByteOrder.LITTLE_ENDIAN).getInt());
+            Assert.assertEquals(expected, OggCRCFactory.computeChecksum(ByteBuffer.wrap(data), 3, length));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length).order(ByteOrder.LITTLE_ENDIAN);
+            direct.put(data);
+            direct.position(1);
+            Assert.assertEquals(expected, OggCRCFactory.computeChecksum(direct, 3, length));
+            Assert.assertEquals(1, direct.position());
+            Assert.assertEquals(ByteOrder.LITTLE_ENDIAN, direct.order());
+
+            ByteBuffer heapSlice = ByteBuffer.wrap(data, 2, data.length - 2).slice();
+            Assert.assertEquals(expected, OggCRCFactory.computeChecksum(heapSlice, 1, length));
+
+            int split = length / 3;
+            int crc = OggCRCFactory.computeChecksum(ByteBuffer.wrap(data), 3, split);
+            Assert.assertEquals(expected, OggCRCFactory.updateChecksum(crc, direct, 3 + split, length - split));
+        }
+    }
+
+    @Test
+    public void testCheckCRC() throws Exception {
+        byte[] data = randomPage(new Random(3), 1000);
+        byte[] crc = OggCRCFactory.computeCRC(data);
+        Assert.assertTrue(new OggCRCFactory().checkCRC(data, crc));
+        crc[0]++;
+        Assert.assertFalse(new OggCRCFactory().checkCRC(data, crc));
+    }
+}
@@ -0,0 +1,111 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.ogg.util.OggPageCopier;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.audio.ogg.util.OggPageTailScanner;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Check pages are copied unchanged or renumbered with correct checksums
+ */
+public class OggPageCopierTest extends TestCase
+{
+    private File output;
+
+    public void setUp() throws Exception
+    {
+        output = File.createTempFile("pagecopy", ".ogg");
+    }
+
+    public void tearDown()
+    {
+        output.delete();
+    }
+
+    /**
+     * @return start of the third page, the first audio page
+     */
+    private static long getThirdPageStart(File file) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            for (int i = 0; i < 2; i++)
+            {
+                OggPageHeader pageHeader = OggPageHeader.read(raf);
+                raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+            }
+            return raf.getFilePointer();
+        }
+    }
+
+    private void copy(File file, long start, long end, int pageSequence) throws Exception
+    {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r"); RandomAccessFile out = new RandomAccessFile(output, "rw"))
+        {
+            OggPageCopier.copyPages(in.getChannel(), start, end, out.getChannel(), pageSequence);
+            assertEquals(0, in.getFilePointer());
+        }
+    }
+
+    public void testCopyUnchanged() throws Exception
+    {
+        File file = new File("testdata", "test.ogg");
+        long start = getThirdPageStart(file);
+        copy(file, start, file.length(), 2);
+
+        byte[] original = Files.readAllBytes(file.toPath());
+        assertTrue(Arrays.equals(Arrays.copyOfRange(original, (int) start, original.length), Files.readAllBytes(output.toPath())));
+    }
+
+    public void testCopyRenumbered() throws Exception
+    {
+        for (String fileName : new String[]{"test.ogg", "testlargeimage.ogg"})
+        {
+            File file = new File("testdata", fileName);
+            long start = getThirdPageStart(file);
+            copy(file, start, file.length(), 10);
+
+            byte[] original = Files.readAllBytes(file.toPath());
+            byte[] copied = Files.readAllBytes(output.toPath());
+            assertEquals(fileName, original.length - start, copied.length);
+
+            //Every page is renumbered and has a correct checksum, so searching back finds the same last page
+            ByteBuffer bb = ByteBuffer.wrap(copied);
+            int pageSequence = 10;
+            while (bb.hasRemaining())
+            {
+                OggPageHeader pageHeader = OggPageHeader.read(bb);
+                assertEquals(fileName, pageSequence++, pageHeader.getPageSequence());
+                bb.position(bb.position() + pageHeader.getPageLength());
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(output, "r"))
+            {
+                OggPageHeader lastPage = OggPageTailScanner.findLastPage(raf.getChannel(), 0, raf.length());
+                assertNotNull(fileName, lastPage);
+                assertEquals(fileName, pageSequence - 1, lastPage.getPageSequence());
+            }
+            output.delete();
+        }
+    }
+
+    public void testIncompletePage() throws Exception
+    {
+        File file = new File("testdata", "test.ogg");
+        long start = getThirdPageStart(file);
+        try
+        {
+            copy(file, start, file.length() - 1, 10);
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException expected)
+        {
+        }
+    }
+}
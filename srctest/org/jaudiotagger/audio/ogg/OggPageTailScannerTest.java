@@ -0,0 +1,99 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.audio.ogg.util.OggPageTailScanner;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Check searching back from the end of the file finds the same last page as reading every page
+ */
+public class OggPageTailScannerTest extends TestCase
+{
+    private static OggPageHeader readLastPage(File file) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            ByteBuffer bb = ByteBuffer.allocate((int) raf.length());
+            raf.getChannel().read(bb);
+            bb.rewind();
+            OggPageHeader lastPageHeader = null;
+            while (bb.hasRemaining())
+            {
+                lastPageHeader = OggPageHeader.read(bb);
+                bb.position(bb.position() + lastPageHeader.getPageLength());
+            }
+            return lastPageHeader;
+        }
+    }
+
+    private static OggPageHeader scanLastPage(File file) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            OggPageHeader pageHeader = OggPageTailScanner.findLastPage(raf.getChannel(), 0, raf.length());
+            assertEquals(0, raf.getFilePointer());
+            return pageHeader;
+        }
+    }
+
+    public void testFindLastPage() throws Exception
+    {
+        for (String fileName : new String[]{"test.ogg", "test3.ogg", "testlargeimage.ogg"})
+        {
+            File file = new File("testdata", fileName);
+            OggPageHeader expected = readLastPage(file);
+            OggPageHeader actual = scanLastPage(file);
+            assertNotNull(fileName, actual);
+            assertEquals(fileName, expected.getPageSequence(), actual.getPageSequence());
+            assertEquals(fileName, expected.getAbsoluteGranulePosition(), actual.getAbsoluteGranulePosition());
+        }
+    }
+
+    /**
+     * Trailing data larger than a block, including a capture pattern that is not the start of a page
+     */
+    public void testFindLastPageWithTrailingJunk() throws Exception
+    {
+        File file = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testTailScanJunk.ogg"));
+        OggPageHeader expected = readLastPage(file);
+
+        byte[] junk = new byte[OggPageTailScanner.BLOCK_SIZE * 2 + 123];
+        new Random(1).nextBytes(junk);
+        System.arraycopy(OggPageHeader.CAPTURE_PATTERN, 0, junk, OggPageTailScanner.BLOCK_SIZE + 10, 4);
+        junk[OggPageTailScanner.BLOCK_SIZE + 14] = 0;
+        junk[OggPageTailScanner.BLOCK_SIZE + 15 + 26] = 0;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            raf.seek(raf.length());
+            raf.write(junk);
+        }
+
+        OggPageHeader actual = scanLastPage(file);
+        assertNotNull(actual);
+        assertEquals(expected.getPageSequence(), actual.getPageSequence());
+        assertEquals(expected.getAbsoluteGranulePosition(), actual.getAbsoluteGranulePosition());
+    }
+
+    public void testNoPage() throws Exception
+    {
+        File file = File.createTempFile("tailscan", ".ogg");
+        try
+        {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+            {
+                raf.write(new byte[1000]);
+            }
+            assertNull(scanLastPage(file));
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+}
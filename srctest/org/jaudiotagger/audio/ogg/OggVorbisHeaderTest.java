@@ -309,4 +309,46 @@ public class OggVorbisHeaderTest extends TestCase
         assertNull(exceptionCaught);
         assertEquals(26, count);
     }
+
+    /**
+     * Testing audio pages are renumbered when the comment header needs more pages, and an invalid ID3v1 tag at the end
+     * of the file is removed
+     */
+    public void testLargeWriteFileWithId3v1TagAtEnd() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testLargeWriteId3v1AtEnd.ogg"));
+        long originalLength = testFile.length();
+        byte[] id3v1 = new byte[128];
+        System.arraycopy("TAG".getBytes("ISO-8859-1"), 0, id3v1, 0, 3);
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+        {
+            raf.seek(raf.length());
+            raf.write(id3v1);
+        }
+
+        AudioFile f = AudioFileIO.read(testFile);
+        StringBuffer sb = new StringBuffer();
+        for (int i = 0; i < 100000; i++)
+        {
+            sb.append("z");
+        }
+        f.getTag().setField(FieldKey.TITLE, sb.toString());
+        f.commit();
+
+        f = AudioFileIO.read(testFile);
+        assertEquals(sb.toString(), f.getTag().getFirst(FieldKey.TITLE));
+
+        int count = 0;
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+        {
+            while (raf.getFilePointer() < raf.length())
+            {
+                OggPageHeader pageHeader = OggPageHeader.read(raf);
+                assertEquals(count++, pageHeader.getPageSequence());
+                raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+            }
+            assertEquals(raf.length(), raf.getFilePointer());
+            assertTrue(raf.length() > originalLength);
+        }
+    }
 }
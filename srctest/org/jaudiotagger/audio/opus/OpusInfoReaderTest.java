@@ -0,0 +1,135 @@
+package org.jaudiotagger.audio.opus;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.audio.opus.util.OpusVorbisIdentificationHeader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+/**
+ * Check the length of an Opus stream is read from the last page
+ */
+public class OpusInfoReaderTest extends TestCase
+{
+    private static final int PRE_SKIP = 312;
+    static final int SAMPLES_PER_PAGE = 960 * 50;
+    static final int AUDIO_PAGES = 500;
+
+    private File file;
+    private byte[] identificationHeader;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("opusinfo", ".opus");
+    }
+
+    public void tearDown()
+    {
+        file.delete();
+    }
+
+    static byte[] createPage(int headerType, long granule, int sequence, byte[] data)
+    {
+        int segments = data.length / 255 + 1;
+        ByteBuffer page = ByteBuffer.allocate(OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + segments + data.length);
+        page.order(ByteOrder.LITTLE_ENDIAN);
+        page.put(OggPageHeader.CAPTURE_PATTERN);
+        page.put((byte) 0);
+        page.put((byte) headerType);
+        page.putLong(granule);
+        page.putInt(1);
+        page.putInt(sequence);
+        page.putInt(0);
+        page.put((byte) segments);
+        for (int i = 0; i < segments - 1; i++)
+        {
+            page.put((byte) 255);
+        }
+        page.put((byte) (data.length % 255));
+        page.put(data);
+        byte[] bytes = page.array();
+        System.arraycopy(OggCRCFactory.computeCRC(bytes), 0, bytes, OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggPageHeader.FIELD_PAGE_CHECKSUM_LENGTH);
+        return bytes;
+    }
+
+    private void createOpusFile(byte[] trailing) throws Exception
+    {
+        identificationHeader = createOpusFile(file, trailing);
+    }
+
+    /**
+     * Create a stereo Opus file with an empty tag and {@link #AUDIO_PAGES} audio pages
+     *
+     * @return the identification header packet
+     */
+    static byte[] createOpusFile(File file, byte[] trailing) throws Exception
+    {
+        ByteBuffer head = ByteBuffer.allocate(19).order(ByteOrder.LITTLE_ENDIAN);
+        head.put("OpusHead".getBytes("ISO-8859-1"));
+        head.put((byte) 1);
+        head.put((byte) 2);
+        head.putShort((short) PRE_SKIP);
+        head.putInt(44100);
+        head.putShort((short) 0);
+        head.put((byte) 0);
+
+        ByteBuffer tags = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        tags.put("OpusTags".getBytes("ISO-8859-1"));
+        tags.putInt(4);
+        tags.put("test".getBytes("ISO-8859-1"));
+        tags.putInt(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(createPage(OggPageHeader.HeaderTypeFlag.START_OF_BITSTREAM.getFileValue(), 0, 0, head.array()));
+        out.write(createPage(0, 0, 1, tags.array()));
+        byte[] audio = new byte[600];
+        for (int i = 1; i <= AUDIO_PAGES; i++)
+        {
+            int headerType = i == AUDIO_PAGES ? OggPageHeader.HeaderTypeFlag.END_OF_BITSTREAM.getFileValue() : 0;
+            audio[0] = (byte) i;
+            out.write(createPage(headerType, (long) i * SAMPLES_PER_PAGE, i + 1, audio));
+        }
+        out.write(trailing);
+        Files.write(file.toPath(), out.toByteArray());
+        return head.array();
+    }
+
+    private GenericAudioHeader readInfo() throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            return new OpusInfoReader().read(raf);
+        }
+    }
+
+    private long getExpectedSamples()
+    {
+        return (long) AUDIO_PAGES * SAMPLES_PER_PAGE - new OpusVorbisIdentificationHeader(identificationHeader).getPreSkip();
+    }
+
+    public void testReadLength() throws Exception
+    {
+        createOpusFile(new byte[0]);
+        GenericAudioHeader info = readInfo();
+        long expected = getExpectedSamples();
+        assertEquals(expected, info.getNoOfSamples().longValue());
+        assertEquals(expected / 48000D, info.getPreciseTrackLength(), 0.0001);
+        assertEquals(2, info.getChannelNumber());
+    }
+
+    /**
+     * The last page is still found when the file has data after the stream
+     */
+    public void testReadLengthWithTrailingData() throws Exception
+    {
+        createOpusFile(new byte[5000]);
+        assertEquals(getExpectedSamples(), readInfo().getNoOfSamples().longValue());
+    }
+}
@@ -0,0 +1,81 @@
+package org.jaudiotagger.audio.opus;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Check the audio pages are copied, and renumbered when the tag needs more pages
+ */
+public class OpusVorbisTagWriterTest extends TestCase
+{
+    private File file;
+
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("opuswrite", ".opus");
+        OpusInfoReaderTest.createOpusFile(file, new byte[0]);
+    }
+
+    public void tearDown()
+    {
+        file.delete();
+    }
+
+    /**
+     * Check every page has the next sequence number and a correct checksum
+     *
+     * @return number of pages
+     */
+    private int checkPages() throws Exception
+    {
+        ByteBuffer bb = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        int pageSequence = 0;
+        while (bb.hasRemaining())
+        {
+            int start = bb.position();
+            OggPageHeader pageHeader = OggPageHeader.read(bb);
+            int length = pageHeader.getRawHeaderData().length + pageHeader.getPageLength();
+            byte[] page = Arrays.copyOfRange(bb.array(), start, start + length);
+            Arrays.fill(page, OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggPageHeader.FIELD_PAGE_CHECKSUM_POS + OggPageHeader.FIELD_PAGE_CHECKSUM_LENGTH, (byte) 0);
+            assertEquals(pageSequence++, pageHeader.getPageSequence());
+            assertEquals(bb.getInt(start + OggPageHeader.FIELD_PAGE_CHECKSUM_POS), ByteBuffer.wrap(OggCRCFactory.computeCRC(page)).order(ByteOrder.LITTLE_ENDIAN).getInt());
+            bb.position(start + length);
+        }
+        return pageSequence;
+    }
+
+    private void checkWrite(String title, int expectedPages) throws Exception
+    {
+        long originalLength = new OpusFileReader().read(file).getAudioHeader().getNoOfSamples();
+        AudioFile af = AudioFileIO.read(file);
+        af.getTag().setField(FieldKey.TITLE, title);
+        af.commit();
+
+        assertEquals(expectedPages, checkPages());
+        af = AudioFileIO.read(file);
+        assertEquals(title, af.getTag().getFirst(FieldKey.TITLE));
+        assertEquals(originalLength, af.getAudioHeader().getNoOfSamples().longValue());
+    }
+
+    public void testWriteSamePageCount() throws Exception
+    {
+        checkWrite("title", OpusInfoReaderTest.AUDIO_PAGES + 2);
+    }
+
+    public void testWriteMorePages() throws Exception
+    {
+        char[] title = new char[OggPageHeader.MAXIMUM_PAGE_DATA_SIZE * 2];
+        Arrays.fill(title, 'a');
+        checkWrite(new String(title), OpusInfoReaderTest.AUDIO_PAGES + 4);
+    }
+}
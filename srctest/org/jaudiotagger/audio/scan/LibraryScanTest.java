@@ -0,0 +1,216 @@
+package org.jaudiotagger.audio.scan;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioFileFilter;
+import org.jaudiotagger.audio.AudioFileIO;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scan the test data directory and check the results match reading each file in turn
+ */
+public class LibraryScanTest extends TestCase
+{
+    private static final Path TESTDATA = Paths.get("testdata");
+
+    private static Set<String> readSequentially()
+    {
+        Set<String> read = new HashSet<String>();
+        for (File file : new File("testdata").listFiles(new AudioFileFilter(false)))
+        {
+            try
+            {
+                AudioFileIO.read(file);
+                read.add(file.getName());
+            }
+            catch (Exception e)
+            {
+                //Deliberately broken test files
+            }
+        }
+        return read;
+    }
+
+    private static Set<Thread> scanThreads()
+    {
+        Set<Thread> threads = new HashSet<Thread>();
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if (thread.getName().startsWith("jaudiotagger-scan-"))
+            {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    public void testStreamMatchesSequentialRead() throws Exception
+    {
+        int noOfFiles = new File("testdata").listFiles(new AudioFileFilter(false)).length;
+        ScanOptions options = new ScanOptions();
+        options.setParallelism(4);
+        options.setTimeoutMillis(60000);
+
+        Set<String> read;
+        long total;
+        try (Stream<ScanResult> results = AudioFileIO.scan(TESTDATA, options))
+        {
+            Set<ScanResult> all = results.collect(Collectors.toSet());
+            total = all.size();
+            read = new HashSet<String>();
+            for (ScanResult result : all)
+            {
+                if (result.isSuccess())
+                {
+                    assertNotNull(result.getAudioFile());
+                    read.add(result.getPath().getFileName().toString());
+                }
+                else
+                {
+                    assertNull(result.getAudioFile());
+                }
+            }
+        }
+        assertEquals(noOfFiles, total);
+        assertEquals(readSequentially(), read);
+    }
+
+    public void testCallbackWithThreadPool() throws Exception
+    {
+        ScanOptions options = new ScanOptions();
+        options.setVirtualThreads(false);
+        options.setParallelism(3);
+        final Set<String> read = ConcurrentHashMap.newKeySet();
+        LibraryScan scan = AudioFileIO.scan(TESTDATA, options, new Consumer<ScanResult>()
+        {
+            public void accept(ScanResult result)
+            {
+                if (result.isSuccess())
+                {
+                    read.add(result.getPath().getFileName().toString());
+                }
+            }
+        });
+        assertTrue(scan.awaitCompletion(5, TimeUnit.MINUTES));
+        assertEquals(readSequentially(), read);
+        assertEquals(read.size(), scan.getFilesRead());
+    }
+
+    public void testCancel() throws Exception
+    {
+        ScanOptions options = new ScanOptions();
+        options.setParallelism(1);
+        final LibraryScan[] scan = new LibraryScan[1];
+        final Set<Path> delivered = ConcurrentHashMap.newKeySet();
+        scan[0] = AudioFileIO.scan(TESTDATA, options, new Consumer<ScanResult>()
+        {
+            public void accept(ScanResult result)
+            {
+                delivered.add(result.getPath());
+                while (scan[0] == null)
+                {
+                    Thread.yield();
+                }
+                scan[0].cancel();
+            }
+        });
+        assertTrue(scan[0].awaitCompletion(1, TimeUnit.MINUTES));
+        assertTrue(scan[0].isCancelled());
+        assertEquals(1, delivered.size());
+    }
+
+    /**
+     * With a slow consumer reading should not get ahead of it
+     */
+    public void testBackPressure() throws Exception
+    {
+        ScanOptions options = new ScanOptions();
+        options.setParallelism(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        LibraryScan scan = AudioFileIO.scan(TESTDATA, options, new Consumer<ScanResult>()
+        {
+            public void accept(ScanResult result)
+            {
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException ie)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread.sleep(500);
+        assertEquals(2, scan.getFilesRead() + scan.getFailures());
+        release.countDown();
+        assertTrue(scan.awaitCompletion(5, TimeUnit.MINUTES));
+        assertEquals(new File("testdata").listFiles(new AudioFileFilter(false)).length, scan.getFilesRead() + scan.getFailures());
+    }
+
+    /**
+     * Closing the stream part way through stops the scan
+     */
+    public void testCloseStream() throws Exception
+    {
+        ScanOptions options = new ScanOptions();
+        options.setParallelism(1);
+        options.setQueueCapacity(1);
+        try (Stream<ScanResult> results = AudioFileIO.scan(TESTDATA, options))
+        {
+            assertTrue(results.iterator().hasNext());
+        }
+    }
+
+    /**
+     * Abandoning the stream part way through without closing it stops the scan once the stream is collected
+     */
+    public void testAbandonStream() throws Exception
+    {
+        Set<Thread> before = scanThreads();
+        ScanOptions options = new ScanOptions();
+        options.setVirtualThreads(false);
+        options.setParallelism(1);
+        options.setQueueCapacity(1);
+        Stream<ScanResult> results = AudioFileIO.scan(TESTDATA, options);
+        Iterator<ScanResult> iterator = results.iterator();
+        assertNotNull(iterator.next());
+
+        Set<Thread> started = scanThreads();
+        started.removeAll(before);
+        assertFalse(started.isEmpty());
+
+        results = null;
+        iterator = null;
+        long giveUp = System.currentTimeMillis() + 10000;
+        while (isAnyAlive(started) && System.currentTimeMillis() < giveUp)
+        {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertFalse(isAnyAlive(started));
+    }
+
+    private static boolean isAnyAlive(Set<Thread> threads)
+    {
+        for (Thread thread : threads)
+        {
+            if (thread.isAlive())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
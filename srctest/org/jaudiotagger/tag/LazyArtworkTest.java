@@ -0,0 +1,260 @@
+package org.jaudiotagger.tag;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.exceptions.DeferredReadException;
+import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.FilenameFilter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Check reading with artwork left in the file gives the same artwork as reading it straight away
+ */
+public class LazyArtworkTest extends AbstractTestCase
+{
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    private static List<Artwork> readArtwork(File file, boolean lazy) throws Exception
+    {
+        TagOptionSingleton.getInstance().setLazyArtwork(lazy);
+        try
+        {
+            Tag tag = AudioFileIO.read(file).getTag();
+            return tag == null ? null : tag.getArtworkList();
+        }
+        finally
+        {
+            TagOptionSingleton.getInstance().setLazyArtwork(false);
+        }
+    }
+
+    /**
+     * Compare lazy and normal reads of every file with artwork in the test data
+     *
+     * @param extension of the files to check
+     * @return the number of images left in the file when read lazily
+     */
+    private int compareAll(final String extension) throws Exception
+    {
+        File[] files = new File("testdata").listFiles(new FilenameFilter()
+        {
+            public boolean accept(File dir, String name)
+            {
+                return name.endsWith(extension);
+            }
+        });
+        int deferred = 0;
+        for (File file : files)
+        {
+            List<Artwork> expected;
+            try
+            {
+                expected = readArtwork(file, false);
+            }
+            catch (Exception e)
+            {
+                //Deliberately broken test files
+                continue;
+            }
+            deferred += compare(file, expected);
+        }
+        return deferred;
+    }
+
+    /**
+     * @return the number of images left in the file when read lazily
+     */
+    private int compare(File file, List<Artwork> expected) throws Exception
+    {
+        if (expected == null || expected.isEmpty())
+        {
+            return 0;
+        }
+
+        int deferred = 0;
+        List<Artwork> actual = readArtwork(file, true);
+        assertEquals(file.getName(), expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            Artwork next = actual.get(i);
+            if (next instanceof LazyArtwork)
+            {
+                assertFalse(((LazyArtwork) next).isLoaded());
+                deferred++;
+            }
+            assertEquals(file.getName(), expected.get(i).getMimeType(), next.getMimeType());
+            assertEquals(file.getName(), expected.get(i).getPictureType(), next.getPictureType());
+            assertEquals(file.getName(), expected.get(i).getWidth(), next.getWidth());
+            assertEquals(file.getName(), expected.get(i).getHeight(), next.getHeight());
+            assertEquals(file.getName(), expected.get(i).isLinked(), next.isLinked());
+            if (!expected.get(i).isLinked())
+            {
+                assertTrue(file.getName(), Arrays.equals(expected.get(i).getBinaryData(), next.getBinaryData()));
+            }
+        }
+        return deferred;
+    }
+
+    public void testFlac() throws Exception
+    {
+        assertTrue(compareAll(".flac") > 0);
+    }
+
+    /**
+     * None of the mp3 test files contain artwork so add some, with a small image as well to check they are not mixed up
+     */
+    public void testMp3() throws Exception
+    {
+        ID3V2Version[] versions = {ID3V2Version.ID3_V22, ID3V2Version.ID3_V23, ID3V2Version.ID3_V24};
+        for (ID3V2Version version : versions)
+        {
+            TagOptionSingleton.getInstance().setID3V2Version(version);
+            File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testLazyArtwork" + version + ".mp3"));
+            AudioFile af = AudioFileIO.read(testFile);
+            Tag tag = af.getTagOrCreateAndSetDefault();
+            Artwork small = ArtworkFactory.getNew();
+            small.setBinaryData(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+            small.setMimeType("image/png");
+            tag.addField(small);
+            tag.addField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+            tag.setField(FieldKey.TITLE, "title");
+            af.commit();
+
+            List<Artwork> expected = readArtwork(testFile, false);
+            assertEquals(2, expected.size());
+            assertEquals(1, compare(testFile, expected));
+        }
+    }
+
+    public void testMp4() throws Exception
+    {
+        assertTrue(compareAll(".m4a") > 0);
+    }
+
+    public void testOgg() throws Exception
+    {
+        assertTrue(compareAll(".ogg") > 0);
+    }
+
+    /**
+     * Images left in the file must be kept when the tag is written back to the same file
+     */
+    public void testWriteFlacReadLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test2.flac", new File("testLazyArtwork.flac"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+        byte[] expected = af.getTag().getFirstArtwork().getBinaryData();
+
+        TagOptionSingleton.getInstance().setLazyArtwork(true);
+        af = AudioFileIO.read(testFile);
+        assertTrue(af.getTag().getFirstArtwork() instanceof LazyArtwork);
+        af.getTag().setField(FieldKey.TITLE, "lazy");
+        //Insert enough to force the audio to be shifted
+        af.getTag().setField(FieldKey.COMMENT, new String(new char[100000]).replace('\0', 'x'));
+        af.commit();
+        TagOptionSingleton.getInstance().setLazyArtwork(false);
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("lazy", af.getTag().getFirst(FieldKey.TITLE));
+        assertTrue(Arrays.equals(expected, af.getTag().getFirstArtwork().getBinaryData()));
+    }
+
+    /**
+     * Images left in the file must be kept when the tag is written back to the same file
+     */
+    public void testWriteMp3ReadLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testLazyArtwork.mp3"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTagOrCreateAndSetDefault().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+        byte[] expected = af.getTag().getFirstArtwork().getBinaryData();
+
+        TagOptionSingleton.getInstance().setLazyArtwork(true);
+        af = AudioFileIO.read(testFile);
+        assertTrue(af.getTag().getFirstArtwork() instanceof LazyArtwork);
+        af.getTag().setField(FieldKey.TITLE, "lazy");
+        af.getTag().setField(FieldKey.COMMENT, new String(new char[100000]).replace('\0', 'x'));
+        af.commit();
+        TagOptionSingleton.getInstance().setLazyArtwork(false);
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("lazy", af.getTag().getFirst(FieldKey.TITLE));
+        assertTrue(Arrays.equals(expected, af.getTag().getFirstArtwork().getBinaryData()));
+    }
+
+    /**
+     * Images left in the file must be kept when the tag is written back to the same file
+     */
+    public void testWriteMp4ReadLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.m4a", new File("testLazyArtwork.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+        byte[] expected = af.getTag().getFirstArtwork().getBinaryData();
+
+        TagOptionSingleton.getInstance().setLazyArtwork(true);
+        af = AudioFileIO.read(testFile);
+        assertTrue(af.getTag().getFirstArtwork() instanceof LazyArtwork);
+        af.getTag().setField(FieldKey.TITLE, "lazy");
+        af.getTag().setField(FieldKey.COMMENT, new String(new char[100000]).replace('\0', 'x'));
+        af.commit();
+        TagOptionSingleton.getInstance().setLazyArtwork(false);
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("lazy", af.getTag().getFirst(FieldKey.TITLE));
+        assertTrue(Arrays.equals(expected, af.getTag().getFirstArtwork().getBinaryData()));
+    }
+
+    /**
+     * Images left in the file cannot be loaded once the file has been changed by something else
+     */
+    public void testFileChangedAfterRead() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.m4a", new File("testLazyArtworkChanged.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+
+        TagOptionSingleton.getInstance().setLazyArtwork(true);
+        af = AudioFileIO.read(testFile);
+        Artwork artwork = af.getTag().getFirstArtwork();
+        assertTrue(artwork instanceof LazyArtwork);
+
+        FileOutputStream out = new FileOutputStream(testFile, true);
+        try
+        {
+            out.write(new byte[16]);
+        }
+        finally
+        {
+            out.close();
+        }
+
+        try
+        {
+            artwork.getBinaryData();
+            fail("Expected DeferredReadException");
+        }
+        catch (DeferredReadException dre)
+        {
+            assertTrue(dre.getCause() instanceof IOException);
+        }
+        assertFalse(((LazyArtwork) artwork).isLoaded());
+    }
+}
@@ -0,0 +1,156 @@
+package org.jaudiotagger.tag;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.images.LazyArtwork;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Check reading and writing with a snapshot of the options
+ */
+public class TagOptionsTest extends AbstractTestCase
+{
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testSnapshotNotChangedByDefaultOptions()
+    {
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V24);
+        TagOptions options = TagOptions.snapshot();
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V22);
+        assertEquals(ID3V2Version.ID3_V24, options.getOptions().getID3V2Version());
+
+        TagOptions changed = options.with(o -> o.setID3V2Version(ID3V2Version.ID3_V23));
+        assertEquals(ID3V2Version.ID3_V23, changed.getOptions().getID3V2Version());
+        assertEquals(ID3V2Version.ID3_V24, options.getOptions().getID3V2Version());
+        assertEquals(ID3V2Version.ID3_V22, TagOptionSingleton.getInstance().getID3V2Version());
+        assertEquals(ID3V2Version.ID3_V23, TagOptions.defaults().getOptions().getID3V2Version());
+    }
+
+    public void testSnapshotCannotBeChanged()
+    {
+        TagOptionSingleton options = TagOptions.snapshot().getOptions();
+        assertTrue(options.isReadOnly());
+        assertFalse(TagOptionSingleton.getInstance().isReadOnly());
+        try
+        {
+            options.setLazyArtwork(true);
+            fail("Snapshot changed");
+        }
+        catch (UnsupportedOperationException uoe)
+        {
+            //Expected
+        }
+        assertFalse(options.isLazyArtwork());
+    }
+
+    public void testScope()
+    {
+        TagOptions v24 = TagOptions.defaults().with(o -> o.setID3V2Version(ID3V2Version.ID3_V24));
+        TagOptions v22 = TagOptions.defaults().with(o -> o.setID3V2Version(ID3V2Version.ID3_V22));
+        try (TagOptions.Scope outer = v24.use())
+        {
+            assertSame(v24.getOptions(), TagOptionSingleton.getInstance());
+            assertTrue(TagOptionSingleton.createDefaultID3Tag() instanceof ID3v24Tag);
+            try (TagOptions.Scope inner = v22.use())
+            {
+                assertSame(v22.getOptions(), TagOptionSingleton.getInstance());
+            }
+            assertSame(v24.getOptions(), TagOptionSingleton.getInstance());
+        }
+        assertFalse(TagOptionSingleton.getInstance().isReadOnly());
+        assertEquals(ID3V2Version.ID3_V23, TagOptionSingleton.getInstance().getID3V2Version());
+    }
+
+    /**
+     * Read the same file on several threads at once, half of them leaving the artwork in the file
+     */
+    public void testConcurrentReadsWithDifferentOptions() throws Exception
+    {
+        final File file = copyAudioToTmp("test2.flac", new File("tagoptions.flac"));
+        AudioFile withArtwork = AudioFileIO.read(file);
+        withArtwork.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        withArtwork.commit();
+
+        final TagOptions lazy = TagOptions.defaults().with(o -> o.setLazyArtwork(true));
+        final TagOptions eager = TagOptions.defaults();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 40; i++)
+            {
+                final boolean useLazy = i % 2 == 0;
+                results.add(executor.submit(new Callable<Boolean>()
+                {
+                    public Boolean call() throws Exception
+                    {
+                        AudioFile audioFile = AudioFileIO.read(file, useLazy ? lazy : eager);
+                        return audioFile.getTag().getFirstArtwork() instanceof LazyArtwork;
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++)
+            {
+                assertEquals(i % 2 == 0, results.get(i).get().booleanValue());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        assertFalse(TagOptionSingleton.getInstance().isLazyArtwork());
+    }
+
+    /**
+     * Write several files at once, half of them with ID3v2 saving switched off
+     */
+    public void testConcurrentWritesWithDifferentOptions() throws Exception
+    {
+        final TagOptions save = TagOptions.defaults();
+        final TagOptions noSave = TagOptions.defaults().with(o -> o.setId3v2Save(false));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++)
+            {
+                final boolean saveId3v2 = i % 2 == 0;
+                final File file = copyAudioToTmp("testV1Cbr128ID3v2.mp3", new File("tagoptions" + i + ".mp3"));
+                final String title = AudioFileIO.read(file).getTag().getFirst(FieldKey.TITLE);
+                results.add(executor.submit(new Callable<String>()
+                {
+                    public String call() throws Exception
+                    {
+                        AudioFile audioFile = AudioFileIO.read(file);
+                        audioFile.getTag().setField(FieldKey.TITLE, "changed");
+                        AudioFileIO.write(audioFile, saveId3v2 ? save : noSave);
+                        String written = AudioFileIO.read(file).getTag().getFirst(FieldKey.TITLE);
+                        return saveId3v2 ? written : (written.equals(title) ? "unchanged" : written);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++)
+            {
+                assertEquals(i % 2 == 0 ? "changed" : "unchanged", results.get(i).get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
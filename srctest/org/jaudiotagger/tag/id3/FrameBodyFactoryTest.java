@@ -0,0 +1,128 @@
+package org.jaudiotagger.tag.id3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.id3.framebody.AbstractID3v2FrameBody;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyTDRC;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyTXXX;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyTYER;
+import org.jcodec.containers.mp4.BoxConstructors;
+import org.jcodec.containers.mp4.boxes.Box;
+import org.jcodec.containers.mp4.boxes.Header;
+import org.jcodec.containers.mp4.boxes.MovieBox;
+import org.jcodec.containers.mp4.boxes.NodeBox;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Check frame bodies and boxes are created through the constructor tables, and a tag with many frames is parsed
+ */
+public class FrameBodyFactoryTest extends TestCase
+{
+    private static final int NO_OF_FRAMES = 200;
+
+    public void testTableMatchesClassNames() throws Exception
+    {
+        for (String id : ID3v24Frames.getInstanceOf().getIdToValueMap().keySet())
+        {
+            AbstractID3v2FrameBody body = FrameBodyFactory.newBody(id);
+            if (body != null)
+            {
+                assertEquals("org.jaudiotagger.tag.id3.framebody.FrameBody" + id, body.getClass().getName());
+            }
+        }
+        assertNull(FrameBodyFactory.newBody("XXXX"));
+        assertNull(FrameBodyFactory.getReadConstructor("XXXX"));
+    }
+
+    public void testUnregisteredBodyFallsBackToReflection() throws Exception
+    {
+        ID3v24Frame frame = new ID3v24Frame("TXXX");
+        assertTrue(frame.getBody() instanceof FrameBodyTXXX);
+
+        FrameBodyFactory.register("TXXX", null, null);
+        try
+        {
+            assertNull(FrameBodyFactory.newBody("TXXX"));
+            frame = new ID3v24Frame("TXXX");
+            assertTrue(frame.getBody() instanceof FrameBodyTXXX);
+        }
+        finally
+        {
+            FrameBodyFactory.register("TXXX", FrameBodyTXXX::new, FrameBodyTXXX::new);
+        }
+    }
+
+    public void testCopyBody() throws Exception
+    {
+        AbstractID3v2FrameBody body = FrameBodyFactory.copyBody("TDRC", new FrameBodyTYER((byte) 0, "2001"));
+        assertTrue(body instanceof FrameBodyTDRC);
+        assertEquals("2001", ((FrameBodyTDRC) body).getYear());
+        assertNull(FrameBodyFactory.copyBody("TDRC", new FrameBodyTXXX()));
+    }
+
+    /**
+     * Converting a frame creates the new body from the table, or reflectively if it has not been registered
+     */
+    public void testConvertFrame() throws Exception
+    {
+        ID3v23Frame v23Frame = new ID3v23Frame("TYER");
+        ((FrameBodyTYER) v23Frame.getBody()).setText("2001");
+
+        ID3v24Frame frame = new ID3v24Frame(v23Frame);
+        assertEquals("TDRC", frame.getIdentifier());
+        assertEquals("2001", ((FrameBodyTDRC) frame.getBody()).getYear());
+        assertSame(frame, frame.getBody().getHeader());
+
+        FrameBodyFactory.registerCopy("TDRC", FrameBodyTYER.class, null);
+        try
+        {
+            assertNull(FrameBodyFactory.copyBody("TDRC", (AbstractID3v2FrameBody) v23Frame.getBody()));
+            frame = new ID3v24Frame(v23Frame);
+            assertEquals("2001", ((FrameBodyTDRC) frame.getBody()).getYear());
+        }
+        finally
+        {
+            FrameBodyFactory.registerCopy("TDRC", FrameBodyTYER.class, FrameBodyTDRC::new);
+        }
+    }
+
+    public void testBoxConstructors() throws Exception
+    {
+        Box box = BoxConstructors.newBox(MovieBox.class, new Header(MovieBox.fourcc()));
+        assertTrue(box instanceof MovieBox);
+
+        //Not in the table so created reflectively
+        box = BoxConstructors.newBox(UserBox.class, new Header("user"));
+        assertTrue(box instanceof UserBox);
+    }
+
+    public void testTagWithManyFrames() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        tag.setField(FieldKey.ALBUM, "album");
+        for (int i = 0; i < NO_OF_FRAMES; i++)
+        {
+            tag.addField(tag.createField(ID3v24FieldKey.COMMENT, "comment" + i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tag.write(out);
+        byte[] data = out.toByteArray();
+
+        ID3v24Tag read = new ID3v24Tag(ByteBuffer.wrap(data), "");
+        assertEquals("title", read.getFirst(FieldKey.TITLE));
+        assertEquals(NO_OF_FRAMES, read.getFields(FieldKey.COMMENT).size());
+    }
+
+    public static class UserBox extends NodeBox
+    {
+        public UserBox(Header atom)
+        {
+            super(atom);
+        }
+    }
+}
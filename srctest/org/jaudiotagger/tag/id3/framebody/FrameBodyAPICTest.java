@@ -1,7 +1,14 @@
 package org.jaudiotagger.tag.id3.framebody;
 
 import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.datatype.ByteArraySizeTerminated;
+import org.jaudiotagger.tag.datatype.DataTypes;
 import org.jaudiotagger.tag.id3.ID3v24Frames;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * Test APICFrameBody
@@ -59,5 +66,69 @@ public class FrameBodyAPICTest extends AbstractTestCase
 
     }
 
+    public void testReadImageDataFromBuffer() throws Exception
+    {
+        byte[] imageData = new byte[100000];
+        for (int i = 0; i < imageData.length; i++)
+        {
+            imageData[i] = (byte) i;
+        }
+        FrameBodyAPIC original = new FrameBodyAPIC(TextEncoding.ISO_8859_1, "image/png", (byte) 3, DESCRIPTION, imageData);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        original.write(out);
+        byte[] bodyData = out.toByteArray();
+
+        //Pad the buffer so we can check only the body is consumed
+        ByteBuffer buffer = ByteBuffer.allocate(bodyData.length + 10);
+        buffer.put(bodyData);
+        buffer.flip();
+        buffer.limit(buffer.capacity());
+        FrameBodyAPIC fb = new FrameBodyAPIC(buffer, bodyData.length);
+        assertEquals(bodyData.length, buffer.position());
+        assertEquals(DESCRIPTION, fb.getDescription());
+        assertEquals("image/png", fb.getMimeType());
+
+        //Image data is held as a view of the buffer until asked for
+        ByteArraySizeTerminated data = (ByteArraySizeTerminated) fb.getObject(DataTypes.OBJ_PICTURE_DATA);
+        assertEquals(imageData.length, data.getSize());
+        assertEquals(imageData.length, data.getByteBuffer().remaining());
+        assertEquals(imageData[500], data.getByteBuffer().get(500));
+
+        FrameBodyAPIC copy = new FrameBodyAPIC(fb);
+        assertTrue(Arrays.equals(imageData, fb.getImageData()));
+        assertTrue(Arrays.equals(imageData, copy.getImageData()));
+        assertEquals(fb, copy);
+    }
 
+    public void testEqualsKeepsView() throws Exception
+    {
+        byte[] bytes = new byte[ByteArraySizeTerminated.MIN_VIEW_SIZE * 2];
+        Arrays.fill(bytes, (byte) 7);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ByteArraySizeTerminated data = new ByteArraySizeTerminated(DataTypes.OBJ_PICTURE_DATA, null);
+        data.readByteBuffer(buffer, 0);
+        ByteArraySizeTerminated other = new ByteArraySizeTerminated(DataTypes.OBJ_PICTURE_DATA, null);
+        other.setValue(bytes.clone());
+
+        assertEquals(data, other);
+        assertEquals(other, data);
+        other.setValue(new byte[bytes.length]);
+        assertFalse(data.equals(other));
+
+        //Still a view of the buffer, so a change to the buffer is seen
+        bytes[10] = 8;
+        assertEquals(8, ((byte[]) data.getValue())[10]);
+    }
+
+    public void testSmallDataCopied() throws Exception
+    {
+        byte[] bytes = new byte[100];
+        ByteArraySizeTerminated data = new ByteArraySizeTerminated(DataTypes.OBJ_PICTURE_DATA, null);
+        data.readByteBuffer(ByteBuffer.wrap(bytes), 10);
+        assertEquals(90, data.getSize());
+
+        //Copied so does not keep the buffer
+        bytes[10] = 8;
+        assertEquals(0, ((byte[]) data.getValue())[0]);
+    }
 }
@@ -0,0 +1,99 @@
+package org.jaudiotagger.tag.mp4;
+
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.mp4.Mp4InfoReader;
+import org.jaudiotagger.audio.mp4.Mp4TagReader;
+import org.jaudiotagger.tag.FieldKey;
+import org.jcodec.containers.mp4.BoxPathFilter;
+import org.jcodec.containers.mp4.MP4Util;
+import org.jcodec.containers.mp4.boxes.Box;
+import org.jcodec.containers.mp4.boxes.NodeBox;
+import org.jcodec.containers.mp4.boxes.TrakBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks reading m4a files by parsing the movie once and sharing it between the audio header and tag readers, and
+ * by parsing it once skipping the sample tables, gives the same results as parsing it separately for each reader (as
+ * was done before).
+ */
+public class M4aSharedMovieReadTest {
+    private static List<File> readableM4aFiles() {
+        File[] files = new File("testdata").listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".m4a");
+            }
+        });
+        List<File> readable = new ArrayList<File>();
+        if (files == null) {
+            return readable;
+        }
+        for (File file : files) {
+            try {
+                AudioFileIO.read(file);
+                readable.add(file);
+            } catch (Exception e) {
+                //Video or deliberately broken test files
+            }
+        }
+        return readable;
+    }
+
+    @Test
+    public void testSharedMovieGivesSameResult() throws Exception {
+        for (File file : readableM4aFiles()) {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                GenericAudioHeader separateHeader = new Mp4InfoReader().read(MP4Util.parseFullMovieChannel(raf.getChannel()), raf.length());
+                Mp4Tag separateTag = new Mp4TagReader().read(MP4Util.parseFullMovieChannel(raf.getChannel()));
+
+                AudioFile af = AudioFileIO.read(file);
+                Assert.assertEquals(file.getName(), separateHeader.toString(), af.getAudioHeader().toString());
+                Assert.assertEquals(file.getName(), separateTag.getFieldCount(), af.getTag().getFieldCount());
+                Assert.assertEquals(file.getName(), separateTag.getFirst(FieldKey.TITLE), af.getTag().getFirst(FieldKey.TITLE));
+
+                MP4Util.Movie filtered = MP4Util.parseFullMovieChannel(raf.getChannel(), BoxPathFilter.AUDIO_HEADER_AND_TAG);
+                Assert.assertEquals(file.getName(), separateHeader.toString(), new Mp4InfoReader().read(filtered, raf.length()).toString());
+                Assert.assertEquals(file.getName(), separateTag.getFieldCount(), new Mp4TagReader().read(filtered).getFieldCount());
+            } finally {
+                raf.close();
+            }
+        }
+    }
+
+    @Test
+    public void testFilteredParseSkipsSampleTables() throws Exception {
+        File file = new File("testdata", "test.m4a");
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            MP4Util.Movie full = MP4Util.parseFullMovieChannel(raf.getChannel());
+            MP4Util.Movie filtered = MP4Util.parseFullMovieChannel(raf.getChannel(), BoxPathFilter.AUDIO_HEADER_AND_TAG);
+            TrakBox fullTrak = full.getMoov().getAudioTracks().get(0);
+            TrakBox filteredTrak = filtered.getMoov().getAudioTracks().get(0);
+
+            Assert.assertNotNull(fullTrak.getStsz());
+            Assert.assertNull(filteredTrak.getStsz());
+            Assert.assertNull(filteredTrak.getStts());
+            Assert.assertNull(filteredTrak.getStsc());
+
+            //Chunk offsets are kept but only decoded when asked for
+            Box stco = NodeBox.findFirstPath(filteredTrak, Box.class, Box.path("mdia.minf.stbl.stco"));
+            Assert.assertTrue(stco instanceof Box.LeafBox);
+            Assert.assertArrayEquals(fullTrak.getStco().getChunkOffsets(), filteredTrak.getStco().getChunkOffsets());
+
+            MP4Util.Movie tagOnly = MP4Util.parseFullMovieChannel(raf.getChannel(), BoxPathFilter.TAG_ONLY);
+            Assert.assertEquals(0, tagOnly.getMoov().getTracks().length);
+            Assert.assertEquals(new Mp4TagReader().read(full).getFieldCount(), new Mp4TagReader().read(tagOnly).getFieldCount());
+        } finally {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.jaudiotagger.tag.wma;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.asf.data.AsfHeader;
+import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.io.AsfHeaderReader;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests that the header object is rewritten in place when the new metadata fits, using padding to take up any space
+ * left over, and that the audio data is copied unchanged when it does not.
+ */
+public class WmaInPlaceWriteTest extends TestCase
+{
+    private static String repeat(char c, int count)
+    {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    /**
+     * @return everything after the header object
+     */
+    private static byte[] getData(File file) throws Exception
+    {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        long headerSize = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getLong(GUID.GUID_LENGTH);
+        return Arrays.copyOfRange(bytes, (int) headerSize, bytes.length);
+    }
+
+    private static void setComment(File file, String comment) throws Exception
+    {
+        AudioFile af = AudioFileIO.read(file);
+        af.getTag().setField(FieldKey.COMMENT, comment);
+        af.commit();
+        assertEquals(comment, AudioFileIO.read(file).getTag().getFirst(FieldKey.COMMENT));
+    }
+
+    /**
+     * @return the sizes of the padding chunks directly within the header object
+     */
+    private static List<Long> getPaddingSizes(byte[] bytes)
+    {
+        ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long chunkCount = bb.getInt(GUID.GUID_LENGTH + 8) & 0xFFFFFFFFL;
+        List<Long> sizes = new ArrayList<Long>();
+        int position = 30;
+        for (int i = 0; i < chunkCount; i++)
+        {
+            byte[] guid = Arrays.copyOfRange(bytes, position, position + GUID.GUID_LENGTH);
+            long size = bb.getLong(position + GUID.GUID_LENGTH);
+            if (Arrays.equals(GUID.GUID_PADDING.getBytes(), guid))
+            {
+                sizes.add(size);
+            }
+            position += size;
+        }
+        return sizes;
+    }
+
+    /**
+     * Insert padding chunks of the given sizes at the start of the header object, adjusting the header object and
+     * file sizes to match
+     */
+    private static void insertPadding(File file, int... sizes) throws Exception
+    {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes, 0, 30);
+        int total = 0;
+        for (int size : sizes)
+        {
+            ByteBuffer padding = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            padding.put(GUID.GUID_PADDING.getBytes());
+            padding.putLong(size);
+            out.write(padding.array());
+            total += size;
+        }
+        out.write(bytes, 30, bytes.length - 30);
+
+        ByteBuffer bb = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putLong(GUID.GUID_LENGTH, bb.getLong(GUID.GUID_LENGTH) + total);
+        bb.putInt(GUID.GUID_LENGTH + 8, bb.getInt(GUID.GUID_LENGTH + 8) + sizes.length);
+        int position = 30;
+        while (!Arrays.equals(GUID.GUID_FILE.getBytes(), Arrays.copyOfRange(bb.array(), position, position + GUID.GUID_LENGTH)))
+        {
+            position += bb.getLong(position + GUID.GUID_LENGTH);
+        }
+        //File size follows the chunk size and the file id
+        bb.putLong(position + 40, bb.array().length);
+        Files.write(file.toPath(), bb.array());
+    }
+
+    public void testPaddingMerged() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test1.wma", new File("testWmaPaddingMerged.wma"));
+        insertPadding(testFile, 200, 100);
+        assertEquals(Arrays.asList(200L, 100L), getPaddingSizes(Files.readAllBytes(testFile.toPath())));
+        byte[] data = getData(testFile);
+        long length = testFile.length();
+
+        //Both padding chunks are merged into one that takes up the space left over
+        setComment(testFile, "short");
+        assertEquals(length, testFile.length());
+        assertTrue(Arrays.equals(data, getData(testFile)));
+        assertEquals(1, getPaddingSizes(Files.readAllBytes(testFile.toPath())).size());
+        assertEquals(testFile.length(), AsfHeaderReader.readHeader(testFile).getFileHeader().getFileSize().longValue());
+    }
+
+    public void testWriteInPlace() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test1.wma", new File("testWmaInPlace.wma"));
+        byte[] data = getData(testFile);
+        AsfHeader originalHeader = AsfHeaderReader.readHeader(testFile);
+
+        //Header grows so data has to be copied
+        long originalLength = testFile.length();
+        setComment(testFile, repeat('a', 2000));
+        assertTrue(testFile.length() > originalLength);
+        assertTrue(Arrays.equals(data, getData(testFile)));
+
+        //Header shrinks so it is written in place with padding
+        long grownLength = testFile.length();
+        setComment(testFile, "short");
+        assertEquals(grownLength, testFile.length());
+        assertTrue(Arrays.equals(data, getData(testFile)));
+
+        //Grows again but fits within padding
+        setComment(testFile, repeat('b', 1000));
+        assertEquals(grownLength, testFile.length());
+        assertTrue(Arrays.equals(data, getData(testFile)));
+
+        //File size in file properties still matches the file
+        AsfHeader header = AsfHeaderReader.readHeader(testFile);
+        assertEquals(testFile.length(), header.getFileHeader().getFileSize().longValue());
+        assertEquals(originalHeader.getFileHeader().getDuration(), header.getFileHeader().getDuration());
+    }
+}